@@ -0,0 +1,55 @@
+package objects.entities;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * VectorMonsterKernel - MonsterStore's kernel on jdk.incubator.vector, as many monsters per
+ * instruction as the CPU's widest float vectors hold, the remainder through the scalar kernel.
+ *
+ * Only built by the vector profile and only used when the JVM runs with
+ * --add-modules jdk.incubator.vector; MonsterStore falls back to ScalarKernel otherwise. Each
+ * lane does the same float operations as ScalarKernel, so both move monsters identically.
+ */
+final class VectorMonsterKernel implements MonsterStore.Kernel {
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    private final MonsterStore.ScalarKernel tail = new MonsterStore.ScalarKernel();
+
+    @Override
+    public void move(MonsterStore s, int n, float px, float py, int frames) {
+        float[] x = s.x, y = s.y, vx = s.vx, vy = s.vy, speed = s.speed;
+        float[] chase = s.chase, wander = s.wander, headX = s.headX, headY = s.headY;
+        int bound = SPECIES.loopBound(n);
+        FloatVector playerX = FloatVector.broadcast(SPECIES, px);
+        FloatVector playerY = FloatVector.broadcast(SPECIES, py);
+
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            FloatVector sp = FloatVector.fromArray(SPECIES, speed, i);
+            FloatVector wa = FloatVector.fromArray(SPECIES, wander, i);
+            FloatVector dx = playerX.sub(FloatVector.fromArray(SPECIES, x, i));
+            FloatVector dy = playerY.sub(FloatVector.fromArray(SPECIES, y, i));
+            FloatVector length = dx.mul(dx).add(dy.mul(dy)).sqrt();
+            FloatVector step = sp.mul((float) frames).min(sp.max(length));
+            VectorMask<Float> moving = length.compare(VectorOperators.GT, 0f);
+            FloatVector scale = step.div(length).mul(FloatVector.fromArray(SPECIES, chase, i))
+                    .blend(0f, moving.not());
+            dx.mul(scale).add(FloatVector.fromArray(SPECIES, headX, i).mul(wa)).intoArray(vx, i);
+            dy.mul(scale).add(FloatVector.fromArray(SPECIES, headY, i).mul(wa)).intoArray(vy, i);
+        }
+
+        float minX = s.minX, maxX = s.maxX, minY = s.minY, maxY = s.maxY;
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            FloatVector.fromArray(SPECIES, x, i).add(FloatVector.fromArray(SPECIES, vx, i))
+                    .min(maxX).max(minX).intoArray(x, i);
+            FloatVector.fromArray(SPECIES, y, i).add(FloatVector.fromArray(SPECIES, vy, i))
+                    .min(maxY).max(minY).intoArray(y, i);
+        }
+
+        if (bound < n) {
+            tail.move(s, bound, n, px, py, frames);
+        }
+    }
+}
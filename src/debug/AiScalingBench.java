@@ -0,0 +1,235 @@
+package debug;
+
+import objects.entities.AiScheduler;
+import objects.entities.Monster;
+import objects.entities.MonsterStore;
+import objects.entities.ParallelAiUpdater;
+import objects.entities.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * AiScalingBench - headless benchmark of monster AI updated through ParallelAiUpdater with 1 to N
+ * threads. Every monster is updated every frame (no distance LOD) while the player walks in a
+ * circle; for each monster count it reports ms per frame and the speedup over one thread, then
+ * the same on one thread with movement done by a MonsterStore (its Vector API kernel when built
+ * with -P vector, else the plain loops).
+ *
+ * It fails (exit code 1) if any of these happen:
+ *   - monsters chasing the player end up anywhere else when updated in parallel than when updated
+ *     on one thread (chasing does not use a monster's Random, so both must agree to the pixel)
+ *   - a monster moved by a MonsterStore falls behind a straight chase at its speed, including
+ *     after a third of them are removed halfway
+ *
+ * Run: mvn -P ai-scaling test   (or -P vector,ai-scaling)
+ *
+ * Options (system properties):
+ *   -Daibench.monsters=1000,4000,16000   monster counts
+ *   -Daibench.threads=4                  most threads to try (default: cores)
+ *   -Daibench.frames=600                 measured frames per run
+ */
+public final class AiScalingBench {
+    private static final int MAP_SIZE = 20000;
+    private static final int WARMUP_FRAMES = 1000; // Enough for C2 to compile the Vector API kernel
+    private static final int CHECK_MONSTERS = 2000;
+    private static final int CHECK_FRAMES = 60;
+    private static final int ALWAYS_NEAR = 1 << 20; // Scheduler distance that puts every monster in the every-frame bucket
+    private static final List<Monster> PARKED = new ArrayList<>(); // Reused by stepStore()
+
+    public static void main(String[] args) {
+        String[] counts = System.getProperty("aibench.monsters", "1000,4000,16000").split(",");
+        int maxThreads = Integer.getInteger("aibench.threads", Runtime.getRuntime().availableProcessors());
+        int frames = Integer.getInteger("aibench.frames", 600);
+        System.out.println("[AiBench] " + Runtime.getRuntime().availableProcessors() + " cores, up to " + maxThreads
+                + " threads, " + MonsterStore.getKernel() + " store kernel");
+
+        for (String text : counts) {
+            int count = Integer.parseInt(text.trim());
+            double serialMillis = 0;
+            for (int threads = 1; threads <= maxThreads; threads++) {
+                ParallelAiUpdater updater = new ParallelAiUpdater(threads - 1, ParallelAiUpdater.DEFAULT_SERIAL_BELOW);
+                double millis = run(spread(count), updater, frames);
+                if (threads == 1) serialMillis = millis;
+                System.out.printf("[AiBench] %6d monsters  %2d threads  %7.3f ms/frame  x%.2f%n",
+                        count, threads, millis, serialMillis / millis);
+            }
+            double[] store = runStore(spread(count), frames);
+            System.out.printf("[AiBench] %6d monsters  store      %7.3f ms/frame  x%.2f  (step and publish %.3f ms)%n",
+                    count, store[0], serialMillis / store[0], store[1]);
+        }
+
+        boolean ok = check(maxThreads) & checkStore();
+        System.out.println(ok ? "[AiBench] OK" : "[AiBench] FAILED");
+        System.exit(ok ? 0 : 1);
+    }
+
+    /**
+     * Average ms per frame over the measured frames
+     */
+    private static double run(List<Monster> monsters, ParallelAiUpdater updater, int frames) {
+        AiScheduler scheduler = new AiScheduler(ALWAYS_NEAR, ALWAYS_NEAR, monsters.size());
+        scheduler.setUpdater(updater);
+        Player player = new Player("bench", MAP_SIZE / 2, MAP_SIZE / 2, 0, 0);
+        for (int frame = 0; frame < WARMUP_FRAMES; frame++) {
+            step(scheduler, monsters, player, frame);
+        }
+        long t = System.nanoTime();
+        for (int frame = 0; frame < frames; frame++) {
+            step(scheduler, monsters, player, WARMUP_FRAMES + frame);
+        }
+        return (System.nanoTime() - t) / 1e6 / frames;
+    }
+
+    /**
+     * Same as run() on one thread, with a MonsterStore doing the movement as MonsterSpawner does;
+     * ms per frame in all, and of that in the store's step and publish
+     */
+    private static double[] runStore(List<Monster> monsters, int frames) {
+        AiScheduler scheduler = new AiScheduler(ALWAYS_NEAR, ALWAYS_NEAR, monsters.size());
+        MonsterStore store = new MonsterStore(0, MAP_SIZE, 0, MAP_SIZE);
+        Player player = new Player("bench", MAP_SIZE / 2, MAP_SIZE / 2, 0, 0);
+        for (int frame = 0; frame < WARMUP_FRAMES; frame++) {
+            walk(player, frame);
+            stepStore(scheduler, store, monsters, player);
+        }
+        List<Monster> parked = new ArrayList<>();
+        long t = System.nanoTime();
+        long storeNanos = 0;
+        for (int frame = 0; frame < frames; frame++) {
+            walk(player, WARMUP_FRAMES + frame);
+            store.sync(monsters);
+            long s = System.nanoTime();
+            store.step(player.getWorldX(), player.getWorldY(), 1);
+            store.publish();
+            storeNanos += System.nanoTime() - s;
+            store.collectParked(parked);
+            scheduler.run(parked, player);
+        }
+        double millis = (System.nanoTime() - t) / 1e6 / frames;
+        store.clear();
+        return new double[] {millis, storeNanos / 1e6 / frames};
+    }
+
+    private static void step(AiScheduler scheduler, List<Monster> monsters, Player player, int frame) {
+        walk(player, frame);
+        scheduler.run(monsters, player);
+    }
+
+    /**
+     * One frame as MonsterSpawner runs it with a store: the store moves the live monsters, the
+     * scheduler only updates the ones it parked
+     */
+    private static void stepStore(AiScheduler scheduler, MonsterStore store, List<Monster> monsters, Player player) {
+        store.sync(monsters);
+        store.step(player.getWorldX(), player.getWorldY(), 1);
+        store.publish();
+        store.collectParked(PARKED);
+        scheduler.run(PARKED, player);
+    }
+
+    private static void walk(Player player, int frame) {
+        double angle = frame * 0.01;
+        player.setWorldX(MAP_SIZE / 2 + (int) (Math.cos(angle) * 400));
+        player.setWorldY(MAP_SIZE / 2 + (int) (Math.sin(angle) * 400));
+    }
+
+    /**
+     * Chasing monsters must end up in the same place on one thread and on many
+     */
+    private static boolean check(int maxThreads) {
+        List<Monster> serial = ring(CHECK_MONSTERS);
+        List<Monster> parallel = ring(CHECK_MONSTERS);
+        chase(serial, new ParallelAiUpdater(0, ParallelAiUpdater.DEFAULT_SERIAL_BELOW));
+        chase(parallel, new ParallelAiUpdater(Math.max(1, maxThreads - 1), 0));
+        for (int i = 0; i < serial.size(); i++) {
+            Monster a = serial.get(i);
+            Monster b = parallel.get(i);
+            if (a.getWorldX() != b.getWorldX() || a.getWorldY() != b.getWorldY()) {
+                System.out.println("[AiBench] monster " + i + " at (" + b.getWorldX() + "," + b.getWorldY()
+                        + ") in parallel, (" + a.getWorldX() + "," + a.getWorldY() + ") serially");
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void chase(List<Monster> monsters, ParallelAiUpdater updater) {
+        AiScheduler scheduler = new AiScheduler(ALWAYS_NEAR, ALWAYS_NEAR, monsters.size());
+        scheduler.setUpdater(updater);
+        Player player = new Player("bench", MAP_SIZE / 2, MAP_SIZE / 2, 0, 0);
+        for (int frame = 0; frame < CHECK_FRAMES; frame++) {
+            scheduler.run(monsters, player);
+        }
+    }
+
+    /**
+     * Monsters moved by a store close in on a player standing still as fast as their speed allows,
+     * also after the store had to follow a third of them being removed
+     */
+    private static boolean checkStore() {
+        List<Monster> monsters = ring(CHECK_MONSTERS);
+        double[] start = new double[monsters.size()];
+        for (int i = 0; i < start.length; i++) {
+            start[i] = distanceToMiddle(monsters.get(i));
+        }
+        AiScheduler scheduler = new AiScheduler(ALWAYS_NEAR, ALWAYS_NEAR, monsters.size());
+        MonsterStore store = new MonsterStore(0, MAP_SIZE, 0, MAP_SIZE);
+        Player player = new Player("bench", MAP_SIZE / 2, MAP_SIZE / 2, 0, 0);
+        List<Monster> all = new ArrayList<>(monsters);
+        for (int frame = 0; frame < CHECK_FRAMES; frame++) {
+            if (frame == CHECK_FRAMES / 2) {
+                monsters.removeIf(m -> m.getId() % 3 == 0);
+            }
+            stepStore(scheduler, store, monsters, player);
+        }
+        for (Monster monster : monsters) {
+            int i = all.indexOf(monster);
+            int speed = monster.getType().speed;
+            double expected = Math.max(start[i] - speed * CHECK_FRAMES, speed) + 2; // +2: positions are whole pixels
+            if (distanceToMiddle(monster) > expected) {
+                System.out.printf("[AiBench] store: monster %d is %.1f px from the player, expected at most %.1f%n",
+                        monster.getId(), distanceToMiddle(monster), expected);
+                return false;
+            }
+        }
+        return store.size() == monsters.size();
+    }
+
+    private static double distanceToMiddle(Monster monster) {
+        return Math.hypot(monster.getWorldX() - MAP_SIZE / 2, monster.getWorldY() - MAP_SIZE / 2);
+    }
+
+    /**
+     * Monsters all over the map, most wandering, those near the player chasing it
+     */
+    private static List<Monster> spread(int count) {
+        Random random = new Random(count);
+        List<Monster> monsters = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            monsters.add(monster(i, random.nextInt(MAP_SIZE), random.nextInt(MAP_SIZE)));
+        }
+        return monsters;
+    }
+
+    /**
+     * Monsters around the middle of the map, close enough to a player standing there to chase it
+     */
+    private static List<Monster> ring(int count) {
+        List<Monster> monsters = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            double angle = 2 * Math.PI * i / count;
+            int radius = 100 + i % 150;
+            monsters.add(monster(i, MAP_SIZE / 2 + (int) (Math.cos(angle) * radius), MAP_SIZE / 2 + (int) (Math.sin(angle) * radius)));
+        }
+        return monsters;
+    }
+
+    private static Monster monster(int id, int x, int y) {
+        Monster monster = new Monster(id, x, y, Monster.MonsterType.values()[id % Monster.MonsterType.values().length]);
+        monster.setMapBounds(0, MAP_SIZE, 0, MAP_SIZE);
+        monster.setNetworkControlled(false);
+        return monster;
+    }
+}
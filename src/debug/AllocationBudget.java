@@ -0,0 +1,237 @@
+package debug;
+
+import main.GameScene;
+import maps.MazeMap;
+import maps.MonsterHuntMap;
+import network.entitiesNet.PlayerMP;
+import objects.entities.Bullet.BulletType;
+import objects.entities.MazeEnemy;
+import objects.entities.MonsterSpawner;
+
+import java.awt.event.MouseEvent;
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * AllocationBudget - headless harness that runs GameScene.update() for N ticks in scripted
+ * scenarios and fails (exit code 1) when bytes allocated per tick on the simulation thread
+ * exceed the scenario's budget.
+ *
+ * Run: mvn -P alloc-budget test
+ *
+ * Options (system properties):
+ *   -Dbudget.ticks=600            measured ticks per scenario (after 120 warm-up ticks)
+ *   -Dbudget.lobby=...            bytes/tick budget per scenario (lobby, players, hunt, maze)
+ *
+ * Ticks are paced at 60 Hz because cooldowns and timers use wall-clock time.
+ * Only the simulation thread is measured: bullet threads and the network thread are not.
+ */
+public final class AllocationBudget {
+    private static final long TICK_NANOS = 1_000_000_000L / 60;
+    private static final int WARMUP_TICKS = 120;
+
+    // Default budgets in bytes per tick; lower them as hot paths get cheaper, never raise to hide a regression
+    private static final long LOBBY_BUDGET = 1_024;
+    private static final long PLAYERS_BUDGET = 1_024;
+    private static final long HUNT_BUDGET = 2_048;
+    private static final long MAZE_BUDGET = 160_000; // String-keyed A*/BFS path searches
+
+    private final GameScene scene;
+    private final com.sun.management.ThreadMXBean threadBean;
+    private final int ticks;
+    private final Random random = new Random(42);
+
+    private AllocationBudget(GameScene scene, int ticks) {
+        this.scene = scene;
+        this.ticks = ticks;
+        this.threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        System.setProperty("miniisland.offline", "true");
+
+        GameScene scene = GameScene.getInstance();
+        scene.getPlayerMP().setUsername("budget");
+
+        AllocationBudget harness = new AllocationBudget(scene, Integer.getInteger("budget.ticks", 600));
+        boolean ok = true;
+        ok &= harness.run("lobby", "idle lobby", LOBBY_BUDGET, harness::setupLobby, () -> {});
+        ok &= harness.run("players", "50 remote players walking", PLAYERS_BUDGET, harness::setupPlayers, harness::walkPlayers);
+        ok &= harness.run("hunt", "Monster Hunt wave 10, RAPID fire", HUNT_BUDGET, harness::setupHunt, harness::refillMonsters);
+        ok &= harness.run("maze", "maze with 20 enemies", MAZE_BUDGET, harness::setupMaze, harness::updateMazeEnemies);
+
+        System.out.println(ok ? "[Budget] All scenarios within budget" : "[Budget] FAILED");
+        System.exit(ok ? 0 : 1);
+    }
+
+    /**
+     * Warm up, then measure bytes allocated by this thread per tick
+     */
+    private boolean run(String key, String name, long defaultBudget, Runnable setup, Runnable perTick) {
+        long budget = Long.getLong("budget." + key, defaultBudget);
+        setup.run();
+
+        long next = System.nanoTime();
+        for (int i = 0; i < WARMUP_TICKS; i++) {
+            next = tick(perTick, next);
+        }
+
+        long before = threadBean.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < ticks; i++) {
+            next = tick(perTick, next);
+        }
+        long perTickBytes = (threadBean.getCurrentThreadAllocatedBytes() - before) / ticks;
+
+        boolean pass = perTickBytes <= budget;
+        System.out.printf("[Budget] %-34s %8d B/tick  (budget %d)  %s%n",
+                name, perTickBytes, budget, pass ? "OK" : "OVER BUDGET");
+        return pass;
+    }
+
+    private long tick(Runnable perTick, long next) {
+        perTick.run();
+        scene.update();
+        next += TICK_NANOS;
+        long wait = next - System.nanoTime();
+        if (wait > 0) {
+            LockSupport.parkNanos(wait);
+        }
+        return next;
+    }
+
+    // === Scenarios ===
+
+    private void setupLobby() {
+        scene.setCurrentMap("lobby");
+        scene.getLobbyMap().removeAllPlayers();
+        scene.getPlayer().setDefaultPosition();
+    }
+
+    private void setupPlayers() {
+        setupLobby();
+        for (int i = 0; i < 50; i++) {
+            scene.registerNewPlayer(new PlayerMP("bot" + i, 1400 + (i % 10) * 48, 600 + (i / 10) * 48, 1, 1000 + i));
+        }
+    }
+
+    /**
+     * Stand-in for inbound Update packets: every remote player steps a few pixels per tick
+     */
+    private void walkPlayers() {
+        for (PlayerMP p : scene.getLobbyMap().players) {
+            int step = random.nextInt(5) - 2;
+            p.setX(p.getX() + step);
+            p.setY(p.getY() + 2 - random.nextInt(5));
+            p.setDirection(1 + random.nextInt(4));
+        }
+    }
+
+    private void setupHunt() {
+        scene.getLobbyMap().removeAllPlayers();
+        scene.setCurrentMap("hunt");
+        MonsterHuntMap hunt = scene.getMonsterHuntMap();
+        hunt.startGame();
+        hunt.getMonsterSpawner().setWaveNumber(10);
+        refillMonsters();
+
+        PlayerMP local = scene.getPlayerMP();
+        local.setBulletType(BulletType.RAPID);
+        scene.getMouseHandler().mousePressed(new MouseEvent(scene, MouseEvent.MOUSE_PRESSED,
+                System.currentTimeMillis(), 0, scene.getScreenWidth() / 2 + 100, scene.getScreenHeight() / 2,
+                1, false, MouseEvent.BUTTON1));
+    }
+
+    private static final String[] MONSTER_TYPES = {"SLIME", "GOBLIN", "ORC"};
+    private int nextMonsterId = 0;
+
+    /**
+     * Keep the wave at 30 monsters (the server normally respawns them)
+     */
+    private void refillMonsters() {
+        MonsterSpawner spawner = scene.getMonsterHuntMap().getMonsterSpawner();
+        while (spawner.getMonsters().size() < 30) {
+            int x = 600 + random.nextInt(1200);
+            int y = 600 + random.nextInt(1200);
+            spawner.addMonster(nextMonsterId++, x, y, MONSTER_TYPES[nextMonsterId % MONSTER_TYPES.length]);
+        }
+    }
+
+    private void setupMaze() {
+        scene.getMouseHandler().mouseReleased(new MouseEvent(scene, MouseEvent.MOUSE_RELEASED,
+                System.currentTimeMillis(), 0, 0, 0, 1, false, MouseEvent.BUTTON1));
+        scene.getMonsterHuntMap().resetGame();
+        scene.getPlayerMP().getBullets().clear();
+
+        MazeMap maze = scene.getMazeMap();
+        maze.readMap(generateMaze(41, 41, 7), () -> {});
+        scene.changeToMazeMap();
+        maze.update(scene.getPlayer()); // Places coins and traps, and clears the spawner's enemies
+
+        int tileSize = scene.getTileSize();
+        scene.getPlayer().setWorldX(tileSize);
+        scene.getPlayer().setWorldY(tileSize);
+
+        MazeEnemy.EnemyType[] types = MazeEnemy.EnemyType.values();
+        for (int i = 0; i < 20; i++) {
+            int cellX = 1 + 2 * random.nextInt(20);
+            int cellY = 1 + 2 * random.nextInt(20);
+            maze.getEnemySpawner().getEnemies().add(
+                    new MazeEnemy(i, cellX * tileSize, cellY * tileSize, types[i % types.length], scene));
+        }
+    }
+
+    /**
+     * Enemy AI is disabled in MazeEnemySpawner.update(); drive it here so pathfinding is measured
+     */
+    private void updateMazeEnemies() {
+        for (MazeEnemy enemy : scene.getMazeMap().getEnemySpawner().getEnemies()) {
+            enemy.updateAI(scene.getPlayer());
+        }
+    }
+
+    /**
+     * Recursive-backtracker maze in the server's format ('#' wall, ' ' floor, rows joined by '/')
+     */
+    private static String generateMaze(int width, int height, long seed) {
+        char[][] grid = new char[height][width];
+        for (char[] row : grid) java.util.Arrays.fill(row, '#');
+
+        Random rnd = new Random(seed);
+        int[] stack = new int[width * height];
+        int top = 0;
+        grid[1][1] = ' ';
+        stack[top++] = 1 * width + 1;
+        int[][] dirs = {{0, -2}, {0, 2}, {-2, 0}, {2, 0}};
+        while (top > 0) {
+            int cell = stack[top - 1];
+            int cx = cell % width;
+            int cy = cell / width;
+            int start = rnd.nextInt(4);
+            boolean moved = false;
+            for (int k = 0; k < 4; k++) {
+                int[] d = dirs[(start + k) % 4];
+                int nx = cx + d[0];
+                int ny = cy + d[1];
+                if (nx > 0 && ny > 0 && nx < width - 1 && ny < height - 1 && grid[ny][nx] == '#') {
+                    grid[cy + d[1] / 2][cx + d[0] / 2] = ' ';
+                    grid[ny][nx] = ' ';
+                    stack[top++] = ny * width + nx;
+                    moved = true;
+                    break;
+                }
+            }
+            if (!moved) top--;
+        }
+        grid[height - 2][width - 2] = '-';
+
+        StringBuilder sb = new StringBuilder();
+        for (int y = 0; y < height; y++) {
+            if (y > 0) sb.append('/');
+            sb.append(grid[y]);
+        }
+        return sb.toString();
+    }
+}
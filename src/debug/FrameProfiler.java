@@ -0,0 +1,144 @@
+package debug;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * FrameProfiler collects per-frame timings and network counters for the debug overlay.
+ * All recording methods are static, allocation-free and cheap enough to stay on in release builds.
+ * Update time is written by the game thread, render sections by the EDT.
+ */
+public final class FrameProfiler {
+
+    /**
+     * Timed sections of a frame. RENDER is the whole paintComponent, the others are parts of it.
+     */
+    public enum Section {
+        UPDATE, RENDER, TILES, LAYER2, ENTITIES, HUD
+    }
+
+    private static final int SECTION_COUNT = Section.values().length;
+
+    // Rolling history for the frame-time graph (~4 seconds at 60fps)
+    public static final int HISTORY = 240;
+    private static final float[] frameMs = new float[HISTORY];
+    private static final float[] workMs = new float[HISTORY];
+    private static int head = 0;
+
+    // Accumulators for the frame in progress and the last finished frame
+    private static final long[] sectionNanos = new long[SECTION_COUNT];
+    private static final long[] lastSectionNanos = new long[SECTION_COUNT];
+    private static volatile long lastUpdateNanos = 0;
+    private static long lastFrameEnd = 0;
+    private static long frameCount = 0;
+
+    // Network
+    private static final AtomicLong messagesReceived = new AtomicLong();
+    private static final AtomicLong bytesReceived = new AtomicLong();
+    private static volatile long pingSentAt = 0;
+    private static volatile float rttMs = -1;
+
+    private FrameProfiler() {
+    }
+
+    /**
+     * Add the time since {@code since} to a section and return the current time,
+     * so consecutive sections can be chained: {@code t = FrameProfiler.lap(Section.TILES, t);}
+     */
+    public static long lap(Section section, long since) {
+        long now = System.nanoTime();
+        sectionNanos[section.ordinal()] += now - since;
+        return now;
+    }
+
+    /**
+     * Record the duration of GameScene.update() (game thread)
+     */
+    public static void recordUpdate(long nanos) {
+        lastUpdateNanos = nanos;
+    }
+
+    /**
+     * Close the current frame (EDT, end of paintComponent)
+     */
+    public static void endFrame(long renderNanos) {
+        long now = System.nanoTime();
+        sectionNanos[Section.RENDER.ordinal()] = renderNanos;
+        sectionNanos[Section.UPDATE.ordinal()] = lastUpdateNanos;
+
+        for (int i = 0; i < SECTION_COUNT; i++) {
+            lastSectionNanos[i] = sectionNanos[i];
+            sectionNanos[i] = 0;
+        }
+
+        long intervalNanos = lastFrameEnd == 0 ? 0 : now - lastFrameEnd;
+        lastFrameEnd = now;
+
+        HitchDetector.recordRender(intervalNanos, renderNanos,
+                lastSectionNanos[Section.TILES.ordinal()] + lastSectionNanos[Section.LAYER2.ordinal()],
+                lastSectionNanos[Section.ENTITIES.ordinal()], lastSectionNanos[Section.HUD.ordinal()]);
+
+        frameMs[head] = intervalNanos / 1_000_000f;
+        workMs[head] = (lastUpdateNanos + renderNanos) / 1_000_000f;
+        head = (head + 1) % HISTORY;
+        frameCount++;
+    }
+
+    /**
+     * Count an inbound network message (WebSocket thread)
+     */
+    public static void recordNetMessage(int length) {
+        messagesReceived.incrementAndGet();
+        bytesReceived.addAndGet(length);
+    }
+
+    /**
+     * Mark that a latency probe was sent; returns false if one is still in flight
+     */
+    public static boolean markPingSent() {
+        long sent = pingSentAt;
+        // Treat probes older than 5 seconds as lost
+        if (sent != 0 && System.nanoTime() - sent < 5_000_000_000L) {
+            return false;
+        }
+        pingSentAt = System.nanoTime();
+        return true;
+    }
+
+    /**
+     * Complete the pending latency probe
+     */
+    public static void markPongReceived() {
+        long sent = pingSentAt;
+        if (sent == 0) return;
+        rttMs = (System.nanoTime() - sent) / 1_000_000f;
+        pingSentAt = 0;
+    }
+
+    // Getters
+    public static float getSectionMs(Section section) {
+        return lastSectionNanos[section.ordinal()] / 1_000_000f;
+    }
+
+    public static long getSectionNanos(Section section) {
+        return lastSectionNanos[section.ordinal()];
+    }
+
+    /**
+     * Frame interval in ms, {@code age} frames back (0 = most recent)
+     */
+    public static float getFrameMs(int age) {
+        return frameMs[(head - 1 - age + HISTORY * 2) % HISTORY];
+    }
+
+    /**
+     * Update + render work in ms, {@code age} frames back (0 = most recent)
+     */
+    public static float getWorkMs(int age) {
+        return workMs[(head - 1 - age + HISTORY * 2) % HISTORY];
+    }
+
+    public static long getFrameCount() { return frameCount; }
+    public static long getMessagesReceived() { return messagesReceived.get(); }
+    public static long getBytesReceived() { return bytesReceived.get(); }
+    public static float getRttMs() { return rttMs; }
+}
@@ -0,0 +1,364 @@
+package debug;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import debug.jfr.NetMessageEvent;
+
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * HitchDetector keeps a lock-free ring buffer of recent telemetry (frame phases, inbound
+ * messages, GC pauses, asset loads). When a frame takes longer than the configured threshold
+ * the last few seconds of the buffer are written to hitches/hitch-yyyyMMdd-HHmmss-SSS.txt.
+ *
+ * Settings (config.properties):
+ *   hitch.enabled=true
+ *   hitch.thresholdMs=100
+ *   hitch.minIntervalSec=30   (rate limit between dumps)
+ *   hitch.maxDumps=20         (per session)
+ *   hitch.dir=hitches
+ */
+public final class HitchDetector {
+    // Record kinds
+    private static final int FRAME = 0;       // a = tick interval, b = update
+    private static final int RENDER = 1;      // a = paint interval, b = render, c = tiles, d = entities, e = hud
+    private static final int NET = 2;         // label = message, a = length, b = handler time
+    private static final int GC = 3;          // label = collector, text = action/cause, a = duration ms, b = used before, c = used after
+    private static final int ASSET = 4;       // label = path, a = bytes, b = decode time
+    private static final String[] KIND_NAMES = {"FRAME", "RENDER", "NET", "GC", "ASSET"};
+
+    private static final int CAPACITY = 8192; // power of two
+    private static final int MASK = CAPACITY - 1;
+    private static final long WINDOW_NANOS = 5_000_000_000L; // dump the last 5 seconds
+
+    // Ring buffer slots; published[i] holds the sequence number once slot i is fully written
+    private static final AtomicLong cursor = new AtomicLong();
+    private static final AtomicLongArray published = new AtomicLongArray(CAPACITY);
+    private static final long[] times = new long[CAPACITY];
+    private static final int[] kinds = new int[CAPACITY];
+    private static final long[] a = new long[CAPACITY];
+    private static final long[] b = new long[CAPACITY];
+    private static final long[] c = new long[CAPACITY];
+    private static final long[] d = new long[CAPACITY];
+    private static final long[] e = new long[CAPACITY];
+    private static final String[] labels = new String[CAPACITY];
+    private static final String[] texts = new String[CAPACITY];
+    private static final String[] netTags = new String[64]; // Tags seen so far, so recording one does not allocate
+
+    // Settings
+    private static boolean enabled = true;
+    private static long thresholdNanos = 100_000_000L;
+    private static long minIntervalNanos = 30_000_000_000L;
+    private static int maxDumps = 20;
+    private static String dumpDir = "hitches";
+
+    private static volatile boolean started = false;
+    private static volatile long lastDumpAt = 0;
+    private static int dumpCount = 0;
+    private static ExecutorService writer;
+
+    static {
+        for (int i = 0; i < CAPACITY; i++) {
+            published.set(i, -1);
+        }
+    }
+
+    private HitchDetector() {
+    }
+
+    /**
+     * Load settings and subscribe to GC notifications. Safe to call more than once.
+     */
+    public static synchronized void start() {
+        if (started) return;
+        started = true;
+
+        loadConfig();
+        if (!enabled) return;
+
+        writer = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "hitch-writer");
+            t.setDaemon(true);
+            t.setPriority(Thread.MIN_PRIORITY);
+            return t;
+        });
+
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (gc instanceof NotificationEmitter emitter) {
+                emitter.addNotificationListener((notification, handback) -> {
+                    if (!notification.getType().equals(GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION)) {
+                        return;
+                    }
+                    GarbageCollectionNotificationInfo info =
+                            GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+                    long before = 0;
+                    long after = 0;
+                    for (var usage : info.getGcInfo().getMemoryUsageBeforeGc().values()) before += usage.getUsed();
+                    for (var usage : info.getGcInfo().getMemoryUsageAfterGc().values()) after += usage.getUsed();
+                    recordGc(info.getGcName(), info.getGcAction() + " (" + info.getGcCause() + ")",
+                            info.getGcInfo().getDuration(), before, after);
+                }, null, null);
+            }
+        }
+        System.out.println("[Hitch] Detector started, threshold " + thresholdNanos / 1_000_000 + " ms");
+    }
+
+    private static void loadConfig() {
+        java.util.Properties prop = new java.util.Properties();
+        try (java.io.InputStream input = new java.io.FileInputStream("config.properties")) {
+            prop.load(input);
+        } catch (IOException ex) {
+            // Defaults
+        }
+        try {
+            enabled = Boolean.parseBoolean(prop.getProperty("hitch.enabled", "true"));
+            thresholdNanos = Long.parseLong(prop.getProperty("hitch.thresholdMs", "100")) * 1_000_000L;
+            minIntervalNanos = Long.parseLong(prop.getProperty("hitch.minIntervalSec", "30")) * 1_000_000_000L;
+            maxDumps = Integer.parseInt(prop.getProperty("hitch.maxDumps", "20"));
+            dumpDir = prop.getProperty("hitch.dir", "hitches");
+        } catch (NumberFormatException ex) {
+            System.err.println("[Hitch] Invalid hitch settings, using defaults: " + ex.getMessage());
+        }
+    }
+
+    // === Recording (any thread, allocation-free) ===
+
+    private static long claim(int kind) {
+        long seq = cursor.getAndIncrement();
+        int i = (int) (seq & MASK);
+        // Mark the slot as being written so a concurrent dump skips it
+        published.set(i, -1);
+        kinds[i] = kind;
+        times[i] = System.nanoTime();
+        return seq;
+    }
+
+    private static void publish(long seq) {
+        published.lazySet((int) (seq & MASK), seq);
+    }
+
+    /**
+     * Game loop tick (game thread). Detects hitches in the update loop.
+     */
+    public static void recordTick(long intervalNanos, long updateNanos) {
+        if (!enabled) return;
+        long seq = claim(FRAME);
+        int i = (int) (seq & MASK);
+        a[i] = intervalNanos;
+        b[i] = updateNanos;
+        labels[i] = null;
+        texts[i] = null;
+        publish(seq);
+        checkHitch("game loop", intervalNanos);
+    }
+
+    /**
+     * Painted frame (EDT). Detects hitches on the render side.
+     */
+    public static void recordRender(long intervalNanos, long renderNanos, long tilesNanos, long entitiesNanos, long hudNanos) {
+        if (!enabled) return;
+        long seq = claim(RENDER);
+        int i = (int) (seq & MASK);
+        a[i] = intervalNanos;
+        b[i] = renderNanos;
+        c[i] = tilesNanos;
+        d[i] = entitiesNanos;
+        e[i] = hudNanos;
+        labels[i] = null;
+        texts[i] = null;
+        publish(seq);
+        checkHitch("render", intervalNanos);
+    }
+
+    /**
+     * Inbound server message (WebSocket thread). Only its tag and length are kept; the message
+     * itself can be a multi-MB map or leaderboard payload and must not stay pinned in the ring.
+     */
+    public static void recordNetMessage(String message, long handlerNanos) {
+        if (!enabled) return;
+        String tag = netTag(message);
+        long seq = claim(NET);
+        int i = (int) (seq & MASK);
+        a[i] = message.length();
+        b[i] = handlerNanos;
+        labels[i] = tag;
+        texts[i] = null;
+        publish(seq);
+    }
+
+    /**
+     * Leading letters of a message, as {@link NetMessageEvent#tagOf}, reusing the String of a tag seen before
+     */
+    private static String netTag(String message) {
+        int end = 0;
+        while (end < message.length() && Character.isLetter(message.charAt(end))) {
+            end++;
+        }
+        for (int k = 0; k < netTags.length; k++) {
+            String tag = netTags[k];
+            if (tag == null) {
+                tag = message.substring(0, end);
+                netTags[k] = tag; // Racy but harmless: at worst a tag is stored twice
+                return tag;
+            }
+            if (tag.length() == end && message.startsWith(tag)) return tag;
+        }
+        return message.substring(0, end);
+    }
+
+    /**
+     * Asset decode (loading thread)
+     */
+    public static void recordAssetLoad(String path, long bytes, long decodeNanos) {
+        if (!enabled) return;
+        long seq = claim(ASSET);
+        int i = (int) (seq & MASK);
+        a[i] = bytes;
+        b[i] = decodeNanos;
+        labels[i] = path;
+        texts[i] = null;
+        publish(seq);
+    }
+
+    private static void recordGc(String name, String action, long durationMs, long before, long after) {
+        if (!enabled) return;
+        long seq = claim(GC);
+        int i = (int) (seq & MASK);
+        a[i] = durationMs;
+        b[i] = before;
+        c[i] = after;
+        labels[i] = name;
+        texts[i] = action;
+        publish(seq);
+    }
+
+    // === Detection and dump ===
+
+    private static void checkHitch(String source, long intervalNanos) {
+        if (intervalNanos < thresholdNanos || writer == null) return;
+
+        long now = System.nanoTime();
+        synchronized (HitchDetector.class) {
+            if (dumpCount >= maxDumps) return;
+            if (lastDumpAt != 0 && now - lastDumpAt < minIntervalNanos) return;
+            lastDumpAt = now;
+            dumpCount++;
+        }
+
+        // Copy the window on the detecting thread, write the file in the background
+        Snapshot snapshot = snapshot(now);
+        writer.execute(() -> writeDump(snapshot, source, intervalNanos));
+    }
+
+    private static final class Snapshot {
+        final long hitchAt;
+        final int size;
+        final long[] times, a, b, c, d, e;
+        final int[] kinds;
+        final String[] labels, texts;
+
+        Snapshot(long hitchAt, int capacity) {
+            this.hitchAt = hitchAt;
+            this.size = capacity;
+            times = new long[capacity];
+            a = new long[capacity];
+            b = new long[capacity];
+            c = new long[capacity];
+            d = new long[capacity];
+            e = new long[capacity];
+            kinds = new int[capacity];
+            labels = new String[capacity];
+            texts = new String[capacity];
+        }
+    }
+
+    private static Snapshot snapshot(long now) {
+        long end = cursor.get();
+        long start = Math.max(0, end - CAPACITY);
+        Snapshot s = new Snapshot(now, (int) (end - start));
+        int n = 0;
+        for (long seq = start; seq < end; seq++) {
+            int i = (int) (seq & MASK);
+            if (published.get(i) != seq) continue; // overwritten or still being written
+            if (now - times[i] > WINDOW_NANOS) continue;
+            s.times[n] = times[i];
+            s.kinds[n] = kinds[i];
+            s.a[n] = a[i];
+            s.b[n] = b[i];
+            s.c[n] = c[i];
+            s.d[n] = d[i];
+            s.e[n] = e[i];
+            s.labels[n] = labels[i];
+            s.texts[n] = texts[i];
+            // Slot was reused while copying; drop the entry
+            if (published.get(i) != seq) continue;
+            n++;
+        }
+        return trim(s, n);
+    }
+
+    private static Snapshot trim(Snapshot s, int n) {
+        if (n == s.size) return s;
+        Snapshot t = new Snapshot(s.hitchAt, n);
+        System.arraycopy(s.times, 0, t.times, 0, n);
+        System.arraycopy(s.kinds, 0, t.kinds, 0, n);
+        System.arraycopy(s.a, 0, t.a, 0, n);
+        System.arraycopy(s.b, 0, t.b, 0, n);
+        System.arraycopy(s.c, 0, t.c, 0, n);
+        System.arraycopy(s.d, 0, t.d, 0, n);
+        System.arraycopy(s.e, 0, t.e, 0, n);
+        System.arraycopy(s.labels, 0, t.labels, 0, n);
+        System.arraycopy(s.texts, 0, t.texts, 0, n);
+        return t;
+    }
+
+    private static void writeDump(Snapshot s, String source, long intervalNanos) {
+        File dir = new File(dumpDir);
+        if (!dir.exists() && !dir.mkdirs()) {
+            System.err.println("[Hitch] Cannot create dump directory: " + dir.getAbsolutePath());
+            return;
+        }
+        String stamp = new SimpleDateFormat("yyyyMMdd-HHmmss-SSS").format(new Date());
+        File file = new File(dir, "hitch-" + stamp + ".txt");
+
+        try (PrintWriter out = new PrintWriter(new BufferedWriter(new FileWriter(file)))) {
+            out.printf("Hitch %s: %.1f ms (threshold %d ms)%n", source, intervalNanos / 1e6, thresholdNanos / 1_000_000);
+            out.printf("Time: %s%n", new Date());
+            Runtime rt = Runtime.getRuntime();
+            out.printf("Heap: %d/%d MB, %d processors%n",
+                    (rt.totalMemory() - rt.freeMemory()) >> 20, rt.maxMemory() >> 20, rt.availableProcessors());
+            out.printf("Records: %d (last %d s, t = ms relative to hitch)%n%n", s.size, WINDOW_NANOS / 1_000_000_000L);
+
+            for (int n = 0; n < s.size; n++) {
+                double t = (s.times[n] - s.hitchAt) / 1e6;
+                out.printf("%10.2f  %-6s ", t, KIND_NAMES[s.kinds[n]]);
+                switch (s.kinds[n]) {
+                    case FRAME -> out.printf("interval=%.2fms update=%.2fms%n", s.a[n] / 1e6, s.b[n] / 1e6);
+                    case RENDER -> out.printf("interval=%.2fms render=%.2fms tiles=%.2fms entities=%.2fms hud=%.2fms%n",
+                            s.a[n] / 1e6, s.b[n] / 1e6, s.c[n] / 1e6, s.d[n] / 1e6, s.e[n] / 1e6);
+                    case NET -> out.printf("tag=%s size=%d handler=%.2fms%n", s.labels[n], s.a[n], s.b[n] / 1e6);
+                    case GC -> out.printf("%s %s duration=%dms used=%dMB->%dMB%n",
+                            s.labels[n], s.texts[n], s.a[n], s.b[n] >> 20, s.c[n] >> 20);
+                    case ASSET -> out.printf("path=%s bytes=%d decode=%.2fms%n", s.labels[n], s.a[n], s.b[n] / 1e6);
+                }
+            }
+            System.out.println("[Hitch] " + String.format("%.0f", intervalNanos / 1e6) + " ms frame, dump written to " + file.getPath());
+        } catch (IOException | RuntimeException ex) {
+            // Executor would swallow runtime errors silently
+            System.err.println("[Hitch] Failed to write dump: " + ex);
+        }
+    }
+}
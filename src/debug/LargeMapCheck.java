@@ -0,0 +1,140 @@
+package debug;
+
+import maps.ChunkedWorld;
+import maps.MapFile;
+import maps.TileGrid;
+import maps.TileType;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * LargeMapCheck - headless harness for chunk streaming. It generates a synthetic map far
+ * bigger than the lobby, writes it as a compiled MapFile, streams it through a ChunkedWorld
+ * while a camera walks across it and fails (exit code 1) if any of these happen:
+ *   - a loaded cell or its collision bits differ from the generated map
+ *   - the chunk under the camera is not loaded after update()
+ *   - more chunks are loaded than the world's budget
+ *
+ * Run: mvn -P large-map test
+ *
+ * Options (system properties):
+ *   -Dlargemap.size=1024      map width and height in tiles
+ *   -Dlargemap.resident=64    chunk budget of the world
+ *   -Dlargemap.speed=2        tiles the camera moves per tick
+ *
+ * Cells in the view that the streamer has not delivered yet are counted, not failed: they
+ * read as empty and solid, which is what drawing and collision expect.
+ */
+public final class LargeMapCheck {
+    private static final int VIEW_COLS = 20; // Half the visible area in tiles, about a 1920 x 1080 screen at 48 px
+    private static final int VIEW_ROWS = 12;
+    private static final int TILE_TYPES = 200;
+
+    public static void main(String[] args) throws Exception {
+        int size = Integer.getInteger("largemap.size", 1024);
+        int resident = Integer.getInteger("largemap.resident", 64);
+        int speed = Integer.getInteger("largemap.speed", 2);
+
+        long start = System.nanoTime();
+        TileGrid expected = generate(size, size);
+        Path file = Files.createTempFile("largemap", ".bin");
+        MapFile.writeTo(file, MapFile.of(expected));
+        System.out.printf("[LargeMap] Generated %dx%d map (%d KB compiled) in %.0f ms%n",
+                size, size, Files.size(file) / 1024, (System.nanoTime() - start) / 1e6);
+
+        ChunkedWorld world = MapFile.stream(file, resident);
+        boolean ok = true;
+        long wrong = 0;
+        long missing = 0;
+        long checked = 0;
+        int peakResident = 0;
+        int ticks = 0;
+
+        // Walk the camera along a zig-zag through the whole map and back to the start
+        start = System.nanoTime();
+        int[][] route = {{16, 16}, {size - 16, size / 3}, {16, 2 * size / 3}, {size - 16, size - 16}, {16, 16}};
+        for (int leg = 1; leg < route.length; leg++) {
+            int fromCol = route[leg - 1][0];
+            int fromRow = route[leg - 1][1];
+            int steps = Math.max(Math.abs(route[leg][0] - fromCol), Math.abs(route[leg][1] - fromRow)) / speed;
+            for (int step = 0; step <= steps; step++) {
+                int col = fromCol + (route[leg][0] - fromCol) * step / Math.max(1, steps);
+                int row = fromRow + (route[leg][1] - fromRow) * step / Math.max(1, steps);
+                world.update(col, row);
+                ticks++;
+
+                if (!world.isChunkLoaded(col, row)) {
+                    System.err.println("[LargeMap] Camera chunk not loaded at " + col + "," + row);
+                    ok = false;
+                }
+                peakResident = Math.max(peakResident, world.getResidentChunks());
+
+                // What a frame would draw and collide with
+                for (int r = row - VIEW_ROWS; r <= row + VIEW_ROWS; r++) {
+                    for (int c = col - VIEW_COLS; c <= col + VIEW_COLS; c++) {
+                        if (!expected.inBounds(c, r)) continue;
+                        checked++;
+                        if (!world.isChunkLoaded(c, r)) {
+                            missing++;
+                            continue;
+                        }
+                        if (world.get(c, r) != expected.get(c, r) || world.get(1, c, r) != expected.get(1, c, r)
+                                || world.getMask(c, r) != expected.getMask(c, r)) {
+                            wrong++;
+                        }
+                    }
+                }
+                Thread.yield(); // Give the streaming thread a turn, as the frame pacing would
+            }
+        }
+        double walkMillis = (System.nanoTime() - start) / 1e6;
+
+        if (wrong > 0) {
+            System.err.println("[LargeMap] " + wrong + " loaded cells differ from the generated map");
+            ok = false;
+        }
+        if (peakResident > resident) {
+            System.err.println("[LargeMap] " + peakResident + " chunks loaded, budget is " + resident);
+            ok = false;
+        }
+
+        System.out.printf("[LargeMap] %d ticks in %.0f ms, %d chunks, %d loads (%.3f ms avg), %d evictions%n",
+                ticks, walkMillis, world.getChunkCount(), world.getLoads(), world.getAverageLoadMillis(), world.getEvictions());
+        System.out.printf("[LargeMap] Peak %d chunks resident (%d KB now vs %d KB for the whole map), "
+                        + "%.2f%% of visible cells not streamed in yet%n",
+                peakResident, world.sizeInBytes() / 1024, expected.sizeInBytes() / 1024, 100.0 * missing / Math.max(1, checked));
+
+        world.close();
+        Files.deleteIfExists(file);
+        System.out.println(ok ? "[LargeMap] OK" : "[LargeMap] FAILED");
+        System.exit(ok ? 0 : 1);
+    }
+
+    /**
+     * Deterministic map: mostly grass, scattered walls and lakes, bridges on the second layer
+     */
+    private static TileGrid generate(int cols, int rows) {
+        TileGrid grid = new TileGrid(cols, rows, 2);
+        grid.fill(1, TileGrid.EMPTY);
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                int hash = (col * 73_856_093) ^ (row * 19_349_663);
+                grid.set(col, row, Math.floorMod(hash, TILE_TYPES));
+                if (Math.floorMod(hash >> 8, 16) == 0) {
+                    grid.set(1, col, row, 1); // Bridge
+                }
+            }
+        }
+        grid.rebuildMask(LargeMapCheck::typeOf);
+        return grid;
+    }
+
+    private static TileType typeOf(int tile) {
+        if (tile < 0) return TileType.Wall;
+        if (tile == 1) return TileType.Bridge;
+        if (tile % 10 == 0) return TileType.Wall;
+        if (tile % 10 == 1) return TileType.Water;
+        return TileType.Grass;
+    }
+}
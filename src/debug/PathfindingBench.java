@@ -0,0 +1,265 @@
+package debug;
+
+import maps.AdaptivePathfinder;
+import maps.GridAStar;
+import maps.HierarchicalPathfinder;
+import maps.MazeField;
+import maps.MazeGenerator;
+import maps.TileGrid;
+import maps.TileType;
+
+import java.util.Random;
+
+/**
+ * PathfindingBench - headless benchmark of HierarchicalPathfinder (HPA*) against flat A*
+ * (GridAStar over the whole grid) on generated mazes. For every size it reports build time,
+ * average search time, cells/nodes expanded and how much longer the HPA* paths are. A chase
+ * then compares flat A* with AdaptivePathfinder for enemies re-planning towards a wandering
+ * player. It fails (exit code 1) if any of these happen:
+ *   - an HPA* path is broken (not start to goal, a step that is not to a neighbour or into a wall)
+ *   - HPA* finds no path where flat A* does, or refining only part of the route changes the answer
+ *   - an adaptive search in the chase is not as short as flat A*'s
+ *   - after tiles change, the incrementally rebuilt pathfinder answers differently from a new one
+ *
+ * Run: mvn -P pathfinding test
+ *
+ * Options (system properties):
+ *   -Dpathbench.sizes=255,511,1023   maze widths and heights in tiles (odd)
+ *   -Dpathbench.queries=200          start/goal pairs per size
+ *   -Dpathbench.cluster=32           HPA* cluster size in tiles
+ *   -Dpathbench.changes=200          walls knocked out for the incremental rebuild check
+ *   -Dpathbench.replans=300          re-plans per chaser in the chase
+ */
+public final class PathfindingBench {
+    // MazeMap tile ids, as MazeGenerator writes them
+    private static final int WALL_TILE = 0;
+    private static final int FINISH_TILE = 2;
+    private static final int FLOOR_TILE = 3;
+    private static final int HOLE_TILE = 4;
+    private static final int WARMUP_QUERIES = 50;
+    private static final int REFINE_NODES = 4; // Route prefix a chasing enemy refines
+    private static final int CHASERS = 4;
+    private static final int STEPS_PER_REPLAN = 2; // Tiles an enemy walks between searches (30 frames)
+
+    public static void main(String[] args) {
+        String[] sizes = System.getProperty("pathbench.sizes", "255,511,1023").split(",");
+        int queries = Integer.getInteger("pathbench.queries", 200);
+        int clusterSize = Integer.getInteger("pathbench.cluster", HierarchicalPathfinder.DEFAULT_CLUSTER_SIZE);
+        int changes = Integer.getInteger("pathbench.changes", 200);
+        int replans = Integer.getInteger("pathbench.replans", 300);
+
+        boolean ok = true;
+        for (String text : sizes) {
+            ok &= run(Integer.parseInt(text.trim()), queries, clusterSize, changes, replans);
+        }
+        System.out.println(ok ? "[PathBench] OK" : "[PathBench] FAILED");
+        System.exit(ok ? 0 : 1);
+    }
+
+    private static boolean run(int size, int queries, int clusterSize, int changes, int replans) {
+        TileGrid maze = MazeGenerator.generate(MazeGenerator.VERSION, 0x5EEDL + size, size, size);
+        maze.rebuildMask(PathfindingBench::typeOf);
+        MazeField field = MazeField.build(maze);
+        Random random = new Random(size);
+        int[] starts = new int[queries + WARMUP_QUERIES];
+        int[] goals = new int[starts.length];
+        for (int i = 0; i < starts.length; i++) {
+            starts[i] = field.randomReachable(random);
+            goals[i] = field.randomReachable(random);
+        }
+
+        long t = System.nanoTime();
+        HierarchicalPathfinder hpa = new HierarchicalPathfinder(maze, clusterSize);
+        double buildMillis = (System.nanoTime() - t) / 1e6;
+        GridAStar flat = new GridAStar(maze);
+
+        boolean ok = true;
+        long flatNanos = 0;
+        long hpaNanos = 0;
+        long flatExpanded = 0;
+        long hpaExpanded = 0;
+        long flatLength = 0;
+        long hpaLength = 0;
+        long prefixNanos = 0;
+        long prefixExpanded = 0;
+        for (int i = 0; i < starts.length; i++) {
+            boolean measured = i >= WARMUP_QUERIES;
+            int sc = starts[i] % size, sr = starts[i] / size, gc = goals[i] % size, gr = goals[i] / size;
+
+            t = System.nanoTime();
+            int shortest = flat.search(sc, sr, gc, gr);
+            long flatTime = System.nanoTime() - t;
+            t = System.nanoTime();
+            int found = hpa.search(sc, sr, gc, gr);
+            long hpaTime = System.nanoTime() - t;
+            int hpaCells = hpa.getExpanded();
+
+            if (shortest != GridAStar.NO_PATH && found == HierarchicalPathfinder.NO_PATH) {
+                System.err.printf("[PathBench] %d: HPA* found no path %d,%d -> %d,%d%n", size, sc, sr, gc, gr);
+                ok = false;
+                continue;
+            }
+            if (found != HierarchicalPathfinder.NO_PATH && !validPath(hpa, maze, starts[i], goals[i], found)) {
+                System.err.printf("[PathBench] %d: broken HPA* path %d,%d -> %d,%d%n", size, sc, sr, gc, gr);
+                ok = false;
+            }
+            // The same search refining only the start of the route, as MazeEnemy uses it
+            t = System.nanoTime();
+            int prefix = hpa.search(sc, sr, gc, gr, REFINE_NODES);
+            long prefixTime = System.nanoTime() - t;
+            if (prefix != found || (found != HierarchicalPathfinder.NO_PATH && hpa.getPathCell(0) != starts[i])) {
+                System.err.printf("[PathBench] %d: partial HPA* path differs %d,%d -> %d,%d%n", size, sc, sr, gc, gr);
+                ok = false;
+            }
+            if (measured) {
+                prefixNanos += prefixTime;
+                prefixExpanded += hpa.getExpanded();
+                flatNanos += flatTime;
+                hpaNanos += hpaTime;
+                flatExpanded += flat.getExpanded();
+                hpaExpanded += hpaCells;
+                flatLength += Math.max(0, shortest);
+                hpaLength += Math.max(0, found);
+            }
+        }
+
+        System.out.printf("[PathBench] %4dx%-4d build %6.1f ms, %d nodes in %d-tile clusters%n",
+                size, size, buildMillis, hpa.getNodeCount(), clusterSize);
+        System.out.printf("[PathBench]   flat A*  %8.3f ms/search %9d expanded/search%n",
+                flatNanos / 1e6 / queries, flatExpanded / queries);
+        System.out.printf("[PathBench]   HPA*     %8.3f ms/search %9d expanded/search, paths %+.2f%% vs shortest%n",
+                hpaNanos / 1e6 / queries, hpaExpanded / queries, 100.0 * (hpaLength - flatLength) / Math.max(1, flatLength));
+        System.out.printf("[PathBench]   HPA*/%d   %8.3f ms/search %9d expanded/search (first %d route nodes refined)%n",
+                REFINE_NODES, prefixNanos / 1e6 / queries, prefixExpanded / queries, REFINE_NODES);
+
+        ok &= chase(maze, field, random, replans);
+        ok &= checkIncremental(maze, hpa, clusterSize, changes, starts, goals, random);
+        return ok;
+    }
+
+    /**
+     * Enemies searching again towards a player who wanders 0-2 tiles between searches, as
+     * MazeEnemy does every 30 frames: flat A* from scratch against AdaptivePathfinder. An enemy
+     * that catches up is moved to a random spot, so the chasers stay long-range.
+     */
+    private static boolean chase(TileGrid maze, MazeField field, Random random, int replans) {
+        int cols = maze.getWidth();
+        GridAStar flat = new GridAStar(maze);
+        AdaptivePathfinder adaptive = new AdaptivePathfinder(maze);
+        int player = field.randomReachable(random);
+        int[] enemies = new int[CHASERS];
+        for (int i = 0; i < CHASERS; i++) enemies[i] = field.randomReachable(random);
+
+        boolean ok = true;
+        long flatNanos = 0;
+        long adaptiveNanos = 0;
+        long flatExpanded = 0;
+        long adaptiveExpanded = 0;
+        int searches = 0;
+        for (int replan = 0; replan < replans; replan++) {
+            for (int steps = random.nextInt(3); steps > 0; steps--) {
+                player = wander(maze, player, random);
+            }
+            for (int i = 0; i < CHASERS; i++) {
+                int sc = enemies[i] % cols, sr = enemies[i] / cols, gc = player % cols, gr = player / cols;
+                long t = System.nanoTime();
+                int shortest = flat.search(sc, sr, gc, gr);
+                long flatTime = System.nanoTime() - t;
+                t = System.nanoTime();
+                int found = adaptive.search(sc, sr, gc, gr);
+                long adaptiveTime = System.nanoTime() - t;
+                if (found != shortest) {
+                    System.err.printf("[PathBench]   adaptive path %d, shortest %d (%d,%d -> %d,%d)%n", found, shortest, sc, sr, gc, gr);
+                    ok = false;
+                }
+                if (replan >= WARMUP_QUERIES / CHASERS) {
+                    flatNanos += flatTime;
+                    adaptiveNanos += adaptiveTime;
+                    flatExpanded += flat.getExpanded();
+                    adaptiveExpanded += adaptive.getExpanded();
+                    searches++;
+                }
+                int cells = adaptive.getPathSize();
+                enemies[i] = cells > STEPS_PER_REPLAN + 1 ? adaptive.getPathCell(STEPS_PER_REPLAN) : field.randomReachable(random);
+            }
+        }
+        searches = Math.max(1, searches);
+        System.out.printf("[PathBench]   chase    flat A* %8.3f ms %9d expanded, adaptive %8.3f ms %9d expanded per search%s%n",
+                flatNanos / 1e6 / searches, flatExpanded / searches, adaptiveNanos / 1e6 / searches,
+                adaptiveExpanded / searches, ok ? "" : ", MISMATCH");
+        return ok;
+    }
+
+    private static int wander(TileGrid maze, int cell, Random random) {
+        int cols = maze.getWidth();
+        int col = cell % cols;
+        int row = cell / cols;
+        int dir = random.nextInt(4);
+        for (int k = 0; k < 4; k++, dir = (dir + 1) & 3) {
+            int c = col + (dir == 2 ? -1 : dir == 3 ? 1 : 0);
+            int r = row + (dir == 0 ? -1 : dir == 1 ? 1 : 0);
+            if ((maze.getMask(c, r) & (TileGrid.SOLID | TileGrid.HOLE)) == 0) return r * cols + c;
+        }
+        return cell;
+    }
+
+    /**
+     * Knock out walls, let the pathfinder rebuild just the touched clusters, and compare its
+     * answers with a pathfinder built from scratch on the changed maze
+     */
+    private static boolean checkIncremental(TileGrid maze, HierarchicalPathfinder hpa, int clusterSize, int changes,
+                                            int[] starts, int[] goals, Random random) {
+        int size = maze.getWidth();
+        for (int i = 0; i < changes; i++) {
+            int col = 1 + random.nextInt(size - 2);
+            int row = 1 + random.nextInt(size - 2);
+            maze.set(col, row, FLOOR_TILE);
+            maze.rebuildMask(PathfindingBench::typeOf, row, row + 1);
+            hpa.invalidate(col, row);
+        }
+        long t = System.nanoTime();
+        int rebuilt = hpa.refresh();
+        double refreshMillis = (System.nanoTime() - t) / 1e6;
+
+        HierarchicalPathfinder fresh = new HierarchicalPathfinder(maze, clusterSize);
+        boolean ok = true;
+        int differences = 0;
+        for (int i = 0; i < starts.length; i++) {
+            int sc = starts[i] % size, sr = starts[i] / size, gc = goals[i] % size, gr = goals[i] / size;
+            int incremental = hpa.search(sc, sr, gc, gr);
+            if (incremental != HierarchicalPathfinder.NO_PATH && !validPath(hpa, maze, starts[i], goals[i], incremental)) {
+                ok = false;
+            }
+            if (incremental != fresh.search(sc, sr, gc, gr)) differences++;
+        }
+        if (differences > 0) {
+            System.err.println("[PathBench]   " + differences + " searches differ between incremental and full rebuild");
+            ok = false;
+        }
+        System.out.printf("[PathBench]   %d tiles changed: %d clusters rebuilt in %.2f ms%s%n",
+                changes, rebuilt, refreshMillis, ok ? "" : ", MISMATCH");
+        return ok;
+    }
+
+    private static boolean validPath(HierarchicalPathfinder hpa, TileGrid maze, int start, int goal, int length) {
+        int cols = maze.getWidth();
+        int cells = hpa.getPathSize();
+        if (cells != length + 1 || hpa.getPathCell(0) != start || hpa.getPathCell(cells - 1) != goal) return false;
+        for (int i = 0; i < cells; i++) {
+            int cell = hpa.getPathCell(i);
+            if ((maze.getMask(cell % cols, cell / cols) & (TileGrid.SOLID | TileGrid.HOLE)) != 0) return false;
+            if (i > 0) {
+                int previous = hpa.getPathCell(i - 1);
+                if (Math.abs(cell % cols - previous % cols) + Math.abs(cell / cols - previous / cols) != 1) return false;
+            }
+        }
+        return true;
+    }
+
+    private static TileType typeOf(int tile) {
+        if (tile == WALL_TILE) return TileType.Wall;
+        if (tile == HOLE_TILE) return TileType.Hole;
+        if (tile == FINISH_TILE) return TileType.FinishLine;
+        return TileType.Grass;
+    }
+}
@@ -0,0 +1,263 @@
+package debug;
+
+import debug.FrameProfiler.Section;
+import imageRender.AssetManager;
+import main.GameScene;
+import network.client.Client;
+import network.entitiesNet.PlayerMP;
+
+import java.awt.*;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * PerformanceOverlay - debug HUD toggled with F3.
+ * Shows a rolling frame-time graph, the update/render split, render sections,
+ * entity counts, GC, heap, allocation rate and network stats.
+ * Text is rebuilt only twice per second; per frame it only draws cached strings and one polyline.
+ */
+public class PerformanceOverlay {
+    private static final int WIDTH = FrameProfiler.HISTORY + 20;
+    private static final int GRAPH_HEIGHT = 60;
+    private static final float GRAPH_MAX_MS = 33.3f;
+    private static final long SAMPLE_INTERVAL = 500_000_000L; // 0.5s
+    private static final int LINE_HEIGHT = 14;
+
+    private static final Font FONT = new Font(Font.MONOSPACED, Font.PLAIN, 12);
+    private static final Color BACKGROUND = new Color(0, 0, 0, 190);
+    private static final Color FRAME_COLOR = new Color(255, 220, 60);
+    private static final Color WORK_COLOR = new Color(80, 220, 120);
+    private static final Color TARGET_COLOR = new Color(255, 255, 255, 90);
+
+    private final GameScene gameScene;
+
+    // Preallocated polyline buffers for the graph
+    private final int[] xPoints = new int[FrameProfiler.HISTORY];
+    private final int[] frameYPoints = new int[FrameProfiler.HISTORY];
+    private final int[] workYPoints = new int[FrameProfiler.HISTORY];
+
+    private String[] lines = new String[0];
+    private long lastSample = 0;
+    private long overlayNanos = 0;
+
+    // Previous samples for rate calculation
+    private long lastGcCount = -1;
+    private long lastGcTime = 0;
+    private long lastAllocated = -1;
+    private long lastMessages = 0;
+    private long lastBytes = 0;
+    private long lastFrameCount = 0;
+
+    private final List<GarbageCollectorMXBean> gcBeans = ManagementFactory.getGarbageCollectorMXBeans();
+    private final com.sun.management.ThreadMXBean threadBean;
+
+    public PerformanceOverlay(GameScene gameScene) {
+        this.gameScene = gameScene;
+
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean sunBean && sunBean.isThreadAllocatedMemorySupported()) {
+            sunBean.setThreadAllocatedMemoryEnabled(true);
+            threadBean = sunBean;
+        } else {
+            threadBean = null;
+        }
+    }
+
+    /**
+     * Draw the overlay at the top-right corner, below the Chat/Shop buttons
+     */
+    public void render(Graphics2D g2d) {
+        long start = System.nanoTime();
+        if (start - lastSample >= SAMPLE_INTERVAL) {
+            sample(start);
+        }
+
+        int x = gameScene.getScreenWidth() - WIDTH - 10;
+        int y = 64;
+        int height = GRAPH_HEIGHT + 12 + lines.length * LINE_HEIGHT + 8;
+
+        Color originalColor = g2d.getColor();
+        Font originalFont = g2d.getFont();
+
+        g2d.setColor(BACKGROUND);
+        g2d.fillRect(x, y, WIDTH, height);
+
+        renderGraph(g2d, x + 10, y + 6);
+
+        g2d.setFont(FONT);
+        g2d.setColor(Color.WHITE);
+        int textY = y + GRAPH_HEIGHT + 22;
+        for (String line : lines) {
+            g2d.drawString(line, x + 10, textY);
+            textY += LINE_HEIGHT;
+        }
+
+        g2d.setColor(originalColor);
+        g2d.setFont(originalFont);
+        overlayNanos = System.nanoTime() - start;
+    }
+
+    /**
+     * Frame interval (yellow) and update+render work (green), newest on the right
+     */
+    private void renderGraph(Graphics2D g2d, int x, int y) {
+        int count = FrameProfiler.HISTORY;
+        int bottom = y + GRAPH_HEIGHT;
+        for (int i = 0; i < count; i++) {
+            int age = count - 1 - i;
+            xPoints[i] = x + i;
+            frameYPoints[i] = bottom - toGraph(FrameProfiler.getFrameMs(age));
+            workYPoints[i] = bottom - toGraph(FrameProfiler.getWorkMs(age));
+        }
+
+        // 60fps budget line
+        int targetY = bottom - toGraph(1000f / 60f);
+        g2d.setColor(TARGET_COLOR);
+        g2d.drawLine(x, targetY, x + count, targetY);
+
+        g2d.setColor(FRAME_COLOR);
+        g2d.drawPolyline(xPoints, frameYPoints, count);
+        g2d.setColor(WORK_COLOR);
+        g2d.drawPolyline(xPoints, workYPoints, count);
+    }
+
+    private int toGraph(float ms) {
+        return (int) (Math.min(ms, GRAPH_MAX_MS) / GRAPH_MAX_MS * GRAPH_HEIGHT);
+    }
+
+    /**
+     * Rebuild the text lines from counters; runs at most twice per second
+     */
+    private void sample(long now) {
+        float seconds = lastSample == 0 ? 1f : (now - lastSample) / 1_000_000_000f;
+        lastSample = now;
+
+        // Frames
+        long frames = FrameProfiler.getFrameCount();
+        float fps = (frames - lastFrameCount) / seconds;
+        lastFrameCount = frames;
+        float avgFrame = 0;
+        float maxFrame = 0;
+        int window = Math.min(FrameProfiler.HISTORY, 60);
+        for (int i = 0; i < window; i++) {
+            float ms = FrameProfiler.getFrameMs(i);
+            avgFrame += ms;
+            maxFrame = Math.max(maxFrame, ms);
+        }
+        avgFrame /= window;
+
+        // GC
+        long gcCount = 0;
+        long gcTime = 0;
+        for (GarbageCollectorMXBean gc : gcBeans) {
+            gcCount += Math.max(0, gc.getCollectionCount());
+            gcTime += Math.max(0, gc.getCollectionTime());
+        }
+        long gcCountDelta = lastGcCount < 0 ? 0 : gcCount - lastGcCount;
+        long gcTimeDelta = lastGcCount < 0 ? 0 : gcTime - lastGcTime;
+        lastGcCount = gcCount;
+        lastGcTime = gcTime;
+
+        // Heap and allocation rate (sum over live threads)
+        Runtime runtime = Runtime.getRuntime();
+        long usedMb = (runtime.totalMemory() - runtime.freeMemory()) >> 20;
+        long maxMb = runtime.maxMemory() >> 20;
+        String allocRate = "n/a";
+        if (threadBean != null) {
+            long allocated = 0;
+            for (long bytes : threadBean.getThreadAllocatedBytes(threadBean.getAllThreadIds())) {
+                if (bytes > 0) allocated += bytes;
+            }
+            if (lastAllocated >= 0) {
+                // Dead threads drop out of the sum, so clamp to zero
+                long delta = Math.max(0, allocated - lastAllocated);
+                allocRate = String.format("%.1f MB/s", delta / seconds / (1024f * 1024f));
+            }
+            lastAllocated = allocated;
+        }
+
+        // Network
+        long messages = FrameProfiler.getMessagesReceived();
+        long bytes = FrameProfiler.getBytesReceived();
+        float msgRate = (messages - lastMessages) / seconds;
+        float kbRate = (bytes - lastBytes) / seconds / 1024f;
+        lastMessages = messages;
+        lastBytes = bytes;
+        float rtt = FrameProfiler.getRttMs();
+        sendLatencyProbe();
+
+        lines = new String[] {
+                String.format("FPS %.0f  frame %.1f ms (max %.1f)", fps, avgFrame, maxFrame),
+                String.format("update %.2f ms  render %.2f ms",
+                        FrameProfiler.getSectionMs(Section.UPDATE), FrameProfiler.getSectionMs(Section.RENDER)),
+                String.format("  tiles %.2f  layer2 %.2f",
+                        FrameProfiler.getSectionMs(Section.TILES), FrameProfiler.getSectionMs(Section.LAYER2)),
+                String.format("  entities %.2f  hud %.2f",
+                        FrameProfiler.getSectionMs(Section.ENTITIES), FrameProfiler.getSectionMs(Section.HUD)),
+                entityCountLine(),
+                String.format("dmg numbers %d  power-ups %d",
+                        gameScene.getMonsterHuntMap().getDamageNumberCount(),
+                        gameScene.getMonsterHuntMap().getPowerUpCount()),
+                String.format("GC %d (+%d)  pause %d ms (+%d)", gcCount, gcCountDelta, gcTime, gcTimeDelta),
+                String.format("heap %d/%d MB  alloc %s", usedMb, maxMb, allocRate),
+                assetLine(),
+                String.format("net %.0f msg/s %.1f KB/s  rtt %s", msgRate, kbRate,
+                        rtt < 0 ? "n/a" : String.format("%.0f ms", rtt)),
+                String.format("overlay %.3f ms", overlayNanos / 1_000_000f)
+        };
+    }
+
+    private String entityCountLine() {
+        int remotePlayers = gameScene.getMap().players.size();
+
+        int monsters = 0;
+        if (gameScene.getCurrentMap().equals("hunt")) {
+            monsters = gameScene.getMonsterHuntMap().getMonsterSpawner().getMonsters().size();
+        } else if (gameScene.getCurrentMap().equals("maze")) {
+            monsters = gameScene.getMazeMap().getEnemySpawner().getEnemies().size();
+        }
+
+        int bullets = gameScene.getPlayerMP().getBullets().size();
+        for (PlayerMP other : gameScene.getMap().players) {
+            if (other != null) bullets += other.getBullets().size();
+        }
+
+        return String.format("players %d  monsters %d  bullets %d", remotePlayers, monsters, bullets);
+    }
+
+    /**
+     * Decoded asset memory and the largest asset group
+     */
+    private String assetLine() {
+        AssetManager assets = AssetManager.getInstance();
+        String largest = "-";
+        long largestBytes = 0;
+        long total = 0;
+        for (Map.Entry<String, Long> group : assets.memoryByGroup().entrySet()) {
+            total += group.getValue();
+            if (group.getValue() > largestBytes) {
+                largestBytes = group.getValue();
+                largest = group.getKey();
+            }
+        }
+        return String.format("assets %.1f MB (%d)  top %s %.1f MB", total / (1024f * 1024f), assets.size(),
+                largest, largestBytes / (1024f * 1024f));
+    }
+
+    /**
+     * Probe only a client the game already has; creating one here could block on the connect
+     */
+    private void sendLatencyProbe() {
+        try {
+            Client client = Client.getExistingClient();
+            if (client != null && client.getWebSocketClient() != null) {
+                client.getWebSocketClient().sendLatencyProbe();
+            }
+        } catch (Exception e) {
+            System.err.println("[PerfOverlay] Latency probe failed: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package debug.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event for one asset decode in ImageHandler; the event duration is the decode time
+ */
+@Name("miniisland.AssetLoad")
+@Label("Asset Load")
+@Category({"Mini Island", "Assets"})
+@Description("Image read, decode and slice")
+public class AssetLoadEvent extends jdk.jfr.Event {
+    @Label("Path")
+    public String path;
+
+    @Label("Encoded Size")
+    @DataAmount
+    public long bytes;
+
+    @Label("Tiles")
+    public int tiles;
+}
@@ -0,0 +1,44 @@
+package debug.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event for one rendered frame (emitted at the end of GameScene.paintComponent)
+ */
+@Name("miniisland.GameFrame")
+@Label("Game Frame")
+@Category({"Mini Island", "Game Loop"})
+@Description("Update and render durations of a frame with entity counts")
+@StackTrace(false)
+public class GameFrameEvent extends jdk.jfr.Event {
+    @Label("Map")
+    public String map;
+
+    @Label("Update Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long updateNanos;
+
+    @Label("Render Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long renderNanos;
+
+    @Label("Remote Players")
+    public int remotePlayers;
+
+    @Label("Monsters")
+    public int monsters;
+
+    @Label("Bullets")
+    public int bullets;
+
+    @Label("Damage Numbers")
+    public int damageNumbers;
+
+    @Label("Power-ups")
+    public int powerUps;
+}
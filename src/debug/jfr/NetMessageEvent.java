@@ -0,0 +1,36 @@
+package debug.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one inbound server message; the event duration is the handler time
+ */
+@Name("miniisland.NetMessage")
+@Label("Network Message")
+@Category({"Mini Island", "Network"})
+@Description("Inbound message handled by ClientRecivingThread")
+@StackTrace(false)
+public class NetMessageEvent extends jdk.jfr.Event {
+    @Label("Tag")
+    public String tag;
+
+    @Label("Size")
+    @DataAmount
+    public int size;
+
+    /**
+     * Message tag is the leading run of letters ("Update1,..." -> "Update")
+     */
+    public static String tagOf(String message) {
+        int end = 0;
+        while (end < message.length() && Character.isLetter(message.charAt(end))) {
+            end++;
+        }
+        return message.substring(0, end);
+    }
+}
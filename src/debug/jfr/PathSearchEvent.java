@@ -0,0 +1,26 @@
+package debug.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one maze enemy path search; the event duration is the search time
+ */
+@Name("miniisland.PathSearch")
+@Label("Path Search")
+@Category({"Mini Island", "AI"})
+@Description("Pathfinding request from MazeEnemy")
+@StackTrace(false)
+public class PathSearchEvent extends jdk.jfr.Event {
+    @Label("Algorithm")
+    public String algorithm;
+
+    @Label("Nodes Expanded")
+    public int nodesExpanded;
+
+    @Label("Path Length")
+    public int pathLength;
+}
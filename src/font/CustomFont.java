@@ -18,4 +18,11 @@ public class CustomFont {
             e.printStackTrace();
         }
     }
+
+    /**
+     * PixelGameFont at size 20, or null if it could not be loaded
+     */
+    public static Font getPixelGameFont() {
+        return pixelGameFont;
+    }
 }
@@ -0,0 +1,216 @@
+package font;
+
+import imageRender.ImageHandler;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * GlyphAtlas - bitmap text renderer. Glyphs for ASCII and Vietnamese are rasterized once per
+ * font and color into a single atlas image, then text is drawn as a run of sub-image blits
+ * instead of going through Graphics2D.drawString and the glyph pipeline every frame.
+ *
+ * Glyphs the primary font cannot display (PixelGameFont has no Vietnamese letters with
+ * stacked diacritics) are rasterized from the fallback font. Strings with characters outside
+ * the atlas (emoji, CJK) are drawn with drawString in the primary font.
+ *
+ * Atlases are cached; callers should look one up once and keep it in a field.
+ */
+public final class GlyphAtlas {
+    private static final ConcurrentHashMap<Key, GlyphAtlas> CACHE = new ConcurrentHashMap<>();
+
+    private static final int ATLAS_WIDTH = 512;
+    private static final char MAX_CHAR = '\u1EF9'; // last Vietnamese letter (y with tilde below hook)
+
+    private record Key(Font font, Font fallback, int argb) {
+    }
+
+    private final Font font;
+    private final Color color;
+    private final BufferedImage atlas;
+    private final int ascent;
+    private final int descent;
+    private final int pad;
+    private final FontMetrics metrics;
+
+    // Per character: slot in the atlas or -1, and its cell position and advance
+    private final short[] slots = new short[MAX_CHAR + 1];
+    private final int[] cellX;
+    private final int[] cellY;
+    private final int[] advance;
+    private final int cellHeight;
+
+    /**
+     * Atlas for a font and color; the font also serves as fallback
+     */
+    public static GlyphAtlas get(Font font, Color color) {
+        return get(font, font, color);
+    }
+
+    public static GlyphAtlas get(Font font, Font fallback, Color color) {
+        return CACHE.computeIfAbsent(new Key(font, fallback, color.getRGB()),
+                key -> new GlyphAtlas(key.font(), key.fallback(), new Color(key.argb(), true)));
+    }
+
+    /**
+     * PixelGameFont at the given size, with bold Arial for glyphs it lacks
+     */
+    public static GlyphAtlas pixel(int size, Color color) {
+        Font fallback = new Font("Arial", Font.BOLD, size);
+        Font pixel = CustomFont.getPixelGameFont();
+        if (pixel == null) {
+            return get(fallback, fallback, color);
+        }
+        return get(pixel.deriveFont(Font.PLAIN, (float) size), fallback, color);
+    }
+
+    private GlyphAtlas(Font font, Font fallback, Color color) {
+        this.font = font;
+        this.color = color;
+        Arrays.fill(slots, (short) -1);
+
+        char[] chars = charset();
+        cellX = new int[chars.length];
+        cellY = new int[chars.length];
+        advance = new int[chars.length];
+
+        // Measure with a scratch image so the atlas does not depend on any screen Graphics
+        BufferedImage scratch = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D sg = scratch.createGraphics();
+        applyHints(sg);
+        FontMetrics primaryMetrics = sg.getFontMetrics(font);
+        FontMetrics fallbackMetrics = sg.getFontMetrics(fallback);
+        sg.dispose();
+        metrics = primaryMetrics;
+
+        ascent = Math.max(primaryMetrics.getAscent(), fallbackMetrics.getAscent());
+        descent = Math.max(primaryMetrics.getDescent(), fallbackMetrics.getDescent());
+        // Room for diacritics above the ascent and antialiasing bleed
+        pad = Math.max(2, font.getSize() / 4);
+        cellHeight = ascent + descent + pad * 2;
+
+        // Lay out cells in rows
+        boolean[] useFallback = new boolean[chars.length];
+        int x = 0;
+        int y = 0;
+        for (int i = 0; i < chars.length; i++) {
+            char c = chars[i];
+            useFallback[i] = !font.canDisplay(c);
+            advance[i] = (useFallback[i] ? fallbackMetrics : primaryMetrics).charWidth(c);
+            int cellWidth = advance[i] + pad * 2;
+            if (x + cellWidth > ATLAS_WIDTH) {
+                x = 0;
+                y += cellHeight;
+            }
+            cellX[i] = x;
+            cellY[i] = y;
+            slots[c] = (short) i;
+            x += cellWidth;
+        }
+
+        // Rasterize every glyph once
+        atlas = ImageHandler.createTranslucentImage(ATLAS_WIDTH, y + cellHeight);
+        Graphics2D g2d = atlas.createGraphics();
+        applyHints(g2d);
+        g2d.setColor(color);
+        char[] one = new char[1];
+        for (int i = 0; i < chars.length; i++) {
+            one[0] = chars[i];
+            g2d.setFont(useFallback[i] ? fallback : font);
+            g2d.drawChars(one, 0, 1, cellX[i] + pad, cellY[i] + pad + ascent);
+        }
+        g2d.dispose();
+    }
+
+    /**
+     * Printable ASCII, Latin-1 letters and the Vietnamese alphabet
+     */
+    private static char[] charset() {
+        StringBuilder sb = new StringBuilder();
+        for (char c = 0x20; c <= 0x7E; c++) sb.append(c);
+        for (char c = 0xC0; c <= 0xFF; c++) sb.append(c);
+        // A/a breve, D/d stroke, I/i and U/u tilde, O/o and U/u horn
+        sb.append("\u0102\u0103\u0110\u0111\u0128\u0129\u0168\u0169\u01A0\u01A1\u01AF\u01B0");
+        for (char c = 0x1EA0; c <= MAX_CHAR; c++) sb.append(c);
+        return sb.toString().toCharArray();
+    }
+
+    private static void applyHints(Graphics2D g2d) {
+        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g2d.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS, RenderingHints.VALUE_FRACTIONALMETRICS_OFF);
+    }
+
+    private int slot(char c) {
+        return c <= MAX_CHAR ? slots[c] : -1;
+    }
+
+    /**
+     * True if every character of the text is in the atlas
+     */
+    public boolean canDraw(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (slot(text.charAt(i)) < 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Width in pixels from the precomputed advances (no per-call font metrics)
+     */
+    public int stringWidth(String text) {
+        int width = 0;
+        for (int i = 0; i < text.length(); i++) {
+            int slot = slot(text.charAt(i));
+            if (slot < 0) {
+                return metrics.stringWidth(text);
+            }
+            width += advance[slot];
+        }
+        return width;
+    }
+
+    /**
+     * Draw text with its baseline at y, like Graphics2D.drawString.
+     * Only the fallback path touches the Graphics' font and color.
+     */
+    public void drawString(Graphics2D g2d, String text, int x, int y) {
+        if (!canDraw(text)) {
+            g2d.setFont(font);
+            g2d.setColor(color);
+            g2d.drawString(text, x, y);
+            return;
+        }
+
+        int top = y - ascent - pad;
+        for (int i = 0; i < text.length(); i++) {
+            int slot = slots[text.charAt(i)];
+            int w = advance[slot] + pad * 2;
+            int sx = cellX[slot];
+            int sy = cellY[slot];
+            int dx = x - pad;
+            g2d.drawImage(atlas, dx, top, dx + w, top + cellHeight, sx, sy, sx + w, sy + cellHeight, null);
+            x += advance[slot];
+        }
+    }
+
+    public int getAscent() {
+        return ascent;
+    }
+
+    public int getDescent() {
+        return descent;
+    }
+
+    /**
+     * Blank margin around each glyph cell (room for diacritics and antialiasing)
+     */
+    public int getPadding() {
+        return pad;
+    }
+
+    public Font getFont() {
+        return font;
+    }
+}
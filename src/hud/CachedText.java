@@ -0,0 +1,95 @@
+package hud;
+
+import java.awt.*;
+
+/**
+ * CachedText - a HUD label built from one or two ints.
+ * The string and its pixel width are only rebuilt when the values (or the font) change,
+ * so a label like "Gold: 120" costs nothing on frames where the gold did not change.
+ */
+public final class CachedText {
+
+    /**
+     * Builds the label text; only called when a value changed
+     */
+    @FunctionalInterface
+    public interface Formatter {
+        String format(int a, int b);
+    }
+
+    private final Formatter formatter;
+
+    private boolean valid = false;
+    private int a;
+    private int b;
+    private String text = "";
+
+    // Metrics for the last font measured
+    private Font metricsFont;
+    private int width;
+    private int ascent;
+
+    public CachedText(Formatter formatter) {
+        this.formatter = formatter;
+    }
+
+    /**
+     * Label of the form prefix + value, e.g. new CachedText("Kills: ")
+     */
+    public CachedText(String prefix) {
+        this((value, unused) -> prefix + value);
+    }
+
+    /**
+     * Constant label; only its metrics are cached
+     */
+    public static CachedText fixed(String text) {
+        CachedText label = new CachedText((a, b) -> text);
+        label.of(0);
+        return label;
+    }
+
+    public String of(int value) {
+        return of(value, 0);
+    }
+
+    public String of(int a, int b) {
+        if (!valid || a != this.a || b != this.b) {
+            this.a = a;
+            this.b = b;
+            this.text = formatter.format(a, b);
+            this.valid = true;
+            this.metricsFont = null;
+        }
+        return text;
+    }
+
+    /**
+     * Text built by the last call to of()
+     */
+    public String text() {
+        return text;
+    }
+
+    /**
+     * Pixel width of the current text in the given font
+     */
+    public int width(Graphics2D g2d, Font font) {
+        measure(g2d, font);
+        return width;
+    }
+
+    public int ascent(Graphics2D g2d, Font font) {
+        measure(g2d, font);
+        return ascent;
+    }
+
+    private void measure(Graphics2D g2d, Font font) {
+        if (font != metricsFont) {
+            FontMetrics fm = g2d.getFontMetrics(font);
+            width = fm.stringWidth(text);
+            ascent = fm.getAscent();
+            metricsFont = font;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package hud;
+
+import imageRender.ImageHandler;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * HudLayer - one HUD widget rendered into its own cached translucent image.
+ * Callers report the values the widget shows with {@link #watch(int, int)} every frame;
+ * the widget is only re-rasterized when one of them (or its bounds) changed,
+ * otherwise drawing it is a single drawImage.
+ *
+ * The painter draws in screen coordinates, exactly as it would draw straight to the screen.
+ * Sprite layers ({@link #sprite}) instead draw in local coordinates and can move without re-rendering.
+ */
+public final class HudLayer {
+
+    /**
+     * Paints the widget; only called when the layer is dirty
+     */
+    @FunctionalInterface
+    public interface Painter {
+        void paint(Graphics2D g2d);
+    }
+
+    private static final Color CLEAR = new Color(0, 0, 0, 0);
+
+    private final Painter painter;
+    private final boolean sprite;
+    private final int[] values;
+    private boolean dirty = true;
+
+    private BufferedImage image;
+    private int x;
+    private int y;
+
+    /**
+     * @param slots number of int values the widget depends on
+     */
+    public HudLayer(int slots, Painter painter) {
+        this(slots, painter, false);
+    }
+
+    private HudLayer(int slots, Painter painter, boolean sprite) {
+        this.painter = painter;
+        this.sprite = sprite;
+        this.values = new int[slots];
+    }
+
+    /**
+     * Layer whose painter draws relative to (0, 0), e.g. a cursor that follows the mouse
+     */
+    public static HudLayer sprite(int slots, Painter painter) {
+        return new HudLayer(slots, painter, true);
+    }
+
+    /**
+     * Bind a displayed value to a slot; marks the layer dirty when it changed
+     */
+    public HudLayer watch(int slot, int value) {
+        if (values[slot] != value) {
+            values[slot] = value;
+            dirty = true;
+        }
+        return this;
+    }
+
+    /**
+     * Force a re-render on the next draw (for state that is not an int, e.g. a message string)
+     */
+    public void invalidate() {
+        dirty = true;
+    }
+
+    /**
+     * Composite the layer covering the given screen rectangle, re-rendering it first if needed
+     */
+    public void draw(Graphics2D target, int x, int y, int width, int height) {
+        if (width <= 0 || height <= 0) return;
+
+        if (image == null || image.getWidth() != width || image.getHeight() != height) {
+            image = ImageHandler.createTranslucentImage(width, height);
+            dirty = true;
+        }
+        if (!sprite && (x != this.x || y != this.y)) {
+            this.x = x;
+            this.y = y;
+            dirty = true;
+        }
+
+        if (dirty) {
+            render(target);
+            dirty = false;
+        }
+        target.drawImage(image, x, y, null);
+    }
+
+    private void render(Graphics2D target) {
+        Graphics2D g2d = image.createGraphics();
+        try {
+            // Clear the previous content
+            g2d.setComposite(AlphaComposite.Src);
+            g2d.setColor(CLEAR);
+            g2d.fillRect(0, 0, image.getWidth(), image.getHeight());
+            g2d.setComposite(AlphaComposite.SrcOver);
+
+            // Match the screen's hints so cached text looks the same as direct drawing
+            g2d.setRenderingHints(target.getRenderingHints());
+            g2d.setFont(target.getFont());
+            if (!sprite) {
+                g2d.translate(-x, -y);
+            }
+            painter.paint(g2d);
+        } finally {
+            g2d.dispose();
+        }
+    }
+
+    /**
+     * Drop the cached image, e.g. when leaving the map that owns the layer
+     */
+    public void release() {
+        if (image != null) {
+            image.flush();
+            image = null;
+        }
+        dirty = true;
+    }
+}
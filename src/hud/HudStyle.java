@@ -0,0 +1,105 @@
+package hud;
+
+import java.awt.*;
+
+/**
+ * HudStyle - shared immutable palette for HUD rendering.
+ * Fonts, Colors, Strokes and Composites used every frame live here so that drawing the HUD
+ * does not allocate. Widget-specific colors stay as constants next to the widget.
+ */
+public final class HudStyle {
+
+    // Panels
+    public static final Color PANEL_BG = new Color(0, 0, 0, 180);
+    public static final Color PANEL_BG_LIGHT = new Color(0, 0, 0, 150);
+    public static final Color PANEL_BORDER = new Color(80, 80, 80);
+    public static final Color PANEL_BORDER_DARK = new Color(60, 60, 60);
+
+    // Text and accents
+    public static final Color GOLD = new Color(255, 215, 0);
+    public static final Color SILVER = new Color(192, 192, 192);
+    public static final Color BRONZE = new Color(205, 127, 50);
+    public static final Color SOFT_RED = new Color(255, 100, 100);
+    public static final Color HINT = new Color(200, 200, 200, 180);
+
+    // Strokes
+    public static final BasicStroke STROKE_1 = new BasicStroke(1);
+    public static final BasicStroke STROKE_2 = new BasicStroke(2);
+
+    // Composites
+    public static final AlphaComposite OPAQUE = AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 1.0f);
+    public static final AlphaComposite TRANSLUCENT_80 = AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.8f);
+    private static final AlphaComposite[] ALPHA = new AlphaComposite[256];
+
+    // Red -> green health ramp, one entry per percent
+    private static final Color[] HEALTH_RAMP = new Color[101];
+
+    // Fonts are created on first use, indexed by [style][size]
+    private static final int MAX_FONT_SIZE = 72;
+    private static final Font[][] ARIAL = new Font[4][MAX_FONT_SIZE + 1];
+    private static final Font[][] SANS_SERIF = new Font[4][MAX_FONT_SIZE + 1];
+
+    static {
+        for (int i = 0; i <= 100; i++) {
+            float percent = i / 100f;
+            HEALTH_RAMP[i] = new Color((int) (255 * (1 - percent)), (int) (255 * percent), 0);
+        }
+        for (int i = 0; i < 256; i++) {
+            ALPHA[i] = AlphaComposite.getInstance(AlphaComposite.SRC_OVER, i / 255f);
+        }
+    }
+
+    private HudStyle() {
+    }
+
+    /**
+     * Arial in the given style (Font.PLAIN, Font.BOLD, ...) and point size, cached after first use
+     */
+    public static Font arial(int style, int size) {
+        return cached(ARIAL, "Arial", style, size);
+    }
+
+    public static Font sansSerif(int style, int size) {
+        return cached(SANS_SERIF, "SansSerif", style, size);
+    }
+
+    private static Font cached(Font[][] table, String name, int style, int size) {
+        if (size > MAX_FONT_SIZE) {
+            return new Font(name, style, size);
+        }
+        Font font = table[style][size];
+        if (font == null) {
+            // Benign race: two threads may create equal fonts, either one is fine
+            font = new Font(name, style, size);
+            table[style][size] = font;
+        }
+        return font;
+    }
+
+    /**
+     * Health bar color fading from red (0) to green (1)
+     */
+    public static Color healthColor(float percent) {
+        int index = Math.round(percent * 100);
+        return HEALTH_RAMP[Math.max(0, Math.min(100, index))];
+    }
+
+    /**
+     * SrcOver composite with the given opacity (0..1), quantized to 256 steps
+     */
+    public static AlphaComposite alpha(float opacity) {
+        int index = Math.round(opacity * 255);
+        return ALPHA[Math.max(0, Math.min(255, index))];
+    }
+
+    /**
+     * All 256 alpha variants of a color, for fade effects without per-frame Colors
+     */
+    public static Color[] alphaRamp(Color base) {
+        Color[] ramp = new Color[256];
+        for (int alpha = 0; alpha < 256; alpha++) {
+            ramp[alpha] = new Color(base.getRed(), base.getGreen(), base.getBlue(), alpha);
+        }
+        return ramp;
+    }
+}
@@ -0,0 +1,56 @@
+package hud;
+
+import font.GlyphAtlas;
+import imageRender.ImageHandler;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * NameTag - a player's username pre-rendered into a small sprite when the player joins,
+ * so drawing it every frame is a single drawImage with no text layout.
+ */
+public final class NameTag {
+    private static final Font FONT = HudStyle.arial(Font.BOLD, 20);
+
+    private final String text;
+    private final BufferedImage image;
+    private final int width;
+    private final int ascent;
+    private final int pad;
+
+    public NameTag(String text) {
+        GlyphAtlas glyphs = glyphs();
+        this.text = text;
+        this.width = glyphs.stringWidth(text);
+        this.ascent = glyphs.getAscent();
+        this.pad = glyphs.getPadding();
+
+        image = ImageHandler.createTranslucentImage(width + pad * 2, ascent + glyphs.getDescent() + pad * 2);
+        Graphics2D g2d = image.createGraphics();
+        glyphs.drawString(g2d, text, pad, pad + ascent);
+        g2d.dispose();
+    }
+
+    private static GlyphAtlas glyphs() {
+        return GlyphAtlas.get(FONT, Color.BLACK);
+    }
+
+    /**
+     * Rasterize the name-tag glyphs ahead of the first player joining
+     */
+    public static void preload() {
+        glyphs();
+    }
+
+    /**
+     * Draw the tag centered over a sprite, with the text baseline at baselineY
+     */
+    public void draw(Graphics2D g2d, int spriteX, int spriteWidth, int baselineY) {
+        g2d.drawImage(image, spriteX + (spriteWidth - width) / 2 - pad, baselineY - ascent - pad, null);
+    }
+
+    public String getText() {
+        return text;
+    }
+}
@@ -0,0 +1,392 @@
+package imageRender;
+
+import debug.HitchDetector;
+import debug.jfr.AssetLoadEvent;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.SoftReference;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AssetManager - single thread-safe owner of decoded assets.
+ *
+ * Assets are decoded on a small worker pool, so independent loads run in parallel, and a
+ * second request for an asset that is still loading waits for the same load instead of
+ * decoding it again. Every caller gets the same shared instance: treat it as read-only.
+ *
+ * Entries are reference counted. acquire() takes a reference and release() gives it back;
+ * once an entry has no references it is only softly reachable, so the GC may drop it under
+ * memory pressure (it is decoded again on the next acquire), and evict() drops unreferenced
+ * entries of a group immediately. Each entry belongs to a group ("player", "lobby", "ui", ...)
+ * and memoryByGroup() reports the decoded size per group.
+ */
+public final class AssetManager {
+    private static final AssetManager INSTANCE = new AssetManager();
+
+    /**
+     * Produces an asset on a worker thread; may return null for "not found"
+     */
+    @FunctionalInterface
+    public interface Loader<T> {
+        T load() throws Exception;
+    }
+
+    /**
+     * Assets other than images and arrays report their own decoded size
+     */
+    public interface Sized {
+        long sizeInBytes();
+    }
+
+    private static final class Entry {
+        final String group;
+        CompletableFuture<Object> pending; // Set while the asset is loading
+        Object value;                      // Held while referenced
+        SoftReference<Object> released;    // Held once the last reference is released
+        int refs;
+        long bytes;
+
+        Entry(String group) {
+            this.group = group;
+        }
+
+        Object cached() {
+            if (value != null) return value;
+            return released != null ? released.get() : null;
+        }
+    }
+
+    private final Object lock = new Object();
+    private final HashMap<String, Entry> entries = new HashMap<>();
+    private final ExecutorService workers;
+
+    private AssetManager() {
+        int threads = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+        AtomicInteger count = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "asset-loader-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public static AssetManager getInstance() {
+        return INSTANCE;
+    }
+
+    // === Images ===
+
+    /**
+     * Decoded image from the classpath, or null if it does not exist. Takes a reference.
+     */
+    public BufferedImage acquireImage(String group, String path) {
+        return join(acquireImageAsync(group, path));
+    }
+
+    public CompletableFuture<BufferedImage> acquireImageAsync(String group, String path) {
+        return acquireAsync(group, path, () -> decode(path, 0, 0));
+    }
+
+    /**
+     * Sprite sheet cut into tileWidth x tileHeight frames, row by row, as accelerated images.
+     * Returns null if the sheet does not exist. Takes a reference.
+     */
+    public BufferedImage[] acquireTiles(String group, String path, int tileWidth, int tileHeight) {
+        return join(acquireTilesAsync(group, path, tileWidth, tileHeight));
+    }
+
+    public CompletableFuture<BufferedImage[]> acquireTilesAsync(String group, String path, int tileWidth, int tileHeight) {
+        return acquireAsync(group, tilesKey(path, tileWidth, tileHeight), () -> loadTiles(path, tileWidth, tileHeight));
+    }
+
+    public CompletableFuture<Void> preloadTiles(String group, String path, int tileWidth, int tileHeight) {
+        return preload(group, tilesKey(path, tileWidth, tileHeight), () -> loadTiles(path, tileWidth, tileHeight));
+    }
+
+    public void releaseImage(String path) {
+        release(path);
+    }
+
+    public void releaseTiles(String path, int tileWidth, int tileHeight) {
+        release(tilesKey(path, tileWidth, tileHeight));
+    }
+
+    private static String tilesKey(String path, int tileWidth, int tileHeight) {
+        return path + "#" + tileWidth + "x" + tileHeight;
+    }
+
+    // === Generic entries ===
+
+    /**
+     * Take a reference to the asset under key, loading it on a worker if it is not cached.
+     * Concurrent requests for the same key share one load. Returns null if loading failed.
+     */
+    public <T> T acquire(String group, String key, Loader<T> loader) {
+        return join(acquireAsync(group, key, loader));
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> acquireAsync(String group, String key, Loader<T> loader) {
+        synchronized (lock) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                entry = new Entry(group);
+                entries.put(key, entry);
+            }
+            entry.refs++;
+
+            if (entry.pending != null) {
+                return (CompletableFuture<T>) entry.pending;
+            }
+            Object cached = entry.cached();
+            if (cached != null) {
+                entry.value = cached;
+                entry.released = null;
+                return CompletableFuture.completedFuture((T) cached);
+            }
+
+            // Not loaded yet, or the GC cleared it after its last release
+            Entry loading = entry;
+            CompletableFuture<Object> load = new CompletableFuture<>();
+            entry.pending = load;
+            workers.execute(() -> {
+                Object result;
+                try {
+                    result = loader.load();
+                } catch (Throwable e) {
+                    loaded(key, loading, null, e);
+                    load.completeExceptionally(e);
+                    return;
+                }
+                loaded(key, loading, result, null);
+                load.complete(result);
+            });
+            return (CompletableFuture<T>) load;
+        }
+    }
+
+    private void loaded(String key, Entry entry, Object result, Throwable error) {
+        synchronized (lock) {
+            entry.pending = null;
+            if (error != null || result == null) {
+                // Forget failed and missing assets so a later request tries again
+                if (entries.get(key) == entry) {
+                    entries.remove(key);
+                }
+                if (error != null) {
+                    System.err.println("[AssetManager] Failed to load " + key + ": " + error);
+                }
+                return;
+            }
+            entry.bytes = sizeOf(result);
+            if (entry.refs > 0) {
+                entry.value = result;
+            } else {
+                entry.released = new SoftReference<>(result);
+            }
+        }
+    }
+
+    /**
+     * Give back one reference; the entry becomes evictable when none are left
+     */
+    public void release(String key) {
+        synchronized (lock) {
+            Entry entry = entries.get(key);
+            if (entry == null || entry.refs == 0) return;
+            entry.refs--;
+            if (entry.refs == 0 && entry.value != null) {
+                entry.released = new SoftReference<>(entry.value);
+                entry.value = null;
+            }
+        }
+    }
+
+    /**
+     * Decode several images of a group in parallel; completes when all are cached.
+     * Takes no references, so the images stay evictable until someone acquires them.
+     */
+    public CompletableFuture<Void> preload(String group, String... paths) {
+        CompletableFuture<?>[] loads = new CompletableFuture<?>[paths.length];
+        for (int i = 0; i < paths.length; i++) {
+            String path = paths[i];
+            loads[i] = preload(group, path, () -> decode(path, 0, 0));
+        }
+        return CompletableFuture.allOf(loads);
+    }
+
+    /**
+     * Load any asset into the cache without keeping a reference to it
+     */
+    public <T> CompletableFuture<Void> preload(String group, String key, Loader<T> loader) {
+        return acquireAsync(group, key, loader)
+                .handle((asset, error) -> {
+                    // A failed or missing load already dropped its entry (and our reference with it);
+                    // releasing then could take a reference from a newer entry under the same key
+                    if (error == null && asset != null) {
+                        release(key);
+                    }
+                    return null;
+                });
+    }
+
+    /**
+     * Drop every unreferenced entry of a group now; returns the bytes freed
+     */
+    public long evict(String group) {
+        long freed = 0;
+        synchronized (lock) {
+            Iterator<Entry> it = entries.values().iterator();
+            while (it.hasNext()) {
+                Entry entry = it.next();
+                if (entry.group.equals(group) && entry.refs == 0 && entry.pending == null) {
+                    if (entry.cached() != null) {
+                        freed += entry.bytes;
+                    }
+                    it.remove();
+                }
+            }
+        }
+        return freed;
+    }
+
+    /**
+     * Decoded bytes currently held per group (referenced or not yet collected)
+     */
+    public Map<String, Long> memoryByGroup() {
+        TreeMap<String, Long> usage = new TreeMap<>();
+        synchronized (lock) {
+            for (Entry entry : entries.values()) {
+                if (entry.cached() != null) {
+                    usage.merge(entry.group, entry.bytes, Long::sum);
+                }
+            }
+        }
+        return usage;
+    }
+
+    public long totalBytes() {
+        long total = 0;
+        for (long bytes : memoryByGroup().values()) {
+            total += bytes;
+        }
+        return total;
+    }
+
+    public int size() {
+        synchronized (lock) {
+            return entries.size();
+        }
+    }
+
+    // === Decoding (worker threads) ===
+
+    private static BufferedImage decode(String path, int tileWidth, int tileHeight) throws IOException {
+        AssetLoadEvent event = new AssetLoadEvent();
+        long start = System.nanoTime();
+        event.begin();
+
+        byte[] data;
+        try (InputStream in = AssetManager.class.getResourceAsStream(path)) {
+            if (in == null) {
+                return null;
+            }
+            data = in.readAllBytes();
+        }
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(data));
+        if (image == null) {
+            throw new IOException("Unsupported image format: " + path);
+        }
+
+        event.end();
+        HitchDetector.recordAssetLoad(path, data.length, System.nanoTime() - start);
+        if (event.shouldCommit()) {
+            event.path = path;
+            event.bytes = data.length;
+            event.tiles = tileWidth > 0 ? (image.getWidth() / tileWidth) * (image.getHeight() / tileHeight) : 1;
+            event.commit();
+        }
+        return image;
+    }
+
+    private static BufferedImage[] loadTiles(String path, int tileWidth, int tileHeight) throws IOException {
+        BufferedImage sheet = decode(path, tileWidth, tileHeight);
+        return sheet != null ? slice(sheet, tileWidth, tileHeight) : null;
+    }
+
+    private static BufferedImage[] slice(BufferedImage sheet, int tileWidth, int tileHeight) {
+        int rows = sheet.getHeight() / tileHeight;
+        int cols = sheet.getWidth() / tileWidth;
+        BufferedImage[] tiles = new BufferedImage[rows * cols];
+
+        // Optimize image loading with hardware acceleration (no screen device when headless)
+        GraphicsConfiguration gc = GraphicsEnvironment.isHeadless() ? null : GraphicsEnvironment
+                .getLocalGraphicsEnvironment()
+                .getDefaultScreenDevice()
+                .getDefaultConfiguration();
+
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                BufferedImage subImage = sheet.getSubimage(col * tileWidth, row * tileHeight, tileWidth, tileHeight);
+
+                // Convert to compatible image for better performance
+                BufferedImage tile = gc != null
+                        ? gc.createCompatibleImage(tileWidth, tileHeight, subImage.getTransparency())
+                        : new BufferedImage(tileWidth, tileHeight, BufferedImage.TYPE_INT_ARGB);
+                Graphics2D g2d = tile.createGraphics();
+                g2d.drawImage(subImage, 0, 0, null);
+                g2d.dispose();
+
+                tiles[row * cols + col] = tile;
+            }
+        }
+        return tiles;
+    }
+
+    /**
+     * Approximate decoded size: 4 bytes per pixel for images and per cell for tile grids
+     */
+    private static long sizeOf(Object asset) {
+        if (asset instanceof BufferedImage image) {
+            return 4L * image.getWidth() * image.getHeight();
+        }
+        if (asset instanceof BufferedImage[] images) {
+            long total = 0;
+            for (BufferedImage image : images) {
+                total += sizeOf(image);
+            }
+            return total;
+        }
+        if (asset instanceof byte[] data) {
+            return data.length;
+        }
+        if (asset instanceof int[][] grid) {
+            return grid.length > 0 ? 4L * grid.length * grid[0].length : 0;
+        }
+        if (asset instanceof Sized sized) {
+            return sized.sizeInBytes();
+        }
+        return 0;
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            return null; // Already logged by loaded()
+        }
+    }
+}
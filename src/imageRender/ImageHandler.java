@@ -1,82 +1,67 @@
 package imageRender;
 
-import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public class ImageHandler {
-    // Image cache to avoid reloading same images
-    private static final Map<String, BufferedImage[]> imageCache = new HashMap<>();
+    private static final String GROUP = "tiles";
 
+    /**
+     * Sprite sheet cut into tiles, shared through the AssetManager. Each call takes a reference
+     * that stays until releaseAssets, so sheets nobody releases are loaded for the whole session.
+     */
     public static BufferedImage[] loadAssets(String imagePath, int tileWidth, int tileHeight) {
-        // Check cache first
-        String cacheKey = imagePath + "_" + tileWidth + "_" + tileHeight;
-        if (imageCache.containsKey(cacheKey)) {
-            return imageCache.get(cacheKey);
-        }
-
-        try {
-            BufferedImage tileMap = ImageIO.read(ImageHandler.class.getResource(imagePath));
-            
-            if (tileMap == null) {
-                System.err.println("[ImageHandler] Failed to load image: " + imagePath);
-                return null;
-            }
+        return loadAssets(GROUP, imagePath, tileWidth, tileHeight);
+    }
 
-            int rows = tileMap.getHeight() / tileHeight;
-            int cols = tileMap.getWidth() / tileWidth;
+    public static BufferedImage[] loadAssets(String group, String imagePath, int tileWidth, int tileHeight) {
+        BufferedImage[] tiles = AssetManager.getInstance().acquireTiles(group, imagePath, tileWidth, tileHeight);
+        if (tiles == null) {
+            System.err.println("[ImageHandler] Failed to load image: " + imagePath);
+        }
+        return tiles;
+    }
 
-            BufferedImage[] icons = new BufferedImage[rows * cols];
+    /**
+     * Give back a reference taken by loadAssets; the tiles become evictable once none are left
+     */
+    public static void releaseAssets(String imagePath, int tileWidth, int tileHeight) {
+        AssetManager.getInstance().releaseTiles(imagePath, tileWidth, tileHeight);
+    }
 
-            // Optimize image loading with hardware acceleration
-            GraphicsConfiguration gc = GraphicsEnvironment
-                .getLocalGraphicsEnvironment()
-                .getDefaultScreenDevice()
-                .getDefaultConfiguration();
+    /**
+     * Decode and cut a sheet in the background so a later loadAssets finds it cached
+     */
+    public static CompletableFuture<Void> preloadAssets(String imagePath, int tileWidth, int tileHeight) {
+        return AssetManager.getInstance().preloadTiles(GROUP, imagePath, tileWidth, tileHeight);
+    }
 
-            for (int row = 0; row < rows; row++) {
-                for (int col = 0; col < cols; col++) {
-                    BufferedImage subImage = tileMap.getSubimage(
-                        col * tileWidth, row * tileHeight, tileWidth, tileHeight
-                    );
-                    
-                    // Convert to compatible image for better performance
-                    BufferedImage compatibleImage = gc.createCompatibleImage(
-                        tileWidth, tileHeight, subImage.getTransparency()
-                    );
-                    Graphics2D g2d = compatibleImage.createGraphics();
-                    g2d.drawImage(subImage, 0, 0, null);
-                    g2d.dispose();
-                    
-                    icons[row * cols + col] = compatibleImage;
-                }
-            }
-            
-            // Cache the result
-            imageCache.put(cacheKey, icons);
-            
-            return icons;
-        } catch (Exception e) {
-            System.err.println("[ImageHandler] Error loading assets from: " + imagePath);
-            e.printStackTrace();
+    /**
+     * Blank translucent image in the screen's format so Java2D can accelerate it
+     * (plain ARGB when headless)
+     */
+    public static BufferedImage createTranslucentImage(int width, int height) {
+        if (GraphicsEnvironment.isHeadless()) {
+            return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
         }
-        return null;
+        return GraphicsEnvironment.getLocalGraphicsEnvironment()
+                .getDefaultScreenDevice()
+                .getDefaultConfiguration()
+                .createCompatibleImage(width, height, Transparency.TRANSLUCENT);
     }
-    
+
     /**
      * Clear image cache to free memory if needed
      */
     public static void clearCache() {
-        imageCache.clear();
-        System.gc(); // Suggest garbage collection
+        AssetManager.getInstance().evict(GROUP);
     }
     
     /**
      * Get cache size for monitoring
      */
     public static int getCacheSize() {
-        return imageCache.size();
+        return AssetManager.getInstance().size();
     }
 }
@@ -1,6 +1,8 @@
 package imageRender;
 
 import java.awt.image.BufferedImage;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 public class ImageLoader {
     private static ImageLoader instance;
@@ -16,7 +18,7 @@ public class ImageLoader {
         loadImage();
     }
 
-    public static ImageLoader getInstance() {
+    public static synchronized ImageLoader getInstance() {
         if (instance == null) {
             instance = new ImageLoader();
         }
@@ -24,23 +26,34 @@ public class ImageLoader {
     }
 
     public void loadImage() {
-        upImages[0] = ImageHandler.loadAssets("/player/1/Character_Up.png", tileSize, tileSize);
-        downImages[0] = ImageHandler.loadAssets("/player/1/Character_Down.png", tileSize, tileSize);
-        leftImages[0] = ImageHandler.loadAssets("/player/1/Character_Left.png", tileSize, tileSize);
-        rightImages[0] = ImageHandler.loadAssets("/player/1/Character_Right.png", tileSize, tileSize);
-        standingImages[0] = ImageHandler.loadAssets("/player/1/Character_Stand.png", tileSize, tileSize);
-
-        int tileSize2 = 16;
-        upImages[1] = ImageHandler.loadAssets("/player/2/Character_Up.png", tileSize2, tileSize2);
-        downImages[1] = ImageHandler.loadAssets("/player/2/Character_Down.png", tileSize2, tileSize2);
-        leftImages[1] = ImageHandler.loadAssets("/player/2/Character_Left.png", tileSize2, tileSize2);
-        rightImages[1] = ImageHandler.loadAssets("/player/2/Character_Right.png", tileSize2, tileSize2);
-        standingImages[1] = ImageHandler.loadAssets("/player/2/Character_Stand.png", tileSize2, tileSize2);
-
-        upImages[2] = ImageHandler.loadAssets("/player/3/Character_Up.png", tileSize2, tileSize2);
-        downImages[2] = ImageHandler.loadAssets("/player/3/Character_Down.png", tileSize2, tileSize2);
-        leftImages[2] = ImageHandler.loadAssets("/player/3/Character_Left.png", tileSize2, tileSize2);
-        rightImages[2] = ImageHandler.loadAssets("/player/3/Character_Right.png", tileSize2, tileSize2);
-        standingImages[2] = ImageHandler.loadAssets("/player/3/Character_Stand.png", tileSize2, tileSize2);
+        // All sheets decode in parallel on the asset workers; each skin is its own asset group
+        String[] sheets = {"Character_Up", "Character_Down", "Character_Left", "Character_Right", "Character_Stand"};
+        int[] skinTileSizes = {tileSize, 16, 16};
+
+        CompletableFuture<?>[] loads = new CompletableFuture<?>[skinTileSizes.length * sheets.length];
+        for (int skin = 0; skin < skinTileSizes.length; skin++) {
+            String group = "player/" + (skin + 1);
+            int size = skinTileSizes[skin];
+            for (int sheet = 0; sheet < sheets.length; sheet++) {
+                loads[skin * sheets.length + sheet] = AssetManager.getInstance()
+                        .acquireTilesAsync(group, "/" + group + "/" + sheets[sheet] + ".png", size, size);
+            }
+        }
+
+        for (int skin = 0; skin < skinTileSizes.length; skin++) {
+            upImages[skin] = tiles(loads[skin * sheets.length]);
+            downImages[skin] = tiles(loads[skin * sheets.length + 1]);
+            leftImages[skin] = tiles(loads[skin * sheets.length + 2]);
+            rightImages[skin] = tiles(loads[skin * sheets.length + 3]);
+            standingImages[skin] = tiles(loads[skin * sheets.length + 4]);
+        }
+    }
+
+    private static BufferedImage[] tiles(CompletableFuture<?> load) {
+        try {
+            return (BufferedImage[]) load.join();
+        } catch (CompletionException e) {
+            return null;
+        }
     }
 }
@@ -12,6 +12,10 @@ public class KeyHandler implements KeyListener {
     // Arrow keys for 8-directional aiming (separate from movement)
     private boolean aimUp, aimDown, aimLeft, aimRight;
 
+    // F3 debug overlay (toggle, ignores key repeat)
+    private boolean performanceOverlay;
+    private boolean f3Held;
+
     public KeyHandler() {
         up = false;
         down = false;
@@ -49,6 +53,10 @@ public class KeyHandler implements KeyListener {
             case KeyEvent.VK_DOWN -> aimDown = true;
             case KeyEvent.VK_LEFT -> aimLeft = true;
             case KeyEvent.VK_RIGHT -> aimRight = true;
+            case KeyEvent.VK_F3 -> {
+                if (!f3Held) performanceOverlay = !performanceOverlay;
+                f3Held = true;
+            }
         }
     }
 
@@ -69,6 +77,7 @@ public class KeyHandler implements KeyListener {
             case KeyEvent.VK_DOWN -> aimDown = false;
             case KeyEvent.VK_LEFT -> aimLeft = false;
             case KeyEvent.VK_RIGHT -> aimRight = false;
+            case KeyEvent.VK_F3 -> f3Held = false;
         }
     }
 
@@ -163,6 +172,10 @@ public class KeyHandler implements KeyListener {
         return dir;
     }
 
+    public boolean isPerformanceOverlay() {
+        return performanceOverlay;
+    }
+
     public void setSpace(boolean space) {
         this.space = space;
     }
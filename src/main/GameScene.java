@@ -1,6 +1,13 @@
 package main;
 
 import collision.Collision;
+import debug.FrameProfiler;
+import debug.FrameProfiler.Section;
+import debug.HitchDetector;
+import debug.PerformanceOverlay;
+import debug.jfr.GameFrameEvent;
+import hud.HudLayer;
+import hud.HudStyle;
 import maps.MazeMap;
 import maps.MonsterHuntMap;
 import network.client.Client;
@@ -45,7 +52,7 @@ public class GameScene extends JPanel implements Runnable {
     private boolean isPlayerAlive = true;
 
     //Scene
-    private final JPanel loadingPanel;
+    private final LoadingPane loadingPanel;
 
     //NPC
     CustomButton teleportButtonMonsterHunt;
@@ -58,6 +65,9 @@ public class GameScene extends JPanel implements Runnable {
 
     private int fps = 0;
 
+    //Debug
+    private PerformanceOverlay performanceOverlay;
+
     private Thread gameThread;
 
     private KeyHandler keyHandler;
@@ -86,6 +96,7 @@ public class GameScene extends JPanel implements Runnable {
     //System Message
     private String systemMessage = "";
     private long systemMessageTime = 0;
+    private final HudLayer systemMessageLayer = new HudLayer(0, this::paintSystemMessage);
 
     private static GameScene instance;
 
@@ -121,6 +132,8 @@ public class GameScene extends JPanel implements Runnable {
 
         players = map.players;
 
+        performanceOverlay = new PerformanceOverlay(this);
+
         repaint();
 
         init();
@@ -167,6 +180,7 @@ public class GameScene extends JPanel implements Runnable {
                         int centerY = 24 * 48;
                         player.setWorldX(centerX);
                         player.setWorldY(centerY);
+                        monsterHuntMap.ensureLoaded(); // Built on the first visit
                         currentMap = "hunt"; // Changed from "pvp" to "hunt"
                         map.removeAllPlayers();
 
@@ -268,7 +282,8 @@ public class GameScene extends JPanel implements Runnable {
         shopButton.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
-                if (shopPane == null) {
+                boolean created = shopPane == null; // A new pane requests its own data
+                if (created) {
                     shopPane = new ShopPane(Client.getGameClient().getWebSocketClient());
                     shopPane.setSize(550, 450);
                     int centerX = (screenWidth - shopPane.getWidth()) / 2;
@@ -284,7 +299,7 @@ public class GameScene extends JPanel implements Runnable {
                     add(shopPane, 0);
                 }
                 shopPane.setVisible(!shopPane.isVisible());
-                if (shopPane.isVisible()) {
+                if (shopPane.isVisible() && !created) {
                     if (Client.getGameClient() != null) {
                         Client.getGameClient().sendToServer(new Protocol().getSkinsPacket());
                         Client.getGameClient().sendToServer(new Protocol().getCoinsPacket());
@@ -324,6 +339,9 @@ public class GameScene extends JPanel implements Runnable {
         // FPS counter
         long fpsTimer = 0;
         int frameCount = 0;
+        long lastTick = 0;
+
+        HitchDetector.start();
 
         System.out.println("Game started");
         while (gameThread != null) {
@@ -335,7 +353,12 @@ public class GameScene extends JPanel implements Runnable {
             lastTime = currentTime;
 
             if (delta >= 1.0) {
+                long updateStart = System.nanoTime();
                 update();
+                long updateNanos = System.nanoTime() - updateStart;
+                FrameProfiler.recordUpdate(updateNanos);
+                HitchDetector.recordTick(lastTick == 0 ? 0 : updateStart - lastTick, updateNanos);
+                lastTick = updateStart;
                 repaint();
                 delta--;
                 frameCount++;
@@ -358,6 +381,7 @@ public class GameScene extends JPanel implements Runnable {
     }
 
     public void update() {
+        updateMapResidency();
         player.update();
         playerMP.update();
 
@@ -430,10 +454,11 @@ public class GameScene extends JPanel implements Runnable {
 
     @Override
     public void paintComponent(Graphics g) {
+        long renderStart = System.nanoTime();
         super.paintComponent(g);
         Graphics2D g2d = (Graphics2D) g;
 
-        g2d.setFont(new Font("Arial", Font.BOLD, 20));
+        g2d.setFont(HudStyle.arial(Font.BOLD, 20));
         isRunning = true;
 
         if (isRunning) {
@@ -448,6 +473,7 @@ public class GameScene extends JPanel implements Runnable {
                     mazeMap.draw(g2d, tileSize);
             }
 
+            long entitiesStart = System.nanoTime();
             playerMP.render(g2d, tileSize);
 
             // Render bullets for current player with new rendering
@@ -475,24 +501,86 @@ public class GameScene extends JPanel implements Runnable {
                     }
                 }
             }
+            FrameProfiler.lap(Section.ENTITIES, entitiesStart);
 
         }
 
+        // HUD: a handful of cached layers composited on top of the world
+        long hudStart = System.nanoTime();
+        if (isRunning) {
+            getMap().drawHud(g2d);
+        }
         if (systemMessageTime > System.currentTimeMillis()) {
-            g2d.setColor(Color.WHITE);
-            g2d.setFont(new Font("Arial", Font.BOLD, 30));
-            // Shadow
-            g2d.setColor(Color.BLACK);
-            g2d.drawString(systemMessage, screenWidth / 2 - g2d.getFontMetrics().stringWidth(systemMessage) / 2 + 2, screenHeight - 50 + 2);
-            // Text
-            g2d.setColor(Color.YELLOW);
-            g2d.drawString(systemMessage, screenWidth / 2 - g2d.getFontMetrics().stringWidth(systemMessage) / 2, screenHeight - 50);
+            systemMessageLayer.draw(g2d, 0, screenHeight - 90, screenWidth, 60);
+        } else {
+            systemMessageLayer.release();
+        }
+        FrameProfiler.lap(Section.HUD, hudStart);
+        long renderNanos = System.nanoTime() - renderStart;
+        FrameProfiler.endFrame(renderNanos);
+        emitFrameEvent(renderNanos);
+
+        // F3 overlay is drawn after the frame is closed so it doesn't count itself
+        if (keyHandler.isPerformanceOverlay()) {
+            performanceOverlay.render(g2d);
         }
     }
 
+    /**
+     * Emit a JFR GameFrame event; counts are only gathered while a recording has the event enabled
+     */
+    private void emitFrameEvent(long renderNanos) {
+        GameFrameEvent event = new GameFrameEvent();
+        if (!event.shouldCommit()) return;
+
+        event.map = currentMap;
+        event.updateNanos = FrameProfiler.getSectionNanos(Section.UPDATE);
+        event.renderNanos = renderNanos;
+        event.remotePlayers = getMap().players.size();
+        event.monsters = currentMap.equals("hunt") ? monsterHuntMap.getMonsterSpawner().getMonsters().size()
+                : currentMap.equals("maze") ? mazeMap.getEnemySpawner().getEnemies().size() : 0;
+        int bullets = playerMP.getBullets().size();
+        for (PlayerMP other : getMap().players) {
+            if (other != null) bullets += other.getBullets().size();
+        }
+        event.bullets = bullets;
+        event.damageNumbers = monsterHuntMap.getDamageNumberCount();
+        event.powerUps = monsterHuntMap.getPowerUpCount();
+        event.commit();
+    }
+
     public void showSystemMessage(String message) {
         this.systemMessage = message;
         this.systemMessageTime = System.currentTimeMillis() + 5000; // Show for 5 seconds
+        systemMessageLayer.invalidate();
+    }
+
+    /**
+     * System message with drop shadow (bottom center); painted into systemMessageLayer
+     */
+    private void paintSystemMessage(Graphics2D g2d) {
+        String message = systemMessage;
+        g2d.setFont(HudStyle.arial(Font.BOLD, 30));
+        int x = screenWidth / 2 - g2d.getFontMetrics().stringWidth(message) / 2;
+        // Shadow
+        g2d.setColor(Color.BLACK);
+        g2d.drawString(message, x + 2, screenHeight - 50 + 2);
+        // Text
+        g2d.setColor(Color.YELLOW);
+        g2d.drawString(message, x, screenHeight - 50);
+    }
+
+    /**
+     * Keep the map being shown loaded (and streamed around the camera, for chunked maps) and
+     * let the others hibernate once they have been idle
+     */
+    private void updateMapResidency() {
+        long now = System.currentTimeMillis();
+        getMap().markActive(now);
+        getMap().updateStreaming(player.getWorldX(), player.getWorldY());
+        map.hibernateIfIdle(now);
+        monsterHuntMap.hibernateIfIdle(now);
+        mazeMap.hibernateIfIdle(now);
     }
 
     public void sendTeleportPacket(String username, String map, int x, int y) {
@@ -500,11 +588,19 @@ public class GameScene extends JPanel implements Runnable {
     }
 
     public void changeToLoadingScene() {
+        loadingPanel.setProgress(-1);
         loadingPanel.setSize(screenWidth, screenHeight);
         add(loadingPanel);
 
     }
 
+    /**
+     * Progress (0..1) of the map download shown on the loading screen
+     */
+    public void setLoadingProgress(double progress) {
+        loadingPanel.setProgress(progress);
+    }
+
     public void changeToMazeMap() {
         remove(loadingPanel);
         currentMap = "maze";
@@ -2,6 +2,7 @@ package main;
 
 import network.client.Client;
 import network.client.ClientRecivingThread;
+import network.client.ContentCache;
 import network.client.Protocol;
 import network.entitiesNet.PlayerMP;
 import panes.auth.signIn.SignInControl;
@@ -40,6 +41,9 @@ public class MiniIsland extends JFrame {
     private Client client;
     private PlayerMP clientPlayer;
 
+    // Connects and preloads assets in the background while the sign-in screen is up
+    private StartupPipeline startup;
+
     public MiniIsland() {
         signInPane = new SignInPane();
         signInModel = SignInModel.getInstance();
@@ -50,8 +54,6 @@ public class MiniIsland extends JFrame {
 
         signUpControl = new SignUpControl(this, signUpModel, signUpPane);
 
-        client = Client.getGameClient();
-
         cardLayout = new CardLayout();
 
         init();
@@ -66,9 +68,13 @@ public class MiniIsland extends JFrame {
         });
         this.pack();
         this.setLocationRelativeTo(null);
+
+        startup = StartupPipeline.start();
     }
 
     public void startGame() {
+        // Usually finished long before the player has typed their password
+        startup.await();
 
         gameScene = GameScene.getInstance();
         this.add(gameScene, "GamePanel");
@@ -86,6 +92,8 @@ public class MiniIsland extends JFrame {
         clientRecivingThread.start();
 
         client.sendToServer(new Protocol().HelloPacket(signInModel.getUsername()));
+        // Let the server answer NotModified for data we already have on disk
+        client.sendToServer(new Protocol().cacheVersionsPacket(signInModel.getUsername(), ContentCache.getInstance().versions()));
         
         // Request equipped skin after joining game
         client.sendToServer(new Protocol().getEquippedSkinPacket());
@@ -0,0 +1,143 @@
+package main;
+
+import font.CustomFont;
+import hud.NameTag;
+import imageRender.ImageLoader;
+import maps.Map;
+import maps.MazeMap;
+import maps.MonsterHuntMap;
+import network.client.Client;
+import objects.entities.DamageNumber;
+import objects.entities.MazeEnemy;
+import objects.entities.Monster;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * StartupPipeline - runs the independent startup steps (server connection, fonts, tile sets,
+ * map CSVs, sprites) as a small task graph on background threads while the sign-in screen
+ * is shown, instead of serially on the main thread before and after login.
+ *
+ * Each step names the steps it depends on and starts as soon as they finish. A failing step
+ * is logged and skipped; whatever it would have cached is then loaded on demand as before.
+ * When all steps are done a per-step timing breakdown is printed.
+ */
+public final class StartupPipeline {
+
+    /**
+     * Wall-clock timing of one step, relative to the start of the pipeline
+     */
+    public record StepTiming(String name, long startNanos, long durationNanos, String thread) {
+    }
+
+    private final long origin = System.nanoTime();
+    private final ExecutorService pool;
+    private final LinkedHashMap<String, CompletableFuture<Void>> steps = new LinkedHashMap<>();
+    private final ConcurrentLinkedQueue<StepTiming> timings = new ConcurrentLinkedQueue<>();
+    private CompletableFuture<Void> all;
+
+    private StartupPipeline() {
+        int threads = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+        AtomicInteger count = new AtomicInteger();
+        pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "startup-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Start preloading everything the game needs before the GameScene is built
+     */
+    public static StartupPipeline start() {
+        StartupPipeline pipeline = new StartupPipeline();
+        pipeline.step("connect", () -> Client.getGameClient());
+        pipeline.step("fonts", () -> CustomFont.getPixelGameFont());
+        pipeline.step("glyphs", () -> {
+            NameTag.preload();
+            DamageNumber.preloadGlyphs();
+        }, "fonts");
+        pipeline.step("player skins", () -> ImageLoader.getInstance());
+        pipeline.step("lobby map", () -> Map.preloadLobby().join());
+        pipeline.step("hunt map", () -> MonsterHuntMap.preloadHunt().join());
+        pipeline.step("maze map", () -> MazeMap.preloadMaze().join());
+        pipeline.step("monster sprites", () -> {
+            Monster.preloadSprites();
+            MazeEnemy.preloadSprites();
+        });
+        pipeline.finish();
+        return pipeline;
+    }
+
+    /**
+     * Add a step that runs on the pool once all of its dependencies have finished
+     */
+    private void step(String name, Runnable work, String... after) {
+        CompletableFuture<?>[] dependencies = new CompletableFuture<?>[after.length];
+        for (int i = 0; i < after.length; i++) {
+            dependencies[i] = steps.get(after[i]);
+        }
+        steps.put(name, CompletableFuture.allOf(dependencies).thenRunAsync(() -> run(name, work), pool));
+    }
+
+    private void run(String name, Runnable work) {
+        long start = System.nanoTime();
+        try {
+            work.run();
+        } catch (Throwable e) { // Errors too (a missing class, a full heap): await() must not throw on the EDT
+            System.err.println("[Startup] Step '" + name + "' failed: " + e);
+        }
+        timings.add(new StepTiming(name, start - origin, System.nanoTime() - start, Thread.currentThread().getName()));
+    }
+
+    private void finish() {
+        all = CompletableFuture.allOf(steps.values().toArray(new CompletableFuture<?>[0]))
+                .whenComplete((ignored, error) -> {
+                    pool.shutdown();
+                    System.out.print(report());
+                });
+    }
+
+    /**
+     * Block until every step has finished (returns immediately once startup is done)
+     */
+    public void await() {
+        all.join();
+    }
+
+    public boolean isDone() {
+        return all.isDone();
+    }
+
+    public List<StepTiming> getTimings() {
+        List<StepTiming> sorted = new ArrayList<>(timings);
+        sorted.sort(Comparator.comparingLong(StepTiming::startNanos));
+        return sorted;
+    }
+
+    /**
+     * Per-step breakdown: when each step started, how long it took and on which thread
+     */
+    public String report() {
+        StringBuilder sb = new StringBuilder();
+        long end = 0;
+        long busy = 0;
+        for (StepTiming timing : getTimings()) {
+            sb.append(String.format("[Startup] %-16s start %7.1f ms  took %7.1f ms  (%s)%n",
+                    timing.name(), timing.startNanos() / 1e6, timing.durationNanos() / 1e6, timing.thread()));
+            end = Math.max(end, timing.startNanos() + timing.durationNanos());
+            busy += timing.durationNanos();
+        }
+        sb.append(String.format("[Startup] %d steps in %.1f ms wall, %.1f ms of work (%.1fx overlap)%n",
+                timings.size(), end / 1e6, busy / 1e6, end > 0 ? (double) busy / end : 0));
+        return sb.toString();
+    }
+}
@@ -0,0 +1,188 @@
+package maps;
+
+import java.util.Arrays;
+
+/**
+ * AdaptivePathfinder - incremental A* for chasing a moving target on a maze that does not change
+ * (Moving-Target Adaptive A*, Koenig, Likhachev and Sun 2007).
+ *
+ * Every search leaves a better heuristic behind: when the goal is found at cost g*, each expanded
+ * cell s learns h(s) = g* - g(s), its true distance to the goal or a bit less. The next search
+ * towards the same or a nearby goal runs straight down that corridor instead of flooding the maze
+ * again. When the goal moves from t to t', every learned value is lowered by h(t') (the learned
+ * distance from t' to t), which keeps the heuristic admissible and consistent, so paths stay
+ * shortest. The correction is applied lazily through one running total.
+ *
+ * Learned values are about the goal only, not about where a search starts, so all enemies
+ * chasing the same player share one instance and learn from each other. Not thread safe.
+ */
+public final class AdaptivePathfinder {
+    public static final int NO_PATH = GridAStar.NO_PATH;
+    private static final int NONE = -1;
+    private static final int MAX_DEDUCTION = 1 << 30; // Forget everything before the running total could overflow
+
+    private final TileGrid grid;
+    private final int cols;
+
+    // Learned heuristic: learned[s] was true-ish when the running deduction was learnedAt[s]
+    private final int[] learned;
+    private final int[] learnedAt;
+    private int deduction;
+    private int goal = NONE;
+
+    // Search state, stamped per search
+    private final int[] g;
+    private final int[] parent;
+    private final int[] seen;
+    private final int[] closed;
+    private final IntMinHeap open = new IntMinHeap();
+    private int search;
+    private int[] expandedCells = new int[256];
+    private int expanded;
+
+    private int[] path = new int[256];
+    private int pathSize;
+
+    public AdaptivePathfinder(TileGrid grid) {
+        this.grid = grid;
+        this.cols = grid.getWidth();
+        int cells = cols * grid.getHeight();
+        learned = new int[cells];
+        learnedAt = new int[cells];
+        Arrays.fill(learned, NONE);
+        g = new int[cells];
+        parent = new int[cells];
+        seen = new int[cells];
+        closed = new int[cells];
+    }
+
+    /**
+     * Whether this pathfinder was built for that grid (a new maze needs a new one)
+     */
+    public boolean isFor(TileGrid other) {
+        return grid == other;
+    }
+
+    /**
+     * Shortest path from start to goal; returns its length in steps or NO_PATH. The cells are
+     * read with getPathSize() and getPathCell().
+     */
+    public int search(int startCol, int startRow, int goalCol, int goalRow) {
+        pathSize = 0;
+        expanded = 0;
+        if (!grid.inBounds(startCol, startRow) || !grid.inBounds(goalCol, goalRow)
+                || !GridAStar.walkable(grid, startCol, startRow) || !GridAStar.walkable(grid, goalCol, goalRow)) {
+            return NO_PATH;
+        }
+        moveGoal(goalRow * cols + goalCol);
+        if (++search == Integer.MAX_VALUE) {
+            Arrays.fill(seen, 0);
+            Arrays.fill(closed, 0);
+            search = 1;
+        }
+
+        int start = startRow * cols + startCol;
+        open.clear();
+        g[start] = 0;
+        parent[start] = NONE;
+        seen[start] = search;
+        open.push(start, key(0, heuristic(start)));
+
+        while (!open.isEmpty()) {
+            int cell = open.pop();
+            if (closed[cell] == search) continue;
+            closed[cell] = search;
+            if (expanded == expandedCells.length) expandedCells = Arrays.copyOf(expandedCells, expanded * 2);
+            expandedCells[expanded++] = cell;
+            if (cell == goal) {
+                learn(g[goal]);
+                tracePath(goal);
+                return g[goal];
+            }
+
+            int col = cell % cols;
+            int row = cell / cols;
+            int next = g[cell] + 1;
+            relax(cell, col, row - 1, next);
+            relax(cell, col, row + 1, next);
+            relax(cell, col - 1, row, next);
+            relax(cell, col + 1, row, next);
+        }
+        return NO_PATH;
+    }
+
+    /**
+     * The target moved: lower every learned value by the learned distance between the old and the new goal
+     */
+    private void moveGoal(int newGoal) {
+        if (newGoal == goal) return;
+        int shift = goal == NONE ? 0 : heuristic(newGoal);
+        goal = newGoal;
+        if (deduction > MAX_DEDUCTION - shift) {
+            Arrays.fill(learned, NONE);
+            deduction = 0;
+        } else {
+            deduction += shift;
+        }
+    }
+
+    /**
+     * Manhattan distance to the goal, or the learned value if that is higher
+     */
+    private int heuristic(int cell) {
+        int manhattan = Math.abs(cell % cols - goal % cols) + Math.abs(cell / cols - goal / cols);
+        if (learned[cell] == NONE) return manhattan;
+        return Math.max(manhattan, learned[cell] - (deduction - learnedAt[cell]));
+    }
+
+    private void learn(int cost) {
+        for (int i = 0; i < expanded; i++) {
+            int cell = expandedCells[i];
+            learned[cell] = cost - g[cell];
+            learnedAt[cell] = deduction;
+        }
+    }
+
+    private void relax(int from, int col, int row, int cost) {
+        if (!grid.inBounds(col, row)) return;
+        int cell = row * cols + col;
+        if (closed[cell] == search || (seen[cell] == search && g[cell] <= cost) || !GridAStar.walkable(grid, col, row)) return;
+        seen[cell] = search;
+        g[cell] = cost;
+        parent[cell] = from;
+        open.push(cell, key(cost, heuristic(cell)));
+    }
+
+    /**
+     * Order by f, and among equal f the deeper cell first: with learned values many cells tie
+     */
+    private static long key(int g, int h) {
+        return ((long) (g + h) << 32) - g;
+    }
+
+    private void tracePath(int goal) {
+        int length = g[goal] + 1;
+        if (path.length < length) path = new int[Math.max(length, path.length * 2)];
+        pathSize = length;
+        for (int cell = goal, i = length - 1; i >= 0; cell = parent[cell], i--) {
+            path[i] = cell;
+        }
+    }
+
+    // === Result of the last search ===
+
+    public int getPathSize() {
+        return pathSize;
+    }
+
+    public int getPathCell(int i) {
+        return path[i];
+    }
+
+    /**
+     * Cells expanded by the last search
+     */
+    public int getExpanded() {
+        return expanded;
+    }
+}
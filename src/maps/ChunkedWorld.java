@@ -0,0 +1,266 @@
+package maps;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * ChunkedWorld - a map too big to keep in memory as one TileGrid, held as CHUNK_SIZE x
+ * CHUNK_SIZE chunks that are streamed in around the camera.
+ *
+ * Every tick update() is given the camera's tile. Chunks within STREAM_RADIUS chunks of it are
+ * loaded on a background thread, the chunk under the camera right away if it is missing. Once
+ * more than maxResident chunks are loaded, the least recently near ones are dropped; they are
+ * loaded again from the source when the camera comes back.
+ *
+ * Reads never block and never allocate: a cell in a chunk that is not loaded yet reads as
+ * EMPTY, with a SOLID mask, so nothing walks into a part of the map that is not there.
+ */
+public final class ChunkedWorld implements TileView {
+    public static final int CHUNK_SHIFT = 5;
+    public static final int CHUNK_SIZE = 1 << CHUNK_SHIFT; // 32 x 32 tiles
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    public static final int STREAM_RADIUS = 2; // Chunks around the camera's chunk to keep loaded
+
+    /**
+     * Cuts one chunk out of the full map. The grid is CHUNK_SIZE square, smaller at the right
+     * and bottom edges, and has its collision mask built. Called on the streaming thread.
+     */
+    @FunctionalInterface
+    public interface ChunkSource {
+        TileGrid load(int chunkCol, int chunkRow) throws IOException;
+    }
+
+    // One streaming thread for all worlds: chunks are small, and it keeps loading off the game loop
+    private static final ExecutorService STREAMER = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "chunk-streamer");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final int width;
+    private final int height;
+    private final int layers;
+    private final int chunkCols;
+    private final int chunkRows;
+    private final int maxResident;
+    private final ChunkSource source;
+
+    private final AtomicReferenceArray<TileGrid> chunks; // Read by the game thread without locking
+    private final long[] lastUsed; // update() tick a chunk was last near the camera, game thread only
+    private final AtomicInteger resident = new AtomicInteger();
+    private final Set<Integer> requested = ConcurrentHashMap.newKeySet();
+    private long tick;
+    private volatile boolean closed;
+
+    // Stats
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong loadNanos = new AtomicLong();
+
+    public ChunkedWorld(int width, int height, int layers, int maxResident, ChunkSource source) {
+        int minResident = (2 * STREAM_RADIUS + 1) * (2 * STREAM_RADIUS + 1);
+        if (maxResident < minResident) {
+            throw new IllegalArgumentException("maxResident must cover the stream radius (" + minResident + " chunks)");
+        }
+        this.width = width;
+        this.height = height;
+        this.layers = layers;
+        this.chunkCols = (width + CHUNK_MASK) >> CHUNK_SHIFT;
+        this.chunkRows = (height + CHUNK_MASK) >> CHUNK_SHIFT;
+        this.maxResident = maxResident;
+        this.source = source;
+        this.chunks = new AtomicReferenceArray<>(chunkCols * chunkRows);
+        this.lastUsed = new long[chunkCols * chunkRows];
+    }
+
+    // === Streaming (game thread) ===
+
+    /**
+     * Keep the chunks around the camera tile loaded and evict the rest beyond maxResident
+     */
+    public void update(int cameraCol, int cameraRow) {
+        if (closed) return;
+        tick++;
+        int centerCol = clamp(cameraCol >> CHUNK_SHIFT, chunkCols);
+        int centerRow = clamp(cameraRow >> CHUNK_SHIFT, chunkRows);
+
+        // The camera's own chunk can not wait for the streamer
+        if (chunks.get(centerRow * chunkCols + centerCol) == null) {
+            load(centerCol, centerRow);
+        }
+
+        for (int row = centerRow - STREAM_RADIUS; row <= centerRow + STREAM_RADIUS; row++) {
+            for (int col = centerCol - STREAM_RADIUS; col <= centerCol + STREAM_RADIUS; col++) {
+                if (col < 0 || row < 0 || col >= chunkCols || row >= chunkRows) continue;
+                int index = row * chunkCols + col;
+                lastUsed[index] = tick;
+                if (chunks.get(index) == null) {
+                    request(col, row);
+                }
+            }
+        }
+
+        if (resident.get() > maxResident) {
+            evict(centerCol, centerRow);
+        }
+    }
+
+    private void request(int col, int row) {
+        int index = row * chunkCols + col;
+        if (!requested.add(index)) return;
+        STREAMER.execute(() -> {
+            try {
+                if (!closed && chunks.get(index) == null) {
+                    load(col, row);
+                }
+            } finally {
+                requested.remove(index);
+            }
+        });
+    }
+
+    private void load(int col, int row) {
+        long start = System.nanoTime();
+        TileGrid chunk;
+        try {
+            chunk = source.load(col, row);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("[ChunkedWorld] Failed to load chunk " + col + "," + row + ": " + e.getMessage());
+            return;
+        }
+        loadNanos.addAndGet(System.nanoTime() - start);
+        loads.incrementAndGet();
+        // The streamer and the game thread may race for the camera's chunk; the first one wins
+        if (!closed && chunks.compareAndSet(row * chunkCols + col, null, chunk)) {
+            resident.incrementAndGet();
+        }
+    }
+
+    /**
+     * Drop least recently used chunks until at most maxResident are loaded. Chunks the streamer
+     * finished after the camera moved on were never used and go first.
+     */
+    private void evict(int centerCol, int centerRow) {
+        while (resident.get() > maxResident) {
+            int oldest = -1;
+            for (int i = 0; i < lastUsed.length; i++) {
+                if (chunks.get(i) == null) continue;
+                int col = i % chunkCols;
+                int row = i / chunkCols;
+                if (Math.abs(col - centerCol) <= STREAM_RADIUS && Math.abs(row - centerRow) <= STREAM_RADIUS) {
+                    continue; // Never drop what is around the camera
+                }
+                if (oldest < 0 || lastUsed[i] < lastUsed[oldest]) {
+                    oldest = i;
+                }
+            }
+            if (oldest < 0) return;
+            chunks.set(oldest, null);
+            resident.decrementAndGet();
+            evictions.incrementAndGet();
+        }
+    }
+
+    /**
+     * Drop every chunk and stop streaming; the world can not be used afterwards
+     */
+    public void close() {
+        closed = true;
+        for (int i = 0; i < chunks.length(); i++) {
+            chunks.set(i, null);
+        }
+        resident.set(0);
+    }
+
+    private static int clamp(int value, int count) {
+        return Math.max(0, Math.min(count - 1, value));
+    }
+
+    // === Reads (any thread) ===
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public int getLayerCount() {
+        return layers;
+    }
+
+    @Override
+    public int get(int col, int row) {
+        return get(0, col, row);
+    }
+
+    @Override
+    public int get(int layer, int col, int row) {
+        TileGrid chunk = chunkAt(col, row);
+        return chunk != null ? chunk.get(layer, col & CHUNK_MASK, row & CHUNK_MASK) : TileGrid.EMPTY;
+    }
+
+    @Override
+    public int getMask(int col, int row) {
+        TileGrid chunk = chunkAt(col, row);
+        return chunk != null ? chunk.getMask(col & CHUNK_MASK, row & CHUNK_MASK) : TileGrid.SOLID;
+    }
+
+    private TileGrid chunkAt(int col, int row) {
+        if (col < 0 || row < 0 || col >= width || row >= height) return null;
+        return chunks.get((row >> CHUNK_SHIFT) * chunkCols + (col >> CHUNK_SHIFT));
+    }
+
+    public boolean isChunkLoaded(int col, int row) {
+        return chunkAt(col, row) != null;
+    }
+
+    // === Stats ===
+
+    public int getResidentChunks() {
+        return resident.get();
+    }
+
+    public int getChunkCount() {
+        return chunks.length();
+    }
+
+    public int getMaxResident() {
+        return maxResident;
+    }
+
+    public long getLoads() {
+        return loads.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    public double getAverageLoadMillis() {
+        long count = loads.get();
+        return count > 0 ? loadNanos.get() / 1e6 / count : 0;
+    }
+
+    /**
+     * Approximate heap size of the loaded chunks
+     */
+    public long sizeInBytes() {
+        long total = 0;
+        for (int i = 0; i < chunks.length(); i++) {
+            TileGrid chunk = chunks.get(i);
+            if (chunk != null) total += chunk.sizeInBytes();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,137 @@
+package maps;
+
+import java.util.Arrays;
+
+/**
+ * GridAStar - A* over the walkable cells of a TileGrid (4 directions, cost 1 per step), with all
+ * search state in flat int arrays that are reused from one search to the next.
+ *
+ * A search can be limited to a rectangle of cells, which is how HierarchicalPathfinder refines
+ * its route inside one cluster. Cells are row-major indices (row * cols + col). Not thread safe:
+ * one instance per thread that searches.
+ */
+public final class GridAStar {
+    public static final int NO_PATH = -1;
+
+    private final TileGrid grid;
+    private final int cols;
+    private final int[] g;
+    private final int[] parent;
+    private final int[] seen;     // Search number that last set g and parent of the cell
+    private final int[] closed;   // Search number that last expanded the cell
+    private int search;
+
+    private final IntMinHeap open = new IntMinHeap(); // Cells keyed by f
+
+    private int[] path = new int[256];
+    private int pathSize;
+    private int expanded;
+
+    public GridAStar(TileGrid grid) {
+        this.grid = grid;
+        this.cols = grid.getWidth();
+        int cells = cols * grid.getHeight();
+        g = new int[cells];
+        parent = new int[cells];
+        seen = new int[cells];
+        closed = new int[cells];
+    }
+
+    static boolean walkable(TileGrid grid, int col, int row) {
+        return (grid.getMask(col, row) & (TileGrid.SOLID | TileGrid.HOLE)) == 0;
+    }
+
+    /**
+     * Shortest path over the whole grid; returns its length in steps or NO_PATH
+     */
+    public int search(int startCol, int startRow, int goalCol, int goalRow) {
+        return search(startCol, startRow, goalCol, goalRow, 0, 0, cols - 1, grid.getHeight() - 1);
+    }
+
+    /**
+     * Shortest path that stays inside the cell rectangle [minCol..maxCol] x [minRow..maxRow]
+     */
+    public int search(int startCol, int startRow, int goalCol, int goalRow, int minCol, int minRow, int maxCol, int maxRow) {
+        pathSize = 0;
+        expanded = 0;
+        if (!inside(startCol, startRow, minCol, minRow, maxCol, maxRow) || !inside(goalCol, goalRow, minCol, minRow, maxCol, maxRow)
+                || !walkable(grid, startCol, startRow) || !walkable(grid, goalCol, goalRow)) {
+            return NO_PATH;
+        }
+        if (++search == Integer.MAX_VALUE) {
+            Arrays.fill(seen, 0);
+            Arrays.fill(closed, 0);
+            search = 1;
+        }
+
+        int start = startRow * cols + startCol;
+        int goal = goalRow * cols + goalCol;
+        open.clear();
+        g[start] = 0;
+        parent[start] = -1;
+        seen[start] = search;
+        open.push(start, Math.abs(startCol - goalCol) + Math.abs(startRow - goalRow));
+
+        while (!open.isEmpty()) {
+            int cell = open.pop();
+            if (closed[cell] == search) continue;
+            closed[cell] = search;
+            expanded++;
+            if (cell == goal) {
+                tracePath(goal);
+                return g[goal];
+            }
+
+            int col = cell % cols;
+            int row = cell / cols;
+            int next = g[cell] + 1;
+            if (row > minRow) relax(cell, col, row - 1, next, goalCol, goalRow);
+            if (row < maxRow) relax(cell, col, row + 1, next, goalCol, goalRow);
+            if (col > minCol) relax(cell, col - 1, row, next, goalCol, goalRow);
+            if (col < maxCol) relax(cell, col + 1, row, next, goalCol, goalRow);
+        }
+        return NO_PATH;
+    }
+
+    private static boolean inside(int col, int row, int minCol, int minRow, int maxCol, int maxRow) {
+        return col >= minCol && col <= maxCol && row >= minRow && row <= maxRow;
+    }
+
+    private void relax(int from, int col, int row, int cost, int goalCol, int goalRow) {
+        int cell = row * cols + col;
+        if (closed[cell] == search || (seen[cell] == search && g[cell] <= cost) || !walkable(grid, col, row)) return;
+        seen[cell] = search;
+        g[cell] = cost;
+        parent[cell] = from;
+        open.push(cell, cost + Math.abs(col - goalCol) + Math.abs(row - goalRow));
+    }
+
+    private void tracePath(int goal) {
+        int length = g[goal] + 1;
+        if (path.length < length) path = new int[Math.max(length, path.length * 2)];
+        pathSize = length;
+        for (int cell = goal, i = length - 1; i >= 0; cell = parent[cell], i--) {
+            path[i] = cell;
+        }
+    }
+
+    // === Result of the last search ===
+
+    /**
+     * Cells of the last path found, start first; 0 if there was none
+     */
+    public int getPathSize() {
+        return pathSize;
+    }
+
+    public int getPathCell(int i) {
+        return path[i];
+    }
+
+    /**
+     * Cells expanded by the last search
+     */
+    public int getExpanded() {
+        return expanded;
+    }
+}
@@ -0,0 +1,466 @@
+package maps;
+
+import java.util.Arrays;
+
+/**
+ * HierarchicalPathfinder - HPA* for large mazes, where one A* over the whole grid expands far
+ * too many cells per search.
+ *
+ * The grid is cut into square clusters. Where a run of walkable cells crosses the border of two
+ * clusters, the middle of the run becomes an entrance: one node on each side, joined by a step of
+ * cost 1. Inside each cluster the walking distance between every pair of its nodes is
+ * precomputed (BFS that stays in the cluster). A search then
+ *   1. connects start and goal to the nodes of their clusters,
+ *   2. runs A* over the nodes only,
+ *   3. refines the node route into cells with GridAStar limited to one cluster at a time.
+ * Paths are within a few steps of the shortest; a start and goal in the same cluster first try
+ * a direct search inside it.
+ *
+ * A cluster's nodes depend only on its own cells and the cells just outside its border, so a
+ * changed tile rebuilds at most its cluster and the neighbours it borders (invalidate(), applied
+ * on the next search). Not thread safe.
+ */
+public final class HierarchicalPathfinder {
+    public static final int DEFAULT_CLUSTER_SIZE = 32;
+    public static final int NO_PATH = GridAStar.NO_PATH;
+    private static final int UNREACHABLE = -1;
+
+    private final TileGrid grid;
+    private final int cols;
+    private final int rows;
+    private final int size;
+    private final int clusterCols;
+    private final int clusterRows;
+    private final int maxNodes;         // Node slots per cluster; node id = cluster * maxNodes + index
+    private final int goalNode;         // Id of the goal in the abstract search
+
+    private final int[][] nodeCells;    // Per cluster: cells of its entrance nodes
+    private final int[][] distances;    // Per cluster: nodes x nodes walking distance inside it
+    private final boolean[] dirty;
+    private int dirtyCount;
+
+    // Scratch for BFS inside one cluster, indexed by cell within the cluster
+    private final int[] localDistance;
+    private final int[] localQueue;
+    private final int[] startCost;
+    private final int[] goalCost;
+
+    // Abstract search state, stamped per search
+    private final int[] g;
+    private final int[] parent;
+    private final int[] seen;
+    private final int[] closed;
+    private final IntMinHeap open = new IntMinHeap();
+    private int search;
+
+    private final GridAStar local;
+    private int[] route = new int[64];  // Nodes of the last abstract path, start side first
+    private int[] path = new int[256];
+    private int pathSize;
+    private int expanded;
+
+    public HierarchicalPathfinder(TileGrid grid) {
+        this(grid, DEFAULT_CLUSTER_SIZE);
+    }
+
+    public HierarchicalPathfinder(TileGrid grid, int clusterSize) {
+        this.grid = grid;
+        this.cols = grid.getWidth();
+        this.rows = grid.getHeight();
+        this.size = clusterSize;
+        clusterCols = (cols + size - 1) / size;
+        clusterRows = (rows + size - 1) / size;
+        maxNodes = 4 * size;
+        int clusters = clusterCols * clusterRows;
+        goalNode = clusters * maxNodes;
+
+        nodeCells = new int[clusters][];
+        distances = new int[clusters][];
+        dirty = new boolean[clusters];
+        localDistance = new int[size * size];
+        localQueue = new int[size * size];
+        startCost = new int[maxNodes];
+        goalCost = new int[maxNodes];
+        g = new int[goalNode + 1];
+        parent = new int[goalNode + 1];
+        seen = new int[goalNode + 1];
+        closed = new int[goalNode + 1];
+        local = new GridAStar(grid);
+
+        for (int cluster = 0; cluster < clusters; cluster++) {
+            buildCluster(cluster);
+        }
+    }
+
+    /**
+     * Whether this pathfinder was built for that grid (a new maze needs a new one)
+     */
+    public boolean isFor(TileGrid other) {
+        return grid == other;
+    }
+
+    // === Building ===
+
+    /**
+     * A tile changed: its cluster, and the neighbour across any border it lies on, are rebuilt before the next search
+     */
+    public void invalidate(int col, int row) {
+        if (!grid.inBounds(col, row)) return;
+        int clusterCol = col / size;
+        int clusterRow = row / size;
+        markDirty(clusterCol, clusterRow);
+        if (col % size == 0) markDirty(clusterCol - 1, clusterRow);
+        if (col % size == size - 1) markDirty(clusterCol + 1, clusterRow);
+        if (row % size == 0) markDirty(clusterCol, clusterRow - 1);
+        if (row % size == size - 1) markDirty(clusterCol, clusterRow + 1);
+    }
+
+    private void markDirty(int clusterCol, int clusterRow) {
+        if (clusterCol < 0 || clusterRow < 0 || clusterCol >= clusterCols || clusterRow >= clusterRows) return;
+        int cluster = clusterRow * clusterCols + clusterCol;
+        if (!dirty[cluster]) {
+            dirty[cluster] = true;
+            dirtyCount++;
+        }
+    }
+
+    /**
+     * Rebuild the clusters invalidated since the last search; returns how many were rebuilt
+     */
+    public int refresh() {
+        if (dirtyCount == 0) return 0;
+        int rebuilt = 0;
+        for (int cluster = 0; cluster < dirty.length; cluster++) {
+            if (dirty[cluster]) {
+                dirty[cluster] = false;
+                buildCluster(cluster);
+                rebuilt++;
+            }
+        }
+        dirtyCount = 0;
+        return rebuilt;
+    }
+
+    private void buildCluster(int cluster) {
+        int minCol = (cluster % clusterCols) * size;
+        int minRow = (cluster / clusterCols) * size;
+        int maxCol = Math.min(cols, minCol + size) - 1;
+        int maxRow = Math.min(rows, minRow + size) - 1;
+
+        // Entrances on the four sides: middle of each run of cells walkable on both sides of the border
+        int[] cells = new int[maxNodes];
+        int count = 0;
+        count = addEntrances(cells, count, minCol, minRow, 0, 1, maxRow - minRow + 1, -1, 0);       // Left
+        count = addEntrances(cells, count, maxCol, minRow, 0, 1, maxRow - minRow + 1, 1, 0);        // Right
+        count = addEntrances(cells, count, minCol, minRow, 1, 0, maxCol - minCol + 1, 0, -1);       // Top
+        count = addEntrances(cells, count, minCol, maxRow, 1, 0, maxCol - minCol + 1, 0, 1);        // Bottom
+        cells = Arrays.copyOf(cells, count);
+
+        int[] matrix = new int[count * count];
+        for (int i = 0; i < count; i++) {
+            clusterDistances(cluster, cells[i], cells, count);
+            for (int j = 0; j < count; j++) {
+                matrix[i * count + j] = localDistance[localIndex(cluster, cells[j])];
+            }
+        }
+        nodeCells[cluster] = cells;
+        distances[cluster] = matrix;
+    }
+
+    /**
+     * Walk one side of a cluster (length cells from col,row in steps of stepCol,stepRow) and add
+     * the middle of each run whose cells and their outside neighbours (at +outCol,+outRow) are walkable
+     */
+    private int addEntrances(int[] cells, int count, int col, int row, int stepCol, int stepRow, int length, int outCol, int outRow) {
+        int runStart = -1;
+        for (int i = 0; i <= length; i++) {
+            int c = col + i * stepCol;
+            int r = row + i * stepRow;
+            boolean open = i < length && grid.inBounds(c + outCol, r + outRow)
+                    && GridAStar.walkable(grid, c, r) && GridAStar.walkable(grid, c + outCol, r + outRow);
+            if (open && runStart < 0) {
+                runStart = i;
+            } else if (!open && runStart >= 0) {
+                int middle = (runStart + i - 1) / 2;
+                int cell = (row + middle * stepRow) * cols + col + middle * stepCol;
+                if (indexOf(cells, count, cell) < 0) cells[count++] = cell;
+                runStart = -1;
+            }
+        }
+        return count;
+    }
+
+    private static int indexOf(int[] cells, int count, int cell) {
+        for (int i = 0; i < count; i++) {
+            if (cells[i] == cell) return i;
+        }
+        return -1;
+    }
+
+    private int clusterOf(int cell) {
+        return ((cell / cols) / size) * clusterCols + (cell % cols) / size;
+    }
+
+    private int localIndex(int cluster, int cell) {
+        int col = cell % cols - (cluster % clusterCols) * size;
+        int row = cell / cols - (cluster / clusterCols) * size;
+        return row * size + col;
+    }
+
+    /**
+     * BFS from one cell that stays inside its cluster; fills localDistance. Stops early once
+     * every target cell has been reached.
+     */
+    private void clusterDistances(int cluster, int from, int[] targets, int targetCount) {
+        int minCol = (cluster % clusterCols) * size;
+        int minRow = (cluster / clusterCols) * size;
+        int maxCol = Math.min(cols, minCol + size) - 1;
+        int maxRow = Math.min(rows, minRow + size) - 1;
+        Arrays.fill(localDistance, UNREACHABLE);
+
+        int remaining = targetCount;
+        int head = 0;
+        int tail = 0;
+        int start = localIndex(cluster, from);
+        localDistance[start] = 0;
+        localQueue[tail++] = start;
+        while (head < tail && remaining > 0) {
+            int index = localQueue[head++];
+            int col = minCol + index % size;
+            int row = minRow + index / size;
+            if (indexOf(targets, targetCount, row * cols + col) >= 0) remaining--;
+            int next = localDistance[index] + 1;
+            if (row > minRow) tail = visit(index - size, col, row - 1, next, tail);
+            if (row < maxRow) tail = visit(index + size, col, row + 1, next, tail);
+            if (col > minCol) tail = visit(index - 1, col - 1, row, next, tail);
+            if (col < maxCol) tail = visit(index + 1, col + 1, row, next, tail);
+        }
+    }
+
+    private int visit(int index, int col, int row, int distance, int tail) {
+        if (localDistance[index] != UNREACHABLE || !GridAStar.walkable(grid, col, row)) return tail;
+        localDistance[index] = distance;
+        localQueue[tail] = index;
+        return tail + 1;
+    }
+
+    // === Searching ===
+
+    /**
+     * Path from start to goal; returns its length in steps or NO_PATH. The cells are read with
+     * getPathSize() and getPathCell().
+     */
+    public int search(int startCol, int startRow, int goalCol, int goalRow) {
+        return search(startCol, startRow, goalCol, goalRow, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Like search(), but only the first refineNodes nodes of the route are refined into cells: the
+     * path then ends at an entrance part way to the goal. For movers that search again before
+     * they get that far this skips most of the work on long paths. Returns the length of the
+     * whole route all the same.
+     */
+    public int search(int startCol, int startRow, int goalCol, int goalRow, int refineNodes) {
+        refresh();
+        pathSize = 0;
+        expanded = 0;
+        if (!grid.inBounds(startCol, startRow) || !grid.inBounds(goalCol, goalRow)
+                || !GridAStar.walkable(grid, startCol, startRow) || !GridAStar.walkable(grid, goalCol, goalRow)) {
+            return NO_PATH;
+        }
+        int start = startRow * cols + startCol;
+        int goal = goalRow * cols + goalCol;
+        int startCluster = clusterOf(start);
+        int goalCluster = clusterOf(goal);
+
+        // Both in one cluster: a path that stays inside it is usually the answer
+        if (startCluster == goalCluster && refine(start, goal, startCluster)) {
+            return pathSize - 1;
+        }
+
+        int routeSize = abstractSearch(start, goal, startCluster, goalCluster);
+        if (routeSize < 0) return NO_PATH;
+        int length = g[goalNode];
+
+        // Refine: start -> first node, node -> node (inside a cluster or one step across a border), last node -> goal
+        pathSize = 0;
+        int previous = start;
+        for (int i = 0; i < routeSize; i++) {
+            if (i == refineNodes) return length;
+            int cell = nodeCell(route[i]);
+            if (!refine(previous, cell, clusterOf(previous) == clusterOf(cell) ? clusterOf(cell) : -1)) return failRefine();
+            previous = cell;
+        }
+        if (!refine(previous, goal, goalCluster)) return failRefine();
+        return length;
+    }
+
+    private int failRefine() {
+        // Only possible if the grid changed without invalidate()
+        pathSize = 0;
+        return NO_PATH;
+    }
+
+    /**
+     * A* over the entrance nodes. Start and goal are joined to the nodes of their clusters by
+     * BFS inside the cluster; returns the number of nodes on the route, or -1.
+     */
+    private int abstractSearch(int start, int goal, int startCluster, int goalCluster) {
+        if (++search == Integer.MAX_VALUE) {
+            Arrays.fill(seen, 0);
+            Arrays.fill(closed, 0);
+            search = 1;
+        }
+        int goalCol = goal % cols;
+        int goalRow = goal / cols;
+
+        int[] goalNodes = nodeCells[goalCluster];
+        clusterDistances(goalCluster, goal, goalNodes, goalNodes.length);
+        for (int i = 0; i < goalNodes.length; i++) {
+            goalCost[i] = localDistance[localIndex(goalCluster, goalNodes[i])];
+        }
+
+        open.clear();
+        int[] startNodes = nodeCells[startCluster];
+        clusterDistances(startCluster, start, startNodes, startNodes.length);
+        for (int i = 0; i < startNodes.length; i++) {
+            startCost[i] = localDistance[localIndex(startCluster, startNodes[i])];
+            if (startCost[i] != UNREACHABLE) {
+                open(startCluster * maxNodes + i, startCost[i], -1, goalCol, goalRow);
+            }
+        }
+
+        while (!open.isEmpty()) {
+            int node = open.pop();
+            if (closed[node] == search) continue;
+            closed[node] = search;
+            expanded++;
+            if (node == goalNode) return traceRoute();
+
+            int cluster = node / maxNodes;
+            int index = node % maxNodes;
+            int[] cells = nodeCells[cluster];
+            int count = cells.length;
+            int cost = g[node];
+
+            if (cluster == goalCluster && goalCost[index] != UNREACHABLE) {
+                open(goalNode, cost + goalCost[index], node, goalCol, goalRow);
+            }
+            // Other nodes of the same cluster
+            int[] matrix = distances[cluster];
+            for (int j = 0; j < count; j++) {
+                int d = matrix[index * count + j];
+                if (j != index && d != UNREACHABLE) open(cluster * maxNodes + j, cost + d, node, goalCol, goalRow);
+            }
+            // Across the border
+            int cell = cells[index];
+            int col = cell % cols;
+            int row = cell / cols;
+            cross(node, cost, col, row - 1, cluster, goalCol, goalRow);
+            cross(node, cost, col, row + 1, cluster, goalCol, goalRow);
+            cross(node, cost, col - 1, row, cluster, goalCol, goalRow);
+            cross(node, cost, col + 1, row, cluster, goalCol, goalRow);
+        }
+        return -1;
+    }
+
+    private void cross(int from, int cost, int col, int row, int cluster, int goalCol, int goalRow) {
+        if (!grid.inBounds(col, row)) return;
+        int cell = row * cols + col;
+        int other = clusterOf(cell);
+        if (other == cluster) return;
+        int index = indexOf(nodeCells[other], nodeCells[other].length, cell);
+        if (index >= 0) open(other * maxNodes + index, cost + 1, from, goalCol, goalRow);
+    }
+
+    private void open(int node, int cost, int from, int goalCol, int goalRow) {
+        if (closed[node] == search || (seen[node] == search && g[node] <= cost)) return;
+        seen[node] = search;
+        g[node] = cost;
+        parent[node] = from;
+        int h = 0;
+        if (node != goalNode) {
+            int cell = nodeCell(node);
+            h = Math.abs(cell % cols - goalCol) + Math.abs(cell / cols - goalRow);
+        }
+        open.push(node, cost + h);
+    }
+
+    private int nodeCell(int node) {
+        return nodeCells[node / maxNodes][node % maxNodes];
+    }
+
+    private int traceRoute() {
+        int count = 0;
+        for (int node = parent[goalNode]; node >= 0; node = parent[node]) count++;
+        if (route.length < count) route = new int[Math.max(count, route.length * 2)];
+        int i = count;
+        for (int node = parent[goalNode]; node >= 0; node = parent[node]) route[--i] = node;
+        return count;
+    }
+
+    /**
+     * Append the cells from one cell to the next, searching inside the given cluster (or a
+     * single step across a border when cluster is -1)
+     */
+    private boolean refine(int from, int to, int cluster) {
+        if (from == to) {
+            append(from);
+            return true;
+        }
+        if (cluster < 0) {
+            append(from);
+            append(to);
+            return true;
+        }
+        int minCol = (cluster % clusterCols) * size;
+        int minRow = (cluster / clusterCols) * size;
+        int found = local.search(from % cols, from / cols, to % cols, to / cols,
+                minCol, minRow, Math.min(cols, minCol + size) - 1, Math.min(rows, minRow + size) - 1);
+        expanded += local.getExpanded();
+        if (found == GridAStar.NO_PATH) return false;
+        for (int i = 0; i < local.getPathSize(); i++) {
+            append(local.getPathCell(i));
+        }
+        return true;
+    }
+
+    /**
+     * Add a cell to the path unless it repeats the last one (segments share their end cells)
+     */
+    private void append(int cell) {
+        if (pathSize > 0 && path[pathSize - 1] == cell) return;
+        if (pathSize == path.length) path = Arrays.copyOf(path, pathSize * 2);
+        path[pathSize++] = cell;
+    }
+
+    // === Result of the last search ===
+
+    public int getPathSize() {
+        return pathSize;
+    }
+
+    public int getPathCell(int i) {
+        return path[i];
+    }
+
+    /**
+     * Abstract nodes plus refinement cells expanded by the last search
+     */
+    public int getExpanded() {
+        return expanded;
+    }
+
+    public int getClusterSize() {
+        return size;
+    }
+
+    /**
+     * Entrance nodes over all clusters
+     */
+    public int getNodeCount() {
+        int count = 0;
+        for (int[] cells : nodeCells) count += cells.length;
+        return count;
+    }
+}
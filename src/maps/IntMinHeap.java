@@ -0,0 +1,62 @@
+package maps;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of int values keyed by long priorities, for the grid searches. Keys are long so
+ * a search can pack a tie-break below its cost (AdaptivePathfinder puts f in the high bits and
+ * prefers the deeper cell among equal f). There is no decrease-key: a value is pushed again with
+ * its better key and the caller skips stale pops.
+ */
+final class IntMinHeap {
+    private int[] values = new int[256];
+    private long[] keys = new long[256];
+    private int size;
+
+    void clear() {
+        size = 0;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void push(int value, long key) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+            keys = Arrays.copyOf(keys, size * 2);
+        }
+        int i = size++;
+        while (i > 0) {
+            int up = (i - 1) >> 1;
+            if (keys[up] <= key) break;
+            values[i] = values[up];
+            keys[i] = keys[up];
+            i = up;
+        }
+        values[i] = value;
+        keys[i] = key;
+    }
+
+    /**
+     * Remove and return the value with the smallest key
+     */
+    int pop() {
+        int top = values[0];
+        int value = values[--size];
+        long key = keys[size];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) break;
+            if (child + 1 < size && keys[child + 1] < keys[child]) child++;
+            if (keys[child] >= key) break;
+            values[i] = values[child];
+            keys[i] = keys[child];
+            i = child;
+        }
+        values[i] = value;
+        keys[i] = key;
+        return top;
+    }
+}
@@ -1,27 +1,45 @@
 package maps;
 
+import debug.FrameProfiler;
+import debug.FrameProfiler.Section;
+import hud.NameTag;
+import imageRender.AssetManager;
 import imageRender.ImageHandler;
 import main.GameScene;
 import network.entitiesNet.PlayerMP;
 import objects.entities.Entity;
 import objects.entities.NPC;
 
-import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.*;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
 
 public class Map {
+    private static final String LOBBY_TILESET = "/Maps/tileSet.png";
+    private static final String LOBBY_CSV = "/Maps/map_1.csv";
+    private static final String LOBBY_LAYER2_CSV = "/Maps/map_1_Layer 2.csv";
+    private static final int LOBBY_COLS = 70;
+    private static final int LOBBY_ROWS = 50;
+    private static final String HUNT_NPC_SPRITE = "/Maps/Pvp/PvpNPC.png";
+    private static final String TOP_NPC_SPRITE = "/NPC/top20NPC.png";
+    private static final String MAZE_NPC_SPRITE = "/Maps/Maze/mazeNPC.png";
+    static final MapFile.Source LOBBY_SOURCE =
+            new MapFile.Source(LOBBY_COLS, LOBBY_ROWS, Map::lobbyTileType, LOBBY_CSV, LOBBY_LAYER2_CSV);
+
     protected Tile[] tiles;
-    protected int width = 16;
-    protected int height = 16;
+    protected static final int TILE_SIZE = 16; // Pixel size of a tile in the tile sets
+    protected int width = TILE_SIZE;
+    protected int height = TILE_SIZE;
     protected BufferedImage[] tileSet;
-    protected int[][] mapTileNum;
-    protected int[][] mapTileNumLayer2; // Layer 2 for bridges
+    // Volatile: replaced on the network thread (MazeMap) and by hibernation while the game thread
+    // and the EDT read them; replaced together with the dimensions under this map's monitor
+    protected volatile TileGrid grid; // Layer 0 = ground, layer 1 (lobby only) = bridges on top
+    protected volatile ChunkedWorld world; // Instead of grid for maps above STREAM_ABOVE_CELLS
     protected GameScene gameScene;
-    protected int mapTileCol = 70;
-    protected int mapTileRow = 50;
+    protected int mapTileCol;
+    protected int mapTileRow;
 
     // Use CopyOnWriteArrayList to prevent ConcurrentModificationException during rendering
     public java.util.concurrent.CopyOnWriteArrayList<PlayerMP> players;
@@ -34,32 +52,141 @@ public class Map {
 
     protected boolean render = true;
 
+    // === Lazy loading and hibernation ===
+    public static final long HIBERNATE_AFTER_MILLIS = 60_000; // Idle time before a map drops its tiles
+    private String tileSetPath;
+    private volatile boolean loaded;
+    private volatile long lastActive;
+
+    // === Chunk streaming ===
+    public static final int STREAM_ABOVE_CELLS = 256 * 256; // Bigger maps are streamed instead of copied whole
+    private static final int MAX_RESIDENT_CHUNKS = 64;       // 64 chunks of 32 x 32 tiles
+
     public Map(GameScene gameScene) {
-        this.gameScene = gameScene;
-        players = new java.util.concurrent.CopyOnWriteArrayList<PlayerMP>();
+        this(gameScene, LOBBY_COLS, LOBBY_ROWS);
         npcs = new Entity[2];
-        mapTileNum = new int[mapTileCol][mapTileRow];
-        mapTileNumLayer2 = new int[mapTileCol][mapTileRow]; // Initialize layer 2
 
-        player = gameScene.getPlayerMP();
-
-        try {
-            monsterHuntNPC = new NPC("Monster Hunt", 1000, 1000, ImageIO.read(getClass().getResource("/Maps/Pvp/PvpNPC.png")), gameScene.getTileSize());
-            topNPC = new NPC("Top 20", 1693, 535, ImageIO.read(getClass().getResource("/NPC/top20NPC.png")), gameScene.getTileSize());
-            mazeNPC = new NPC("Maze", 2092, 1075, ImageIO.read(getClass().getResource("/Maps/Maze/mazeNPC.png")), gameScene.getTileSize());
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
+        // NPC sprites decode in parallel and are shared by every map instance
+        AssetManager assets = AssetManager.getInstance();
+        CompletableFuture<BufferedImage> huntSprite = assets.acquireImageAsync("npc", HUNT_NPC_SPRITE);
+        CompletableFuture<BufferedImage> topSprite = assets.acquireImageAsync("npc", TOP_NPC_SPRITE);
+        CompletableFuture<BufferedImage> mazeSprite = assets.acquireImageAsync("npc", MAZE_NPC_SPRITE);
+        monsterHuntNPC = new NPC("Monster Hunt", 1000, 1000, huntSprite.join(), gameScene.getTileSize());
+        topNPC = new NPC("Top 20", 1693, 535, topSprite.join(), gameScene.getTileSize());
+        mazeNPC = new NPC("Maze", 2092, 1075, mazeSprite.join(), gameScene.getTileSize());
 
         npcs[0] = topNPC;
         npcs[1] = mazeNPC;
 
         setHitBox();
 
+        // The lobby is where players spawn, so its tiles are built right away
+        ensureLoaded();
+    }
+
+    /**
+     * Common setup for the game-mode maps. They share the lobby's NPCs and tile caches instead
+     * of loading their own copies, and build their tiles on the first visit (see ensureLoaded).
+     */
+    protected Map(GameScene gameScene, int cols, int rows) {
+        this.gameScene = gameScene;
+        mapTileCol = cols;
+        mapTileRow = rows;
+        players = new java.util.concurrent.CopyOnWriteArrayList<PlayerMP>();
+        player = gameScene.getPlayerMP();
+    }
+
+    /**
+     * Build the tile set and tile arrays; runs on the first visit and again after hibernation
+     */
+    protected void loadContent() {
 //        loadMap("/Maps/Map_tiles.png");
-        loadMap("/Maps/tileSet.png");
-        readMap("/Maps/map_1.csv");
-        readMapLayer2("/Maps/map_1_Layer 2.csv"); // Read layer 2
+        loadMap(LOBBY_TILESET);
+        readMapFile(LOBBY_SOURCE); // Both layers
+    }
+
+    /**
+     * Drop what loadContent built; subclasses also drop their entities and cached HUD here.
+     * Only called while the map is not being shown.
+     */
+    protected void unloadContent() {
+        if (tileSetPath != null) {
+            // Unreferenced tiles stay softly cached, so waking up again is usually just a copy
+            ImageHandler.releaseAssets(tileSetPath, width, height);
+            tileSetPath = null;
+        }
+        tileSet = null;
+        tiles = null;
+        grid = null;
+        if (world != null) {
+            world.close();
+            world = null;
+        }
+    }
+
+    /**
+     * Build the map if it has not been built yet (or was hibernated) and reset its idle clock
+     */
+    public synchronized void ensureLoaded() {
+        lastActive = System.currentTimeMillis();
+        if (loaded) return;
+
+        long start = System.nanoTime();
+        loadContent();
+        loaded = true;
+        System.out.printf("[Map] Loaded %s in %.1f ms%n", getClass().getSimpleName(), (System.nanoTime() - start) / 1e6);
+    }
+
+    /**
+     * Called every tick for the map being shown
+     */
+    public void markActive(long now) {
+        if (!loaded) {
+            ensureLoaded();
+        }
+        lastActive = now;
+    }
+
+    /**
+     * Drop the map's tiles, entities and caches if nobody has been on it for HIBERNATE_AFTER_MILLIS;
+     * the next ensureLoaded rebuilds them
+     */
+    public boolean hibernateIfIdle(long now) {
+        if (!loaded || now - lastActive < HIBERNATE_AFTER_MILLIS) return false;
+        synchronized (this) {
+            if (!loaded || now - lastActive < HIBERNATE_AFTER_MILLIS) return false;
+            loaded = false;
+            unloadContent();
+        }
+        System.out.println("[Map] " + getClass().getSimpleName() + " hibernated after "
+                + (now - lastActive) / 1000 + " s idle");
+        return true;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Stream the chunks around the camera (the local player's world position) in and the far
+     * ones out; does nothing for maps that are held whole
+     */
+    public void updateStreaming(int cameraWorldX, int cameraWorldY) {
+        ChunkedWorld streamed = world;
+        if (streamed != null) {
+            int tileSize = gameScene.getTileSize();
+            streamed.update(cameraWorldX / tileSize, cameraWorldY / tileSize);
+        }
+    }
+
+    /**
+     * Decode the lobby tile set and NPC sprites and parse its CSVs in the background
+     */
+    public static CompletableFuture<Void> preloadLobby() {
+        return CompletableFuture.allOf(
+                ImageHandler.preloadAssets(LOBBY_TILESET, TILE_SIZE, TILE_SIZE),
+                preloadMapFile(LOBBY_SOURCE),
+                AssetManager.getInstance().preload("npc", HUNT_NPC_SPRITE, TOP_NPC_SPRITE, MAZE_NPC_SPRITE));
     }
 
     public void addPlayer(PlayerMP player) {
@@ -105,7 +232,11 @@ public class Map {
     }
 
     public void loadMap(String mapPath) {
+        if (tileSetPath != null) {
+            ImageHandler.releaseAssets(tileSetPath, width, height);
+        }
         tileSet = ImageHandler.loadAssets(mapPath, width, height);
+        tileSetPath = mapPath;
         tiles = new Tile[tileSet.length];
         for (int i = 0; i < tileSet.length; i++) {
 
@@ -121,6 +252,13 @@ public class Map {
     }
 
     public void setTileType(int i) {
+        tiles[i].setType(lobbyTileType(i));
+    }
+
+    /**
+     * Tile type of a lobby tile set index; also used to precompute the lobby's collision mask
+     */
+    static TileType lobbyTileType(int i) {
         // Bridge tiles - ONLY the middle part of bridges is walkable
         // Vertical bridge: 168, 185 (middle)
         // Horizontal bridge: 165, 182, 199 (middle)
@@ -128,7 +266,7 @@ public class Map {
         if (i == 168 || i == 185 ||  // Vertical bridge middle
             i == 165 || i == 182 || i == 199 ||  // Horizontal bridge middle
             i == 113 || i == 114) {  // Bridge intersections
-            tiles[i].setType(TileType.Bridge);
+            return TileType.Bridge;
         } 
         // Bridge railings/edges - block movement
         else if (i == 167 || i == 169 ||  // Vertical bridge left/right rails
@@ -137,11 +275,11 @@ public class Map {
                  i == 164 || i == 166 ||  // Horizontal bridge top corners
                  i == 181 || i == 183 ||  // Horizontal bridge middle rails
                  i == 198 || i == 200) {  // Horizontal bridge bottom corners
-            tiles[i].setType(TileType.Wall);
+            return TileType.Wall;
         } else if (i == 3) {
-            tiles[i].setType(TileType.Grass);
+            return TileType.Grass;
         } else if (i == 153) {
-            tiles[i].setType(TileType.Water);
+            return TileType.Water;
         } else if (i == 65 || i == 66 || i == 67 ||  // Top cliff edge corners and edge
                    i == 78 || 
                    i == 82 || i == 84 ||  // Left/right cliff edges
@@ -154,15 +292,26 @@ public class Map {
                    i == 62 || i == 63 || i == 64 ||  // Top grass edges
                    i == 79 || i == 81) {  // Left/right grass edges
             // Wall tiles - includes cliffs/brown edges that block movement
-            tiles[i].setType(TileType.Wall);
+            return TileType.Wall;
         } else {
             // Set default type for all other tiles (safe to walk on)
-            tiles[i].setType(TileType.Grass);
+            return TileType.Grass;
         }
     }
 
+    /**
+     * Type of a tile id in this map's tile set; ids outside it (EMPTY, bad data) are walls
+     */
+    protected TileType typeOfTile(int tileNum) {
+        if (tiles == null || tileNum < 0 || tileNum >= tiles.length) {
+            return TileType.Wall;
+        }
+        return tiles[tileNum].getType();
+    }
+
     public void draw(Graphics2D g2d, int tileSize) {
-        if (!render) return;
+        if (!render || !loaded) return;
+        long t = System.nanoTime();
         
         // Cache player position for performance
         int playerWorldX = gameScene.getPlayer().getWorldX();
@@ -177,9 +326,11 @@ public class Map {
         int endRow = Math.min(mapTileRow, (playerWorldY + playerScreenY) / tileSize + 2);
         
         // Draw Layer 1 - Base tiles
+        TileView view = getTileView();
         for (int worldRow = startRow; worldRow < endRow; worldRow++) {
             for (int worldCol = startCol; worldCol < endCol; worldCol++) {
-                int tileNum = mapTileNum[worldCol][worldRow];
+                int tileNum = view.get(worldCol, worldRow);
+                if (tileNum < 0) continue; // Chunk not streamed in yet
                 
                 int worldX = worldCol * tileSize;
                 int worldY = worldRow * tileSize;
@@ -190,13 +341,10 @@ public class Map {
                 g2d.drawImage(tiles[tileNum].getImage(), screenX, screenY, tileSize, tileSize, null);
             }
         }
+        t = FrameProfiler.lap(Section.TILES, t);
 
         renderNPC(g2d);
 
-        // Optimize player rendering
-        Font usernameFont = new Font("Arial", Font.BOLD, 20);
-        g2d.setFont(usernameFont);
-        FontMetrics fm = g2d.getFontMetrics(usernameFont);
         
         // DEBUG: Print player count and positions periodically
         // if (gameScene.getFps() % 60 == 0 && render) {
@@ -225,11 +373,11 @@ public class Map {
             // Draw player sprite
             g2d.drawImage(playerMP.getPlayer().currentSprite(), screenX, screenY, tileSize, tileSize, null);
 
-            // Draw username (optimized)
-            String username = playerMP.getUsername();
-            int stringWidth = fm.stringWidth(username);
-            int usernameX = screenX + (tileSize - stringWidth) / 2;
-            g2d.drawString(username, usernameX, screenY);
+            // Draw username from the sprite built on join
+            NameTag nameTag = playerMP.getNameTag();
+            if (nameTag != null) {
+                nameTag.draw(g2d, screenX, tileSize, screenY);
+            }
 
             // Draw chat image if present
             BufferedImage chatImage = playerMP.getChatImage();
@@ -238,18 +386,29 @@ public class Map {
             }
         }
         
+        t = FrameProfiler.lap(Section.ENTITIES, t);
+        
         // Draw Layer 2 - Overlay tiles (bridges, etc.) - render on top of players
-        drawLayer2(g2d, tileSize, startCol, endCol, startRow, endRow, playerWorldX, playerWorldY, playerScreenX, playerScreenY);
+        drawLayer2(g2d, view, tileSize, startCol, endCol, startRow, endRow, playerWorldX, playerWorldY, playerScreenX, playerScreenY);
+        FrameProfiler.lap(Section.LAYER2, t);
+    }
+    
+    /**
+     * Draw the map's HUD on top of the frame; GameScene calls this after all entities.
+     * The lobby has none.
+     */
+    public void drawHud(Graphics2D g2d) {
     }
     
     /**
      * Draw Layer 2 tiles (bridges, decorations) on top of everything
      */
-    protected void drawLayer2(Graphics2D g2d, int tileSize, int startCol, int endCol, int startRow, int endRow,
+    protected void drawLayer2(Graphics2D g2d, TileView view, int tileSize, int startCol, int endCol, int startRow, int endRow,
                             int playerWorldX, int playerWorldY, int playerScreenX, int playerScreenY) {
+        if (view.getLayerCount() < 2) return; // Only the lobby has a second layer
         for (int worldRow = startRow; worldRow < endRow; worldRow++) {
             for (int worldCol = startCol; worldCol < endCol; worldCol++) {
-                int tileNum = mapTileNumLayer2[worldCol][worldRow];
+                int tileNum = view.get(1, worldCol, worldRow);
                 
                 // Skip empty tiles (-1 or tiles that don't exist)
                 if (tileNum < 0 || tileNum >= tiles.length) continue;
@@ -293,87 +452,44 @@ public class Map {
         render = true;
     }
 
-    public void readMap(String mapPath) {
-        InputStream ip = getClass().getResourceAsStream(mapPath);
-        BufferedReader br = new BufferedReader(new InputStreamReader(ip));
-
-        int row = 0;
-        int col = 0;
-
-        try {
-            while (col < mapTileCol && row < mapTileRow) {
-                String line = br.readLine();
-                while (col < mapTileCol) {
-                    String[] numbers = line.split(",");
-                    mapTileNum[col][row] = Integer.parseInt(numbers[col]);
-                    // System.out.print(mapTileNum[col][row] + " ");
-                    col++;
-                }
-                if (col == mapTileCol) {
-                    // System.out.println();
-                    col = 0;
-                    row++;
-                }
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-        } finally {
-            try {
-                br.close();
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
-        }
-    }
-    
     /**
-     * Read Layer 2 CSV (contains bridges, decorations on top)
+     * Build this map's tile grid from a compiled map, with every layer the map has.
+     * The MapFile is shared through the AssetManager, so it is loaded once however many maps read it.
+     * Maps above STREAM_ABOVE_CELLS are opened as a ChunkedWorld instead and never held whole.
      */
-    public void readMapLayer2(String mapPath) {
-        InputStream ip = getClass().getResourceAsStream(mapPath);
-        if (ip == null) {
-            System.out.println("Layer 2 not found: " + mapPath);
-            // Initialize layer 2 with -1 (no tile)
-            for (int col = 0; col < mapTileCol; col++) {
-                for (int row = 0; row < mapTileRow; row++) {
-                    mapTileNumLayer2[col][row] = -1;
-                }
+    protected boolean readMapFile(MapFile.Source source) {
+        if ((long) source.cols() * source.rows() > STREAM_ABOVE_CELLS) {
+            try {
+                world = MapFile.stream(source, MAX_RESIDENT_CHUNKS);
+                if (world != null) return true;
+            } catch (IOException e) {
+                System.err.println("[Map] Could not stream " + source.layers()[0] + ": " + e.getMessage());
             }
-            return;
         }
-        
-        BufferedReader br = new BufferedReader(new InputStreamReader(ip));
-
-        int row = 0;
-        int col = 0;
 
-        try {
-            while (row < mapTileRow) {
-                String line = br.readLine();
-                if (line == null) break;
-                
-                String[] numbers = line.split(",");
-                col = 0;
-                while (col < mapTileCol && col < numbers.length) {
-                    int tileNum = Integer.parseInt(numbers[col].trim());
-                    mapTileNumLayer2[col][row] = tileNum;
-                    col++;
-                }
-                row++;
-            }
-            // System.out.println("Layer 2 loaded successfully!");
-        } catch (IOException e) {
-            e.printStackTrace();
-        } finally {
-            try {
-                br.close();
-            } catch (IOException e) {
-                e.printStackTrace();
+        AssetManager assets = AssetManager.getInstance();
+        MapFile file = assets.acquire("maps", source.key(), () -> MapFile.load(source));
+        if (file == null) {
+            System.err.println("[Map] Map not found: " + source.layers()[0]);
+            grid = new TileGrid(mapTileCol, mapTileRow, source.layers().length);
+            for (int layer = 1; layer < grid.getLayerCount(); layer++) {
+                grid.fill(layer, TileGrid.EMPTY);
             }
+            return false;
         }
-    }
 
+        grid = file.toGrid();
+        // The grid is our own copy; the shared file stays cached until memory is needed
+        assets.release(source.key());
+        return true;
+    }
 
+    /**
+     * Load a compiled map into the asset cache ahead of the map that reads it
+     */
+    protected static CompletableFuture<Void> preloadMapFile(MapFile.Source source) {
+        return AssetManager.getInstance().preload("maps", source.key(), () -> MapFile.load(source));
+    }
 
     public Tile[] getTiles() {
         return tiles;
@@ -407,20 +523,19 @@ public class Map {
         this.tileSet = tileSet;
     }
 
-    public int[][] getMapTileNum() {
-        return mapTileNum;
-    }
-
-    public void setMapTileNum(int[][] mapTileNum) {
-        this.mapTileNum = mapTileNum;
-    }
-    
-    public int[][] getMapTileNumLayer2() {
-        return mapTileNumLayer2;
+    /**
+     * Tile ids of the map; null while the map is not loaded or if it is streamed
+     */
+    public TileGrid getTileGrid() {
+        return grid;
     }
 
-    public void setMapTileNumLayer2(int[][] mapTileNumLayer2) {
-        this.mapTileNumLayer2 = mapTileNumLayer2;
+    /**
+     * What drawing and collision read: the streamed chunks for big maps, else the whole grid
+     */
+    public TileView getTileView() {
+        ChunkedWorld streamed = world;
+        return streamed != null ? streamed : grid;
     }
 
     public GameScene getGameScene() {
@@ -435,18 +550,10 @@ public class Map {
         return mapTileCol;
     }
 
-    public void setMapTileCol(int mapTileCol) {
-        this.mapTileCol = mapTileCol;
-    }
-
     public int getMapTileRow() {
         return mapTileRow;
     }
 
-    public void setMapTileRow(int mapTileRow) {
-        this.mapTileRow = mapTileRow;
-    }
-
     public NPC getTopNPC() {
         return topNPC;
     }
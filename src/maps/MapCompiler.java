@@ -0,0 +1,27 @@
+package maps;
+
+import java.nio.file.Path;
+
+/**
+ * MapCompiler - build step that compiles the CSV maps into MapFiles next to their CSVs,
+ * so the game reads the binary form straight from the classpath.
+ *
+ * Run by Maven after compiling: java maps.MapCompiler target/classes
+ */
+public final class MapCompiler {
+    private static final MapFile.Source[] SOURCES = {Map.LOBBY_SOURCE, MonsterHuntMap.HUNT_SOURCE};
+
+    private MapCompiler() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path root = Path.of(args.length > 0 ? args[0] : "target/classes");
+        for (MapFile.Source source : SOURCES) {
+            MapFile file = MapFile.compile(source);
+            Path out = root.resolve(source.binaryPath().substring(1));
+            MapFile.writeTo(out, file);
+            System.out.println("[MapCompiler] " + source.layers()[0] + " -> " + out + " (" + file.getCols() + "x"
+                    + file.getRows() + ", " + file.getLayerCount() + " layers)");
+        }
+    }
+}
@@ -0,0 +1,463 @@
+package maps;
+
+import imageRender.AssetManager;
+
+import java.io.*;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.IntFunction;
+import java.util.zip.CRC32;
+
+/**
+ * MapFile - a tile map compiled from its CSV layers into a compact binary form.
+ *
+ * Layout (big-endian):
+ *   int    magic "MIMP"
+ *   short  version
+ *   short  cols, rows
+ *   byte   layer count
+ *   long   total size of the source CSVs (with the CRC, spots a stale file without parsing)
+ *   int    CRC32 of the source CSVs
+ *   short  tile ids, layer by layer, row-major (-1 = empty)
+ *   byte   collision mask per cell, row-major (TileGrid.SOLID, WATER, ...)
+ *
+ * load() looks for the compiled file on the classpath first (MapCompiler writes it next to
+ * the CSVs at build time), then in the local cache directory, which it memory-maps. If neither
+ * is there or up to date the CSVs are parsed and the result is written to the cache for the
+ * next run.
+ *
+ * Maps too big to copy into one TileGrid are opened with stream() instead: the compiled file
+ * stays memory-mapped and a ChunkedWorld cuts chunks out of it as the camera gets near.
+ */
+public final class MapFile implements AssetManager.Sized {
+    private static final int MAGIC = 0x4D494D50; // "MIMP"
+    private static final int VERSION = 2;
+    private static final int HEADER_BYTES = 4 + 2 + 2 + 2 + 1 + 8 + 4;
+
+    private static final String CACHE_DIR = System.getProperty("miniisland.cacheDir", "cache");
+
+    /**
+     * Where a map comes from: its CSV layers, its size and how its tile ids map to tile types
+     */
+    public record Source(int cols, int rows, IntFunction<TileType> types, String... layers) {
+        /**
+         * Classpath location of the compiled file, next to the first CSV
+         */
+        String binaryPath() {
+            String csv = layers[0];
+            return csv.substring(0, csv.lastIndexOf('.')) + ".bin";
+        }
+
+        String key() {
+            return layers[0] + "#" + cols + "x" + rows;
+        }
+    }
+
+    private final int cols;
+    private final int rows;
+    private final short[][] layers;
+    private final byte[] collision;
+    private final long sourceLength;
+    private final int sourceCrc;
+
+    private MapFile(int cols, int rows, short[][] layers, byte[] collision, long sourceLength, int sourceCrc) {
+        this.cols = cols;
+        this.rows = rows;
+        this.layers = layers;
+        this.collision = collision;
+        this.sourceLength = sourceLength;
+        this.sourceCrc = sourceCrc;
+    }
+
+    // === Loading ===
+
+    /**
+     * Compiled map for a source, or null if its first CSV does not exist
+     */
+    public static MapFile load(Source source) throws IOException {
+        Stamp stamp = sourceStamp(source);
+        if (stamp == null) {
+            return null;
+        }
+
+        MapFile file = readClasspath(source, stamp);
+        if (file == null) {
+            file = readCache(source, stamp);
+        }
+        if (file == null) {
+            file = compile(source);
+            writeCache(source, file);
+        }
+        return file;
+    }
+
+    private static MapFile readClasspath(Source source, Stamp stamp) {
+        try (InputStream in = MapFile.class.getResourceAsStream(source.binaryPath())) {
+            if (in == null) return null;
+            return check(source, read(ByteBuffer.wrap(in.readAllBytes())), stamp);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("[MapFile] Ignoring " + source.binaryPath() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static MapFile readCache(Source source, Stamp stamp) {
+        Path path = cachePath(source);
+        if (!Files.isRegularFile(path)) return null;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return check(source, read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())), stamp);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("[MapFile] Ignoring cached " + path + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * The file is only used if it was compiled for the same size from the same CSV bytes
+     */
+    private static MapFile check(Source source, MapFile file, Stamp stamp) {
+        if (file.cols != source.cols() || file.rows != source.rows() || file.layers.length != source.layers().length
+                || file.sourceLength != stamp.length() || file.sourceCrc != stamp.crc()) {
+            return null;
+        }
+        return file;
+    }
+
+    /**
+     * Parse a compiled map from a buffer (heap or memory-mapped)
+     */
+    static MapFile read(ByteBuffer buffer) throws IOException {
+        Header header = readHeader(buffer);
+        int cells = header.cols() * header.rows();
+        short[][] layers = new short[header.layers()][cells];
+        for (short[] layer : layers) {
+            buffer.asShortBuffer().get(layer);
+            buffer.position(buffer.position() + 2 * cells);
+        }
+        byte[] collision = new byte[cells];
+        buffer.get(collision);
+        return new MapFile(header.cols(), header.rows(), layers, collision, header.sourceLength(), header.sourceCrc());
+    }
+
+    /**
+     * Everything before the tiles; leaves the buffer positioned at the first tile
+     */
+    private record Header(int cols, int rows, int layers, long sourceLength, int sourceCrc) {
+        boolean matches(Source source, Stamp stamp) {
+            return cols == source.cols() && rows == source.rows() && layers == source.layers().length
+                    && sourceLength == stamp.length() && sourceCrc == stamp.crc();
+        }
+    }
+
+    private static Header readHeader(ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC) {
+            throw new IOException("not a compiled map");
+        }
+        int version = buffer.getShort();
+        if (version != VERSION) {
+            throw new IOException("unsupported version " + version);
+        }
+        Header header = new Header(buffer.getShort(), buffer.getShort(), buffer.get(), buffer.getLong(), buffer.getInt());
+
+        int cells = header.cols() * header.rows();
+        if (header.cols() <= 0 || header.rows() <= 0 || header.layers() <= 0
+                || buffer.remaining() != (2L * header.layers() + 1) * cells) {
+            throw new IOException("truncated or corrupt map");
+        }
+        return header;
+    }
+
+    // === Streaming ===
+
+    /**
+     * Open a compiled map for chunked streaming, compiling it into the cache first if needed.
+     * Only the header is read here; chunks are read from the mapped file as they are needed.
+     * Returns null if the map's first CSV does not exist.
+     */
+    public static ChunkedWorld stream(Source source, int maxResidentChunks) throws IOException {
+        Stamp stamp = sourceStamp(source);
+        if (stamp == null) {
+            return null;
+        }
+
+        ByteBuffer buffer = mapFresh(classpathFile(source), source, stamp);
+        if (buffer == null) {
+            Path path = cachePath(source);
+            buffer = mapFresh(path, source, stamp);
+            if (buffer == null) {
+                writeTo(path, compile(source));
+                buffer = mapFresh(path, source, stamp);
+            }
+            if (buffer == null) {
+                throw new IOException("could not map " + path);
+            }
+        }
+        return open(buffer, maxResidentChunks);
+    }
+
+    /**
+     * Open any compiled map file for chunked streaming, e.g. one written from a generated grid
+     */
+    public static ChunkedWorld stream(Path file, int maxResidentChunks) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return open(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), maxResidentChunks);
+        }
+    }
+
+    /**
+     * Chunked view of a compiled map held in a buffer (normally memory-mapped)
+     */
+    static ChunkedWorld open(ByteBuffer buffer, int maxResidentChunks) throws IOException {
+        ByteBuffer data = buffer.duplicate();
+        Header header = readHeader(data);
+        int cols = header.cols();
+        int rows = header.rows();
+        int layerCount = header.layers();
+        int tiles = data.position();
+        int mask = tiles + 2 * layerCount * cols * rows;
+
+        // Absolute reads only, so the streaming thread and the game thread can share the buffer
+        return new ChunkedWorld(cols, rows, layerCount, maxResidentChunks, (chunkCol, chunkRow) -> {
+            int col0 = chunkCol * ChunkedWorld.CHUNK_SIZE;
+            int row0 = chunkRow * ChunkedWorld.CHUNK_SIZE;
+            int width = Math.min(ChunkedWorld.CHUNK_SIZE, cols - col0);
+            int height = Math.min(ChunkedWorld.CHUNK_SIZE, rows - row0);
+            TileGrid chunk = new TileGrid(width, height, layerCount);
+            for (int row = 0; row < height; row++) {
+                for (int layer = 0; layer < layerCount; layer++) {
+                    int offset = tiles + 2 * ((layer * rows + row0 + row) * cols + col0);
+                    for (int col = 0; col < width; col++) {
+                        chunk.set(layer, col, row, data.getShort(offset + 2 * col));
+                    }
+                }
+                int offset = mask + (row0 + row) * cols + col0;
+                for (int col = 0; col < width; col++) {
+                    chunk.setMask(col, row, data.get(offset + col));
+                }
+            }
+            return chunk;
+        });
+    }
+
+    /**
+     * The compiled file on the classpath if it is a plain file that can be mapped (not inside a jar)
+     */
+    private static Path classpathFile(Source source) {
+        URL url = MapFile.class.getResource(source.binaryPath());
+        if (url == null || !"file".equals(url.getProtocol())) return null;
+        try {
+            return Path.of(url.toURI());
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Map a compiled file if it exists and was built from the current CSVs
+     */
+    private static ByteBuffer mapFresh(Path path, Source source, Stamp stamp) {
+        if (path == null || !Files.isRegularFile(path)) return null;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return readHeader(buffer.duplicate()).matches(source, stamp) ? buffer : null;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("[MapFile] Ignoring " + path + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    // === Compiling ===
+
+    /**
+     * Compiled form of a grid built in code (generated maps, tools); it has no source CSVs
+     */
+    public static MapFile of(TileGrid grid) {
+        short[][] layers = new short[grid.getLayerCount()][];
+        for (int layer = 0; layer < layers.length; layer++) {
+            layers[layer] = grid.layerCopy(layer);
+        }
+        return new MapFile(grid.getWidth(), grid.getHeight(), layers, grid.maskCopy(), 0, 0);
+    }
+
+    /**
+     * Parse the CSV layers of a source and precompute its collision mask
+     */
+    static MapFile compile(Source source) throws IOException {
+        int cols = source.cols();
+        int rows = source.rows();
+        String[] paths = source.layers();
+        short[][] layers = new short[paths.length][];
+        long length = 0;
+        CRC32 crc = new CRC32();
+
+        for (int i = 0; i < paths.length; i++) {
+            byte[] csv = readResource(paths[i]);
+            if (csv == null) {
+                // Missing extra layers are empty, as the CSV reader has always treated them
+                layers[i] = new short[cols * rows];
+                Arrays.fill(layers[i], (short) -1);
+                continue;
+            }
+            length += csv.length;
+            crc.update(csv);
+            layers[i] = parse(csv, cols, rows);
+        }
+
+        TileGrid grid = new TileGrid(cols, rows, layers.length);
+        for (int i = 0; i < layers.length; i++) {
+            grid.copyLayer(i, layers[i]);
+        }
+        grid.rebuildMask(tile -> tile < 0 ? TileType.Wall : source.types().apply(tile));
+        return new MapFile(cols, rows, layers, grid.maskCopy(), length, (int) crc.getValue());
+    }
+
+    /**
+     * One CSV layer into row-major ids; cells missing from the file are -1
+     */
+    private static short[] parse(byte[] csv, int cols, int rows) throws IOException {
+        short[] cells = new short[cols * rows];
+        Arrays.fill(cells, (short) -1);
+        try (BufferedReader br = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(csv), StandardCharsets.US_ASCII))) {
+            int row = 0;
+            String line;
+            while (row < rows && (line = br.readLine()) != null) {
+                String[] numbers = line.split(",");
+                for (int col = 0; col < cols && col < numbers.length; col++) {
+                    cells[row * cols + col] = Short.parseShort(numbers[col].trim());
+                }
+                row++;
+            }
+        }
+        return cells;
+    }
+
+    // === Writing ===
+
+    void write(OutputStream out) throws IOException {
+        if (cols > Short.MAX_VALUE || rows > Short.MAX_VALUE) {
+            // The header keeps the size in signed shorts
+            throw new IllegalArgumentException("Map too large for a compiled map: " + cols + "x" + rows);
+        }
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(MAGIC);
+        data.writeShort(VERSION);
+        data.writeShort(cols);
+        data.writeShort(rows);
+        data.writeByte(layers.length);
+        data.writeLong(sourceLength);
+        data.writeInt(sourceCrc);
+        for (short[] layer : layers) {
+            for (short tile : layer) {
+                data.writeShort(tile);
+            }
+        }
+        data.write(collision);
+        data.flush();
+    }
+
+    /**
+     * Write to a temporary file first so a crash never leaves a half-written map behind
+     */
+    public static void writeTo(Path path, MapFile file) throws IOException {
+        Files.createDirectories(path.getParent());
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(tmp)) {
+            file.write(out);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void writeCache(Source source, MapFile file) {
+        try {
+            writeTo(cachePath(source), file);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("[MapFile] Could not cache " + source.binaryPath() + ": " + e.getMessage());
+        }
+    }
+
+    private static Path cachePath(Source source) {
+        return Path.of(CACHE_DIR, "maps", source.binaryPath().substring(1).replace('/', '_').replace(' ', '_'));
+    }
+
+    // === Resources ===
+
+    /**
+     * Combined size and CRC32 of the source CSVs, as compile() records them
+     */
+    private record Stamp(long length, int crc) {
+    }
+
+    /**
+     * Stamp of the source CSVs as they are now, or null if the first one is missing. Reading
+     * them costs little next to parsing them, and an edit that keeps the length still shows.
+     */
+    private static Stamp sourceStamp(Source source) throws IOException {
+        long length = 0;
+        CRC32 crc = new CRC32();
+        for (int i = 0; i < source.layers().length; i++) {
+            byte[] csv = readResource(source.layers()[i]);
+            if (csv == null) {
+                if (i == 0) return null;
+                continue;
+            }
+            length += csv.length;
+            crc.update(csv);
+        }
+        return new Stamp(length, (int) crc.getValue());
+    }
+
+    private static byte[] readResource(String path) throws IOException {
+        try (InputStream in = MapFile.class.getResourceAsStream(path)) {
+            return in != null ? in.readAllBytes() : null;
+        }
+    }
+
+    // === Access ===
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getLayerCount() {
+        return layers.length;
+    }
+
+    /**
+     * Fresh tile grid holding every layer of this map
+     */
+    public TileGrid toGrid() {
+        TileGrid grid = new TileGrid(cols, rows, layers.length);
+        for (int layer = 0; layer < layers.length; layer++) {
+            grid.copyLayer(layer, layers[layer]);
+        }
+        grid.copyMask(collision);
+        return grid;
+    }
+
+    public int getTile(int layer, int col, int row) {
+        return layers[layer][row * cols + col];
+    }
+
+    public int getCollision(int col, int row) {
+        return collision[row * cols + col];
+    }
+
+    @Override
+    public long sizeInBytes() {
+        return (2L * layers.length + 1) * cols * rows;
+    }
+}
@@ -0,0 +1,247 @@
+package maps;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * MazeField - facts about one maze that spawning and placement need, computed once when the
+ * maze is complete instead of by random probing and path searches every time something is
+ * placed.
+ *
+ *   - BFS distance of every cell from the start and from the finish (UNREACHABLE for walls,
+ *     holes and cut-off cells); a cell is on a shortest start-finish path exactly when the two
+ *     add up to the path length
+ *   - the reachable cells, as a compact list to sample from
+ *   - the trap candidates: reachable cells at least TRAP_MIN_START_DISTANCE from the start that
+ *     are not on or next to a shortest path, so a trap-free way to the finish always exists
+ *
+ * Cells are row-major indices (row * cols + col). A Sampler draws from a candidate list without
+ * repeats in O(1) per draw.
+ */
+public final class MazeField {
+    public static final int UNREACHABLE = -1;
+    public static final int TRAP_MIN_START_DISTANCE = 4; // Steps from the start a trap must be
+
+    private final TileGrid grid;
+    private final int cols;
+    private final int rows;
+    private final int start;
+    private final int finish;
+    private final int[] fromStart;
+    private final int[] fromFinish;
+    private final int[] reachable;
+    private final int[] trapCandidates;
+
+    private MazeField(TileGrid grid, int start, int finish, int[] fromStart, int[] fromFinish,
+                      int[] reachable, int[] trapCandidates) {
+        this.grid = grid;
+        this.cols = grid.getWidth();
+        this.rows = grid.getHeight();
+        this.start = start;
+        this.finish = finish;
+        this.fromStart = fromStart;
+        this.fromFinish = fromFinish;
+        this.reachable = reachable;
+        this.trapCandidates = trapCandidates;
+    }
+
+    /**
+     * Analyse a maze. The start is the first walkable cell in row-major order (where players
+     * spawn); the finish is the lowest finish-line cell, or the cell farthest from the start if
+     * the maze has none.
+     */
+    public static MazeField build(TileGrid grid) {
+        int cols = grid.getWidth();
+        int rows = grid.getHeight();
+        int cells = cols * rows;
+
+        int start = -1;
+        int finish = -1;
+        for (int cell = 0; cell < cells; cell++) {
+            int mask = grid.getMask(cell % cols, cell / cols);
+            if (start < 0 && walkable(mask)) start = cell;
+            if ((mask & TileGrid.FINISH) != 0 && walkable(mask)) finish = cell;
+        }
+
+        int[] queue = new int[cells];
+        int[] fromStart = distances(grid, start, queue);
+        if (finish < 0 && start >= 0) {
+            finish = start;
+            for (int cell = 0; cell < cells; cell++) {
+                if (fromStart[cell] > fromStart[finish]) finish = cell;
+            }
+        }
+        int[] fromFinish = distances(grid, finish, queue);
+
+        // Shortest start-finish paths plus one cell around them stay free of traps
+        boolean[] safe = new boolean[cells];
+        int pathLength = finish >= 0 ? fromStart[finish] : UNREACHABLE;
+        if (pathLength != UNREACHABLE) {
+            for (int cell = 0; cell < cells; cell++) {
+                if (fromStart[cell] == UNREACHABLE || fromStart[cell] + fromFinish[cell] != pathLength) continue;
+                int col = cell % cols;
+                int row = cell / cols;
+                for (int r = Math.max(0, row - 1); r <= Math.min(rows - 1, row + 1); r++) {
+                    for (int c = Math.max(0, col - 1); c <= Math.min(cols - 1, col + 1); c++) {
+                        safe[r * cols + c] = true;
+                    }
+                }
+            }
+        }
+
+        int reachableCount = 0;
+        int trapCount = 0;
+        for (int cell = 0; cell < cells; cell++) {
+            if (fromStart[cell] == UNREACHABLE) continue;
+            reachableCount++;
+            if (!safe[cell] && fromStart[cell] >= TRAP_MIN_START_DISTANCE) trapCount++;
+        }
+        int[] reachable = new int[reachableCount];
+        int[] trapCandidates = new int[trapCount];
+        reachableCount = 0;
+        trapCount = 0;
+        for (int cell = 0; cell < cells; cell++) {
+            if (fromStart[cell] == UNREACHABLE) continue;
+            reachable[reachableCount++] = cell;
+            if (!safe[cell] && fromStart[cell] >= TRAP_MIN_START_DISTANCE) trapCandidates[trapCount++] = cell;
+        }
+
+        return new MazeField(grid, start, finish, fromStart, fromFinish, reachable, trapCandidates);
+    }
+
+    private static boolean walkable(int mask) {
+        return (mask & (TileGrid.SOLID | TileGrid.HOLE)) == 0;
+    }
+
+    /**
+     * BFS step counts from one cell over walkable cells; queue is scratch space of one int per cell
+     */
+    private static int[] distances(TileGrid grid, int from, int[] queue) {
+        int cols = grid.getWidth();
+        int[] distance = new int[cols * grid.getHeight()];
+        Arrays.fill(distance, UNREACHABLE);
+        if (from < 0) return distance;
+
+        int head = 0;
+        int tail = 0;
+        distance[from] = 0;
+        queue[tail++] = from;
+        while (head < tail) {
+            int cell = queue[head++];
+            int col = cell % cols;
+            int row = cell / cols;
+            int next = distance[cell] + 1;
+            tail = visit(grid, distance, queue, tail, col, row - 1, next);
+            tail = visit(grid, distance, queue, tail, col, row + 1, next);
+            tail = visit(grid, distance, queue, tail, col - 1, row, next);
+            tail = visit(grid, distance, queue, tail, col + 1, row, next);
+        }
+        return distance;
+    }
+
+    private static int visit(TileGrid grid, int[] distance, int[] queue, int tail, int col, int row, int next) {
+        if (!grid.inBounds(col, row)) return tail;
+        int cell = row * grid.getWidth() + col;
+        if (distance[cell] != UNREACHABLE || !walkable(grid.getMask(col, row))) return tail;
+        distance[cell] = next;
+        queue[tail] = cell;
+        return tail + 1;
+    }
+
+    // === Lookups ===
+
+    /**
+     * Whether this field was built for that grid (a new maze needs a new field)
+     */
+    public boolean isFor(TileGrid other) {
+        return grid == other;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int distanceFromStart(int col, int row) {
+        return grid.inBounds(col, row) ? fromStart[row * cols + col] : UNREACHABLE;
+    }
+
+    public int distanceToFinish(int col, int row) {
+        return grid.inBounds(col, row) ? fromFinish[row * cols + col] : UNREACHABLE;
+    }
+
+    /**
+     * Steps to whichever of start and finish is closer
+     */
+    public int distanceToEnds(int col, int row) {
+        int a = distanceFromStart(col, row);
+        int b = distanceToFinish(col, row);
+        if (a == UNREACHABLE) return b;
+        if (b == UNREACHABLE) return a;
+        return Math.min(a, b);
+    }
+
+    /**
+     * Steps on the shortest start-finish path, or UNREACHABLE
+     */
+    public int getPathLength() {
+        return finish >= 0 ? fromStart[finish] : UNREACHABLE;
+    }
+
+    public int getStart() {
+        return start;
+    }
+
+    public int getFinish() {
+        return finish;
+    }
+
+    public int getReachableCount() {
+        return reachable.length;
+    }
+
+    public int getTrapCandidateCount() {
+        return trapCandidates.length;
+    }
+
+    /**
+     * Random reachable cell (with repeats), or -1 if there is none
+     */
+    public int randomReachable(Random random) {
+        return reachable.length > 0 ? reachable[random.nextInt(reachable.length)] : -1;
+    }
+
+    public Sampler reachableSampler(Random random) {
+        return new Sampler(reachable, random);
+    }
+
+    public Sampler trapSampler(Random random) {
+        return new Sampler(trapCandidates, random);
+    }
+
+    /**
+     * Draws cells from a candidate list without repeats (a Fisher-Yates shuffle done one step per draw)
+     */
+    public static final class Sampler {
+        private final int[] pool;
+        private final Random random;
+        private int remaining;
+
+        private Sampler(int[] candidates, Random random) {
+            this.pool = candidates.clone();
+            this.random = random;
+            this.remaining = pool.length;
+        }
+
+        /**
+         * Next cell, or -1 when every candidate has been drawn
+         */
+        public int next() {
+            if (remaining == 0) return -1;
+            int pick = random.nextInt(remaining);
+            int cell = pool[pick];
+            pool[pick] = pool[--remaining];
+            pool[remaining] = cell;
+            return cell;
+        }
+    }
+}
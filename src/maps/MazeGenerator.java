@@ -0,0 +1,143 @@
+package maps;
+
+import java.util.zip.CRC32;
+
+/**
+ * MazeGenerator - builds a maze from a seed, so the server only has to send
+ * "MazeSeed,version,seed,cols,rows,checksum" instead of the whole layout.
+ *
+ * The server runs the same algorithm, so both sides must produce the identical maze for the
+ * same inputs. Every step is therefore spelled out here, and nothing depends on the JDK's
+ * Random or on iteration order:
+ *
+ * Version 1
+ *   - Size: cols and rows are odd, 5 to MAX_SIZE. Anything else is rejected; an even side
+ *     would leave the finish on an uncarved, unreachable cell.
+ *   - Random numbers: SplitMix64 seeded with the seed; nextInt(n) = (next() >>> 33) % n.
+ *   - Carving: iterative recursive backtracker on the odd cells, starting at (1, 1). From the
+ *     cell on top of the stack, try the four directions UP, DOWN, LEFT, RIGHT starting at
+ *     nextInt(4) and going round; carve into the first uncarved neighbour two cells away.
+ *   - Finish line at (cols - 2, rows - 2).
+ *   - Holes: dead ends (floor cells with exactly one floor neighbour) other than the start
+ *     and the finish, in row-major order; each becomes a hole when nextInt(HOLE_ODDS) == 0.
+ *
+ * checksum() is the CRC32 of the tile ids (one byte each, row-major); the server sends it so
+ * a client whose generator disagrees falls back to the full layout.
+ */
+public final class MazeGenerator {
+    public static final int VERSION = 1;
+    public static final int MAX_SIZE = 4095; // Keeps a maze within what a TileGrid and the server handle
+    private static final int HOLE_ODDS = 6;
+
+    private static final int[] STEP_COL = {0, 0, -2, 2};
+    private static final int[] STEP_ROW = {-2, 2, 0, 0};
+
+    private MazeGenerator() {
+    }
+
+    public static boolean supports(int version) {
+        return version == VERSION;
+    }
+
+    /**
+     * Generate a maze of MazeMap tile ids; cols and rows must be odd
+     */
+    public static TileGrid generate(int version, long seed, int cols, int rows) {
+        if (!supports(version)) {
+            throw new IllegalArgumentException("Unsupported maze generator version " + version);
+        }
+        if (cols < 5 || rows < 5 || cols > MAX_SIZE || rows > MAX_SIZE || cols % 2 == 0 || rows % 2 == 0) {
+            throw new IllegalArgumentException("Invalid maze size " + cols + "x" + rows);
+        }
+
+        TileGrid maze = new TileGrid(cols, rows, 1);
+        maze.fill(0, MazeMap.WALL_TILE);
+        SplitMix64 random = new SplitMix64(seed);
+
+        int[] stack = new int[((cols + 1) / 2) * ((rows + 1) / 2)];
+        int top = 0;
+        maze.set(1, 1, MazeMap.FLOOR_TILE);
+        stack[top++] = cols + 1;
+        while (top > 0) {
+            int cell = stack[top - 1];
+            int col = cell % cols;
+            int row = cell / cols;
+            int start = random.nextInt(4);
+            boolean moved = false;
+            for (int k = 0; k < 4; k++) {
+                int dir = (start + k) & 3;
+                int nextCol = col + STEP_COL[dir];
+                int nextRow = row + STEP_ROW[dir];
+                if (nextCol > 0 && nextRow > 0 && nextCol < cols - 1 && nextRow < rows - 1
+                        && maze.get(nextCol, nextRow) == MazeMap.WALL_TILE) {
+                    maze.set(col + STEP_COL[dir] / 2, row + STEP_ROW[dir] / 2, MazeMap.FLOOR_TILE);
+                    maze.set(nextCol, nextRow, MazeMap.FLOOR_TILE);
+                    stack[top++] = nextRow * cols + nextCol;
+                    moved = true;
+                    break;
+                }
+            }
+            if (!moved) top--;
+        }
+
+        int finishCol = cols - 2;
+        int finishRow = rows - 2;
+        maze.set(finishCol, finishRow, MazeMap.FINISH_TILE);
+
+        for (int row = 1; row < rows - 1; row++) {
+            for (int col = 1; col < cols - 1; col++) {
+                if (maze.get(col, row) != MazeMap.FLOOR_TILE || (col == 1 && row == 1)) continue;
+                if (floorNeighbours(maze, col, row) == 1 && random.nextInt(HOLE_ODDS) == 0) {
+                    maze.set(col, row, MazeMap.HOLE_TILE);
+                }
+            }
+        }
+        return maze;
+    }
+
+    private static int floorNeighbours(TileGrid maze, int col, int row) {
+        int count = 0;
+        if (maze.get(col, row - 1) != MazeMap.WALL_TILE) count++;
+        if (maze.get(col, row + 1) != MazeMap.WALL_TILE) count++;
+        if (maze.get(col - 1, row) != MazeMap.WALL_TILE) count++;
+        if (maze.get(col + 1, row) != MazeMap.WALL_TILE) count++;
+        return count;
+    }
+
+    /**
+     * CRC32 of the base layer's tile ids, one byte per cell, row-major
+     */
+    public static int checksum(TileGrid maze) {
+        CRC32 crc = new CRC32();
+        byte[] row = new byte[maze.getWidth()];
+        for (int r = 0; r < maze.getHeight(); r++) {
+            for (int c = 0; c < row.length; c++) {
+                row[c] = (byte) maze.get(c, r);
+            }
+            crc.update(row);
+        }
+        return (int) crc.getValue();
+    }
+
+    /**
+     * SplitMix64 (Steele, Lea, Flood 2014): tiny, fast and easy to port exactly
+     */
+    private static final class SplitMix64 {
+        private long state;
+
+        SplitMix64(long seed) {
+            state = seed;
+        }
+
+        long next() {
+            long z = (state += 0x9E3779B97F4A7C15L);
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            return z ^ (z >>> 31);
+        }
+
+        int nextInt(int bound) {
+            return (int) ((next() >>> 33) % bound);
+        }
+    }
+}
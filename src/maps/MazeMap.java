@@ -1,5 +1,11 @@
 package maps;
 
+import debug.FrameProfiler;
+import debug.FrameProfiler.Section;
+import hud.CachedText;
+import hud.HudLayer;
+import hud.HudStyle;
+import imageRender.ImageHandler;
 import main.GameScene;
 import network.client.Client;
 import network.client.Protocol;
@@ -12,6 +18,8 @@ import java.awt.*;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.DataFormatException;
 
 /**
  * MazeMap represents the maze game mode with randomly generated maze,
@@ -43,15 +51,76 @@ public class MazeMap extends Map {
     
     // === NEW: Coin System ===
     private ArrayList<MazeCoin> coins;
+    private TileIndex<MazeCoin> coinIndex; // Same coins by tile, for pickup and culling
     private Random random;
     
     // === NEW: Difficulty Level ===
     public enum Difficulty { EASY, MEDIUM, HARD }
     private Difficulty currentDifficulty = Difficulty.MEDIUM;
     
+    // === NEW: HUD palette and cached labels (text is rebuilt only when the value changes) ===
+    private static final Color TIMER_BORDER_LOW = new Color(150, 50, 50);
+    private static final Color WIN_OVERLAY = new Color(20, 20, 0, 180);
+    private static final Color PERFECT_RUN_COLOR = new Color(255, 100, 255);
+    private static final int WIN_PERFECT_LINE = 3;
+    private static final int WIN_TOTAL_LINE = 5;
+    
+    private final CachedText hpText = new CachedText((hp, max) -> "HP " + hp + "/" + max);
+    private final CachedText timerText = new CachedText((time, unused) -> String.format("%02d:%02d", time / 60, time % 60));
+    private final CachedText scoreText = new CachedText("Score: ");
+    private final CachedText coinsText = new CachedText("Coins: ");
+    private final CachedText trapsText = new CachedText("Traps: ");
+    
+    // End screens
+    private final CachedText finalScoreText = new CachedText("Final Score: ");
+    private final CachedText coinsCollectedText = new CachedText("Coins Collected: ");
+    private final CachedText trapsHitText = new CachedText("Traps Hit: ");
+    private final CachedText timesUpText = CachedText.fixed("TIME'S UP!");
+    private final CachedText gameOverText = CachedText.fixed("GAME OVER");
+    private final CachedText returnToLobbyText = CachedText.fixed("Press SPACE to return to Lobby");
+    private final CachedText mazeCompletedText = CachedText.fixed("== MAZE COMPLETED! ==");
+    private final CachedText continueText = CachedText.fixed("Press SPACE to continue");
+    private CachedText[] winLines;
+    
+    // === NEW: Cached HUD layers ===
+    private static final int TIMER_WIDTH = 120;
+    private final HudLayer healthLayer = new HudLayer(2, this::paintHealthPanel);
+    private final HudLayer timerLayer = new HudLayer(1, this::paintTimer);
+    private final HudLayer scoreLayer = new HudLayer(3, this::paintScorePanel);
+    private final HudLayer hintLayer = new HudLayer(0, this::paintHint);
+    private final HudLayer gameOverLayer = new HudLayer(5, this::renderGameOverScreen);
+    private final HudLayer winLayer = new HudLayer(1, this::renderWinScreen);
+    
+    private static final String MAZE_TILESET = "/Maps/Maze/mazeTile.png";
+    private static final int EMPTY_MAZE_COLS = 70; // Size of the blank grid until the server sends a maze
+    private static final int EMPTY_MAZE_ROWS = 50;
+
+    // Tile ids in the maze tile set
+    static final int WALL_TILE = 0;
+    static final int FINISH_TILE = 2;
+    static final int FLOOR_TILE = 3;
+    static final int HOLE_TILE = 4;
+
+    // === Streamed maze transfer ===
+    private static final int START_REGION_ROWS = 16; // Rows decoded before the player is let in
+    private MazeStream stream;
+    private boolean streamEntered;
+    private long streamStart;
+    private volatile boolean mazeComplete = true; // False while the rest of a streamed maze is arriving
+    private volatile boolean contentReady; // Set by the network thread; update() places coins and traps
+    private MazeField field; // Distances and placement candidates of the current maze, built on first use
+    private HierarchicalPathfinder pathfinder; // HPA* clusters of the current maze, built on first use
+    private AdaptivePathfinder adaptivePathfinder; // Heuristic learned by chasers of the current maze
+
+    /**
+     * Decode the maze tile set in the background (the layout itself comes from the server)
+     */
+    public static CompletableFuture<Void> preloadMaze() {
+        return ImageHandler.preloadAssets(MAZE_TILESET, TILE_SIZE, TILE_SIZE);
+    }
+
     public MazeMap(GameScene gameScene) {
-        super(gameScene);
-        loadMap("/Maps/Maze/mazeTile.png");
+        super(gameScene, EMPTY_MAZE_COLS, EMPTY_MAZE_ROWS);
         
         // Initialize enemy spawner
         enemySpawner = new MazeEnemySpawner(gameScene);
@@ -60,6 +129,32 @@ public class MazeMap extends Map {
         coins = new ArrayList<>();
         random = new Random();
     }
+
+    /**
+     * Maze tiles and an empty grid; the layout itself arrives from the server in readMap
+     */
+    @Override
+    protected void loadContent() {
+        grid = new TileGrid(mapTileCol, mapTileRow, 1);
+        loadMap(MAZE_TILESET);
+        grid.rebuildMask(this::typeOfTile);
+    }
+
+    /**
+     * Nobody is in the maze: drop its grid, coins, traps and cached HUD images.
+     * The next maze is sent by the server, so nothing has to be kept for it.
+     */
+    @Override
+    protected void unloadContent() {
+        super.unloadContent();
+        stopMazeMode();
+        abortStream();
+        coins.trimToSize();
+        winLines = null;
+        for (HudLayer layer : new HudLayer[] {healthLayer, timerLayer, scoreLayer, hintLayer, gameOverLayer, winLayer}) {
+            layer.release();
+        }
+    }
     
     /**
      * Start maze mode with enemies and traps
@@ -75,6 +170,7 @@ public class MazeMap extends Map {
         coinsCollected = 0;
         trapHits = 0;
         bonusPoints = 0;
+        winLines = null;
         
         // Reset timer
         remainingTime = mazeTimeLimit;
@@ -84,6 +180,12 @@ public class MazeMap extends Map {
         // Reset player health
         gameScene.getPlayer().resetForMaze();
         
+        // Coins and traps go anywhere in the maze, so a streamed maze gets them once it is complete.
+        // Placed by update() on the game thread, which the coin loop and enemies run on
+        contentReady = mazeComplete;
+    }
+
+    private void spawnMazeContent() {
         if (enemiesEnabled && enemySpawner != null) {
             enemySpawner.start();
         }
@@ -100,76 +202,93 @@ public class MazeMap extends Map {
             enemySpawner.stop();
         }
         timerStarted = false;
+        contentReady = false;
         coins.clear();
+        coinIndex = null;
     }
     
     /**
-     * Spawn coins throughout the maze
+     * Spawn coins throughout the maze, on reachable tiles at least two tiles apart
      */
     private void spawnCoins() {
         coins.clear();
+        coinIndex = null;
         
         int coinCount = 15 + (currentDifficulty == Difficulty.HARD ? 5 : 0);
         int tileSize = gameScene.getTileSize();
-        
-        for (int i = 0; i < coinCount; i++) {
-            int[] pos = findValidCoinPosition();
-            if (pos != null) {
-                CoinType type = selectCoinType();
-                coins.add(new MazeCoin(pos[0], pos[1], type));
+        MazeField maze = getField();
+        MazeField.Sampler sampler = maze.reachableSampler(random);
+        boolean[] tooClose = new boolean[mapTileCol * mapTileRow];
+        
+        int cell;
+        while (coins.size() < coinCount && (cell = sampler.next()) >= 0) {
+            if (tooClose[cell]) continue;
+            int tileX = cell % mapTileCol;
+            int tileY = cell / mapTileCol;
+            
+            // No other coin within one tile of this one
+            for (int y = Math.max(0, tileY - 1); y <= Math.min(mapTileRow - 1, tileY + 1); y++) {
+                for (int x = Math.max(0, tileX - 1); x <= Math.min(mapTileCol - 1, tileX + 1); x++) {
+                    tooClose[y * mapTileCol + x] = true;
+                }
             }
+            CoinType type = selectCoinType();
+            coins.add(new MazeCoin(tileX * tileSize + tileSize / 4, tileY * tileSize + tileSize / 4, type));
         }
+        
+        TileIndex<MazeCoin> index = new TileIndex<>(mapTileCol, mapTileRow, tileSize, coins.size());
+        for (MazeCoin coin : coins) {
+            index.add(coin, coin.getX(), coin.getY());
+        }
+        coinIndex = index;
     }
     
     /**
-     * Find a valid position for coin placement
+     * Distance field and placement candidates of the current maze (see MazeField); built once per maze
      */
-    private int[] findValidCoinPosition() {
-        int tileSize = gameScene.getTileSize();
-        int attempts = 0;
-        
-        while (attempts < 100) {
-            int tileX = random.nextInt(mapTileCol);
-            int tileY = random.nextInt(mapTileRow);
-            
-            // Check if walkable
-            if (isWalkableTile(tileX, tileY)) {
-                int worldX = tileX * tileSize;
-                int worldY = tileY * tileSize;
-                
-                // Check not too close to other coins
-                boolean tooClose = false;
-                for (MazeCoin coin : coins) {
-                    if (Math.abs(coin.getX() - worldX) < tileSize * 2 && 
-                        Math.abs(coin.getY() - worldY) < tileSize * 2) {
-                        tooClose = true;
-                        break;
-                    }
-                }
-                
-                if (!tooClose) {
-                    return new int[]{worldX + tileSize / 4, worldY + tileSize / 4};
-                }
-            }
-            attempts++;
+    public MazeField getField() {
+        MazeField current = field;
+        if (current == null || !current.isFor(grid)) {
+            long start = System.nanoTime();
+            current = MazeField.build(grid);
+            field = current;
+            System.out.printf("[MazeMap] Built maze field for %dx%d in %.1f ms%n", mapTileCol, mapTileRow, (System.nanoTime() - start) / 1e6);
         }
-        return null;
+        return current;
+    }
+    
+    /**
+     * Incremental pathfinder shared by the enemies chasing the player; what one search learns speeds up the next
+     */
+    public AdaptivePathfinder getAdaptivePathfinder() {
+        AdaptivePathfinder current = adaptivePathfinder;
+        if (current == null || !current.isFor(grid)) {
+            current = new AdaptivePathfinder(grid);
+            adaptivePathfinder = current;
+        }
+        return current;
+    }
+    
+    /**
+     * HPA* pathfinder for the current maze, for enemies on mazes too big for a flat search; built once per maze
+     */
+    public HierarchicalPathfinder getPathfinder() {
+        HierarchicalPathfinder current = pathfinder;
+        if (current == null || !current.isFor(grid)) {
+            long start = System.nanoTime();
+            current = new HierarchicalPathfinder(grid);
+            pathfinder = current;
+            System.out.printf("[MazeMap] Built %d path nodes for %dx%d in %.1f ms%n",
+                    current.getNodeCount(), mapTileCol, mapTileRow, (System.nanoTime() - start) / 1e6);
+        }
+        return current;
     }
     
     /**
      * Check if a tile is walkable
      */
     private boolean isWalkableTile(int tileX, int tileY) {
-        try {
-            if (tileX < 0 || tileY < 0 || tileX >= mapTileCol || tileY >= mapTileRow) {
-                return false;
-            }
-            int tileNum = mapTileNum[tileX][tileY];
-            TileType type = tiles[tileNum].getType();
-            return type != TileType.Wall && type != TileType.Hole;
-        } catch (Exception e) {
-            return false;
-        }
+        return (grid.getMask(tileX, tileY) & (TileGrid.SOLID | TileGrid.HOLE)) == 0;
     }
     
     /**
@@ -187,6 +306,11 @@ public class MazeMap extends Map {
      * Update maze mode - called each frame
      */
     public void update(Player targetPlayer) {
+        if (contentReady) {
+            contentReady = false;
+            spawnMazeContent();
+        }
+        
         if (isGameOver || isGameWon) {
             gameOverTimer++;
             return;
@@ -245,21 +369,35 @@ public class MazeMap extends Map {
     }
     
     /**
-     * Update coins and check collection
+     * Update coins and check collection; only coins on the tiles under the player's hitbox can be picked up
      */
     private void updateCoins(Player player) {
-        for (MazeCoin coin : coins) {
-            coin.update();
-            
-            if (coin.checkCollision(player)) {
-                coin.collect();
-                coinsCollected++;
-                totalScore += coin.getValue();
-            }
+        for (int i = 0; i < coins.size(); i++) {
+            coins.get(i).update();
         }
         
-        // Remove collected coins
-        coins.removeIf(MazeCoin::isCollected);
+        TileIndex<MazeCoin> index = coinIndex;
+        if (index == null) return;
+        Rectangle hitBox = player.getHitBox();
+        int x = player.getWorldX() + hitBox.x;
+        int y = player.getWorldY() + hitBox.y;
+        for (int row = index.tileOf(y); row <= index.tileOf(y + hitBox.height - 1); row++) {
+            for (int col = index.tileOf(x); col <= index.tileOf(x + hitBox.width - 1); col++) {
+                int id = index.first(col, row);
+                while (id != TileIndex.NONE) {
+                    int next = index.next(id);
+                    MazeCoin coin = index.get(id);
+                    if (coin.overlaps(x, y, hitBox.width, hitBox.height)) {
+                        coin.collect();
+                        coinsCollected++;
+                        totalScore += coin.getValue();
+                        index.remove(id);
+                        coins.remove(coin);
+                    }
+                    id = next;
+                }
+            }
+        }
     }
     
     /**
@@ -267,6 +405,7 @@ public class MazeMap extends Map {
      */
     public void handleWin() {
         isGameWon = true;
+        winLines = null;
         timerStarted = false;
         
         // Calculate bonus points
@@ -315,11 +454,12 @@ public class MazeMap extends Map {
         );
     }
 
+    /**
+     * Build the grid from the server's maze: rows separated by '/', any size
+     */
     public void readMap(String map, Runnable process) {
-        int row = 0;
-        int col = 0;
+        ensureLoaded();
 
-        char wall = '#';
         char space = ' ';
         char star = '*';
         char hole = 'O';
@@ -327,41 +467,28 @@ public class MazeMap extends Map {
 
         try {
             String[] lines = map.split("/");
-            mapTileCol = lines[0].length();
-            mapTileRow = lines.length;
-            // System.out.println(mapTileCol + " " + mapTileRow);
-            while (col < mapTileCol && row < mapTileRow) {
-                while (col < mapTileCol) {
-                    char[] charArray = lines[row].toCharArray();
-                    if (charArray[col] == wall) {
-                        mapTileNum[col][row] = 0;
-                        // System.out.print(mapTileNum[col][row] + " ");
-                        col++;
-                    } else if (charArray[col] == space) {
-                        mapTileNum[col][row] = 3;
-                        // System.out.print(mapTileNum[col][row] + " ");
-                        col++;
-                    } else if (charArray[col] == star) {
-                        mapTileNum[col][row] = 3;
-                        // System.out.print(mapTileNum[col][row] + " ");
-                        col++;
-                    } else if (charArray[col] == hole) {
-                        mapTileNum[col][row] = 4;
-                        // System.out.print(mapTileNum[col][row] + " ");
-                        col++;
-                    } else if (charArray[col] == finishLine) {
-                        mapTileNum[col][row] = 2;
-                        // System.out.print(mapTileNum[col][row] + " ");
-                        col++;
-                    }
+            int cols = lines[0].length();
+            int rows = lines.length;
 
-                }
-                if (col == mapTileCol) {
-                    // System.out.println("hhh");
-                    col = 0;
-                    row++;
+            TileGrid maze = new TileGrid(cols, rows, 1);
+            for (int row = 0; row < rows; row++) {
+                String line = lines[row];
+                for (int col = 0; col < cols; col++) {
+                    char c = col < line.length() ? line.charAt(col) : '#';
+                    int tile;
+                    if (c == space || c == star) {
+                        tile = FLOOR_TILE;
+                    } else if (c == hole) {
+                        tile = HOLE_TILE;
+                    } else if (c == finishLine) {
+                        tile = FINISH_TILE;
+                    } else {
+                        tile = WALL_TILE; // Walls and anything unknown
+                    }
+                    maze.set(col, row, tile);
                 }
             }
+            install(maze);
             process.run();
         } catch (Exception e)
 
@@ -370,6 +497,134 @@ public class MazeMap extends Map {
         }
     }
 
+    /**
+     * Build the grid from a seed instead of a full layout (see MazeGenerator). Returns false
+     * if this client can not reproduce the server's maze (unknown generator version, bad size
+     * or checksum mismatch); the caller then asks for the full layout.
+     */
+    public boolean readSeed(int version, long seed, int cols, int rows, int checksum, Runnable process) {
+        ensureLoaded();
+        if (!MazeGenerator.supports(version)) {
+            System.err.println("[MazeMap] Unsupported maze generator version " + version);
+            return false;
+        }
+
+        long start = System.nanoTime();
+        TileGrid maze;
+        try {
+            maze = MazeGenerator.generate(version, seed, cols, rows);
+        } catch (IllegalArgumentException e) {
+            System.err.println("[MazeMap] " + e.getMessage());
+            return false;
+        }
+        int actual = MazeGenerator.checksum(maze);
+        if (actual != checksum) {
+            System.err.printf("[MazeMap] Maze checksum mismatch for seed %d (%08x, server %08x)%n", seed, actual, checksum);
+            return false;
+        }
+        System.out.printf("[MazeMap] Generated %dx%d maze from seed in %.1f ms%n", cols, rows, (System.nanoTime() - start) / 1e6);
+
+        install(maze);
+        process.run();
+        return true;
+    }
+
+    /**
+     * Start receiving a maze as MazePart messages (see MazeStream). The grid is swapped in right
+     * away as solid wall and fills in from the top as parts are decoded. Returns false if the
+     * transfer can not be accepted; the caller then asks for the full layout.
+     */
+    public boolean beginStream(int cols, int rows, int parts) {
+        ensureLoaded();
+        abortStream();
+        try {
+            stream = new MazeStream(cols, rows, parts, this::typeOfTile);
+        } catch (IllegalArgumentException e) {
+            System.err.println("[MazeMap] " + e.getMessage());
+            return false;
+        }
+        streamEntered = false;
+        streamStart = System.nanoTime();
+        mazeComplete = false;
+        swapIn(stream.getGrid());
+        return true;
+    }
+
+    /**
+     * Decode the next part of a streamed maze. process runs once, as soon as the rows around
+     * the start are decoded; coins and traps are placed by update() once the last part is in.
+     * Returns false if the transfer failed (the caller asks for the full layout).
+     */
+    public boolean readPart(int index, String data, Runnable process) {
+        MazeStream current = stream;
+        if (current == null) {
+            System.err.println("[MazeMap] Maze part " + index + " without a transfer");
+            return false;
+        }
+        try {
+            current.accept(index, data);
+        } catch (DataFormatException | IllegalArgumentException e) {
+            System.err.println("[MazeMap] Maze transfer failed at part " + index + ": " + e.getMessage());
+            abortStream();
+            return false;
+        }
+
+        if (!streamEntered && current.getDecodedRows() >= Math.min(START_REGION_ROWS, mapTileRow)) {
+            streamEntered = true;
+            System.out.printf("[MazeMap] Start region decoded in %.1f ms%n", (System.nanoTime() - streamStart) / 1e6);
+            process.run();
+        }
+        if (current.isComplete()) {
+            stream = null;
+            field = null; // Filled in place since the transfer started
+            pathfinder = null;
+            adaptivePathfinder = null;
+            mazeComplete = true;
+            System.out.printf("[MazeMap] Streamed %dx%d maze in %.1f ms%n", mapTileCol, mapTileRow, (System.nanoTime() - streamStart) / 1e6);
+            if (timerStarted) {
+                contentReady = true;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Decoded share of the maze being streamed, 1 when none is
+     */
+    public double getStreamProgress() {
+        MazeStream current = stream;
+        return current != null ? current.getProgress() : 1;
+    }
+
+    private void abortStream() {
+        if (stream != null) {
+            stream.abort();
+            stream = null;
+        }
+        mazeComplete = true;
+    }
+
+    /**
+     * Swap in a fully built maze, so nothing ever sees half a maze
+     */
+    private void install(TileGrid maze) {
+        abortStream();
+        maze.rebuildMask(this::typeOfTile);
+        swapIn(maze);
+    }
+
+    /**
+     * Replace the grid and its dimensions together, under the same monitor as hibernation;
+     * the dimensions are set first so a reader that sees the new grid sees them too
+     */
+    private void swapIn(TileGrid maze) {
+        synchronized (this) {
+            mapTileCol = maze.getWidth();
+            mapTileRow = maze.getHeight();
+            grid = maze;
+        }
+    }
+
     @Override
     protected void renderNPC(Graphics2D g2d) {
         gameScene.getLobbyMap().getMazeNPC().checkDraw(gameScene.getPlayer(), g2d);
@@ -377,21 +632,22 @@ public class MazeMap extends Map {
 
     @Override
     public void setTileType(int i) {
-        if (i == 4) {
+        if (i == HOLE_TILE) {
             tiles[i].setType(TileType.Hole);
-        } else if (i == 0) {
+        } else if (i == WALL_TILE) {
             tiles[i].setType(TileType.Wall);
-        } else if (i == 2) {
+        } else if (i == FINISH_TILE) {
             tiles[i].setType(TileType.FinishLine);
         }
     }
 
     public void clear() {
-        for (int i = 0; i < mapTileCol; i++) {
-            for (int j = 0; j < mapTileRow; j++) {
-                mapTileNum[i][j] = 0;
-            }
-        }
+        ensureLoaded();
+        grid.fill(0, WALL_TILE);
+        grid.rebuildMask(this::typeOfTile);
+        field = null;
+        pathfinder = null;
+        adaptivePathfinder = null;
         
         // Stop enemy spawner when clearing maze
         if (enemySpawner != null) {
@@ -406,21 +662,28 @@ public class MazeMap extends Map {
     public void draw(Graphics2D g2d, int tileSize) {
         // Draw base map
         super.draw(g2d, tileSize);
+        long t = System.nanoTime();
         
         int playerWorldX = gameScene.getPlayer().getWorldX();
         int playerWorldY = gameScene.getPlayer().getWorldY();
         int playerScreenX = gameScene.getPlayer().getScreenX();
         int playerScreenY = gameScene.getPlayer().getScreenY();
         
-        // Draw coins
-        for (MazeCoin coin : coins) {
-            int screenX = coin.getX() - playerWorldX + playerScreenX;
-            int screenY = coin.getY() - playerWorldY + playerScreenY;
-            
-            // Culling
-            if (Math.abs(coin.getX() - playerWorldX) < playerScreenX + tileSize * 2 &&
-                Math.abs(coin.getY() - playerWorldY) < playerScreenY + tileSize * 2) {
-                coin.render(g2d, screenX, screenY, tileSize);
+        // Draw coins: only the tiles on screen (plus one for the glow) are looked at
+        TileIndex<MazeCoin> index = coinIndex;
+        if (index != null && !index.isEmpty()) {
+            int left = index.tileOf(playerWorldX - playerScreenX) - 1;
+            int top = index.tileOf(playerWorldY - playerScreenY) - 1;
+            int right = index.tileOf(playerWorldX - playerScreenX + gameScene.getScreenWidth()) + 1;
+            int bottom = index.tileOf(playerWorldY - playerScreenY + gameScene.getScreenHeight()) + 1;
+            for (int row = top; row <= bottom; row++) {
+                for (int col = left; col <= right; col++) {
+                    for (int id = index.first(col, row); id != TileIndex.NONE; id = index.next(id)) {
+                        MazeCoin coin = index.get(id);
+                        coin.render(g2d, coin.getX() - playerWorldX + playerScreenX,
+                                coin.getY() - playerWorldY + playerScreenY, tileSize);
+                    }
+                }
             }
         }
         
@@ -429,92 +692,139 @@ public class MazeMap extends Map {
             enemySpawner.render(g2d, playerWorldX, playerWorldY, 
                                playerScreenX, playerScreenY, tileSize);
         }
+        FrameProfiler.lap(Section.ENTITIES, t);
+    }
+    
+    /**
+     * Composite the HUD from cached layers; each re-renders only when the values it watches change
+     */
+    @Override
+    public void drawHud(Graphics2D g2d) {
+        int screenWidth = gameScene.getScreenWidth();
+        int screenHeight = gameScene.getScreenHeight();
+        Player player = gameScene.getPlayer();
+        
+        // === TOP LEFT: Health Bar ===
+        healthLayer.watch(0, player.getHealth())
+                .watch(1, player.getMaxHealth())
+                .draw(g2d, 9, 9, 192, 37);
         
-        // Draw UI overlay
-        drawUI(g2d);
+        // === TOP CENTER: Timer ===
+        timerLayer.watch(0, remainingTime)
+                .draw(g2d, (screenWidth - TIMER_WIDTH) / 2 - 1, 9, TIMER_WIDTH + 2, 42);
+        
+        // === TOP LEFT (Below Health): Score Panel ===
+        scoreLayer.watch(0, totalScore)
+                .watch(1, coinsCollected)
+                .watch(2, trapHits)
+                .draw(g2d, 9, 54, 132, 77);
+        
+        // === BOTTOM LEFT: Controls Hint (avoid teleport button in center) ===
+        hintLayer.draw(g2d, 10, screenHeight - 135, 260, 20);
         
         // Draw game over screen if player died
+        boolean canContinue = gameOverTimer >= GAME_OVER_DELAY;
         if (isGameOver) {
-            renderGameOverScreen(g2d);
+            gameOverLayer.watch(0, totalScore)
+                    .watch(1, coinsCollected)
+                    .watch(2, trapHits)
+                    .watch(3, remainingTime <= 0 ? 1 : 0)
+                    .watch(4, canContinue ? 1 : 0)
+                    .draw(g2d, 0, 0, screenWidth, screenHeight);
+        } else {
+            gameOverLayer.release();
         }
         
         // Draw win screen
         if (isGameWon) {
-            renderWinScreen(g2d);
+            winLayer.watch(0, canContinue ? 1 : 0)
+                    .draw(g2d, 0, 0, screenWidth, screenHeight);
+        } else {
+            winLayer.release();
         }
     }
     
     /**
-     * Draw UI overlay (timer, score, health)
+     * Health bar panel (top left)
      */
-    private void drawUI(Graphics2D g2d) {
-        int screenWidth = gameScene.getScreenWidth();
-        int screenHeight = gameScene.getScreenHeight();
-        
-        // === TOP LEFT: Health Bar ===
+    private void paintHealthPanel(Graphics2D g2d) {
         Player player = gameScene.getPlayer();
         int healthBarX = 10;
         int healthBarY = 10;
         int healthBarW = 180;
         int healthBarH = 25;
         
-        g2d.setColor(new Color(0, 0, 0, 180));
+        g2d.setColor(HudStyle.PANEL_BG);
         g2d.fillRoundRect(healthBarX, healthBarY, healthBarW + 10, healthBarH + 10, 10, 10);
         
         g2d.setColor(Color.DARK_GRAY);
         g2d.fillRoundRect(healthBarX + 5, healthBarY + 5, healthBarW, healthBarH, 8, 8);
         
         float hpPercent = (float) player.getHealth() / player.getMaxHealth();
-        Color hpColor = new Color((int)(255 * (1 - hpPercent)), (int)(255 * hpPercent), 0);
-        g2d.setColor(hpColor);
+        g2d.setColor(HudStyle.healthColor(hpPercent));
         g2d.fillRoundRect(healthBarX + 5, healthBarY + 5, (int)(healthBarW * hpPercent), healthBarH, 8, 8);
         
         g2d.setColor(Color.WHITE);
-        g2d.setFont(new Font("Arial", Font.BOLD, 12));
-        String hpText = "HP " + player.getHealth() + "/" + player.getMaxHealth();
-        g2d.drawString(hpText, healthBarX + 55, healthBarY + 21);
-        
-        // === TOP CENTER: Timer ===
-        int timerW = 120;
-        int timerX = (screenWidth - timerW) / 2;
+        g2d.setFont(HudStyle.arial(Font.BOLD, 12));
+        g2d.drawString(hpText.of(player.getHealth(), player.getMaxHealth()), healthBarX + 55, healthBarY + 21);
+    }
+    
+    /**
+     * Timer panel (top center)
+     */
+    private void paintTimer(Graphics2D g2d) {
+        int timerW = TIMER_WIDTH;
+        int timerX = (gameScene.getScreenWidth() - timerW) / 2;
         
-        g2d.setColor(new Color(0, 0, 0, 180));
+        g2d.setColor(HudStyle.PANEL_BG);
         g2d.fillRoundRect(timerX, 10, timerW, 40, 10, 10);
-        g2d.setColor(remainingTime <= 30 ? new Color(150, 50, 50) : new Color(60, 60, 60));
+        g2d.setColor(remainingTime <= 30 ? TIMER_BORDER_LOW : HudStyle.PANEL_BORDER_DARK);
         g2d.drawRoundRect(timerX, 10, timerW, 40, 10, 10);
         
-        g2d.setFont(new Font("Arial", Font.BOLD, 24));
+        Font timerFont = HudStyle.arial(Font.BOLD, 24);
+        g2d.setFont(timerFont);
         g2d.setColor(remainingTime <= 30 ? Color.RED : Color.WHITE);
-        String timeStr = String.format("%02d:%02d", remainingTime / 60, remainingTime % 60);
-        FontMetrics fm = g2d.getFontMetrics();
-        g2d.drawString(timeStr, timerX + (timerW - fm.stringWidth(timeStr)) / 2, 38);
-        
-        // === TOP LEFT (Below Health): Score Panel ===
+        String timeStr = timerText.of(remainingTime);
+        g2d.drawString(timeStr, timerX + (timerW - timerText.width(g2d, timerFont)) / 2, 38);
+    }
+    
+    /**
+     * Score, coins and trap hits (below the health bar)
+     */
+    private void paintScorePanel(Graphics2D g2d) {
         int scoreW = 130;
         int scoreX = 10;
         int scoreY = 55; // Below health bar
         
-        g2d.setColor(new Color(0, 0, 0, 180));
+        g2d.setColor(HudStyle.PANEL_BG);
         g2d.fillRoundRect(scoreX, scoreY, scoreW, 75, 10, 10);
-        g2d.setColor(new Color(60, 60, 60));
+        g2d.setColor(HudStyle.PANEL_BORDER_DARK);
         g2d.drawRoundRect(scoreX, scoreY, scoreW, 75, 10, 10);
         
-        g2d.setFont(new Font("Arial", Font.BOLD, 14));
+        g2d.setFont(HudStyle.arial(Font.BOLD, 14));
         g2d.setColor(Color.YELLOW);
-        g2d.drawString("Score: " + totalScore, scoreX + 10, scoreY + 20);
+        g2d.drawString(scoreText.of(totalScore), scoreX + 10, scoreY + 20);
         
-        g2d.setFont(new Font("Arial", Font.PLAIN, 12));
+        g2d.setFont(HudStyle.arial(Font.PLAIN, 12));
         g2d.setColor(Color.ORANGE);
-        g2d.drawString("Coins: " + coinsCollected, scoreX + 10, scoreY + 40);
-        
-        g2d.setColor(new Color(255, 100, 100));
-        g2d.drawString("Traps: " + trapHits, scoreX + 10, scoreY + 60);
+        g2d.drawString(coinsText.of(coinsCollected), scoreX + 10, scoreY + 40);
         
-        // === BOTTOM LEFT: Controls Hint (avoid teleport button in center) ===
-        g2d.setFont(new Font("Arial", Font.PLAIN, 11));
-        g2d.setColor(new Color(200, 200, 200, 180));
-        String hint = "WASD: Move | Collect coins, avoid traps!";
-        g2d.drawString(hint, 15, screenHeight - 120);
+        g2d.setColor(HudStyle.SOFT_RED);
+        g2d.drawString(trapsText.of(trapHits), scoreX + 10, scoreY + 60);
+    }
+    
+    private void paintHint(Graphics2D g2d) {
+        g2d.setFont(HudStyle.arial(Font.PLAIN, 11));
+        g2d.setColor(HudStyle.HINT);
+        g2d.drawString("WASD: Move | Collect coins, avoid traps!", 15, gameScene.getScreenHeight() - 120);
+    }
+    
+    /**
+     * Draw a label horizontally centered on the screen
+     */
+    private void drawCentered(Graphics2D g2d, CachedText label, Font font, int screenWidth, int y) {
+        g2d.setFont(font);
+        g2d.drawString(label.text(), (screenWidth - label.width(g2d, font)) / 2, y);
     }
     
     /**
@@ -525,43 +835,28 @@ public class MazeMap extends Map {
         int screenHeight = gameScene.getScreenHeight();
         
         // Dark overlay
-        g2d.setColor(new Color(0, 0, 0, 180));
+        g2d.setColor(HudStyle.PANEL_BG);
         g2d.fillRect(0, 0, screenWidth, screenHeight);
         
         // Game Over text
-        g2d.setFont(new Font("Arial", Font.BOLD, 60));
-        g2d.setColor(Color.RED);
-        String gameOverText = remainingTime <= 0 ? "TIME'S UP!" : "GAME OVER";
-        FontMetrics fm = g2d.getFontMetrics();
-        int textX = (screenWidth - fm.stringWidth(gameOverText)) / 2;
         int textY = screenHeight / 2 - 80;
-        g2d.drawString(gameOverText, textX, textY);
+        g2d.setColor(Color.RED);
+        drawCentered(g2d, remainingTime <= 0 ? timesUpText : gameOverText, HudStyle.arial(Font.BOLD, 60), screenWidth, textY);
         
         // Stats
-        g2d.setFont(new Font("Arial", Font.PLAIN, 22));
+        Font statsFont = HudStyle.arial(Font.PLAIN, 22);
         g2d.setColor(Color.WHITE);
-        
-        String scoreText = "Final Score: " + totalScore;
-        fm = g2d.getFontMetrics();
-        textX = (screenWidth - fm.stringWidth(scoreText)) / 2;
-        g2d.drawString(scoreText, textX, textY + 50);
-        
-        String coinsText = "Coins Collected: " + coinsCollected;
-        textX = (screenWidth - fm.stringWidth(coinsText)) / 2;
-        g2d.drawString(coinsText, textX, textY + 80);
-        
-        String trapText = "Traps Hit: " + trapHits;
-        textX = (screenWidth - fm.stringWidth(trapText)) / 2;
-        g2d.drawString(trapText, textX, textY + 110);
+        finalScoreText.of(totalScore);
+        drawCentered(g2d, finalScoreText, statsFont, screenWidth, textY + 50);
+        coinsCollectedText.of(coinsCollected);
+        drawCentered(g2d, coinsCollectedText, statsFont, screenWidth, textY + 80);
+        trapsHitText.of(trapHits);
+        drawCentered(g2d, trapsHitText, statsFont, screenWidth, textY + 110);
         
         // Restart instruction
         if (gameOverTimer >= GAME_OVER_DELAY) {
-            g2d.setFont(new Font("Arial", Font.BOLD, 20));
             g2d.setColor(Color.YELLOW);
-            String restartText = "Press SPACE to return to Lobby";
-            fm = g2d.getFontMetrics();
-            textX = (screenWidth - fm.stringWidth(restartText)) / 2;
-            g2d.drawString(restartText, textX, textY + 160);
+            drawCentered(g2d, returnToLobbyText, HudStyle.arial(Font.BOLD, 20), screenWidth, textY + 160);
         }
     }
     
@@ -573,61 +868,50 @@ public class MazeMap extends Map {
         int screenHeight = gameScene.getScreenHeight();
         
         // Dark overlay with golden tint
-        g2d.setColor(new Color(20, 20, 0, 180));
+        g2d.setColor(WIN_OVERLAY);
         g2d.fillRect(0, 0, screenWidth, screenHeight);
         
         // Victory text
-        g2d.setFont(new Font("Arial", Font.BOLD, 60));
-        g2d.setColor(new Color(255, 215, 0)); // Gold
-        String winText = "== MAZE COMPLETED! ==";
-        FontMetrics fm = g2d.getFontMetrics();
-        int textX = (screenWidth - fm.stringWidth(winText)) / 2;
         int textY = screenHeight / 2 - 100;
-        g2d.drawString(winText, textX, textY);
-        
-        // Score breakdown
-        g2d.setFont(new Font("Arial", Font.BOLD, 20));
-        g2d.setColor(Color.WHITE);
-        
-        String[] scoreLines = {
-            "Coins Collected: " + coinsCollected + " (+" + (totalScore - bonusPoints) + " pts)",
-            "Time Bonus: +" + (remainingTime * 5) + " pts (" + remainingTime + "s left)",
-            "Health Bonus: +" + (gameScene.getPlayer().getHealth() * 2) + " pts",
-            trapHits == 0 ? "Perfect Run Bonus: +200 pts!" : "",
-            "─────────────────────",
-            "TOTAL SCORE: " + totalScore
-        };
+        g2d.setColor(HudStyle.GOLD);
+        drawCentered(g2d, mazeCompletedText, HudStyle.arial(Font.BOLD, 60), screenWidth, textY);
+        
+        // Score breakdown, built once: the totals are final after the win
+        if (winLines == null) {
+            winLines = new CachedText[] {
+                CachedText.fixed("Coins Collected: " + coinsCollected + " (+" + (totalScore - bonusPoints) + " pts)"),
+                CachedText.fixed("Time Bonus: +" + (remainingTime * 5) + " pts (" + remainingTime + "s left)"),
+                CachedText.fixed("Health Bonus: +" + (gameScene.getPlayer().getHealth() * 2) + " pts"),
+                trapHits == 0 ? CachedText.fixed("Perfect Run Bonus: +200 pts!") : null,
+                CachedText.fixed("─────────────────────"),
+                CachedText.fixed("TOTAL SCORE: " + totalScore)
+            };
+        }
         
+        Font lineFont = HudStyle.arial(Font.BOLD, 20);
         int y = textY + 60;
-        for (String line : scoreLines) {
-            if (!line.isEmpty()) {
-                fm = g2d.getFontMetrics();
-                textX = (screenWidth - fm.stringWidth(line)) / 2;
-                
-                if (line.startsWith("TOTAL")) {
-                    g2d.setColor(Color.YELLOW);
-                    g2d.setFont(new Font("Arial", Font.BOLD, 26));
-                } else if (line.startsWith("Perfect")) {
-                    g2d.setColor(new Color(255, 100, 255));
-                }
-                
-                g2d.drawString(line, textX, y);
-                y += 30;
-                
-                // Reset font
+        for (int i = 0; i < winLines.length; i++) {
+            CachedText line = winLines[i];
+            if (line == null) continue;
+            
+            Font font = lineFont;
+            if (i == WIN_TOTAL_LINE) {
+                g2d.setColor(Color.YELLOW);
+                font = HudStyle.arial(Font.BOLD, 26);
+            } else if (i == WIN_PERFECT_LINE) {
+                g2d.setColor(PERFECT_RUN_COLOR);
+            } else {
                 g2d.setColor(Color.WHITE);
-                g2d.setFont(new Font("Arial", Font.BOLD, 20));
             }
+            
+            drawCentered(g2d, line, font, screenWidth, y);
+            y += 30;
         }
         
         // Continue instruction
         if (gameOverTimer >= GAME_OVER_DELAY) {
-            g2d.setFont(new Font("Arial", Font.BOLD, 18));
             g2d.setColor(Color.CYAN);
-            String continueText = "Press SPACE to continue";
-            fm = g2d.getFontMetrics();
-            textX = (screenWidth - fm.stringWidth(continueText)) / 2;
-            g2d.drawString(continueText, textX, screenHeight - 100);
+            drawCentered(g2d, continueText, HudStyle.arial(Font.BOLD, 18), screenWidth, screenHeight - 100);
         }
     }
     
@@ -0,0 +1,191 @@
+package maps;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * MazeStream - a maze layout sent as compressed parts instead of one big text frame, decoded
+ * into its TileGrid part by part as the parts arrive.
+ *
+ * Messages:
+ *   MazeStream,cols,rows,parts     starts a transfer
+ *   MazePart,index,base64          parts 0 .. parts-1, in order
+ *
+ * Payload (before deflate): the tile ids row-major as runs, each run one byte tile id followed
+ * by the run length as an unsigned LEB128 varint. Runs may cross rows. Tile ids other than the
+ * maze's wall, finish, floor and hole are rejected, since the map draws tiles by id.
+ *
+ * Cells not decoded yet stay walls. After each part the collision mask of the rows completed by
+ * it is rebuilt, so the maze can be played from the top while the rest is still arriving.
+ */
+public final class MazeStream {
+    public static final int PART_BYTES = 8 * 1024; // Compressed bytes per MazePart
+
+    private final TileGrid grid;
+    private final int parts;
+    private final IntFunction<TileType> types;
+    private final Inflater inflater = new Inflater();
+    private final byte[] buffer = new byte[4096];
+
+    private int nextPart;
+    private int cell;           // Next cell to write, row-major
+    private int maskedRows;     // Rows whose mask is up to date
+    private int tile = -1;      // Tile id of the run being read, -1 between runs
+    private int runLength;
+    private int runShift;
+
+    public MazeStream(int cols, int rows, int parts, IntFunction<TileType> types) {
+        if (cols <= 0 || rows <= 0 || cols > MazeGenerator.MAX_SIZE || rows > MazeGenerator.MAX_SIZE || parts <= 0) {
+            throw new IllegalArgumentException("Invalid maze stream " + cols + "x" + rows + " in " + parts + " parts");
+        }
+        this.parts = parts;
+        this.types = types;
+        grid = new TileGrid(cols, rows, 1);
+        grid.fill(0, MazeMap.WALL_TILE);
+        grid.rebuildMask(types);
+    }
+
+    /**
+     * The grid being filled; it is complete once isComplete() is true
+     */
+    public TileGrid getGrid() {
+        return grid;
+    }
+
+    /**
+     * Decode the next part. Throws if the part is out of order or the data is corrupt; the
+     * transfer can not continue after that.
+     */
+    public void accept(int index, String base64) throws DataFormatException {
+        if (index != nextPart) {
+            throw new DataFormatException("expected part " + nextPart + ", got " + index);
+        }
+        nextPart++;
+        inflater.setInput(Base64.getDecoder().decode(base64));
+
+        int total = grid.getWidth() * grid.getHeight();
+        int count;
+        while ((count = inflater.inflate(buffer)) > 0) {
+            for (int i = 0; i < count; i++) {
+                int b = buffer[i] & 0xFF;
+                if (tile < 0) {
+                    if (!isMazeTile(b)) throw new DataFormatException("unknown tile id " + b);
+                    tile = b;
+                    runLength = 0;
+                    runShift = 0;
+                    continue;
+                }
+                runLength |= (b & 0x7F) << runShift;
+                runShift += 7;
+                if ((b & 0x80) != 0) {
+                    if (runShift > 28) throw new DataFormatException("run length too long");
+                    continue;
+                }
+                if (runLength > total - cell) {
+                    throw new DataFormatException("runs past the end of the maze");
+                }
+                writeRun(tile, runLength);
+                tile = -1;
+            }
+        }
+
+        int rows = cell / grid.getWidth();
+        if (rows > maskedRows) {
+            grid.rebuildMask(types, maskedRows, rows);
+            maskedRows = rows;
+        }
+
+        if (nextPart == parts) {
+            boolean done = inflater.finished() && cell == total;
+            inflater.end();
+            if (!done) {
+                throw new DataFormatException("maze ended after " + cell + " of " + total + " cells");
+            }
+        }
+    }
+
+    private static boolean isMazeTile(int tileId) {
+        return tileId == MazeMap.WALL_TILE || tileId == MazeMap.FINISH_TILE
+                || tileId == MazeMap.FLOOR_TILE || tileId == MazeMap.HOLE_TILE;
+    }
+
+    private void writeRun(int tileId, int length) {
+        int cols = grid.getWidth();
+        for (int i = 0; i < length; i++, cell++) {
+            grid.set(cell % cols, cell / cols, tileId);
+        }
+    }
+
+    /**
+     * Rows from the top that are fully decoded
+     */
+    public int getDecodedRows() {
+        return cell / grid.getWidth();
+    }
+
+    public double getProgress() {
+        return (double) cell / (grid.getWidth() * grid.getHeight());
+    }
+
+    public boolean isComplete() {
+        return nextPart == parts && cell == grid.getWidth() * grid.getHeight();
+    }
+
+    /**
+     * Drop the decoder's native buffers early if the transfer is abandoned
+     */
+    public void abort() {
+        inflater.end();
+    }
+
+    // === Encoding (what the server sends) ===
+
+    /**
+     * Encode a maze into base64 MazePart payloads
+     */
+    public static List<String> encode(TileGrid maze) {
+        ByteArrayOutputStream runs = new ByteArrayOutputStream();
+        int cols = maze.getWidth();
+        int total = cols * maze.getHeight();
+        int cell = 0;
+        while (cell < total) {
+            int tileId = maze.get(cell % cols, cell / cols);
+            int end = cell + 1;
+            while (end < total && maze.get(end % cols, end / cols) == tileId) end++;
+            runs.write(tileId);
+            int length = end - cell;
+            while (length >= 0x80) {
+                runs.write((length & 0x7F) | 0x80);
+                length >>>= 7;
+            }
+            runs.write(length);
+            cell = end;
+        }
+
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        deflater.setInput(runs.toByteArray());
+        deflater.finish();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        byte[] chunk = new byte[4096];
+        while (!deflater.finished()) {
+            compressed.write(chunk, 0, deflater.deflate(chunk));
+        }
+        deflater.end();
+
+        byte[] data = compressed.toByteArray();
+        List<String> parts = new ArrayList<>();
+        Base64.Encoder base64 = Base64.getEncoder();
+        for (int offset = 0; offset < data.length; offset += PART_BYTES) {
+            int end = Math.min(data.length, offset + PART_BYTES);
+            parts.add(base64.encodeToString(Arrays.copyOfRange(data, offset, end)));
+        }
+        return parts;
+    }
+}
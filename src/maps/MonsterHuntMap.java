@@ -1,5 +1,11 @@
 package maps;
 
+import debug.FrameProfiler;
+import debug.FrameProfiler.Section;
+import hud.CachedText;
+import hud.HudLayer;
+import hud.HudStyle;
+import imageRender.ImageHandler;
 import main.GameScene;
 import network.client.Client;
 import network.client.Protocol;
@@ -12,10 +18,12 @@ import objects.entities.MonsterSpawner;
 import objects.entities.Player;
 
 import java.awt.*;
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map.Entry;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * MonsterHuntMap - Chế độ Monster Hunt (Săn quái kiếm điểm)
@@ -81,14 +89,108 @@ public class MonsterHuntMap extends Map {
     
     // === NEW: Damage Numbers ===
     private ArrayList<DamageNumber> damageNumbers;
+    
+    // === NEW: HUD palette and cached labels (text is rebuilt only when the value changes) ===
+    private static final Color WAVE_BG = new Color(100, 50, 150, 200);
+    private static final Color BOSS_BORDER = new Color(255, 50, 50);
+    private static final Color COMBO_COLOR = new Color(255, 100, 0);
+    private static final Color DASH_ACTIVE = new Color(0, 200, 255);
+    private static final Color DASH_READY = new Color(0, 200, 100);
+    private static final Color WAITING_OVERLAY = new Color(0, 0, 0, 100);
+    private static final Color[] EVENT_TEXT = HudStyle.alphaRamp(new Color(255, 200, 0));
+    private static final Color[] EVENT_SHADOW = HudStyle.alphaRamp(Color.BLACK);
+    
+    private static final Color LEADERBOARD_TOP = new Color(30, 30, 50, 220);
+    private static final Color LEADERBOARD_BOTTOM = new Color(20, 20, 35, 220);
+    private static final Color LEADERBOARD_BORDER = new Color(180, 150, 50);
+    private static final Color LEADERBOARD_DIVIDER = new Color(100, 100, 120);
+    private static final Color LEADERBOARD_LOCAL_ROW = new Color(0, 100, 50, 80);
+    private static final Color LEADERBOARD_LOCAL_SCORE = new Color(100, 255, 100);
+    private static final Color LEADERBOARD_SCORE = new Color(255, 230, 150);
+    private static final Color RANK_OTHER = new Color(150, 150, 170);
+    private static final int LEADERBOARD_SIZE = 5;
+    private static final String[] RANK_ICONS = {"🥇", "🥈", "🥉", "4.", "5."};
+    private static final Color[] RANK_COLORS = {HudStyle.GOLD, HudStyle.SILVER, HudStyle.BRONZE, RANK_OTHER, RANK_OTHER};
+    
+    private final CachedText goldText = new CachedText("Gold: ");
+    private final CachedText waveText = new CachedText((wave, unused) -> (wave % 5 == 0 ? "BOSS " : "WAVE ") + wave);
+    private final CachedText progressText = new CachedText((killed, total) -> killed + "/" + total);
+    private final CachedText monstersText = new CachedText("Monsters: ");
+    private final CachedText killsText = new CachedText("Kills: ");
+    private final CachedText difficultyText = new CachedText((tenths, unused) -> "Diff: x" + tenths / 10 + "." + tenths % 10);
+    private final CachedText comboText = new CachedText("COMBO x");
+    private final CachedText timerText = new CachedText((time, unused) -> String.format("%02d:%02d", time / 60, time % 60));
+    private final CachedText hpText = new CachedText((hp, max) -> hp + "/" + max);
+    private final CachedText speedBuffText = new CachedText((seconds, unused) -> seconds + "s");
+    private final CachedText damageBuffText = new CachedText((seconds, unused) -> seconds + "s");
+    private final CachedText shieldText = new CachedText((seconds, unused) -> seconds + "s");
+    private final CachedText goldBuffText = new CachedText((seconds, unused) -> seconds + "s");
+    private int eventMessageWidth = -1;
+    
+    // End screens
+    private final CachedText finalScoreText = new CachedText((score, unused) -> "Your Score: " + score + " Gold");
+    private final CachedText finalKillsText = new CachedText("Total Kills: ");
+    private final CachedText maxComboText = new CachedText("Max Combo: x");
+    private final CachedText wavesSurvivedText = new CachedText("Waves Survived: ");
+    private final CachedText timesUpText = CachedText.fixed("TIME'S UP!");
+    private final CachedText playAgainText = CachedText.fixed("Press SPACE to play again or ESC to exit");
+    private final CachedText huntTitleText = CachedText.fixed("== MONSTER HUNT ==");
+    private final CachedText pressSpaceText = CachedText.fixed("Press SPACE to Start!");
+    private final CachedText controlsText = CachedText.fixed("WASD: Move | SPACE: Shoot | ESC: Exit");
+    private final CachedText[] descriptionTexts = {
+        CachedText.fixed("> Defeat monsters to earn gold!"),
+        CachedText.fixed("> Collect power-ups for buffs!"),
+        CachedText.fixed("> Build combos for bonus gold!"),
+        CachedText.fixed("> Avoid taking damage to stay alive!"),
+        CachedText.fixed("> Monsters get stronger each wave!"),
+        CachedText.fixed("> Time limit: 3 minutes")
+    };
+    
+    // Leaderboard rows, recomputed only when a score changes
+    private volatile boolean rankingDirty = true;
+    private String rankedLocalName;
+    private int rankedCount = 0;
+    private final String[] rankedNames = new String[LEADERBOARD_SIZE];
+    private final boolean[] rankedLocal = new boolean[LEADERBOARD_SIZE];
+    private final CachedText[] rankedScores = new CachedText[LEADERBOARD_SIZE];
+    private int rankingVersion = 0;
+    
+    // === NEW: Cached HUD layers, each re-rendered only when the values it watches change ===
+    private static final int CENTER_PANEL_WIDTH = 250;
+    private static final int LEADERBOARD_WIDTH = 180;
+    private static final int LEADERBOARD_Y = 80;
+    private static final int BUFF_GAP = 38;
+    private static final int BUFF_Y = 75; // Below the timer/health panel
+    private static final int WEAPON_PANEL_HEIGHT = 70;
+    private static final int DASH_BAR_WIDTH = 65;
+    private static final int CROSSHAIR_SPRITE_SIZE = 36;
+    
+    private final HudLayer statsLayer = new HudLayer(8, this::paintStats);
+    private final HudLayer timerLayer = new HudLayer(3, this::paintTimerPanel);
+    private final HudLayer leaderboardLayer = new HudLayer(1, this::paintLeaderboard);
+    private final HudLayer buffsLayer = new HudLayer(4, this::paintActiveBuffs);
+    private final HudLayer weaponLayer = new HudLayer(2, this::paintWeaponAndDash);
+    private final HudLayer gameOverLayer = new HudLayer(4, g2d -> drawGameOver(g2d, gameScene.getScreenWidth()));
+    private final HudLayer crosshairLayer = HudLayer.sprite(1, this::paintCrosshair);
+    private final HudLayer waitingLayer = new HudLayer(0, g2d -> drawWaitingScreen(g2d, gameScene.getScreenWidth()));
+
+    private static final String HUNT_TILESET = "/Maps/Pvp/pvpMap.png";
+    private static final String HUNT_CSV = "/Maps/Pvp/pvpMap.csv";
+    private static final int HUNT_COLS = 50;
+    private static final int HUNT_ROWS = 50;
+    static final MapFile.Source HUNT_SOURCE = new MapFile.Source(HUNT_COLS, HUNT_ROWS, MonsterHuntMap::huntTileType, HUNT_CSV);
+
+    /**
+     * Decode the arena tile set and parse its CSV in the background
+     */
+    public static CompletableFuture<Void> preloadHunt() {
+        return CompletableFuture.allOf(
+                ImageHandler.preloadAssets(HUNT_TILESET, TILE_SIZE, TILE_SIZE),
+                preloadMapFile(HUNT_SOURCE));
+    }
 
     public MonsterHuntMap(GameScene gameScene) {
-        super(gameScene);
-        mapTileCol = 50;
-        mapTileRow = 50;
-        mapTileNum = new int[mapTileCol][mapTileRow];
-        loadMap("/Maps/Pvp/pvpMap.png");
-        readMap("/Maps/Pvp/pvpMap.csv");
+        super(gameScene, HUNT_COLS, HUNT_ROWS);
         
         // Initialize monster spawner
         monsterSpawner = new MonsterSpawner(gameScene);
@@ -106,6 +208,9 @@ public class MonsterHuntMap extends Map {
         
         // Initialize score system
         playerScores = new HashMap<>();
+        for (int i = 0; i < LEADERBOARD_SIZE; i++) {
+            rankedScores[i] = new CachedText((score, unused) -> String.valueOf(score));
+        }
         
         // Initialize power-up system
         powerUps = new ArrayList<>();
@@ -114,6 +219,31 @@ public class MonsterHuntMap extends Map {
         // Initialize damage numbers
         damageNumbers = new ArrayList<>();
     }
+
+    /**
+     * Arena tiles, built on the first teleport into the hunt
+     */
+    @Override
+    protected void loadContent() {
+        loadMap(HUNT_TILESET);
+        readMapFile(HUNT_SOURCE);
+    }
+
+    /**
+     * Nobody is in the arena: drop its tiles, leftover entities and cached HUD images
+     */
+    @Override
+    protected void unloadContent() {
+        super.unloadContent();
+        resetGame();
+        monsterSpawner.getMonsters().trimToSize();
+        powerUps.trimToSize();
+        damageNumbers.trimToSize();
+        for (HudLayer layer : new HudLayer[] {statsLayer, timerLayer, leaderboardLayer, buffsLayer,
+                weaponLayer, gameOverLayer, crosshairLayer, waitingLayer}) {
+            layer.release();
+        }
+    }
     
     /**
      * Bắt đầu game mode
@@ -125,7 +255,7 @@ public class MonsterHuntMap extends Map {
         lastTimeUpdate = System.currentTimeMillis();
         localPlayerScore = 0;
         playerHealth = maxPlayerHealth;
-        playerScores.clear();
+        clearPlayerScores();
         
         // Reset power-up system
         powerUps.clear();
@@ -178,7 +308,7 @@ public class MonsterHuntMap extends Map {
         remainingTime = gameTimeLimit;
         localPlayerScore = 0;
         playerHealth = maxPlayerHealth;
-        playerScores.clear();
+        clearPlayerScores();
         monsterSpawner.stop();
         powerUps.clear();
         resetBuffs();
@@ -273,7 +403,17 @@ public class MonsterHuntMap extends Map {
     }
 
     public void updatePlayerScore(String username, int score) {
-        playerScores.put(username, score);
+        synchronized (playerScores) {
+            playerScores.put(username, score);
+        }
+        rankingDirty = true;
+    }
+
+    public void clearPlayerScores() {
+        synchronized (playerScores) {
+            playerScores.clear();
+        }
+        rankingDirty = true;
     }
 
     public HashMap<String, Integer> getPlayerScores() {
@@ -405,6 +545,7 @@ public class MonsterHuntMap extends Map {
      */
     private void showEventMessage(String message) {
         lastEventMessage = message;
+        eventMessageWidth = -1;
         eventMessageTimer = 120; // 2 seconds
     }
     
@@ -498,6 +639,7 @@ public class MonsterHuntMap extends Map {
         int goldLost = localPlayerScore / 4; // Mất 25% gold
         localPlayerScore -= goldLost;
         if (localPlayerScore < 0) localPlayerScore = 0;
+        rankingDirty = true;
         
         playerHealth = maxPlayerHealth;
         
@@ -525,6 +667,7 @@ public class MonsterHuntMap extends Map {
      */
     public void addScore(int gold) {
         localPlayerScore += gold;
+        rankingDirty = true;
     }
     
     /**
@@ -554,6 +697,7 @@ public class MonsterHuntMap extends Map {
         
         // Add score
         localPlayerScore += finalGold;
+        rankingDirty = true;
         totalKills++;
         
         // Check kill streak
@@ -579,6 +723,7 @@ public class MonsterHuntMap extends Map {
     @Override
     public void draw(Graphics2D g2d, int tileSize) {
         super.draw(g2d, tileSize);
+        long t = System.nanoTime();
         
         // Draw monsters
         drawMonsters(g2d, tileSize);
@@ -588,9 +733,7 @@ public class MonsterHuntMap extends Map {
         
         // Draw damage numbers
         drawDamageNumbers(g2d);
-        
-        // Draw UI overlay
-        drawUI(g2d);
+        FrameProfiler.lap(Section.ENTITIES, t);
     }
     
     /**
@@ -665,9 +808,12 @@ public class MonsterHuntMap extends Map {
     }
     
     /**
-     * Draw UI overlay (score, timer, health)
+     * Composite the HUD: every widget is a cached layer that only re-renders when the values
+     * it watches change. The crosshair and the fading event message change every frame and
+     * are drawn directly.
      */
-    private void drawUI(Graphics2D g2d) {
+    @Override
+    public void drawHud(Graphics2D g2d) {
         // Save original state
         Color originalColor = g2d.getColor();
         Font originalFont = g2d.getFont();
@@ -676,80 +822,164 @@ public class MonsterHuntMap extends Map {
         int screenHeight = gameScene.getScreenHeight();
         
         // === TOP LEFT: Stats Panel ===
-        g2d.setColor(new Color(0, 0, 0, 180));
+        statsLayer.watch(0, localPlayerScore)
+                .watch(1, monsterSpawner.getWaveNumber())
+                .watch(2, monsterSpawner.getMonstersKilledInWave())
+                .watch(3, monsterSpawner.getMonstersPerWave())
+                .watch(4, monsterSpawner.getMonstersAlive())
+                .watch(5, totalKills)
+                .watch(6, Math.round(monsterSpawner.getDifficultyMultiplier() * 10))
+                .watch(7, comboCount > 1 ? comboCount : 0)
+                .draw(g2d, 8, 8, 185, 135);
+        
+        // === TOP CENTER: Timer + Health ===
+        int centerPanelX = (screenWidth - CENTER_PANEL_WIDTH) / 2;
+        timerLayer.watch(0, remainingTime)
+                .watch(1, playerHealth)
+                .watch(2, maxPlayerHealth)
+                .draw(g2d, centerPanelX, 10, CENTER_PANEL_WIDTH, 55);
+        
+        // === TOP RIGHT: Leaderboard ===
+        String localName = gameScene.getPlayerMP().getUsername();
+        if (rankingDirty || !java.util.Objects.equals(localName, rankedLocalName)) {
+            recomputeRanking(localName);
+        }
+        int lbX = screenWidth - LEADERBOARD_WIDTH - 10;
+        leaderboardLayer.watch(0, rankingVersion)
+                .draw(g2d, lbX - 2, LEADERBOARD_Y - 2, LEADERBOARD_WIDTH + 4, leaderboardHeight() + 4);
+        
+        // === CENTER TOP: Active Buffs ===
+        int activeCount = 0;
+        if (speedBuffTimer > 0) activeCount++;
+        if (damageBuffTimer > 0) activeCount++;
+        if (shieldTimer > 0) activeCount++;
+        if (goldBuffTimer > 0) activeCount++;
+        if (activeCount > 0) {
+            int buffsWidth = activeCount * BUFF_GAP - 8;
+            buffsLayer.watch(0, speedBuffTimer > 0 ? speedBuffTimer / 60 : -1)
+                    .watch(1, damageBuffTimer > 0 ? damageBuffTimer / 60 : -1)
+                    .watch(2, shieldTimer > 0 ? shieldTimer / 60 : -1)
+                    .watch(3, goldBuffTimer > 0 ? goldBuffTimer / 60 : -1)
+                    .draw(g2d, (screenWidth - buffsWidth) / 2 - 2, BUFF_Y - 2, buffsWidth + 12, 39); // icon labels overhang on the right
+        }
+        
+        // === BOTTOM LEFT: Weapon & Dash ===
+        Player player = gameScene.getPlayer();
+        int dashState;
+        if (player.getDashCooldownPercent() > 0) {
+            dashState = (int) ((1 - player.getDashCooldownPercent()) * DASH_BAR_WIDTH); // cooldown fill width
+        } else {
+            dashState = player.isDashing() ? -1 : -2;
+        }
+        int panelY = screenHeight - WEAPON_PANEL_HEIGHT - 120; // Above teleport buttons (buttons at screenHeight-100)
+        weaponLayer.watch(0, gameScene.getPlayerMP().getCurrentBulletType().ordinal())
+                .watch(1, dashState)
+                .draw(g2d, 9, panelY - 16, 220, WEAPON_PANEL_HEIGHT + 17); // controls hint is wider than the panel
+        drawAimCrosshair(g2d);
+        
+        // === CENTER: Event message ===
+        if (eventMessageTimer > 0) {
+            drawEventMessage(g2d, screenWidth);
+        }
+        
+        // Game over/waiting screen
+        if (gameEnded) {
+            gameOverLayer.watch(0, localPlayerScore)
+                    .watch(1, totalKills)
+                    .watch(2, maxCombo)
+                    .watch(3, monsterSpawner.getWaveNumber())
+                    .draw(g2d, 0, 0, screenWidth, screenHeight);
+        } else {
+            gameOverLayer.release();
+        }
+        if (!gameEnded && !gameStarted) {
+            waitingLayer.draw(g2d, 0, 0, screenWidth, screenHeight);
+        } else {
+            waitingLayer.release();
+        }
+        
+        // Restore original state
+        g2d.setColor(originalColor);
+        g2d.setFont(originalFont);
+    }
+    
+    /**
+     * Stats panel: gold, wave banner, wave progress, monsters, kills, difficulty, combo
+     */
+    private void paintStats(Graphics2D g2d) {
+        g2d.setColor(HudStyle.PANEL_BG);
         g2d.fillRoundRect(10, 10, 180, 130, 10, 10);
-        g2d.setColor(new Color(80, 80, 80));
+        g2d.setColor(HudStyle.PANEL_BORDER);
         g2d.drawRoundRect(10, 10, 180, 130, 10, 10);
         
         // Gold/Score
-        g2d.setFont(new Font("Arial", Font.BOLD, 18));
+        g2d.setFont(HudStyle.arial(Font.BOLD, 18));
         g2d.setColor(Color.ORANGE);
-        g2d.drawString("Gold: " + localPlayerScore, 20, 35);
+        g2d.drawString(goldText.of(localPlayerScore), 20, 35);
         
         // Wave - Prominent display with background highlight
         int waveNum = monsterSpawner.getWaveNumber();
-        g2d.setColor(new Color(100, 50, 150, 200)); // Purple background
+        g2d.setColor(WAVE_BG); // Purple background
         g2d.fillRoundRect(15, 40, 90, 24, 8, 8);
         
         // Wave border - changes color based on boss wave
         if (waveNum % 5 == 0) {
-            g2d.setColor(new Color(255, 50, 50)); // Red border for boss wave
-            g2d.setStroke(new BasicStroke(2));
+            g2d.setColor(BOSS_BORDER); // Red border for boss wave
+            g2d.setStroke(HudStyle.STROKE_2);
         } else {
-            g2d.setColor(new Color(255, 215, 0)); // Gold border
-            g2d.setStroke(new BasicStroke(1));
+            g2d.setColor(HudStyle.GOLD); // Gold border
+            g2d.setStroke(HudStyle.STROKE_1);
         }
         g2d.drawRoundRect(15, 40, 90, 24, 8, 8);
         
-        // Wave text
-        g2d.setFont(new Font("Arial", Font.BOLD, 16));
+        // Wave text ("BOSS n" on boss waves)
+        g2d.setFont(HudStyle.arial(Font.BOLD, 16));
         g2d.setColor(Color.WHITE);
-        String waveText = "WAVE " + waveNum;
-        if (waveNum % 5 == 0) {
-            waveText = "BOSS " + waveNum; // Boss wave indicator
-        }
-        g2d.drawString(waveText, 20, 58);
+        g2d.drawString(waveText.of(waveNum), 20, 58);
         
         // Wave progress (monsters killed / total)
-        g2d.setFont(new Font("Arial", Font.PLAIN, 10));
+        g2d.setFont(HudStyle.arial(Font.PLAIN, 10));
         g2d.setColor(Color.LIGHT_GRAY);
-        String progressText = monsterSpawner.getMonstersKilledInWave() + "/" + monsterSpawner.getMonstersPerWave();
-        g2d.drawString(progressText, 110, 58);
+        g2d.drawString(progressText.of(monsterSpawner.getMonstersKilledInWave(), monsterSpawner.getMonstersPerWave()), 110, 58);
         
         // Monsters alive
-        g2d.setFont(new Font("Arial", Font.BOLD, 14));
+        g2d.setFont(HudStyle.arial(Font.BOLD, 14));
         g2d.setColor(Color.CYAN);
-        g2d.drawString("Monsters: " + monsterSpawner.getMonstersAlive(), 20, 82);
+        g2d.drawString(monstersText.of(monsterSpawner.getMonstersAlive()), 20, 82);
         
         // Kills
         g2d.setColor(Color.WHITE);
-        g2d.drawString("Kills: " + totalKills, 20, 100);
+        g2d.drawString(killsText.of(totalKills), 20, 100);
         
         // Difficulty level
         float currentDifficulty = monsterSpawner.getDifficultyMultiplier();
         if (currentDifficulty > 1.0f) {
-            g2d.setColor(new Color(255, 100, 100));
-            g2d.drawString("Diff: x" + String.format("%.1f", currentDifficulty), 100, 82);
+            g2d.setColor(HudStyle.SOFT_RED);
+            g2d.drawString(difficultyText.of(Math.round(currentDifficulty * 10)), 100, 82);
         }
         
         // Combo (if active)
         if (comboCount > 1) {
-            g2d.setColor(new Color(255, 100, 0));
-            g2d.drawString("COMBO x" + comboCount, 20, 118);
+            g2d.setColor(COMBO_COLOR);
+            g2d.drawString(comboText.of(comboCount), 20, 118);
         }
-        
-        // === TOP CENTER: Timer + Health ===
-        int centerPanelW = 250;
-        int centerPanelX = (screenWidth - centerPanelW) / 2;
-        g2d.setColor(new Color(0, 0, 0, 180));
+    }
+    
+    /**
+     * Timer and health bar panel (top center)
+     */
+    private void paintTimerPanel(Graphics2D g2d) {
+        int centerPanelW = CENTER_PANEL_WIDTH;
+        int centerPanelX = (gameScene.getScreenWidth() - centerPanelW) / 2;
+        g2d.setColor(HudStyle.PANEL_BG);
         g2d.fillRoundRect(centerPanelX, 10, centerPanelW, 55, 10, 10);
         
         // Timer
-        g2d.setFont(new Font("Arial", Font.BOLD, 28));
+        Font timerFont = HudStyle.arial(Font.BOLD, 28);
+        g2d.setFont(timerFont);
         g2d.setColor(remainingTime <= 30 ? Color.RED : Color.WHITE);
-        String timeStr = String.format("%02d:%02d", remainingTime / 60, remainingTime % 60);
-        FontMetrics fm = g2d.getFontMetrics();
-        g2d.drawString(timeStr, centerPanelX + (centerPanelW - fm.stringWidth(timeStr)) / 2, 35);
+        String timeStr = timerText.of(remainingTime);
+        g2d.drawString(timeStr, centerPanelX + (centerPanelW - timerText.width(g2d, timerFont)) / 2, 35);
         
         // Health bar (below timer)
         int barWidth = centerPanelW - 20;
@@ -761,49 +991,20 @@ public class MonsterHuntMap extends Map {
         g2d.fillRoundRect(barX, barY, barWidth, barHeight, 5, 5);
         
         float healthPercent = (float) playerHealth / maxPlayerHealth;
-        Color healthColor = new Color(
-            (int) (255 * (1 - healthPercent)),
-            (int) (255 * healthPercent),
-            0
-        );
-        g2d.setColor(healthColor);
+        g2d.setColor(HudStyle.healthColor(healthPercent));
         g2d.fillRoundRect(barX, barY, (int) (barWidth * healthPercent), barHeight, 5, 5);
         
+        Font hpFont = HudStyle.arial(Font.BOLD, 10);
         g2d.setColor(Color.WHITE);
-        g2d.setFont(new Font("Arial", Font.BOLD, 10));
-        String hpText = playerHealth + "/" + maxPlayerHealth;
-        g2d.drawString(hpText, barX + (barWidth - g2d.getFontMetrics().stringWidth(hpText)) / 2, barY + 10);
-        
-        // === TOP RIGHT: Leaderboard ===
-        drawLeaderboard(g2d, screenWidth);
-        
-        // === CENTER TOP: Active Buffs ===
-        drawActiveBuffs(g2d, screenWidth);
-        
-        // === BOTTOM CENTER: Weapon & Controls ===
-        drawWeaponAndDashUI(g2d, screenWidth);
-        
-        // === CENTER: Event message ===
-        if (eventMessageTimer > 0) {
-            drawEventMessage(g2d, screenWidth);
-        }
-        
-        // Game over/waiting screen
-        if (gameEnded) {
-            drawGameOver(g2d, screenWidth);
-        } else if (!gameStarted) {
-            drawWaitingScreen(g2d, screenWidth);
-        }
-        
-        // Restore original state
-        g2d.setColor(originalColor);
-        g2d.setFont(originalFont);
+        g2d.setFont(hpFont);
+        String hpStr = hpText.of(playerHealth, maxPlayerHealth);
+        g2d.drawString(hpStr, barX + (barWidth - hpText.width(g2d, hpFont)) / 2, barY + 10);
     }
     
     /**
      * Draw active buff icons
      */
-    private void drawActiveBuffs(Graphics2D g2d, int screenWidth) {
+    private void paintActiveBuffs(Graphics2D g2d) {
         // Count active buffs to center them
         int activeCount = 0;
         if (speedBuffTimer > 0) activeCount++;
@@ -813,103 +1014,105 @@ public class MonsterHuntMap extends Map {
         
         if (activeCount == 0) return;
         
-        int gap = 38;
-        int buffX = (screenWidth - (activeCount * gap - 8)) / 2;
-        int buffY = 75; // Below the timer/health panel
+        int gap = BUFF_GAP;
+        int buffX = (gameScene.getScreenWidth() - (activeCount * gap - 8)) / 2;
+        int buffY = BUFF_Y; // Below the timer/health panel
         
         // Speed buff
         if (speedBuffTimer > 0) {
-            drawBuffIcon(g2d, buffX, buffY, PowerUpType.SPEED_BOOST.color, "SPD", speedBuffTimer);
+            drawBuffIcon(g2d, buffX, buffY, PowerUpType.SPEED_BOOST.color, "SPD", speedBuffText.of(speedBuffTimer / 60));
             buffX += gap;
         }
         
         // Damage buff
         if (damageBuffTimer > 0) {
-            drawBuffIcon(g2d, buffX, buffY, PowerUpType.DOUBLE_DAMAGE.color, "DMG", damageBuffTimer);
+            drawBuffIcon(g2d, buffX, buffY, PowerUpType.DOUBLE_DAMAGE.color, "DMG", damageBuffText.of(damageBuffTimer / 60));
             buffX += gap;
         }
         
         // Shield buff
         if (shieldTimer > 0) {
-            drawBuffIcon(g2d, buffX, buffY, PowerUpType.SHIELD.color, "DEF", shieldTimer);
+            drawBuffIcon(g2d, buffX, buffY, PowerUpType.SHIELD.color, "DEF", shieldText.of(shieldTimer / 60));
             buffX += gap;
         }
         
         // Gold buff
         if (goldBuffTimer > 0) {
-            drawBuffIcon(g2d, buffX, buffY, PowerUpType.GOLD_MAGNET.color, "$$$", goldBuffTimer);
+            drawBuffIcon(g2d, buffX, buffY, PowerUpType.GOLD_MAGNET.color, "$$$", goldBuffText.of(goldBuffTimer / 60));
         }
     }
     
     /**
-     * Draw a buff icon with timer
+     * Draw a buff icon with its remaining seconds
      */
-    private void drawBuffIcon(Graphics2D g2d, int x, int y, Color color, String icon, int timer) {
+    private void drawBuffIcon(Graphics2D g2d, int x, int y, Color color, String icon, String timer) {
         // Background
-        g2d.setColor(new Color(0, 0, 0, 150));
+        g2d.setColor(HudStyle.PANEL_BG_LIGHT);
         g2d.fillRoundRect(x, y, 30, 35, 5, 5);
         
         // Colored border
         g2d.setColor(color);
-        g2d.setStroke(new BasicStroke(2));
+        g2d.setStroke(HudStyle.STROKE_2);
         g2d.drawRoundRect(x, y, 30, 35, 5, 5);
         
         // Icon
-        g2d.setFont(new Font("Arial", Font.PLAIN, 14));
+        g2d.setFont(HudStyle.arial(Font.PLAIN, 14));
         g2d.drawString(icon, x + 8, y + 18);
         
         // Timer
-        g2d.setFont(new Font("Arial", Font.BOLD, 10));
+        g2d.setFont(HudStyle.arial(Font.BOLD, 10));
         g2d.setColor(Color.WHITE);
-        String timerStr = String.valueOf(timer / 60);
-        g2d.drawString(timerStr + "s", x + 5, y + 32);
+        g2d.drawString(timer, x + 5, y + 32);
     }
     
     /**
      * Draw event message overlay
      */
     private void drawEventMessage(Graphics2D g2d, int screenWidth) {
-        g2d.setFont(new Font("Arial", Font.BOLD, 28));
+        Font font = HudStyle.arial(Font.BOLD, 28);
+        g2d.setFont(font);
         
         // Fade effect
         int alpha = Math.min(255, eventMessageTimer * 3);
-        g2d.setColor(new Color(255, 200, 0, alpha));
         
-        FontMetrics fm = g2d.getFontMetrics();
-        int textWidth = fm.stringWidth(lastEventMessage);
-        int x = (screenWidth - textWidth) / 2;
+        // Width is measured once per message
+        if (eventMessageWidth < 0) {
+            eventMessageWidth = g2d.getFontMetrics(font).stringWidth(lastEventMessage);
+        }
+        int x = (screenWidth - eventMessageWidth) / 2;
         int y = 150;
         
         // Drop shadow
-        g2d.setColor(new Color(0, 0, 0, alpha / 2));
+        g2d.setColor(EVENT_SHADOW[alpha / 2]);
         g2d.drawString(lastEventMessage, x + 2, y + 2);
         
         // Main text
-        g2d.setColor(new Color(255, 200, 0, alpha));
+        g2d.setColor(EVENT_TEXT[alpha]);
         g2d.drawString(lastEventMessage, x, y);
     }
     
     /**
      * Draw weapon type and dash cooldown UI (bottom left corner, above teleport buttons)
      */
-    private void drawWeaponAndDashUI(Graphics2D g2d, int screenWidth) {
+    private void paintWeaponAndDash(Graphics2D g2d) {
         int screenHeight = gameScene.getScreenHeight();
         int panelWidth = 160;
-        int panelHeight = 70;
+        int panelHeight = WEAPON_PANEL_HEIGHT;
         int panelX = 10;
         int panelY = screenHeight - panelHeight - 120; // Above teleport buttons (buttons at screenHeight-100)
         
         // Background panel
-        g2d.setColor(new Color(0, 0, 0, 180));
+        g2d.setColor(HudStyle.PANEL_BG);
         g2d.fillRoundRect(panelX, panelY, panelWidth, panelHeight, 10, 10);
-        g2d.setColor(new Color(80, 80, 80));
+        g2d.setColor(HudStyle.PANEL_BORDER);
         g2d.drawRoundRect(panelX, panelY, panelWidth, panelHeight, 10, 10);
         
         // Get current bullet type from PlayerMP
         Bullet.BulletType bulletType = gameScene.getPlayerMP().getCurrentBulletType();
         
         // Weapon indicator (left side)
-        g2d.setFont(new Font("Arial", Font.BOLD, 10));
+        Font labelFont = HudStyle.arial(Font.BOLD, 10);
+        g2d.setFont(labelFont);
         g2d.setColor(Color.GRAY);
         g2d.drawString("[Q] WEAPON", panelX + 8, panelY + 14);
         
@@ -917,16 +1120,14 @@ public class MonsterHuntMap extends Map {
         g2d.fillRoundRect(panelX + 8, panelY + 18, 65, 22, 5, 5);
         
         g2d.setColor(Color.WHITE);
-        g2d.setFont(new Font("Arial", Font.BOLD, 10));
         g2d.drawString(bulletType.name(), panelX + 14, panelY + 33);
         
         // Dash indicator (right side)
         Player player = gameScene.getPlayer();
-        g2d.setFont(new Font("Arial", Font.BOLD, 10));
         g2d.setColor(Color.GRAY);
         g2d.drawString("[RMB] DASH", panelX + 85, panelY + 14);
         
-        int dashBarWidth = 65;
+        int dashBarWidth = DASH_BAR_WIDTH;
         int dashBarHeight = 22;
         int dashBarX = panelX + 85;
         int dashBarY = panelY + 18;
@@ -934,35 +1135,33 @@ public class MonsterHuntMap extends Map {
         g2d.setColor(Color.DARK_GRAY);
         g2d.fillRoundRect(dashBarX, dashBarY, dashBarWidth, dashBarHeight, 5, 5);
         
+        Font dashFont = HudStyle.arial(Font.BOLD, 9);
         float dashCooldownPercent = player.getDashCooldownPercent();
         if (dashCooldownPercent > 0) {
             int fillWidth = (int)((1 - dashCooldownPercent) * dashBarWidth);
-            g2d.setColor(new Color(80, 80, 80));
+            g2d.setColor(HudStyle.PANEL_BORDER);
             g2d.fillRoundRect(dashBarX, dashBarY, fillWidth, dashBarHeight, 5, 5);
             g2d.setColor(Color.YELLOW);
-            g2d.setFont(new Font("Arial", Font.BOLD, 9));
+            g2d.setFont(dashFont);
             g2d.drawString("WAIT", dashBarX + 20, dashBarY + 15);
         } else if (player.isDashing()) {
-            g2d.setColor(new Color(0, 200, 255));
+            g2d.setColor(DASH_ACTIVE);
             g2d.fillRoundRect(dashBarX, dashBarY, dashBarWidth, dashBarHeight, 5, 5);
             g2d.setColor(Color.WHITE);
-            g2d.setFont(new Font("Arial", Font.BOLD, 9));
+            g2d.setFont(dashFont);
             g2d.drawString("DASH!", dashBarX + 17, dashBarY + 15);
         } else {
-            g2d.setColor(new Color(0, 200, 100));
+            g2d.setColor(DASH_READY);
             g2d.fillRoundRect(dashBarX, dashBarY, dashBarWidth, dashBarHeight, 5, 5);
             g2d.setColor(Color.WHITE);
-            g2d.setFont(new Font("Arial", Font.BOLD, 9));
+            g2d.setFont(dashFont);
             g2d.drawString("READY", dashBarX + 15, dashBarY + 15);
         }
         
         // Controls hint (above the panel)
-        g2d.setFont(new Font("Arial", Font.PLAIN, 9));
+        g2d.setFont(HudStyle.arial(Font.PLAIN, 9));
         g2d.setColor(Color.GRAY);
         g2d.drawString("LMB: Shoot | RMB: Dash | Q/E: Weapons", panelX + 8, panelY - 5);
-        
-        // Draw crosshair
-        drawAimCrosshair(g2d);
     }
     
     /**
@@ -972,144 +1171,153 @@ public class MonsterHuntMap extends Map {
         input.MouseHandler mouse = gameScene.getMouseHandler();
         if (mouse == null) return;
         
-        int mouseX = mouse.getMouseX();
-        int mouseY = mouse.getMouseY();
+        // Cached per bullet type, only moved with the mouse
+        int half = CROSSHAIR_SPRITE_SIZE / 2;
+        crosshairLayer.watch(0, gameScene.getPlayerMP().getCurrentBulletType().ordinal())
+                .draw(g2d, mouse.getMouseX() - half, mouse.getMouseY() - half, CROSSHAIR_SPRITE_SIZE, CROSSHAIR_SPRITE_SIZE);
+    }
+    
+    /**
+     * Crosshair sprite, centered in a CROSSHAIR_SPRITE_SIZE square
+     */
+    private void paintCrosshair(Graphics2D g2d) {
+        int centerX = CROSSHAIR_SPRITE_SIZE / 2;
+        int centerY = CROSSHAIR_SPRITE_SIZE / 2;
         
         // Crosshair size
         int size = 12;
         int gap = 4;
-        int thickness = 2;
         
         // Get current bullet type color
         Bullet.BulletType bulletType = gameScene.getPlayerMP().getCurrentBulletType();
         Color crosshairColor = bulletType.color;
         
         // Set composite for slight transparency
-        g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.8f));
+        g2d.setComposite(HudStyle.TRANSLUCENT_80);
         g2d.setColor(crosshairColor);
-        g2d.setStroke(new BasicStroke(thickness));
+        g2d.setStroke(HudStyle.STROKE_2);
         
         // Draw crosshair lines
         // Top
-        g2d.drawLine(mouseX, mouseY - gap - size, mouseX, mouseY - gap);
+        g2d.drawLine(centerX, centerY - gap - size, centerX, centerY - gap);
         // Bottom
-        g2d.drawLine(mouseX, mouseY + gap, mouseX, mouseY + gap + size);
+        g2d.drawLine(centerX, centerY + gap, centerX, centerY + gap + size);
         // Left
-        g2d.drawLine(mouseX - gap - size, mouseY, mouseX - gap, mouseY);
+        g2d.drawLine(centerX - gap - size, centerY, centerX - gap, centerY);
         // Right
-        g2d.drawLine(mouseX + gap, mouseY, mouseX + gap + size, mouseY);
+        g2d.drawLine(centerX + gap, centerY, centerX + gap + size, centerY);
         
         // Center dot
-        g2d.fillOval(mouseX - 2, mouseY - 2, 4, 4);
+        g2d.fillOval(centerX - 2, centerY - 2, 4, 4);
         
         // Outer circle (optional, shows aim direction)
-        g2d.setStroke(new BasicStroke(1));
-        g2d.drawOval(mouseX - size - gap, mouseY - size - gap, (size + gap) * 2, (size + gap) * 2);
-        
-        // Reset composite
-        g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 1.0f));
+        g2d.setStroke(HudStyle.STROKE_1);
+        g2d.drawOval(centerX - size - gap, centerY - size - gap, (size + gap) * 2, (size + gap) * 2);
     }
     
     /**
-     * Draw leaderboard panel (top right, below chat button)
+     * Rebuild the leaderboard rows; only runs after a score or the local name changed
      */
-    private void drawLeaderboard(Graphics2D g2d, int screenWidth) {
-        // Collect all players including local player for proper ranking
-        java.util.TreeMap<Integer, java.util.List<String>> sortedScores = new java.util.TreeMap<>(java.util.Collections.reverseOrder());
-        
-        // Add local player
-        String localName = gameScene.getPlayerMP().getUsername();
-        sortedScores.computeIfAbsent(localPlayerScore, k -> new java.util.ArrayList<>()).add(localName);
-        
-        // Add other players (avoid duplicates)
-        for (java.util.Map.Entry<String, Integer> entry : playerScores.entrySet()) {
-            if (!entry.getKey().equals(localName)) {
-                sortedScores.computeIfAbsent(entry.getValue(), k -> new java.util.ArrayList<>()).add(entry.getKey());
+    private void recomputeRanking(String localName) {
+        rankingDirty = false;
+        rankedLocalName = localName;
+        rankingVersion++;
+        
+        // Local player first so it wins ties, then other players (avoid duplicates)
+        ArrayList<Entry<String, Integer>> ranked = new ArrayList<>();
+        ranked.add(new AbstractMap.SimpleEntry<>(localName, localPlayerScore));
+        synchronized (playerScores) {
+            for (Entry<String, Integer> entry : playerScores.entrySet()) {
+                if (!entry.getKey().equals(localName)) {
+                    ranked.add(new AbstractMap.SimpleEntry<>(entry.getKey(), entry.getValue()));
+                }
             }
         }
-        
-        // Flatten to list of entries for display
-        java.util.List<java.util.AbstractMap.SimpleEntry<String, Integer>> rankedPlayers = new java.util.ArrayList<>();
-        for (java.util.Map.Entry<Integer, java.util.List<String>> entry : sortedScores.entrySet()) {
-            for (String name : entry.getValue()) {
-                rankedPlayers.add(new java.util.AbstractMap.SimpleEntry<>(name, entry.getKey()));
-            }
+        // Stable sort keeps insertion order among equal scores
+        ranked.sort((a, b) -> Integer.compare(b.getValue(), a.getValue()));
+        
+        rankedCount = Math.min(ranked.size(), LEADERBOARD_SIZE);
+        for (int i = 0; i < rankedCount; i++) {
+            String name = ranked.get(i).getKey();
+            rankedLocal[i] = name.equals(localName);
+            rankedNames[i] = name.length() > 12 ? name.substring(0, 12) + ".." : name;
+            rankedScores[i].of(ranked.get(i).getValue());
         }
-        
-        int maxPlayers = Math.min(rankedPlayers.size(), 5);
-        int lbWidth = 180;
-        int lbHeight = 35 + maxPlayers * 24;
-        int lbX = screenWidth - lbWidth - 10;
-        int lbY = 80;
+    }
+    
+    private int leaderboardHeight() {
+        return 35 + rankedCount * 24;
+    }
+    
+    /**
+     * Leaderboard panel (top right, below chat button)
+     */
+    private void paintLeaderboard(Graphics2D g2d) {
+        int maxPlayers = rankedCount;
+        int lbWidth = LEADERBOARD_WIDTH;
+        int lbHeight = leaderboardHeight();
+        int lbX = gameScene.getScreenWidth() - lbWidth - 10;
+        int lbY = LEADERBOARD_Y;
         
         // Gradient background
-        GradientPaint gradient = new GradientPaint(lbX, lbY, new Color(30, 30, 50, 220), 
-                                                    lbX, lbY + lbHeight, new Color(20, 20, 35, 220));
-        g2d.setPaint(gradient);
+        g2d.setPaint(new GradientPaint(lbX, lbY, LEADERBOARD_TOP, lbX, lbY + lbHeight, LEADERBOARD_BOTTOM));
         g2d.fillRoundRect(lbX, lbY, lbWidth, lbHeight, 12, 12);
         
         // Golden border
-        g2d.setColor(new Color(180, 150, 50));
-        g2d.setStroke(new BasicStroke(2));
+        g2d.setColor(LEADERBOARD_BORDER);
+        g2d.setStroke(HudStyle.STROKE_2);
         g2d.drawRoundRect(lbX, lbY, lbWidth, lbHeight, 12, 12);
-        g2d.setStroke(new BasicStroke(1));
+        g2d.setStroke(HudStyle.STROKE_1);
         
         // Title with trophy icon
-        g2d.setFont(new Font("Arial", Font.BOLD, 14));
-        g2d.setColor(new Color(255, 215, 0)); // Gold color
+        g2d.setFont(HudStyle.arial(Font.BOLD, 14));
+        g2d.setColor(HudStyle.GOLD);
         g2d.drawString("🏆 RANKING", lbX + 12, lbY + 20);
         
         // Divider line
-        g2d.setColor(new Color(100, 100, 120));
+        g2d.setColor(LEADERBOARD_DIVIDER);
         g2d.drawLine(lbX + 10, lbY + 28, lbX + lbWidth - 10, lbY + 28);
         
         // Draw players with rank
+        Font rankFont = HudStyle.sansSerif(Font.PLAIN, 12);
         int yOffset = 48;
         for (int i = 0; i < maxPlayers; i++) {
-            java.util.AbstractMap.SimpleEntry<String, Integer> entry = rankedPlayers.get(i);
-            String name = entry.getKey();
-            int score = entry.getValue();
-            boolean isLocal = name.equals(localName);
-            
-            // Truncate name
-            if (name.length() > 12) name = name.substring(0, 12) + "..";
-            
-            // Rank medal/number
-            String rankIcon;
-            Color rankColor;
-            switch (i) {
-                case 0: rankIcon = "🥇"; rankColor = new Color(255, 215, 0); break;   // Gold
-                case 1: rankIcon = "🥈"; rankColor = new Color(192, 192, 192); break; // Silver
-                case 2: rankIcon = "🥉"; rankColor = new Color(205, 127, 50); break;  // Bronze
-                default: rankIcon = (i + 1) + "."; rankColor = new Color(150, 150, 170); break;
-            }
+            boolean isLocal = rankedLocal[i];
             
             // Highlight local player row
             if (isLocal) {
-                g2d.setColor(new Color(0, 100, 50, 80));
+                g2d.setColor(LEADERBOARD_LOCAL_ROW);
                 g2d.fillRoundRect(lbX + 5, lbY + yOffset - 14, lbWidth - 10, 20, 5, 5);
             }
             
-            // Draw rank
-            g2d.setFont(new Font("SansSerif", Font.PLAIN, 12));
-            g2d.setColor(rankColor);
-            g2d.drawString(rankIcon, lbX + 10, lbY + yOffset);
+            // Draw rank medal/number
+            g2d.setFont(rankFont);
+            g2d.setColor(RANK_COLORS[i]);
+            g2d.drawString(RANK_ICONS[i], lbX + 10, lbY + yOffset);
             
             // Draw name
-            g2d.setFont(new Font("Arial", isLocal ? Font.BOLD : Font.PLAIN, 11));
+            Font nameFont = HudStyle.arial(isLocal ? Font.BOLD : Font.PLAIN, 11);
+            g2d.setFont(nameFont);
             g2d.setColor(isLocal ? Color.GREEN : Color.WHITE);
-            g2d.drawString(name, lbX + 35, lbY + yOffset);
+            g2d.drawString(rankedNames[i], lbX + 35, lbY + yOffset);
             
             // Draw score (right-aligned)
-            String scoreStr = String.valueOf(score);
-            int scoreWidth = g2d.getFontMetrics().stringWidth(scoreStr);
-            g2d.setColor(isLocal ? new Color(100, 255, 100) : new Color(255, 230, 150));
-            g2d.drawString(scoreStr, lbX + lbWidth - scoreWidth - 12, lbY + yOffset);
+            CachedText score = rankedScores[i];
+            g2d.setColor(isLocal ? LEADERBOARD_LOCAL_SCORE : LEADERBOARD_SCORE);
+            g2d.drawString(score.text(), lbX + lbWidth - score.width(g2d, nameFont) - 12, lbY + yOffset);
             
             yOffset += 24;
         }
     }
     
+    /**
+     * Draw a label horizontally centered on the screen
+     */
+    private void drawCentered(Graphics2D g2d, CachedText label, Font font, int screenWidth, int y) {
+        g2d.setFont(font);
+        g2d.drawString(label.text(), (screenWidth - label.width(g2d, font)) / 2, y);
+    }
+    
     /**
      * Draw game over screen
      */
@@ -1117,45 +1325,33 @@ public class MonsterHuntMap extends Map {
         int screenHeight = gameScene.getScreenHeight();
         
         // Overlay
-        g2d.setColor(new Color(0, 0, 0, 180));
+        g2d.setColor(HudStyle.PANEL_BG);
         g2d.fillRect(0, 0, screenWidth, screenHeight);
         
         // Game Over text
-        g2d.setFont(new Font("Arial", Font.BOLD, 48));
         g2d.setColor(Color.RED);
-        String gameOverText = "TIME'S UP!";
-        int textWidth = g2d.getFontMetrics().stringWidth(gameOverText);
-        g2d.drawString(gameOverText, (screenWidth - textWidth) / 2, screenHeight / 2 - 80);
+        drawCentered(g2d, timesUpText, HudStyle.arial(Font.BOLD, 48), screenWidth, screenHeight / 2 - 80);
         
         // Final score
-        g2d.setFont(new Font("Arial", Font.BOLD, 32));
         g2d.setColor(Color.YELLOW);
-        String scoreText = "Your Score: " + localPlayerScore + " Gold";
-        textWidth = g2d.getFontMetrics().stringWidth(scoreText);
-        g2d.drawString(scoreText, (screenWidth - textWidth) / 2, screenHeight / 2 - 30);
+        finalScoreText.of(localPlayerScore);
+        drawCentered(g2d, finalScoreText, HudStyle.arial(Font.BOLD, 32),
+                screenWidth, screenHeight / 2 - 30);
         
         // Stats
-        g2d.setFont(new Font("Arial", Font.PLAIN, 20));
+        Font statsFont = HudStyle.arial(Font.PLAIN, 20);
         g2d.setColor(Color.WHITE);
-        
-        String killsText = "Total Kills: " + totalKills;
-        textWidth = g2d.getFontMetrics().stringWidth(killsText);
-        g2d.drawString(killsText, (screenWidth - textWidth) / 2, screenHeight / 2 + 10);
-        
-        String comboText = "Max Combo: x" + maxCombo;
-        textWidth = g2d.getFontMetrics().stringWidth(comboText);
-        g2d.drawString(comboText, (screenWidth - textWidth) / 2, screenHeight / 2 + 35);
-        
-        String waveText = "Waves Survived: " + monsterSpawner.getWaveNumber();
-        textWidth = g2d.getFontMetrics().stringWidth(waveText);
-        g2d.drawString(waveText, (screenWidth - textWidth) / 2, screenHeight / 2 + 60);
+        finalKillsText.of(totalKills);
+        drawCentered(g2d, finalKillsText, statsFont, screenWidth, screenHeight / 2 + 10);
+        maxComboText.of(maxCombo);
+        drawCentered(g2d, maxComboText, statsFont, screenWidth, screenHeight / 2 + 35);
+        wavesSurvivedText.of(monsterSpawner.getWaveNumber());
+        drawCentered(g2d, wavesSurvivedText, statsFont,
+                screenWidth, screenHeight / 2 + 60);
         
         // Instructions
-        g2d.setFont(new Font("Arial", Font.PLAIN, 18));
         g2d.setColor(Color.CYAN);
-        String instrText = "Press SPACE to play again or ESC to exit";
-        textWidth = g2d.getFontMetrics().stringWidth(instrText);
-        g2d.drawString(instrText, (screenWidth - textWidth) / 2, screenHeight / 2 + 100);
+        drawCentered(g2d, playAgainText, HudStyle.arial(Font.PLAIN, 18), screenWidth, screenHeight / 2 + 100);
     }
     
     /**
@@ -1165,50 +1361,30 @@ public class MonsterHuntMap extends Map {
         int screenHeight = gameScene.getScreenHeight();
         
         // Semi-transparent overlay
-        g2d.setColor(new Color(0, 0, 0, 100));
+        g2d.setColor(WAITING_OVERLAY);
         g2d.fillRect(0, 0, screenWidth, screenHeight);
         
         // Title
-        g2d.setFont(new Font("Arial", Font.BOLD, 36));
         g2d.setColor(Color.YELLOW);
-        String title = "== MONSTER HUNT ==";
-        int textWidth = g2d.getFontMetrics().stringWidth(title);
-        g2d.drawString(title, (screenWidth - textWidth) / 2, screenHeight / 2 - 80);
+        drawCentered(g2d, huntTitleText, HudStyle.arial(Font.BOLD, 36), screenWidth, screenHeight / 2 - 80);
         
         // Instructions
-        g2d.setFont(new Font("Arial", Font.BOLD, 28));
         g2d.setColor(Color.WHITE);
-        String text = "Press SPACE to Start!";
-        textWidth = g2d.getFontMetrics().stringWidth(text);
-        g2d.drawString(text, (screenWidth - textWidth) / 2, screenHeight / 2 - 30);
+        drawCentered(g2d, pressSpaceText, HudStyle.arial(Font.BOLD, 28), screenWidth, screenHeight / 2 - 30);
         
         // Game description
-        g2d.setFont(new Font("Arial", Font.PLAIN, 18));
+        Font descriptionFont = HudStyle.arial(Font.PLAIN, 18);
         g2d.setColor(Color.CYAN);
-        String[] descriptions = {
-            "> Defeat monsters to earn gold!",
-            "> Collect power-ups for buffs!",
-            "> Build combos for bonus gold!",
-            "> Avoid taking damage to stay alive!",
-            "> Monsters get stronger each wave!",
-            "> Time limit: 3 minutes"
-        };
-        
         int y = screenHeight / 2 + 20;
-        for (String desc : descriptions) {
-            textWidth = g2d.getFontMetrics().stringWidth(desc);
-            g2d.drawString(desc, (screenWidth - textWidth) / 2, y);
+        for (CachedText description : descriptionTexts) {
+            drawCentered(g2d, description, descriptionFont, screenWidth, y);
             y += 28;
         }
         
         // Controls hint
-        g2d.setFont(new Font("Arial", Font.PLAIN, 14));
         g2d.setColor(Color.GRAY);
-        String controls = "WASD: Move | SPACE: Shoot | ESC: Exit";
-        textWidth = g2d.getFontMetrics().stringWidth(controls);
-        g2d.drawString(controls, (screenWidth - textWidth) / 2, screenHeight - 50);
+        drawCentered(g2d, controlsText, HudStyle.arial(Font.PLAIN, 14), screenWidth, screenHeight - 50);
     }
-
     @Override
     protected void renderNPC(Graphics2D g2d) {
         gameScene.getLobbyMap().getMonsterHuntNPC().checkDraw(gameScene.getPlayer(), g2d);
@@ -1216,9 +1392,14 @@ public class MonsterHuntMap extends Map {
 
     @Override
     public void setTileType(int i) {
-        if(i == 13) {
-            tiles[i].setType(TileType.Wall);
-        }
+        tiles[i].setType(huntTileType(i));
+    }
+
+    /**
+     * Only the arena fence (13) has a type; also used to precompute the arena's collision mask
+     */
+    static TileType huntTileType(int i) {
+        return i == 13 ? TileType.Wall : null;
     }
     
     // Getters and Setters
@@ -1232,6 +1413,7 @@ public class MonsterHuntMap extends Map {
     
     public void setLocalPlayerScore(int score) {
         this.localPlayerScore = score;
+        rankingDirty = true;
     }
     
     public int getRemainingTime() {
@@ -1292,4 +1474,6 @@ public class MonsterHuntMap extends Map {
     public float getSpeedMultiplier() { return speedMultiplier; }
     public float getDamageMultiplier() { return damageMultiplier; }
     public boolean hasShield() { return hasShield; }
+    public int getDamageNumberCount() { return damageNumbers.size(); }
+    public int getPowerUpCount() { return powerUps.size(); }
 }
@@ -0,0 +1,172 @@
+package maps;
+
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+/**
+ * TileGrid - tile ids of a map in one flat short[], layer by layer and row-major within a
+ * layer, so walking a row (as drawing does) reads consecutive memory.
+ *
+ * The size is whatever the map needs (mazes come from the server at any size). Reads outside
+ * the grid return EMPTY instead of throwing; writes outside the grid are a bug and throw.
+ *
+ * Next to the tiles the grid keeps a collision mask, one byte per cell, with the tile types
+ * of all layers folded in (a bridge over water is walkable), so a collision probe is a single
+ * array read. Call rebuildMask after changing tiles.
+ */
+public final class TileGrid implements TileView {
+    public static final int EMPTY = -1;
+
+    // Collision mask bits
+    public static final int SOLID = 1;   // Blocks movement (wall, or water without a bridge)
+    public static final int WATER = 2;   // Water without a bridge: sends the player back to spawn
+    public static final int BRIDGE = 4;
+    public static final int FINISH = 8;
+    public static final int HOLE = 16;
+
+    private final int width;
+    private final int height;
+    private final int layers;
+    private final short[] cells;
+    private final byte[] mask;
+
+    public TileGrid(int width, int height, int layers) {
+        if (width <= 0 || height <= 0 || layers <= 0) {
+            throw new IllegalArgumentException("Invalid grid " + width + "x" + height + "x" + layers);
+        }
+        this.width = width;
+        this.height = height;
+        this.layers = layers;
+        this.cells = new short[width * height * layers];
+        this.mask = new byte[width * height];
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public int getLayerCount() {
+        return layers;
+    }
+
+    public boolean inBounds(int col, int row) {
+        return col >= 0 && row >= 0 && col < width && row < height;
+    }
+
+    /**
+     * Base layer tile at (col, row), or EMPTY outside the grid
+     */
+    @Override
+    public int get(int col, int row) {
+        return inBounds(col, row) ? cells[row * width + col] : EMPTY;
+    }
+
+    /**
+     * Tile of any layer at (col, row), or EMPTY outside the grid or for a missing layer
+     */
+    @Override
+    public int get(int layer, int col, int row) {
+        if (layer < 0 || layer >= layers || !inBounds(col, row)) return EMPTY;
+        return cells[(layer * height + row) * width + col];
+    }
+
+    public void set(int col, int row, int tile) {
+        set(0, col, row, tile);
+    }
+
+    public void set(int layer, int col, int row, int tile) {
+        if (layer < 0 || layer >= layers || !inBounds(col, row)) {
+            throw new IndexOutOfBoundsException("(" + layer + ", " + col + ", " + row + ") outside "
+                    + width + "x" + height + "x" + layers);
+        }
+        cells[(layer * height + row) * width + col] = (short) tile;
+    }
+
+    public void fill(int layer, int tile) {
+        int start = layer * width * height;
+        Arrays.fill(cells, start, start + width * height, (short) tile);
+    }
+
+    /**
+     * Copy one row-major layer in, e.g. from a MapFile
+     */
+    void copyLayer(int layer, short[] source) {
+        System.arraycopy(source, 0, cells, layer * width * height, width * height);
+    }
+
+    short[] layerCopy(int layer) {
+        int start = layer * width * height;
+        return Arrays.copyOfRange(cells, start, start + width * height);
+    }
+
+    // === Collision mask ===
+
+    /**
+     * Collision bits of a cell; cells outside the grid are SOLID
+     */
+    @Override
+    public int getMask(int col, int row) {
+        return inBounds(col, row) ? mask[row * width + col] : SOLID;
+    }
+
+    /**
+     * Recompute the mask from the tiles; a Bridge tile on any upper layer makes the cell walkable.
+     * types must also answer for EMPTY ground cells (callers treat them as walls).
+     */
+    public void rebuildMask(IntFunction<TileType> types) {
+        rebuildMask(types, 0, height);
+    }
+
+    /**
+     * Recompute the mask of rows fromRow (inclusive) to toRow (exclusive) only
+     */
+    public void rebuildMask(IntFunction<TileType> types, int fromRow, int toRow) {
+        int cellsPerLayer = width * height;
+        for (int i = fromRow * width; i < toRow * width; i++) {
+            boolean bridge = false;
+            for (int layer = 1; layer < layers; layer++) {
+                int tile = cells[layer * cellsPerLayer + i];
+                bridge |= tile >= 0 && types.apply(tile) == TileType.Bridge;
+            }
+            mask[i] = (byte) maskOf(types.apply(cells[i]), bridge);
+        }
+    }
+
+    /**
+     * Collision bits for a tile type, with or without a bridge over it
+     */
+    public static int maskOf(TileType type, boolean bridge) {
+        int bits = bridge ? BRIDGE : 0;
+        if (type == TileType.Wall && !bridge) bits |= SOLID;
+        if (type == TileType.Water && !bridge) bits |= SOLID | WATER;
+        if (type == TileType.FinishLine) bits |= FINISH;
+        if (type == TileType.Hole) bits |= HOLE;
+        return bits;
+    }
+
+    void setMask(int col, int row, int bits) {
+        mask[row * width + col] = (byte) bits;
+    }
+
+    void copyMask(byte[] source) {
+        System.arraycopy(source, 0, mask, 0, mask.length);
+    }
+
+    byte[] maskCopy() {
+        return mask.clone();
+    }
+
+    /**
+     * Approximate heap size
+     */
+    public long sizeInBytes() {
+        return 2L * cells.length + mask.length;
+    }
+}
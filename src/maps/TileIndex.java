@@ -0,0 +1,119 @@
+package maps;
+
+import java.util.Arrays;
+
+/**
+ * TileIndex - items placed on a tile map (maze coins, traps), bucketed by the tile they lie in,
+ * so a hitbox or the visible area only has to look at the items of the tiles it covers instead
+ * of at every item.
+ *
+ * Each bucket is a singly linked list through flat arrays: head[cell] is the first item id of
+ * that cell and next[id] the following one, NONE ending the list. Ids are handed out in order
+ * by add() and stay valid after other items are removed. An item belongs to the tile holding
+ * its top-left corner and must not reach into the next tile, which holds for anything placed
+ * inside a tile (coins, traps); then a query rectangle finds it by scanning the tiles it covers.
+ *
+ * Iterate a tile with: for (int id = index.first(col, row); id != NONE; id = index.next(id))
+ */
+public final class TileIndex<T> {
+    public static final int NONE = -1;
+
+    private final int cols;
+    private final int rows;
+    private final int tileSize;
+    private final int[] head;
+    private int[] next;
+    private int[] cellOf;   // NONE once removed
+    private Object[] items;
+    private int count;      // Ids handed out
+    private int size;       // Items still indexed
+
+    public TileIndex(int cols, int rows, int tileSize, int capacity) {
+        this.cols = cols;
+        this.rows = rows;
+        this.tileSize = tileSize;
+        head = new int[cols * rows];
+        Arrays.fill(head, NONE);
+        capacity = Math.max(1, capacity);
+        next = new int[capacity];
+        cellOf = new int[capacity];
+        items = new Object[capacity];
+    }
+
+    /**
+     * Index an item at a world position; returns its id, or NONE if it is outside the map
+     */
+    public int add(T item, int worldX, int worldY) {
+        int col = Math.floorDiv(worldX, tileSize);
+        int row = Math.floorDiv(worldY, tileSize);
+        if (col < 0 || row < 0 || col >= cols || row >= rows) return NONE;
+
+        if (count == items.length) {
+            int capacity = count * 2;
+            next = Arrays.copyOf(next, capacity);
+            cellOf = Arrays.copyOf(cellOf, capacity);
+            items = Arrays.copyOf(items, capacity);
+        }
+        int id = count++;
+        int cell = row * cols + col;
+        items[id] = item;
+        cellOf[id] = cell;
+        next[id] = head[cell];
+        head[cell] = id;
+        size++;
+        return id;
+    }
+
+    /**
+     * Unlink an item; its id is not reused. The item itself stays in items[] and next[id] keeps
+     * pointing on, so a render thread walking the same bucket right now still gets a live item
+     * and the rest of the list; items go away with the whole index.
+     */
+    public void remove(int id) {
+        int cell = cellOf[id];
+        if (cell == NONE) return;
+        if (head[cell] == id) {
+            head[cell] = next[id];
+        } else {
+            int prev = head[cell];
+            while (next[prev] != id) prev = next[prev];
+            next[prev] = next[id];
+        }
+        cellOf[id] = NONE;
+        size--;
+    }
+
+    // === Queries ===
+
+    /**
+     * First item id in a tile, NONE if the tile is empty or outside the map
+     */
+    public int first(int col, int row) {
+        if (col < 0 || row < 0 || col >= cols || row >= rows) return NONE;
+        return head[row * cols + col];
+    }
+
+    public int next(int id) {
+        return next[id];
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(int id) {
+        return (T) items[id];
+    }
+
+    /**
+     * Tile column or row of a world coordinate, for turning a query rectangle into a tile range
+     */
+    public int tileOf(int world) {
+        return Math.floorDiv(world, tileSize);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+}
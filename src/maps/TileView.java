@@ -0,0 +1,27 @@
+package maps;
+
+/**
+ * TileView - read access to a map's tiles and collision mask, whether the whole map is in
+ * memory (TileGrid) or streamed in chunks (ChunkedWorld). Drawing and collision go through
+ * this, so they do not care how a map is stored.
+ */
+public interface TileView {
+
+    int getWidth();
+
+    int getHeight();
+
+    int getLayerCount();
+
+    /**
+     * Base layer tile at (col, row), or TileGrid.EMPTY outside the map or where nothing is loaded
+     */
+    int get(int col, int row);
+
+    int get(int layer, int col, int row);
+
+    /**
+     * Collision bits of a cell (TileGrid.SOLID, WATER, ...); SOLID outside the map or where nothing is loaded
+     */
+    int getMask(int col, int row);
+}
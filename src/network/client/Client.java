@@ -19,12 +19,21 @@ public class Client {
     private int serverPort = 11111;
     private Protocol protocol;
 
-    private static Client client;
+    private static volatile Client client; // Set once connected; read without the lock by getExistingClient()
+
+    // Offline mode (-Dminiisland.offline=true): no connection, outgoing packets are dropped.
+    // Used by headless tools such as the allocation budget harness.
+    private final boolean offline = Boolean.getBoolean("miniisland.offline");
 
     private Client() throws IOException {
         loadConfig();
         protocol = new Protocol();
 
+        if (offline) {
+            System.out.println("[Client] Offline mode, not connecting");
+            return;
+        }
+
         try {
             URI serverUri = new URI("ws://" + hostName + ":" + serverPort);
             webSocketClient = new WebSocketGameClient(serverUri);
@@ -56,7 +65,7 @@ public class Client {
     public void sendToServer(String message) {
         if (message.equals("exit")) {
             System.exit(0);
-        } else {
+        } else if (!offline) {
             if (webSocketClient != null && webSocketClient.isOpen()) {
                 webSocketClient.sendMessage(message);
             } else {
@@ -85,7 +94,7 @@ public class Client {
         return serverPort;
     }
 
-    public static Client getGameClient() {
+    public static synchronized Client getGameClient() {
         if (client == null) {
             try {
                 client = new Client();
@@ -96,6 +105,13 @@ public class Client {
         return client;
     }
 
+    /**
+     * The client if one has been created, else null; never creates one and never blocks
+     */
+    public static Client getExistingClient() {
+        return client;
+    }
+
     public void closeAll() {
         if (webSocketClient != null) {
             webSocketClient.closeConnection();
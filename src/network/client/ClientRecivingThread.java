@@ -1,5 +1,7 @@
 package network.client;
 
+import debug.HitchDetector;
+import debug.jfr.NetMessageEvent;
 import main.GameScene;
 import maps.MonsterHuntMap;
 import network.entitiesNet.PlayerMP;
@@ -41,7 +43,17 @@ public class ClientRecivingThread extends Thread {
         webSocketClient.setMessageListener(new WebSocketGameClient.MessageListener() {
             @Override
             public void onMessageReceived(String message) {
+                NetMessageEvent event = new NetMessageEvent();
+                long start = System.nanoTime();
+                event.begin();
                 handleMessage(message);
+                event.end();
+                HitchDetector.recordNetMessage(message, System.nanoTime() - start);
+                if (event.shouldCommit()) {
+                    event.tag = NetMessageEvent.tagOf(message);
+                    event.size = message.length();
+                    event.commit();
+                }
             }
         });
     }
@@ -84,6 +96,28 @@ public class ClientRecivingThread extends Thread {
                     return;
                 }
 
+                // ============== Content Cache Messages ==============
+                if (sentence.startsWith("Content,")) {
+                    // Content,<name>,<version>,<message> - Cache the message, then handle it as usual
+                    int nameEnd = sentence.indexOf(',', 8);
+                    int versionEnd = sentence.indexOf(',', nameEnd + 1);
+                    String payload = sentence.substring(versionEnd + 1);
+                    ContentCache.getInstance().put(sentence.substring(8, nameEnd), sentence.substring(nameEnd + 1, versionEnd), payload);
+                    handleMessage(payload);
+                    return;
+                }
+                if (sentence.startsWith("NotModified,")) {
+                    // NotModified,<name>,<version> - Handle the cached message instead
+                    String[] parts = sentence.split(",");
+                    String payload = ContentCache.getInstance().get(parts[1], parts[2]);
+                    if (payload != null) {
+                        handleMessage(payload);
+                    } else {
+                        Client.getGameClient().sendToServer(new Protocol().cacheMissPacket(clientPlayer.getUsername(), parts[1]));
+                    }
+                    return;
+                }
+
                 if (sentence.startsWith("ID")) {
                     int pos1 = sentence.indexOf(',');
 
@@ -346,18 +380,49 @@ public class ClientRecivingThread extends Thread {
                     gameScene.getPlayerMP().setY(0);
 
                     //handle readMap from the server
-                    gameScene.getMazeMap().readMap(map, () -> {
+                    gameScene.getMazeMap().readMap(map, this::enterMaze);
 
-                        gameScene.changeToMazeMap();
+                } else if (sentence.startsWith("MazeStream,")) {
+                    // MazeStream,<cols>,<rows>,<parts> - New maze, followed by compressed MazePart messages
+                    String[] parts = sentence.split(",");
 
-                        gameScene.getPlayerMP().setX(50);
-                        gameScene.getPlayerMP().setY(50);
+                    gameScene.getMazeMap().clear();
+                    gameScene.getPlayerMP().setX(0);
+                    gameScene.getPlayerMP().setY(0);
+                    gameScene.setLoadingProgress(0);
 
-                        gameScene.getLobbyMap().getMazeNPC().setWorldX(50);
-                        gameScene.getLobbyMap().getMazeNPC().setWorldY(50);
+                    if (!gameScene.getMazeMap().beginStream(Integer.parseInt(parts[1]), Integer.parseInt(parts[2]), Integer.parseInt(parts[3]))) {
+                        Client.getGameClient().sendToServer(new Protocol().mazeMapRequestPacket(clientPlayer.getUsername()));
+                    }
 
-                        Client.getGameClient().sendToServer(new Protocol().teleportPacket(gameScene.getPlayerMP().getUsername(), gameScene.currentMap, gameScene.getPlayerMP().getX(), gameScene.getPlayerMP().getY()));
-                    });
+                } else if (sentence.startsWith("MazePart,")) {
+                    // MazePart,<index>,<base64> - Decoded right away, the player enters once the start is in
+                    int comma = sentence.indexOf(',', 9);
+                    int index = Integer.parseInt(sentence.substring(9, comma));
+
+                    if (gameScene.getMazeMap().readPart(index, sentence.substring(comma + 1), this::enterMaze)) {
+                        gameScene.setLoadingProgress(gameScene.getMazeMap().getStreamProgress());
+                    } else {
+                        Client.getGameClient().sendToServer(new Protocol().mazeMapRequestPacket(clientPlayer.getUsername()));
+                    }
+
+                } else if (sentence.startsWith("MazeSeed,")) {
+                    // MazeSeed,<version>,<seed>,<cols>,<rows>,<checksum> - New maze, generated locally
+                    String[] parts = sentence.split(",");
+                    int version = Integer.parseInt(parts[1]);
+                    long seed = Long.parseLong(parts[2]);
+                    int cols = Integer.parseInt(parts[3]);
+                    int rows = Integer.parseInt(parts[4]);
+                    int checksum = (int) Long.parseLong(parts[5], 16);
+
+                    gameScene.getMazeMap().clear();
+                    gameScene.getPlayerMP().setX(0);
+                    gameScene.getPlayerMP().setY(0);
+
+                    if (!gameScene.getMazeMap().readSeed(version, seed, cols, rows, checksum, this::enterMaze)) {
+                        // Can not reproduce this maze: ask for the full layout (answered with MazeMap,...)
+                        Client.getGameClient().sendToServer(new Protocol().mazeMapRequestPacket(clientPlayer.getUsername()));
+                    }
 
                 } else if (sentence.startsWith("Exit")) {
                     String username = sentence.substring(4, sentence.length());
@@ -435,7 +500,7 @@ public class ClientRecivingThread extends Thread {
                     // Update Score Battle leaderboard: HuntLeaderboard,user1:score1,user2:score2...
                     String[] parts = sentence.split(",");
                     
-                    gameScene.getMonsterHuntMap().getPlayerScores().clear();
+                    gameScene.getMonsterHuntMap().clearPlayerScores();
                     for (int i = 1; i < parts.length; i++) {
                         String[] playerInfo = parts[i].split(":");
                         if (playerInfo.length >= 2) {
@@ -549,4 +614,19 @@ public class ClientRecivingThread extends Thread {
     public void stopThread() {
         isRunning = false;
     }
+
+    /**
+     * Switch to the maze once its grid is built and put the player at the start
+     */
+    private void enterMaze() {
+        gameScene.changeToMazeMap();
+
+        gameScene.getPlayerMP().setX(50);
+        gameScene.getPlayerMP().setY(50);
+
+        gameScene.getLobbyMap().getMazeNPC().setWorldX(50);
+        gameScene.getLobbyMap().getMazeNPC().setWorldY(50);
+
+        Client.getGameClient().sendToServer(new Protocol().teleportPacket(gameScene.getPlayerMP().getUsername(), gameScene.currentMap, gameScene.getPlayerMP().getX(), gameScene.getPlayerMP().getY()));
+    }
 }
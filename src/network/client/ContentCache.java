@@ -0,0 +1,213 @@
+package network.client;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Properties;
+import java.util.TreeSet;
+
+/**
+ * ContentCache - small on-disk cache for data the server sends again and again (shop skins,
+ * leaderboard, maze layouts), so it only has to be sent when it changed.
+ *
+ * The server wraps a cacheable message as "Content,name,version,message"; the message is
+ * stored and then handled as usual. On login the client announces what it has
+ * ("CacheVersions,user,name=version;..."), and the server may then answer a request with
+ * "NotModified,name,version" instead of the data. If that entry is gone or fails verification
+ * the client sends "CacheMiss,user,name" and gets the full message.
+ *
+ * Payloads are stored content-addressed: the file name is the SHA-256 of the payload, checked
+ * again on every load. An index maps each name to its server version and file. The directory is
+ * kept under MAX_BYTES by dropping the least recently used files.
+ */
+public final class ContentCache {
+    public static final String NONE = "-"; // Version announced for names with nothing cached
+    private static final long MAX_BYTES = Long.getLong("miniisland.contentCacheBytes", 4L * 1024 * 1024);
+    private static final String INDEX = "index.properties";
+
+    private static final ContentCache INSTANCE = new ContentCache(Path.of(System.getProperty(
+            "miniisland.contentCacheDir", System.getProperty("user.home") + "/.miniisland/content")), MAX_BYTES);
+
+    private final Path dir;
+    private final long maxBytes;
+    private final Properties index = new Properties(); // name -> "version sha256"
+    private boolean enabled = true;
+
+    ContentCache(Path dir, long maxBytes) {
+        this.dir = dir;
+        this.maxBytes = maxBytes;
+        try {
+            Files.createDirectories(dir);
+            Path indexFile = dir.resolve(INDEX);
+            if (Files.isRegularFile(indexFile)) {
+                try (InputStream in = Files.newInputStream(indexFile)) {
+                    index.load(in);
+                }
+                // Entries edited by hand or from an older format are just misses
+                for (String name : index.stringPropertyNames()) {
+                    if (index.getProperty(name).indexOf(' ') <= 0) index.remove(name);
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("[ContentCache] Disabled, can not use " + dir + ": " + e.getMessage());
+            enabled = false;
+        }
+    }
+
+    public static ContentCache getInstance() {
+        return INSTANCE;
+    }
+
+    // === Versions ===
+
+    /**
+     * Server version of the cached entry for name, or NONE
+     */
+    public synchronized String versionOf(String name) {
+        String entry = index.getProperty(name);
+        return entry != null ? entry.substring(0, entry.indexOf(' ')) : NONE;
+    }
+
+    /**
+     * Every cached name with its version, "name=version;..." for the CacheVersions packet
+     */
+    public synchronized String versions() {
+        StringBuilder sb = new StringBuilder();
+        for (String name : new TreeSet<>(index.stringPropertyNames())) {
+            if (sb.length() > 0) sb.append(';');
+            sb.append(name).append('=').append(versionOf(name));
+        }
+        return sb.toString();
+    }
+
+    // === Entries ===
+
+    /**
+     * Cached payload for name if it is at the given version and passes verification, else null
+     */
+    public synchronized String get(String name, String version) {
+        String entry = index.getProperty(name);
+        if (!enabled || entry == null) return null;
+        int space = entry.indexOf(' ');
+        if (!entry.substring(0, space).equals(version)) return null;
+
+        String sha = entry.substring(space + 1);
+        Path file = dir.resolve(sha);
+        try {
+            byte[] data = Files.readAllBytes(file);
+            if (!sha.equals(sha256(data))) {
+                System.err.println("[ContentCache] Dropping corrupt entry " + name);
+                Files.deleteIfExists(file);
+                forget(name);
+                return null;
+            }
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis())); // LRU
+            return new String(data, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            // Evicted or deleted by hand: just a miss
+            forget(name);
+            return null;
+        }
+    }
+
+    /**
+     * Store the payload for name at the server's version, replacing the previous one
+     */
+    public synchronized void put(String name, String version, String payload) {
+        if (!enabled || version.isEmpty() || version.indexOf(' ') >= 0) return;
+        byte[] data = payload.getBytes(StandardCharsets.UTF_8);
+        if (data.length > maxBytes) return;
+
+        String sha = sha256(data);
+        try {
+            Path file = dir.resolve(sha);
+            if (!Files.isRegularFile(file)) {
+                write(file, data);
+            } else {
+                Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            }
+            index.setProperty(name, version + " " + sha);
+            evict();
+            saveIndex();
+        } catch (IOException e) {
+            System.err.println("[ContentCache] Could not store " + name + ": " + e.getMessage());
+        }
+    }
+
+    private void forget(String name) {
+        index.remove(name);
+        try {
+            saveIndex();
+        } catch (IOException e) {
+            System.err.println("[ContentCache] Could not save index: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Delete least recently used payload files until the cache fits in maxBytes
+     */
+    private void evict() throws IOException {
+        List<Path> files = new ArrayList<>();
+        long total = 0;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+            for (Path file : stream) {
+                if (file.getFileName().toString().equals(INDEX) || file.getFileName().toString().endsWith(".tmp")) continue;
+                files.add(file);
+                total += Files.size(file);
+            }
+        }
+        if (total <= maxBytes) return;
+
+        files.sort(Comparator.comparingLong(file -> {
+            try {
+                return Files.getLastModifiedTime(file).toMillis();
+            } catch (IOException e) {
+                return 0L;
+            }
+        }));
+        for (Path file : files) {
+            if (total <= maxBytes) break;
+            total -= Files.size(file);
+            Files.deleteIfExists(file);
+            String sha = file.getFileName().toString();
+            index.values().removeIf(entry -> ((String) entry).endsWith(" " + sha));
+        }
+    }
+
+    private void saveIndex() throws IOException {
+        Path tmp = dir.resolve(INDEX + ".tmp");
+        try (OutputStream out = Files.newOutputStream(tmp)) {
+            index.store(out, "name = version sha256");
+        }
+        Files.move(tmp, dir.resolve(INDEX), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Write to a temporary file first so a crash never leaves a half-written entry behind
+     */
+    private static void write(Path file, byte[] data) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(tmp, data);
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // Every JRE has SHA-256
+        }
+    }
+}
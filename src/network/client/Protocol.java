@@ -153,6 +153,14 @@ public class Protocol {
         return message;
     }
     
+    /**
+     * Ask for the full maze layout when the one generated from MazeSeed failed its checksum
+     */
+    public String mazeMapRequestPacket(String username) {
+        message = "MazeMapRequest," + username;
+        return message;
+    }
+    
     /**
      * Send maze points when game ends
      */
@@ -201,6 +209,24 @@ public class Protocol {
         return message;
     }
     
+    // ============== Content Cache Protocols ==============
+    
+    /**
+     * Tell the server which cached data this client has: name=version;... (see ContentCache)
+     */
+    public String cacheVersionsPacket(String username, String versions) {
+        message = "CacheVersions," + username + "," + versions;
+        return message;
+    }
+    
+    /**
+     * Ask for the full data after a NotModified the cache can not serve
+     */
+    public String cacheMissPacket(String username, String name) {
+        message = "CacheMiss," + username + "," + name;
+        return message;
+    }
+    
     // ============== Skin Shop Protocols ==============
     
     /**
@@ -6,7 +6,10 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.concurrent.CountDownLatch;
 
+import debug.FrameProfiler;
+import org.java_websocket.WebSocket;
 import org.java_websocket.client.WebSocketClient;
+import org.java_websocket.framing.Framedata;
 import org.java_websocket.handshake.ServerHandshake;
 
 /**
@@ -39,6 +42,7 @@ public class WebSocketGameClient extends WebSocketClient {
     public void onMessage(String message) {
         // System.out.println("Received: " + message);
         lastReceivedMessage = message;
+        FrameProfiler.recordNetMessage(message.length());
         
         // Notify listener if set
         if (messageListener != null) {
@@ -46,6 +50,11 @@ public class WebSocketGameClient extends WebSocketClient {
         }
     }
 
+    @Override
+    public void onWebsocketPong(WebSocket conn, Framedata f) {
+        FrameProfiler.markPongReceived();
+    }
+
     @Override
     public void onClose(int code, String reason, boolean remote) {
         System.out.println("Connection closed: " + reason);
@@ -69,6 +78,15 @@ public class WebSocketGameClient extends WebSocketClient {
         }
     }
 
+    /**
+     * Send a WebSocket ping to measure round-trip time (answered by the server's pong)
+     */
+    public void sendLatencyProbe() {
+        if (isOpen() && FrameProfiler.markPingSent()) {
+            sendPing();
+        }
+    }
+
     public String getLastReceivedMessage() {
         return lastReceivedMessage;
     }
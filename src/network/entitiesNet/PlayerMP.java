@@ -1,5 +1,6 @@
 package network.entitiesNet;
 
+import hud.NameTag;
 import input.MouseHandler;
 import main.GameScene;
 import maps.MonsterHuntMap;
@@ -22,6 +23,7 @@ public class PlayerMP {
     private int direction;
     private int lastDirection = 1;
     private String username;
+    private NameTag nameTag; // Username sprite, built when the name is set
 
     //Bullets - Optimized with ArrayList
     private ArrayList<Bullet> bullets = new ArrayList<>();
@@ -59,7 +61,7 @@ public class PlayerMP {
 
         lastShotTime = System.currentTimeMillis();
 
-        chatImageTimer = new Timer(2000, e -> clearChatImage());
+        chatImageTimer = new Timer(DialogText.DISPLAY_MILLIS, e -> clearChatImage());
         chatImageTimer.setRepeats(false);
     }
 
@@ -74,13 +76,14 @@ public class PlayerMP {
         this.id = id;
         this.direction = direction;
         this.username = username;
+        this.nameTag = new NameTag(username);
         this.player = new Player(username, x, y, direction, id);
 
         dialogText = new DialogText();
 
         lastShotTime = System.currentTimeMillis();
 
-        chatImageTimer = new Timer(2000, e -> clearChatImage());
+        chatImageTimer = new Timer(DialogText.DISPLAY_MILLIS, e -> clearChatImage());
         chatImageTimer.setRepeats(false);
     }
 
@@ -184,18 +187,10 @@ public class PlayerMP {
     }
 
     public void render(Graphics2D g2d, int tileSize) {
-        // Calculate the center of the player's sprite
-        int centerX = player.getScreenX() + tileSize / 2;
-
-        // Get the width of the username string
-        int stringWidth = g2d.getFontMetrics().stringWidth(username);
-
-        // Adjust the x-coordinate of the username to center it
-        int usernameX = centerX - stringWidth / 2;
-
-        // Draw the username at the calculated position
-        g2d.setFont(new Font("Arial", Font.BOLD, 20));
-        g2d.drawString(username, usernameX, player.getScreenY());
+        // Center the username over the player's sprite
+        if (nameTag != null) {
+            nameTag.draw(g2d, player.getScreenX(), tileSize, player.getScreenY());
+        }
         player.render(g2d, tileSize);
         if (chatImage != null) {
             g2d.drawImage(chatImage, player.getScreenX() - 50, player.getScreenY() - chatImage.getHeight() - 5, null);
@@ -444,6 +439,11 @@ public class PlayerMP {
 
     public void setUsername(String username) {
         this.username = username;
+        this.nameTag = new NameTag(username);
+    }
+
+    public NameTag getNameTag() {
+        return nameTag;
     }
 
     public int getX() {
@@ -1,24 +1,22 @@
 package network.leaderBoard;
 
+import imageRender.AssetManager;
+
 import javax.swing.*;
 import javax.swing.plaf.basic.BasicScrollBarUI;
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.IOException;
-import javax.imageio.ImageIO;
 
 public class CustomScrollBarUI extends BasicScrollBarUI {
     private BufferedImage thumbImage, trackImage, arrowUpImage, arrowDownImage;
 
     public CustomScrollBarUI() {
-        try {
-            thumbImage = ImageIO.read(getClass().getResource("/Ui/thumb.png"));
-            trackImage = ImageIO.read(getClass().getResource("/Ui/track.png"));
-            arrowUpImage = ImageIO.read(getClass().getResource("/Ui/arrowUp.png"));
-            arrowDownImage = ImageIO.read(getClass().getResource("/Ui/arrowDown.png"));
-        } catch (IOException ex) {
-            ex.printStackTrace();
-        }
+        // Shared by every scroll bar (each LeaderBoard creates two)
+        AssetManager assets = AssetManager.getInstance();
+        thumbImage = assets.acquireImage("ui", "/Ui/thumb.png");
+        trackImage = assets.acquireImage("ui", "/Ui/track.png");
+        arrowUpImage = assets.acquireImage("ui", "/Ui/arrowUp.png");
+        arrowDownImage = assets.acquireImage("ui", "/Ui/arrowDown.png");
     }
 
     @Override
@@ -1,9 +1,14 @@
 package network.leaderBoard;
 
+import imageRender.AssetManager;
+
 import javax.swing.*;
 import java.awt.*;
 
 public class LeaderBoard extends JScrollPane {
+    // One icon shared by every row instead of a new ImageIcon per entry
+    private static ImageIcon rowIcon;
+
     private DefaultListModel<PlayerLB> leaderboardModel;
     private JList<PlayerLB> leaderboardList;
 
@@ -27,10 +32,17 @@ public class LeaderBoard extends JScrollPane {
     }
 
     public void add(String username, int score) {
-        PlayerLB player1 = new PlayerLB(username, score, new ImageIcon(this.getClass().getResource("/LeaderBoard/playerLB.png")));
+        PlayerLB player1 = new PlayerLB(username, score, rowIcon());
         leaderboardModel.addElement(player1);
     }
 
+    private static ImageIcon rowIcon() {
+        if (rowIcon == null) {
+            rowIcon = new ImageIcon(AssetManager.getInstance().acquireImage("ui", "/LeaderBoard/playerLB.png"));
+        }
+        return rowIcon;
+    }
+
     public void clear() {
         leaderboardModel.clear();
     }
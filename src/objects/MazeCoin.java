@@ -60,16 +60,19 @@ public class MazeCoin {
      * Check collision with player
      */
     public boolean checkCollision(Player player) {
+        Rectangle hitBox = player.getHitBox();
+        return overlaps(player.getWorldX() + hitBox.x, player.getWorldY() + hitBox.y, hitBox.width, hitBox.height);
+    }
+    
+    /**
+     * Whether the coin's pickup area intersects a world rectangle (same test as Rectangle.intersects, without the objects)
+     */
+    public boolean overlaps(int rx, int ry, int rw, int rh) {
         if (isCollected) return false;
-        
-        Rectangle coinRect = new Rectangle(x + 4, y + 4, size - 8, size - 8);
-        Rectangle playerRect = new Rectangle(
-            player.getWorldX() + player.getHitBox().x,
-            player.getWorldY() + player.getHitBox().y,
-            player.getHitBox().width, player.getHitBox().height
-        );
-        
-        return coinRect.intersects(playerRect);
+        int cx = x + 4;
+        int cy = y + 4;
+        int cs = size - 8;
+        return rx < cx + cs && cx < rx + rw && ry < cy + cs && cy < ry + rh;
     }
     
     /**
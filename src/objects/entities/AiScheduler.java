@@ -0,0 +1,224 @@
+package objects.entities;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * AiScheduler - runs monster and maze enemy AI at a rate that depends on how far they are from
+ * the player, with a fixed number of AI updates per frame however many there are.
+ *
+ *   within nearDistance    every frame
+ *   within farDistance     every 4th frame
+ *   beyond                 every 16th frame
+ *
+ * The period is picked again at every update from the distance at that time. New agents get a
+ * staggered first slot so a wave spawned together does not update together. When more agents are
+ * due than the per-frame budget allows, the near ones go first and the rest wait in round-robin
+ * order; nobody is lost, they are just updated a frame or two later.
+ *
+ * An agent is told how many frames passed since its last update and moves as far as it would have
+ * in that time, so skipped frames do not slow anything down.
+ *
+ * The agents picked for a frame are updated as one batch, by a ParallelAiUpdater when one is set
+ * (several threads once the batch is big enough) or in order on the calling thread.
+ */
+public final class AiScheduler {
+    private static final int NEAR_PERIOD = 1;
+    private static final int MID_PERIOD = 4;
+    private static final int FAR_PERIOD = 16;
+
+    /**
+     * Something the scheduler updates; it keeps its own Slot
+     */
+    public interface Agent {
+        int getWorldX();
+
+        int getWorldY();
+
+        Slot getAiSlot();
+
+        /**
+         * Run the AI for elapsedFrames frames at once (1 when updated every frame). This may run on
+         * a worker thread next to other agents, so it only changes the agent itself; when it needs
+         * shared state (a path search) it returns false and that part is left for finishAI.
+         */
+        boolean updateAI(PlayerSnapshot player, int elapsedFrames);
+
+        /**
+         * Rest of an update that returned false, on the update thread once the batch is done
+         */
+        default void finishAI(PlayerSnapshot player) {
+        }
+    }
+
+    /**
+     * What the AI may read of the player; taken once per frame and not changed while agents update
+     */
+    public static final class PlayerSnapshot {
+        private int worldX;
+        private int worldY;
+
+        public static PlayerSnapshot of(Player player) {
+            PlayerSnapshot snapshot = new PlayerSnapshot();
+            snapshot.capture(player);
+            return snapshot;
+        }
+
+        void capture(Player player) {
+            worldX = player.getWorldX();
+            worldY = player.getWorldY();
+        }
+
+        public int getWorldX() {
+            return worldX;
+        }
+
+        public int getWorldY() {
+            return worldY;
+        }
+    }
+
+    /**
+     * Scheduling state of one agent
+     */
+    public static final class Slot {
+        private int lastFrame = -1; // -1 until the first update
+        private int dueFrame;
+        private int period = NEAR_PERIOD;
+
+        /**
+         * Forget the last update, so the next one runs a single frame; for agents that were kept
+         * up to date elsewhere in the meantime (MonsterStore)
+         */
+        void restart() {
+            lastFrame = -1;
+        }
+    }
+
+    private final long nearDistanceSq;
+    private final long farDistanceSq;
+    private final int maxUpdatesPerFrame;
+    private int frame;
+    private int nearCursor;   // Where each round-robin pass starts next frame
+    private int cursor;
+    private int stagger;      // Spreads the first slot of new agents
+    private final PlayerSnapshot player = new PlayerSnapshot();
+    private ParallelAiUpdater updater; // null: update on the calling thread
+
+    // Agents picked this frame and the frames each one has to catch up
+    private Agent[] batch = new Agent[64];
+    private int[] batchFrames = new int[64];
+    private boolean[] batchFirst = new boolean[64];
+
+    // Stats of the last frame
+    private int updates;
+    private int deferred;
+
+    public AiScheduler(int nearDistance, int farDistance, int maxUpdatesPerFrame) {
+        this.nearDistanceSq = (long) nearDistance * nearDistance;
+        this.farDistanceSq = (long) farDistance * farDistance;
+        this.maxUpdatesPerFrame = maxUpdatesPerFrame;
+    }
+
+    /**
+     * One frame: update the agents that are due, near ones first, at most maxUpdatesPerFrame
+     */
+    public void run(List<? extends Agent> agents, Player targetPlayer) {
+        frame++;
+        updates = 0;
+        deferred = 0;
+        if (agents.isEmpty()) return;
+        player.capture(targetPlayer);
+        nearCursor = pass(agents, true, nearCursor);
+        cursor = pass(agents, false, cursor);
+
+        if (updater != null) {
+            updater.update(batch, batchFrames, updates, player);
+        } else {
+            ParallelAiUpdater.updateSerial(batch, batchFrames, 0, updates, player);
+        }
+        for (int i = 0; i < updates; i++) {
+            schedule(batch[i], batchFirst[i]);
+            batch[i] = null;
+        }
+    }
+
+    /**
+     * Update picked batches with this updater instead of on the calling thread; null goes back to that
+     */
+    public void setUpdater(ParallelAiUpdater updater) {
+        this.updater = updater;
+    }
+
+    /**
+     * Pick the due agents of one pass (near ones, or all the others) in turn from start;
+     * returns where the next frame should start, the first agent that had to wait
+     */
+    private int pass(List<? extends Agent> agents, boolean near, int start) {
+        int size = agents.size();
+        int next = -1;
+        int i = start < size ? start : 0;
+        for (int n = 0; n < size; n++, i = i + 1 == size ? 0 : i + 1) {
+            Agent agent = agents.get(i);
+            Slot slot = agent.getAiSlot();
+            boolean nearAgent = slot.period == NEAR_PERIOD && slot.lastFrame >= 0;
+            if (nearAgent != near || slot.lastFrame == frame || slot.dueFrame > frame) continue;
+            if (updates == maxUpdatesPerFrame) {
+                if (next < 0) next = i;
+                deferred++;
+                continue;
+            }
+            pick(agent, slot);
+        }
+        return next >= 0 ? next : start;
+    }
+
+    private void pick(Agent agent, Slot slot) {
+        if (updates == batch.length) {
+            batch = Arrays.copyOf(batch, updates * 2);
+            batchFrames = Arrays.copyOf(batchFrames, updates * 2);
+            batchFirst = Arrays.copyOf(batchFirst, updates * 2);
+        }
+        boolean first = slot.lastFrame < 0;
+        batch[updates] = agent;
+        batchFrames[updates] = first ? 1 : frame - slot.lastFrame;
+        batchFirst[updates] = first;
+        slot.lastFrame = frame;
+        updates++;
+    }
+
+    /**
+     * Next update of an agent that was just updated, from where it is now
+     */
+    private void schedule(Agent agent, boolean first) {
+        Slot slot = agent.getAiSlot();
+        long dx = agent.getWorldX() - player.worldX;
+        long dy = agent.getWorldY() - player.worldY;
+        long distanceSq = dx * dx + dy * dy;
+        slot.period = distanceSq < nearDistanceSq ? NEAR_PERIOD : distanceSq < farDistanceSq ? MID_PERIOD : FAR_PERIOD;
+        slot.dueFrame = frame + slot.period;
+        if (first && slot.period > NEAR_PERIOD) {
+            slot.dueFrame = frame + 1 + (stagger++ % slot.period);
+        }
+    }
+
+    // === Stats ===
+
+    /**
+     * AI updates run in the last frame
+     */
+    public int getUpdates() {
+        return updates;
+    }
+
+    /**
+     * Agents that were due in the last frame but over the budget
+     */
+    public int getDeferred() {
+        return deferred;
+    }
+
+    public int getMaxUpdatesPerFrame() {
+        return maxUpdatesPerFrame;
+    }
+}
@@ -1,18 +1,20 @@
 package objects.entities;
 
+import imageRender.AssetManager;
 import main.GameScene;
 import maps.MonsterHuntMap;
 import network.client.Client;
 import network.client.Protocol;
 import network.entitiesNet.PlayerMP;
 
-import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.IOException;
 import java.util.ArrayList;
 
 public class Bullet {
+    // Decoded once and shared by every bullet
+    private static final BufferedImage BOMB_IMAGE = AssetManager.getInstance().acquireImage("bullets", "/player/Bomb/bomb.PNG");
+
     private Image bulletImg;
     private BufferedImage bulletBuffImage;
 
@@ -95,12 +97,8 @@ public class Bullet {
         // Calculate rotation angle from velocity
         rotationAngle = Math.atan2(velocityY, velocityX);
         
-        try {
-            bulletImg = ImageIO.read(getClass().getResource("/player/Bomb/bomb.PNG"));
-            bulletBuffImage = ImageIO.read(getClass().getResource("/player/Bomb/bomb.PNG"));
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
+        bulletImg = BOMB_IMAGE;
+        bulletBuffImage = BOMB_IMAGE;
         this.playerShot = playerShot;
     }
     
@@ -144,12 +142,8 @@ public class Bullet {
         // Determine integer direction for compatibility
         this.direction = calculateDirectionFromVector(dirX, dirY);
         
-        try {
-            bulletImg = ImageIO.read(getClass().getResource("/player/Bomb/bomb.PNG"));
-            bulletBuffImage = ImageIO.read(getClass().getResource("/player/Bomb/bomb.PNG"));
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
+        bulletImg = BOMB_IMAGE;
+        bulletBuffImage = BOMB_IMAGE;
         this.playerShot = playerShot;
     }
     
@@ -1,5 +1,8 @@
 package objects.entities;
 
+import font.GlyphAtlas;
+import hud.HudStyle;
+
 import java.awt.*;
 
 /**
@@ -13,11 +16,35 @@ public class DamageNumber {
     private int lifetime;
     private int maxLifetime;
     private float velocityY;
-    private Color color;
     private boolean isCritical;
     private boolean isGold; // For gold earned display
+    private final String text;
     
     private static final int DEFAULT_LIFETIME = 60; // 1 second at 60fps
+
+    /**
+     * Pixel font atlases, rasterized on first render (on the EDT) rather than on the first hit
+     */
+    private static final class Glyphs {
+        static final GlyphAtlas CRITICAL = GlyphAtlas.pixel(20, new Color(255, 200, 0)); // Gold for critical
+        static final GlyphAtlas CRITICAL_SHADOW = GlyphAtlas.pixel(20, new Color(0, 0, 0, 150));
+        static final GlyphAtlas CRITICAL_OUTLINE = GlyphAtlas.pixel(20, new Color(255, 100, 0, 200));
+        static final GlyphAtlas GOLD = GlyphAtlas.pixel(16, HudStyle.GOLD);
+        static final GlyphAtlas GOLD_SHADOW = GlyphAtlas.pixel(16, new Color(0, 0, 0, 150));
+        static final GlyphAtlas NORMAL = GlyphAtlas.pixel(14, Color.WHITE);
+        static final GlyphAtlas NORMAL_SHADOW = GlyphAtlas.pixel(14, new Color(0, 0, 0, 150));
+
+        static void init() {
+            // Calling this runs the static initializers above
+        }
+    }
+
+    /**
+     * Rasterize the damage number atlases ahead of the first hit
+     */
+    public static void preloadGlyphs() {
+        Glyphs.init();
+    }
     
     public DamageNumber(int x, int y, int damage, boolean isCritical) {
         this.x = x;
@@ -29,13 +56,7 @@ public class DamageNumber {
         this.lifetime = maxLifetime;
         this.velocityY = -2.0f; // Float upward
         this.isGold = false;
-        
-        // Color based on damage type
-        if (isCritical) {
-            this.color = new Color(255, 200, 0); // Gold for critical
-        } else {
-            this.color = Color.WHITE;
-        }
+        this.text = isCritical ? "-" + damage + "!" : "-" + damage;
     }
     
     /**
@@ -51,7 +72,7 @@ public class DamageNumber {
         this.maxLifetime = 90; // 1.5 seconds
         this.lifetime = maxLifetime;
         this.velocityY = -1.5f;
-        this.color = new Color(255, 215, 0); // Gold color
+        this.text = "+" + gold + "G";
     }
     
     /**
@@ -79,44 +100,34 @@ public class DamageNumber {
         int screenX = x - playerWorldX + playerScreenX;
         int screenY = y - playerWorldY + playerScreenY;
         
-        // Set font based on type
-        Font font;
+        GlyphAtlas main;
+        GlyphAtlas shadow;
         if (isCritical) {
-            font = new Font("Arial", Font.BOLD, 20);
+            main = Glyphs.CRITICAL;
+            shadow = Glyphs.CRITICAL_SHADOW;
         } else if (isGold) {
-            font = new Font("Arial", Font.BOLD, 16);
-        } else {
-            font = new Font("Arial", Font.BOLD, 14);
-        }
-        g2d.setFont(font);
-        
-        // Create text
-        String text;
-        if (isGold) {
-            text = "+" + damage + "G";
+            main = Glyphs.GOLD;
+            shadow = Glyphs.GOLD_SHADOW;
         } else {
-            text = "-" + damage;
-            if (isCritical) {
-                text += "!";
-            }
+            main = Glyphs.NORMAL;
+            shadow = Glyphs.NORMAL_SHADOW;
         }
-        
-        FontMetrics fm = g2d.getFontMetrics();
-        int textWidth = fm.stringWidth(text);
-        
-        // Draw shadow with alpha
-        g2d.setColor(new Color(0, 0, 0, (int)(alpha * 150)));
-        g2d.drawString(text, screenX - textWidth / 2 + 2, screenY + 2);
-        
-        // Draw main text with alpha
-        g2d.setColor(new Color(color.getRed(), color.getGreen(), color.getBlue(), (int)(alpha * 255)));
-        g2d.drawString(text, screenX - textWidth / 2, screenY);
-        
+
+        int textX = screenX - main.stringWidth(text) / 2;
+
+        // Fade the whole number with one composite instead of per-frame Colors
+        Composite originalComposite = g2d.getComposite();
+        g2d.setComposite(HudStyle.alpha(alpha));
+
+        shadow.drawString(g2d, text, textX + 2, screenY + 2);
+        main.drawString(g2d, text, textX, screenY);
+
         // Draw outline for critical hits
         if (isCritical) {
-            g2d.setColor(new Color(255, 100, 0, (int)(alpha * 200)));
-            g2d.drawString(text, screenX - textWidth / 2 - 1, screenY - 1);
+            Glyphs.CRITICAL_OUTLINE.drawString(g2d, text, textX - 1, screenY - 1);
         }
+
+        g2d.setComposite(originalComposite);
     }
     
     /**
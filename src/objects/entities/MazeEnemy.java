@@ -1,19 +1,23 @@
 package objects.entities;
 
+import debug.jfr.PathSearchEvent;
 import main.GameScene;
+import maps.AdaptivePathfinder;
+import maps.HierarchicalPathfinder;
 import maps.MazeMap;
-import maps.TileType;
+import maps.TileGrid;
 
 import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.util.*;
+import java.util.function.IntUnaryOperator;
 
 /**
  * MazeEnemy represents AI-controlled enemies in the maze mode.
  * Uses A* and BFS pathfinding algorithms to chase the player through the maze.
  * Enemies are randomly generated and navigate around walls and obstacles.
  */
-public class MazeEnemy extends Entity {
+public class MazeEnemy extends Entity implements AiScheduler.Agent {
     private int id;
     private int health;
     private int maxHealth;
@@ -35,7 +39,16 @@ public class MazeEnemy extends Entity {
     private int pathIndex = 0;
     private int pathRecalculateTimer = 0;
     private static final int PATH_RECALCULATE_INTERVAL = 30; // Recalculate path every 0.5 seconds
+    private static final int HIERARCHICAL_ABOVE = 128; // A* mazes wider or taller than this search with HPA*
+    private static final int HIERARCHICAL_REFINE_NODES = 4; // Route nodes turned into tiles per search; plenty for 0.5 s
     private PathfindingMode pathfindingMode;
+    private int nodesExpanded = 0; // Nodes polled by the last search
+    private long totalNodesExpanded = 0;
+    private int searches = 0;
+    private int pathGoalX = -1; // Player tile the current path leads to
+    private int pathGoalY = -1;
+    private final AiScheduler.Slot aiSlot = new AiScheduler.Slot();
+    private int pendingFrames; // Frames of an update waiting for finishAI
     
     // Reference to maze map for collision detection
     private GameScene gameScene;
@@ -54,15 +67,16 @@ public class MazeEnemy extends Entity {
      * Pathfinding mode selection
      */
     public enum PathfindingMode {
-        ASTAR,  // A* algorithm - optimal pathfinding
-        BFS     // Breadth-First Search - simpler but guaranteed shortest path
+        ASTAR,    // A* algorithm - optimal pathfinding
+        BFS,      // Breadth-First Search - simpler but guaranteed shortest path
+        ADAPTIVE  // Incremental A* that reuses what earlier searches towards the player learned (AdaptivePathfinder)
     }
     
     /**
      * Enemy types with different stats
      */
     public enum EnemyType {
-        GHOST(40, 10, 3, 60, PathfindingMode.ASTAR),      // Fast, uses A*
+        GHOST(40, 10, 3, 60, PathfindingMode.ADAPTIVE),   // Fast long-range chaser, uses incremental A*
         ZOMBIE(60, 15, 2, 80, PathfindingMode.BFS),       // Medium, uses BFS
         SKELETON(80, 20, 2, 100, PathfindingMode.ASTAR),  // Strong, uses A*
         DEMON(150, 30, 1, 120, PathfindingMode.BFS);      // Boss, uses BFS
@@ -108,6 +122,13 @@ public class MazeEnemy extends Entity {
         initSpritesIfNeeded();
     }
     
+    /**
+     * Build the shared maze enemy sprites ahead of the first spawn (used by the startup preload)
+     */
+    public static void preloadSprites() {
+        initSpritesIfNeeded();
+    }
+    
     /**
      * Initialize sprites for all enemy types (only runs once)
      */
@@ -227,61 +248,116 @@ public class MazeEnemy extends Entity {
      * Update AI - pathfinding and movement towards player
      */
     public void updateAI(Player targetPlayer) {
-        if (!isAlive) return;
+        AiScheduler.PlayerSnapshot player = AiScheduler.PlayerSnapshot.of(targetPlayer);
+        if (!updateAI(player, 1)) {
+            finishAI(player);
+        }
+    }
+    
+    /**
+     * Run the AI for a number of frames at once, as AiScheduler does for enemies far from the player.
+     * A path search goes through the maze's shared pathfinders, so when one is due this stops
+     * there and returns false; finishAI does the search and the rest.
+     */
+    @Override
+    public boolean updateAI(AiScheduler.PlayerSnapshot player, int frames) {
+        if (!isAlive) return true;
         
         // Animation update
-        animationCounter++;
+        animationCounter += frames;
         if (animationCounter >= ANIMATION_SPEED) {
-            spriteIndex = (spriteIndex + 1) % 4;
-            animationCounter = 0;
+            spriteIndex = (spriteIndex + animationCounter / ANIMATION_SPEED) % 4;
+            animationCounter %= ANIMATION_SPEED;
         }
         
         // Attack cooldown
-        if (attackTimer > 0) {
-            attackTimer--;
-        }
+        attackTimer = Math.max(0, attackTimer - frames);
         
         // Recalculate path periodically
-        pathRecalculateTimer++;
+        pathRecalculateTimer += frames;
         if (pathRecalculateTimer >= PATH_RECALCULATE_INTERVAL || currentPath.isEmpty()) {
-            recalculatePath(targetPlayer);
-            pathRecalculateTimer = 0;
+            pendingFrames = frames;
+            return false;
         }
         
+        move(player, frames);
+        return true;
+    }
+    
+    /**
+     * Path search of an update that returned false, then the rest of that update
+     */
+    @Override
+    public void finishAI(AiScheduler.PlayerSnapshot player) {
+        recalculatePath(player);
+        pathRecalculateTimer = 0;
+        move(player, pendingFrames);
+    }
+    
+    private void move(AiScheduler.PlayerSnapshot player, int frames) {
         // Follow path
-        followPath();
+        followPath(frames);
         
         // Check if close enough to attack
-        double distance = getDistanceToPlayer(targetPlayer);
-        if (distance < attackRange && attackTimer <= 0) {
+        if (isInAttackRange(player) && attackTimer <= 0) {
             attackTimer = attackCooldown;
         }
     }
     
     /**
-     * Calculate distance to player
+     * Whether the player is closer than attackRange
      */
-    private double getDistanceToPlayer(Player player) {
-        return Math.sqrt(Math.pow(worldX - player.getWorldX(), 2) + 
-                        Math.pow(worldY - player.getWorldY(), 2));
+    private boolean isInAttackRange(AiScheduler.PlayerSnapshot player) {
+        long dx = worldX - player.getWorldX();
+        long dy = worldY - player.getWorldY();
+        return dx * dx + dy * dy < (long) attackRange * attackRange;
     }
     
     /**
      * Recalculate path to player using selected algorithm
      */
-    private void recalculatePath(Player targetPlayer) {
+    private void recalculatePath(AiScheduler.PlayerSnapshot targetPlayer) {
         int startTileX = worldX / tileSize;
         int startTileY = worldY / tileSize;
         int endTileX = targetPlayer.getWorldX() / tileSize;
         int endTileY = targetPlayer.getWorldY() / tileSize;
         
-        if (pathfindingMode == PathfindingMode.ASTAR) {
+        // Player still on the same tile and the enemy still on its path: the rest of it is still the shortest
+        if (pathfindingMode == PathfindingMode.ADAPTIVE && endTileX == pathGoalX && endTileY == pathGoalY
+                && pathIndex < currentPath.size()) {
+            nodesExpanded = 0;
+            return;
+        }
+        
+        PathSearchEvent event = new PathSearchEvent();
+        event.begin();
+        nodesExpanded = 0;
+        String algorithm = pathfindingMode.name();
+        MazeMap mazeMap = gameScene.getMazeMap();
+        if (pathfindingMode == PathfindingMode.ASTAR && mazeMap != null && mazeMap.getTileGrid() != null
+                && Math.max(mazeMap.getMapTileCol(), mazeMap.getMapTileRow()) > HIERARCHICAL_ABOVE) {
+            currentPath = findPathHierarchical(mazeMap, startTileX, startTileY, endTileX, endTileY);
+            algorithm = "HPA";
+        } else if (pathfindingMode == PathfindingMode.ASTAR) {
             currentPath = findPathAStar(startTileX, startTileY, endTileX, endTileY);
+        } else if (pathfindingMode == PathfindingMode.ADAPTIVE && mazeMap != null && mazeMap.getTileGrid() != null) {
+            currentPath = findPathAdaptive(mazeMap, startTileX, startTileY, endTileX, endTileY);
         } else {
             currentPath = findPathBFS(startTileX, startTileY, endTileX, endTileY);
         }
+        event.end();
+        if (event.shouldCommit()) {
+            event.algorithm = algorithm;
+            event.nodesExpanded = nodesExpanded;
+            event.pathLength = currentPath.size();
+            event.commit();
+        }
+        totalNodesExpanded += nodesExpanded;
+        searches++;
         
         pathIndex = 0;
+        pathGoalX = endTileX;
+        pathGoalY = endTileY;
     }
     
     /**
@@ -307,6 +383,7 @@ public class MazeEnemy extends Entity {
         
         while (!openSet.isEmpty()) {
             Node current = openSet.poll();
+            nodesExpanded++;
             
             // Found the goal
             if (current.x == endX && current.y == endY) {
@@ -350,6 +427,39 @@ public class MazeEnemy extends Entity {
         return path;
     }
     
+    /**
+     * HPA* on the maze's cluster graph (see HierarchicalPathfinder); only the first few route
+     * nodes are refined into tiles, the path is searched again before the enemy gets further
+     */
+    private ArrayList<int[]> findPathHierarchical(MazeMap mazeMap, int startX, int startY, int endX, int endY) {
+        HierarchicalPathfinder pathfinder = mazeMap.getPathfinder();
+        pathfinder.search(startX, startY, endX, endY, HIERARCHICAL_REFINE_NODES);
+        nodesExpanded = pathfinder.getExpanded();
+        return toTiles(pathfinder.getPathSize(), pathfinder::getPathCell, mazeMap.getMapTileCol());
+    }
+    
+    /**
+     * Path of row-major cells as the [tileX, tileY] waypoints followPath() walks
+     */
+    private static ArrayList<int[]> toTiles(int size, IntUnaryOperator cellAt, int cols) {
+        ArrayList<int[]> path = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int cell = cellAt.applyAsInt(i);
+            path.add(new int[]{cell % cols, cell / cols});
+        }
+        return path;
+    }
+    
+    /**
+     * Incremental A* shared by every enemy chasing the player (see AdaptivePathfinder)
+     */
+    private ArrayList<int[]> findPathAdaptive(MazeMap mazeMap, int startX, int startY, int endX, int endY) {
+        AdaptivePathfinder pathfinder = mazeMap.getAdaptivePathfinder();
+        pathfinder.search(startX, startY, endX, endY);
+        nodesExpanded = pathfinder.getExpanded();
+        return toTiles(pathfinder.getPathSize(), pathfinder::getPathCell, mazeMap.getMapTileCol());
+    }
+    
     /**
      * BFS pathfinding algorithm
      * Guaranteed shortest path (unweighted)
@@ -368,6 +478,7 @@ public class MazeEnemy extends Entity {
         
         while (!queue.isEmpty()) {
             Node current = queue.poll();
+            nodesExpanded++;
             
             // Found the goal
             if (current.x == endX && current.y == endY) {
@@ -412,53 +523,43 @@ public class MazeEnemy extends Entity {
      * Check if a tile is walkable
      */
     private boolean isWalkable(int tileX, int tileY) {
-        try {
-            MazeMap mazeMap = gameScene.getMazeMap();
-            if (mazeMap == null) return false;
-            
-            int[][] mapTileNum = mazeMap.getMapTileNum();
-            if (tileX < 0 || tileY < 0 || 
-                tileX >= mazeMap.getMapTileCol() || 
-                tileY >= mazeMap.getMapTileRow()) {
-                return false;
-            }
-            
-            int tileNum = mapTileNum[tileX][tileY];
-            TileType tileType = mazeMap.getTiles()[tileNum].getType();
-            
-            // Wall and Hole are not walkable
-            return tileType != TileType.Wall && tileType != TileType.Hole;
-        } catch (Exception e) {
-            return false;
-        }
+        MazeMap mazeMap = gameScene.getMazeMap();
+        if (mazeMap == null) return false;
+        
+        TileGrid grid = mazeMap.getTileGrid();
+        
+        // Wall and Hole are not walkable (outside the maze counts as wall)
+        return grid != null && (grid.getMask(tileX, tileY) & (TileGrid.SOLID | TileGrid.HOLE)) == 0;
     }
     
     /**
-     * Follow the calculated path
+     * Follow the calculated path, as far as the enemy walks in that many frames
      */
-    private void followPath() {
-        if (currentPath.isEmpty() || pathIndex >= currentPath.size()) {
-            return;
-        }
-        
-        int[] targetTile = currentPath.get(pathIndex);
-        int targetX = targetTile[0] * tileSize + tileSize / 2;
-        int targetY = targetTile[1] * tileSize + tileSize / 2;
-        
-        int dx = targetX - worldX;
-        int dy = targetY - worldY;
-        
-        // Move towards target
-        double distance = Math.sqrt(dx * dx + dy * dy);
-        if (distance < speed * 2) {
-            // Reached current waypoint, move to next
-            pathIndex++;
-            worldX = targetX;
-            worldY = targetY;
-        } else {
+    private void followPath(int frames) {
+        int budget = speed * frames;
+        while (budget > 0 && pathIndex < currentPath.size()) {
+            int[] targetTile = currentPath.get(pathIndex);
+            int targetX = targetTile[0] * tileSize + tileSize / 2;
+            int targetY = targetTile[1] * tileSize + tileSize / 2;
+            
+            int dx = targetX - worldX;
+            int dy = targetY - worldY;
+            
+            // Move towards target
+            double distance = Math.sqrt(dx * dx + dy * dy);
+            if (distance < speed * 2 || distance <= budget) {
+                // Reached current waypoint, move to next
+                pathIndex++;
+                worldX = targetX;
+                worldY = targetY;
+                budget -= Math.max(speed, (int) distance);
+                continue;
+            }
+            
             // Move towards waypoint
-            worldX += (int) (speed * dx / distance);
-            worldY += (int) (speed * dy / distance);
+            worldX += (int) (budget * dx / distance);
+            worldY += (int) (budget * dy / distance);
+            budget = 0;
             
             // Update direction for animation
             if (Math.abs(dx) > Math.abs(dy)) {
@@ -600,6 +701,11 @@ public class MazeEnemy extends Entity {
     public int getAttackRange() { return attackRange; }
     public boolean canAttack() { return attackTimer <= 0 && isAlive; }
     public PathfindingMode getPathfindingMode() { return pathfindingMode; }
+    public int getNodesExpanded() { return nodesExpanded; }
+    public long getTotalNodesExpanded() { return totalNodesExpanded; }
+    public int getSearchCount() { return searches; }
+    @Override
+    public AiScheduler.Slot getAiSlot() { return aiSlot; }
     
     /**
      * Set pathfinding mode (can be changed at runtime)
@@ -1,8 +1,9 @@
 package objects.entities;
 
 import main.GameScene;
+import maps.MazeField;
 import maps.MazeMap;
-import maps.TileType;
+import maps.TileIndex;
 import objects.entities.MazeEnemy.EnemyType;
 
 import java.awt.*;
@@ -18,6 +19,7 @@ import java.util.concurrent.CopyOnWriteArrayList;
 public class MazeEnemySpawner {
     private CopyOnWriteArrayList<MazeEnemy> enemies;
     private CopyOnWriteArrayList<Trap> traps;
+    private TileIndex<Trap> trapIndex; // Same traps by tile, for collision and culling
     private GameScene gameScene;
     private Random random;
     
@@ -53,6 +55,7 @@ public class MazeEnemySpawner {
         spawnTimer = 0;
         enemies.clear();
         traps.clear();
+        trapIndex = null;
         nextEnemyId = 0;
         
         // No enemies in maze mode - only traps
@@ -69,6 +72,7 @@ public class MazeEnemySpawner {
         isActive = false;
         enemies.clear();
         traps.clear();
+        trapIndex = null;
     }
     
     /**
@@ -78,12 +82,6 @@ public class MazeEnemySpawner {
         if (!isActive) return;
         
         // No enemies in maze - only update traps
-        // Update all enemies
-        // for (MazeEnemy enemy : enemies) {
-        //     if (enemy.isAlive()) {
-        //         enemy.updateAI(targetPlayer);
-        //     }
-        // }
         
         // Remove dead enemies
         // enemies.removeIf(e -> !e.isAlive());
@@ -132,60 +130,31 @@ public class MazeEnemySpawner {
     }
     
     /**
-     * Find a valid spawn position away from player
+     * Find a valid spawn position away from player: a few O(1) draws from the maze's reachable tiles
      */
     private int[] findValidSpawnPosition() {
         MazeMap mazeMap = gameScene.getMazeMap();
-        if (mazeMap == null) return null;
-        
-        int mapCols = mazeMap.getMapTileCol();
-        int mapRows = mazeMap.getMapTileRow();
-        int[][] mapTileNum = mazeMap.getMapTileNum();
+        if (mazeMap == null || mazeMap.getTileGrid() == null) return null;
+        MazeField field = mazeMap.getField();
         
         int playerTileX = gameScene.getPlayer().getWorldX() / tileSize;
         int playerTileY = gameScene.getPlayer().getWorldY() / tileSize;
         
-        // Try to find a valid position
-        int attempts = 0;
-        while (attempts < 100) {
-            int tileX = random.nextInt(mapCols);
-            int tileY = random.nextInt(mapRows);
+        for (int attempts = 0; attempts < 16; attempts++) {
+            int cell = field.randomReachable(random);
+            if (cell < 0) return null;
+            int tileX = cell % field.getCols();
+            int tileY = cell / field.getCols();
             
-            // Check if walkable and far enough from player
-            if (isWalkable(tileX, tileY, mazeMap)) {
-                int distance = Math.abs(tileX - playerTileX) + Math.abs(tileY - playerTileY);
-                if (distance > 5) { // At least 5 tiles away from player
-                    return new int[]{tileX * tileSize, tileY * tileSize};
-                }
+            int distance = Math.abs(tileX - playerTileX) + Math.abs(tileY - playerTileY);
+            if (distance > 5) { // At least 5 tiles away from player
+                return new int[]{tileX * tileSize, tileY * tileSize};
             }
-            
-            attempts++;
         }
         
         return null;
     }
     
-    /**
-     * Check if a tile is walkable
-     */
-    private boolean isWalkable(int tileX, int tileY, MazeMap mazeMap) {
-        try {
-            int[][] mapTileNum = mazeMap.getMapTileNum();
-            if (tileX < 0 || tileY < 0 || 
-                tileX >= mazeMap.getMapTileCol() || 
-                tileY >= mazeMap.getMapTileRow()) {
-                return false;
-            }
-            
-            int tileNum = mapTileNum[tileX][tileY];
-            TileType tileType = mazeMap.getTiles()[tileNum].getType();
-            
-            return tileType != TileType.Wall && tileType != TileType.Hole;
-        } catch (Exception e) {
-            return false;
-        }
-    }
-    
     /**
      * Select enemy type based on game progress
      */
@@ -211,31 +180,36 @@ public class MazeEnemySpawner {
     }
     
     /**
-     * Place traps throughout the maze, ensuring a safe path exists
+     * Place traps throughout the maze, ensuring a safe path exists. The candidates (reachable
+     * tiles off the shortest start-finish path and away from the start) come precomputed with
+     * the maze's MazeField, so each trap is one draw.
      */
     private void placeTraps() {
         MazeMap mazeMap = gameScene.getMazeMap();
-        if (mazeMap == null) return;
+        if (mazeMap == null || mazeMap.getTileGrid() == null) return;
         
         int mapCols = mazeMap.getMapTileCol();
         int mapRows = mazeMap.getMapTileRow();
-        
-        // Find the safe path from start to finish using BFS
-        // Start position: player spawn (usually near entrance)
-        // End position: finish line (tile type 2)
-        HashSet<String> safePath = findSafePath(mazeMap);
+        MazeField field = mazeMap.getField();
+        MazeField.Sampler candidates = field.trapSampler(random);
         
         // Place traps - mix of different types
         int trapCount = Math.max(10, (mapCols * mapRows) / 40);
         
-        for (int i = 0; i < trapCount; i++) {
-            int[] pos = findValidTrapPosition(mazeMap, safePath);
-            if (pos != null) {
-                // Variety of trap types
-                Trap.TrapType type = selectTrapType();
-                traps.add(new Trap(pos[0], pos[1], tileSize, type));
-            }
+        ArrayList<Trap> placed = new ArrayList<>(Math.min(trapCount, field.getTrapCandidateCount()));
+        int cell;
+        while (placed.size() < trapCount && (cell = candidates.next()) >= 0) {
+            // Variety of trap types
+            Trap.TrapType type = selectTrapType();
+            placed.add(new Trap((cell % mapCols) * tileSize, (cell / mapCols) * tileSize, tileSize, type));
         }
+        traps.addAll(placed); // One copy of the CopyOnWriteArrayList instead of one per trap
+        
+        TileIndex<Trap> index = new TileIndex<>(mapCols, mapRows, tileSize, placed.size());
+        for (Trap trap : placed) {
+            index.add(trap, trap.getX(), trap.getY());
+        }
+        trapIndex = index;
     }
     
     /**
@@ -250,155 +224,6 @@ public class MazeEnemySpawner {
         return Trap.TrapType.POISON;                       // 25% - damage over time
     }
     
-    /**
-     * Find safe path from start to finish using BFS
-     * Returns set of tile coordinates (as "x,y" strings) that are on the safe path
-     */
-    private HashSet<String> findSafePath(MazeMap mazeMap) {
-        HashSet<String> safePath = new HashSet<>();
-        
-        int mapCols = mazeMap.getMapTileCol();
-        int mapRows = mazeMap.getMapTileRow();
-        int[][] mapTileNum = mazeMap.getMapTileNum();
-        
-        // Find start position (near player spawn, first walkable tile)
-        int startX = -1, startY = -1;
-        int endX = -1, endY = -1;
-        
-        // Start: find first walkable tile in first few rows (entrance area)
-        for (int y = 0; y < Math.min(10, mapRows) && startX == -1; y++) {
-            for (int x = 0; x < mapCols; x++) {
-                if (isWalkable(x, y, mazeMap)) {
-                    startX = x;
-                    startY = y;
-                    break;
-                }
-            }
-        }
-        
-        // End: find finish line tile (type 2) or last walkable tile
-        for (int y = mapRows - 1; y >= Math.max(0, mapRows - 10) && endX == -1; y--) {
-            for (int x = 0; x < mapCols; x++) {
-                try {
-                    int tileNum = mapTileNum[x][y];
-                    TileType type = mazeMap.getTiles()[tileNum].getType();
-                    if (type == TileType.FinishLine || (endX == -1 && isWalkable(x, y, mazeMap))) {
-                        endX = x;
-                        endY = y;
-                        if (type == TileType.FinishLine) break;
-                    }
-                } catch (Exception e) {
-                    // Skip invalid tiles
-                }
-            }
-        }
-        
-        if (startX == -1 || endX == -1) {
-            return safePath; // Return empty if no valid start/end
-        }
-        
-        // BFS to find shortest path
-        Queue<int[]> queue = new LinkedList<>();
-        HashMap<String, String> parent = new HashMap<>();
-        HashSet<String> visited = new HashSet<>();
-        
-        String startKey = startX + "," + startY;
-        queue.add(new int[]{startX, startY});
-        visited.add(startKey);
-        parent.put(startKey, null);
-        
-        int[][] directions = {{0, -1}, {0, 1}, {-1, 0}, {1, 0}};
-        String endKey = endX + "," + endY;
-        boolean found = false;
-        
-        while (!queue.isEmpty() && !found) {
-            int[] current = queue.poll();
-            String currentKey = current[0] + "," + current[1];
-            
-            if (current[0] == endX && current[1] == endY) {
-                found = true;
-                break;
-            }
-            
-            for (int[] dir : directions) {
-                int newX = current[0] + dir[0];
-                int newY = current[1] + dir[1];
-                String newKey = newX + "," + newY;
-                
-                if (!visited.contains(newKey) && isWalkable(newX, newY, mazeMap)) {
-                    visited.add(newKey);
-                    parent.put(newKey, currentKey);
-                    queue.add(new int[]{newX, newY});
-                }
-            }
-        }
-        
-        // Backtrack to build safe path
-        if (found) {
-            String current = endKey;
-            while (current != null) {
-                safePath.add(current);
-                
-                // Also add adjacent tiles to make path wider (safer)
-                String[] parts = current.split(",");
-                int x = Integer.parseInt(parts[0]);
-                int y = Integer.parseInt(parts[1]);
-                
-                // Add 1-tile buffer around the path
-                for (int dx = -1; dx <= 1; dx++) {
-                    for (int dy = -1; dy <= 1; dy++) {
-                        safePath.add((x + dx) + "," + (y + dy));
-                    }
-                }
-                
-                current = parent.get(current);
-            }
-        }
-        
-        return safePath;
-    }
-    
-    /**
-     * Find a valid trap position that is NOT on the safe path
-     */
-    private int[] findValidTrapPosition(MazeMap mazeMap, HashSet<String> safePath) {
-        int mapCols = mazeMap.getMapTileCol();
-        int mapRows = mazeMap.getMapTileRow();
-        
-        int playerTileX = gameScene.getPlayer().getWorldX() / tileSize;
-        int playerTileY = gameScene.getPlayer().getWorldY() / tileSize;
-        
-        // Try to find a valid position not on the safe path
-        int attempts = 0;
-        while (attempts < 200) {
-            int tileX = random.nextInt(mapCols);
-            int tileY = random.nextInt(mapRows);
-            String tileKey = tileX + "," + tileY;
-            
-            // Check if walkable, not on safe path, and far enough from player
-            if (isWalkable(tileX, tileY, mazeMap) && !safePath.contains(tileKey)) {
-                int distance = Math.abs(tileX - playerTileX) + Math.abs(tileY - playerTileY);
-                if (distance > 3) { // At least 3 tiles away from player
-                    // Check if this position doesn't already have a trap
-                    boolean hasTrap = false;
-                    for (Trap trap : traps) {
-                        if (trap.getX() == tileX * tileSize && trap.getY() == tileY * tileSize) {
-                            hasTrap = true;
-                            break;
-                        }
-                    }
-                    if (!hasTrap) {
-                        return new int[]{tileX * tileSize, tileY * tileSize};
-                    }
-                }
-            }
-            
-            attempts++;
-        }
-        
-        return null;
-    }
-    
     /**
      * Check bullet collision with all enemies
      * @return damage dealt if hit, 0 otherwise
@@ -437,15 +262,21 @@ public class MazeEnemySpawner {
      * @return trap effect if triggered, null otherwise
      */
     public Trap.TrapEffect checkPlayerTrapCollision(Player player) {
-        Rectangle playerRect = new Rectangle(
-            player.getWorldX() + player.getHitBox().x,
-            player.getWorldY() + player.getHitBox().y,
-            player.getHitBox().width, player.getHitBox().height
-        );
-        
-        for (Trap trap : traps) {
-            if (trap.isActive() && trap.checkCollision(playerRect)) {
-                return trap.trigger();
+        TileIndex<Trap> index = trapIndex;
+        if (index == null) return null;
+        Rectangle hitBox = player.getHitBox();
+        int x = player.getWorldX() + hitBox.x;
+        int y = player.getWorldY() + hitBox.y;
+        
+        // Only the 1-4 tiles under the hitbox can hold a trap it touches
+        for (int row = index.tileOf(y); row <= index.tileOf(y + hitBox.height - 1); row++) {
+            for (int col = index.tileOf(x); col <= index.tileOf(x + hitBox.width - 1); col++) {
+                for (int id = index.first(col, row); id != TileIndex.NONE; id = index.next(id)) {
+                    Trap trap = index.get(id);
+                    if (trap.isActive() && trap.checkCollision(x, y, hitBox.width, hitBox.height)) {
+                        return trap.trigger();
+                    }
+                }
             }
         }
         return null;
@@ -456,11 +287,22 @@ public class MazeEnemySpawner {
      */
     public void render(Graphics2D g2d, int playerWorldX, int playerWorldY, 
                        int playerScreenX, int playerScreenY, int tileSize) {
-        // Render traps first (below enemies)
-        for (Trap trap : traps) {
-            int screenX = trap.getX() - playerWorldX + playerScreenX;
-            int screenY = trap.getY() - playerWorldY + playerScreenY;
-            trap.render(g2d, screenX, screenY, tileSize);
+        // Render traps first (below enemies), only those on the tiles on screen
+        TileIndex<Trap> index = trapIndex;
+        if (index != null) {
+            int left = index.tileOf(playerWorldX - playerScreenX);
+            int top = index.tileOf(playerWorldY - playerScreenY);
+            int right = index.tileOf(playerWorldX - playerScreenX + gameScene.getScreenWidth());
+            int bottom = index.tileOf(playerWorldY - playerScreenY + gameScene.getScreenHeight());
+            for (int row = top; row <= bottom; row++) {
+                for (int col = left; col <= right; col++) {
+                    for (int id = index.first(col, row); id != TileIndex.NONE; id = index.next(id)) {
+                        Trap trap = index.get(id);
+                        trap.render(g2d, trap.getX() - playerWorldX + playerScreenX,
+                                trap.getY() - playerWorldY + playerScreenY, tileSize);
+                    }
+                }
+            }
         }
         
         // Render enemies
@@ -575,10 +417,16 @@ public class MazeEnemySpawner {
             }
         }
         
-        public boolean checkCollision(Rectangle playerRect) {
-            Rectangle trapRect = new Rectangle(x + 8, y + 8, size - 16, size - 16);
-            return trapRect.intersects(playerRect);
+        /**
+         * Whether the trap's trigger area (the tile minus an 8 px margin) intersects a world rectangle
+         */
+        public boolean checkCollision(int rx, int ry, int rw, int rh) {
+            int tx = x + 8;
+            int ty = y + 8;
+            int ts = size - 16;
+            return rx < tx + ts && tx < rx + rw && ry < ty + ts && ty < ry + rh;
         }
+
         
         public TrapEffect trigger() {
             if (!isActive) return null;
@@ -1,11 +1,10 @@
 package objects.entities;
 
+import imageRender.AssetManager;
 import main.GameScene;
 
-import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.IOException;
 import java.util.HashMap;
 import java.util.Random;
 
@@ -13,7 +12,7 @@ import java.util.Random;
  * Monster class represents monsters in Monster Hunt (Score Battle) mode.
  * Monsters can move randomly and attack players.
  */
-public class Monster extends Entity {
+public class Monster extends Entity implements AiScheduler.Agent {
     private int id;
     private int health;
     private int maxHealth;
@@ -63,6 +62,14 @@ public class Monster extends Entity {
     private int hitFlashTimer = 0;
     private static final int HIT_FLASH_DURATION = 6;
     
+    // AI scheduling (see AiScheduler)
+    private final AiScheduler.Slot aiSlot = new AiScheduler.Slot();
+    private static final int VISION_RANGE = 300;
+    
+    // Set while a MonsterStore moves this monster (see MonsterSpawner.setMonsterStore)
+    MonsterStore store;
+    int storeIndex = -1;
+    
     // Network sync - when true, position is controlled by server updates
     private boolean networkControlled = true;
     
@@ -129,6 +136,13 @@ public class Monster extends Entity {
         this.goldReward = (int)(type.goldReward * (1 + (difficultyMultiplier - 1) * 0.5f)); // Gold scales slower
     }
     
+    /**
+     * Build the shared monster sprites ahead of the first spawn (used by the startup preload)
+     */
+    public static void preloadSprites() {
+        initSpritesIfNeeded();
+    }
+    
     /**
      * Initialize sprites for all monster types (only runs once)
      */
@@ -157,54 +171,44 @@ public class Monster extends Entity {
      */
     private static boolean loadSpritesFromFile(BufferedImage[] sprites, MonsterType type) {
         String typeName = type.name().toLowerCase();
+        AssetManager assets = AssetManager.getInstance();
         
-        try {
-            // Try loading sprite sheet first: /NPC/monsters/slime.png (192x48 with 4 frames)
-            java.io.InputStream is = Monster.class.getResourceAsStream("/NPC/monsters/" + typeName + ".png");
-            if (is != null) {
-                BufferedImage sheet = ImageIO.read(is);
-                is.close();
-                
-                int frameWidth = sheet.getWidth() / 4;
-                int frameHeight = sheet.getHeight();
-                
-                // If it's a sprite sheet (wider than tall)
-                if (sheet.getWidth() >= sheet.getHeight() * 2) {
-                    for (int i = 0; i < 4; i++) {
-                        sprites[i] = sheet.getSubimage(i * frameWidth, 0, frameWidth, frameHeight);
-                    }
-                    System.out.println("Loaded sprite sheet for " + typeName);
-                    return true;
-                } else {
-                    // Single image, use for all frames
-                    for (int i = 0; i < 4; i++) {
-                        sprites[i] = sheet;
-                    }
-                    System.out.println("Loaded single sprite for " + typeName);
-                    return true;
-                }
-            }
+        // Try loading sprite sheet first: /NPC/monsters/slime.png (192x48 with 4 frames)
+        BufferedImage sheet = assets.acquireImage("monsters", "/NPC/monsters/" + typeName + ".png");
+        if (sheet != null) {
+            int frameWidth = sheet.getWidth() / 4;
+            int frameHeight = sheet.getHeight();
             
-            // Try loading individual frames: /NPC/monsters/slime_1.png, slime_2.png, etc.
-            boolean allLoaded = true;
-            for (int i = 0; i < 4; i++) {
-                is = Monster.class.getResourceAsStream("/NPC/monsters/" + typeName + "_" + (i + 1) + ".png");
-                if (is != null) {
-                    sprites[i] = ImageIO.read(is);
-                    is.close();
-                } else {
-                    allLoaded = false;
-                    break;
+            // If it's a sprite sheet (wider than tall)
+            if (sheet.getWidth() >= sheet.getHeight() * 2) {
+                for (int i = 0; i < 4; i++) {
+                    sprites[i] = sheet.getSubimage(i * frameWidth, 0, frameWidth, frameHeight);
                 }
-            }
-            
-            if (allLoaded) {
-                System.out.println("Loaded individual sprites for " + typeName);
+                System.out.println("Loaded sprite sheet for " + typeName);
+                return true;
+            } else {
+                // Single image, use for all frames
+                for (int i = 0; i < 4; i++) {
+                    sprites[i] = sheet;
+                }
+                System.out.println("Loaded single sprite for " + typeName);
                 return true;
             }
-            
-        } catch (IOException e) {
-            System.err.println("Error loading sprites for " + typeName + ": " + e.getMessage());
+        }
+        
+        // Try loading individual frames: /NPC/monsters/slime_1.png, slime_2.png, etc.
+        boolean allLoaded = true;
+        for (int i = 0; i < 4; i++) {
+            sprites[i] = assets.acquireImage("monsters", "/NPC/monsters/" + typeName + "_" + (i + 1) + ".png");
+            if (sprites[i] == null) {
+                allLoaded = false;
+                break;
+            }
+        }
+        
+        if (allLoaded) {
+            System.out.println("Loaded individual sprites for " + typeName);
+            return true;
         }
         
         return false;
@@ -450,55 +454,73 @@ public class Monster extends Entity {
      * Update AI movement and attack
      */
     public void updateAI(Player targetPlayer) {
+        updateAI(targetPlayer.getWorldX(), targetPlayer.getWorldY(), 1);
+    }
+    
+    /**
+     * Run the AI for a number of frames at once, as AiScheduler does for monsters far from the player.
+     * Only changes this monster, so it is safe next to other monsters on other threads.
+     */
+    @Override
+    public boolean updateAI(AiScheduler.PlayerSnapshot player, int frames) {
+        updateAI(player.getWorldX(), player.getWorldY(), frames);
+        return true;
+    }
+    
+    private void updateAI(int playerX, int playerY, int frames) {
         // Update death animation
         if (isDying) {
-            updateDeathAnimation();
+            updateDeathAnimation(frames);
             return;
         }
         
         if (!isAlive) return;
         
-        // Update hit flash
-        if (hitFlashTimer > 0) {
-            hitFlashTimer--;
-        }
-        
-        // Animation update (always runs)
-        animationCounter++;
-        if (animationCounter >= ANIMATION_SPEED) {
-            spriteIndex = (spriteIndex + 1) % 4;
-            animationCounter = 0;
-        }
+        tick(frames);
         
-        // Attack cooldown (always runs)
-        if (attackTimer > 0) {
-            attackTimer--;
-        }
-        
-        // Skip movement AI if controlled by network (server handles movement)
-        if (networkControlled) {
+        // Skip movement AI if controlled by network (server handles movement) or moved by a MonsterStore
+        if (networkControlled || store != null) {
             return;
         }
         
         // Move towards player if within vision range
-        int playerX = targetPlayer.getWorldX();
-        int playerY = targetPlayer.getWorldY();
-        double distance = Math.sqrt(Math.pow(worldX - playerX, 2) + Math.pow(worldY - playerY, 2));
+        long dx = worldX - playerX;
+        long dy = worldY - playerY;
         
-        if (distance < 300) {
+        if (dx * dx + dy * dy < VISION_RANGE * VISION_RANGE) {
             // Chase player
-            chasePlayer(playerX, playerY);
+            chasePlayer(playerX, playerY, frames);
         } else {
             // Random movement
-            randomMove();
+            randomMove(frames);
         }
     }
     
+    /**
+     * Hit flash, animation and attack cooldown of a live monster; MonsterStore calls this for the
+     * monsters it moves, which the AI pass then skips
+     */
+    void tick(int frames) {
+        // Update hit flash
+        hitFlashTimer = Math.max(0, hitFlashTimer - frames);
+        
+        // Animation update (always runs)
+        animationCounter += frames;
+        if (animationCounter >= ANIMATION_SPEED) {
+            spriteIndex = (spriteIndex + animationCounter / ANIMATION_SPEED) % 4;
+            animationCounter %= ANIMATION_SPEED;
+        }
+        
+        // Attack cooldown (always runs)
+        attackTimer = Math.max(0, attackTimer - frames);
+    }
+    
     /**
      * Update death animation
      */
-    private void updateDeathAnimation() {
-        deathAnimTimer++;
+    private void updateDeathAnimation(int frames) {
+        int steps = Math.min(frames, DEATH_ANIM_DURATION - deathAnimTimer);
+        deathAnimTimer += steps;
         
         // Scale down and fade out
         float progress = (float) deathAnimTimer / DEATH_ANIM_DURATION;
@@ -507,7 +529,7 @@ public class Monster extends Entity {
         deathRotation = (int)(progress * 180); // Rotate while dying
         
         // Float upward
-        worldY -= 2;
+        worldY -= 2 * steps;
         
         if (deathAnimTimer >= DEATH_ANIM_DURATION) {
             // Animation complete, monster can be removed
@@ -516,15 +538,16 @@ public class Monster extends Entity {
         }
     }
     
-    private void chasePlayer(int playerX, int playerY) {
+    private void chasePlayer(int playerX, int playerY, int frames) {
         int dx = playerX - worldX;
         int dy = playerY - worldY;
         
-        // Normalize and move
+        // Normalize and move; over several frames stop at the player rather than run past
         double length = Math.sqrt(dx * dx + dy * dy);
         if (length > 0) {
-            int newX = worldX + (int) (speed * dx / length);
-            int newY = worldY + (int) (speed * dy / length);
+            double step = Math.min(speed * frames, Math.max(speed, length));
+            int newX = worldX + (int) (step * dx / length);
+            int newY = worldY + (int) (step * dy / length);
             
             // Clamp to map bounds (account for monster size ~48px)
             worldX = Math.max(mapMinX, Math.min(newX, mapMaxX - 48));
@@ -539,8 +562,8 @@ public class Monster extends Entity {
         }
     }
     
-    private void randomMove() {
-        moveTimer++;
+    private void randomMove(int frames) {
+        moveTimer += frames;
         
         if (moveTimer >= moveDuration) {
             moveTimer = 0;
@@ -553,19 +576,19 @@ public class Monster extends Entity {
         
         switch (moveDirection) {
             case 1: // Down
-                newY += speed;
+                newY += speed * frames;
                 direction = "DOWN";
                 break;
             case 2: // Up
-                newY -= speed;
+                newY -= speed * frames;
                 direction = "UP";
                 break;
             case 3: // Left
-                newX -= speed;
+                newX -= speed * frames;
                 direction = "LEFT";
                 break;
             case 4: // Right
-                newX += speed;
+                newX += speed * frames;
                 direction = "RIGHT";
                 break;
         }
@@ -603,6 +626,7 @@ public class Monster extends Entity {
             isDying = true;
             isAlive = false; // Mark as not alive immediately to prevent double-counting
             deathAnimTimer = 0;
+            updateStoreState();
             // System.out.println("[DEBUG] Monster KILLED! Gold reward: " + goldReward);
             return goldReward; // Return gold reward
         }
@@ -802,6 +826,7 @@ public class Monster extends Entity {
     
     public void setAlive(boolean alive) {
         isAlive = alive;
+        updateStoreState();
     }
     
     public MonsterType getType() {
@@ -862,6 +887,11 @@ public class Monster extends Entity {
         this.goldReward = (int)(type.goldReward * (1 + (multiplier - 1) * 0.5f));
     }
     
+    @Override
+    public AiScheduler.Slot getAiSlot() {
+        return aiSlot;
+    }
+    
     /**
      * Check if monster position is controlled by network (server)
      */
@@ -875,5 +905,15 @@ public class Monster extends Entity {
      */
     public void setNetworkControlled(boolean controlled) {
         this.networkControlled = controlled;
+        updateStoreState();
+    }
+    
+    /**
+     * A MonsterStore only moves monsters that are alive and not moved by the server
+     */
+    private void updateStoreState() {
+        if (store != null) {
+            store.setParked(storeIndex, networkControlled || !isAlive || isDying);
+        }
     }
 }
@@ -36,6 +36,12 @@ public class MonsterSpawner {
     // Monster ID counter
     private int nextMonsterId = 0;
     
+    // AI: every frame on screen, less often further away, at most this many updates per frame
+    private static final int MAX_AI_UPDATES_PER_FRAME = 256;
+    private final AiScheduler aiScheduler;
+    private MonsterStore monsterStore; // null: every monster moves itself
+    private final ArrayList<Monster> parkedMonsters = new ArrayList<>(); // Those the store leaves to the AI pass
+    
     // Game state
     private boolean isActive = false;
     
@@ -43,6 +49,9 @@ public class MonsterSpawner {
         this.gameScene = gameScene;
         this.monsters = new ArrayList<>();
         this.random = new Random();
+        this.aiScheduler = new AiScheduler(gameScene.getScreenWidth(), gameScene.getScreenWidth() * 2, MAX_AI_UPDATES_PER_FRAME);
+        this.aiScheduler.setUpdater(ParallelAiUpdater.getInstance()); // Big batches split over cores
+        setMonsterStore(Boolean.getBoolean("miniisland.monsterStore"));
     }
     
     /**
@@ -69,6 +78,9 @@ public class MonsterSpawner {
     public void stop() {
         isActive = false;
         monsters.clear();
+        if (monsterStore != null) {
+            monsterStore.clear();
+        }
     }
     
     /**
@@ -77,11 +89,16 @@ public class MonsterSpawner {
     public void update(Player targetPlayer) {
         if (!isActive) return;
         
-        // Update all monsters
-        for (Monster monster : monsters) {
-            if (monster.isAlive() || monster.isDying()) {
-                monster.updateAI(targetPlayer);
-            }
+        // Update monsters, near ones every frame and far ones every few frames
+        if (monsterStore != null) {
+            // The store moves and ticks the live monsters itself; the AI pass only sees the rest
+            monsterStore.sync(monsters);
+            monsterStore.step(targetPlayer.getWorldX(), targetPlayer.getWorldY(), 1);
+            monsterStore.publish();
+            monsterStore.collectParked(parkedMonsters);
+            aiScheduler.run(parkedMonsters, targetPlayer);
+        } else {
+            aiScheduler.run(monsters, targetPlayer);
         }
         
         // Remove dead monsters (not dying, completely dead)
@@ -144,12 +161,15 @@ public class MonsterSpawner {
         int spawnX, spawnY;
         int attempts = 0;
         int minSpawnDistance = 300; // Minimum distance from player
+        long dx, dy;
         
         do {
             spawnX = mapMinX + random.nextInt(Math.max(1, mapMaxX - mapMinX));
             spawnY = mapMinY + random.nextInt(Math.max(1, mapMaxY - mapMinY));
+            dx = spawnX - playerX;
+            dy = spawnY - playerY;
             attempts++;
-        } while (Math.sqrt(Math.pow(spawnX - playerX, 2) + Math.pow(spawnY - playerY, 2)) < minSpawnDistance && attempts < 20);
+        } while (dx * dx + dy * dy < (long) minSpawnDistance * minSpawnDistance && attempts < 20);
         
         // Select monster type based on wave
         MonsterType type = selectMonsterType();
@@ -332,6 +352,9 @@ public class MonsterSpawner {
         this.mapMaxX = maxX;
         this.mapMinY = minY;
         this.mapMaxY = maxY;
+        if (monsterStore != null) {
+            monsterStore.setBounds(minX, maxX, minY, maxY);
+        }
     }
     
     public void setMaxMonsters(int maxMonsters) {
@@ -345,4 +368,29 @@ public class MonsterSpawner {
     public float getDifficultyMultiplier() {
         return difficultyMultiplier;
     }
+    
+    public AiScheduler getAiScheduler() {
+        return aiScheduler;
+    }
+    
+    /**
+     * Move monsters that are not driven by the server through a MonsterStore (for offline and
+     * stress runs with thousands of them) instead of one by one; false goes back to that.
+     * On from the start with -Dminiisland.monsterStore=true. The store moves every monster every
+     * frame, while the AI pass spreads far ones over frames, so it pays off once thousands of
+     * monsters are near the player.
+     */
+    public void setMonsterStore(boolean enabled) {
+        if (enabled && monsterStore == null) {
+            monsterStore = new MonsterStore(mapMinX, mapMaxX, mapMinY, mapMaxY);
+        } else if (!enabled && monsterStore != null) {
+            monsterStore.clear();
+            monsterStore = null;
+            parkedMonsters.clear();
+        }
+    }
+    
+    public MonsterStore getMonsterStore() {
+        return monsterStore;
+    }
 }
@@ -0,0 +1,342 @@
+package objects.entities;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * MonsterStore - Monster Hunt movement for many monsters at once, kept as structure-of-arrays
+ * (x, y, velocity, speed and state in parallel primitive arrays) instead of one Monster object each.
+ *
+ * A step is a scalar pass that picks chasers and wanderers (wandering needs the Random), then a
+ * Kernel that works out velocities and moves and clamps everyone, only float math on arrays. The
+ * kernel is VectorMonsterKernel (jdk.incubator.vector, built by the vector profile from src-vector)
+ * when it was compiled and the JVM runs with --add-modules jdk.incubator.vector, else the plain
+ * loops in ScalarKernel. Both compute the same floats in the same order, so they agree exactly.
+ *
+ * The Monster objects stay what rendering, bullets and networking see: publish() writes the new
+ * positions and directions back into them and advances their timers and animation in the same
+ * pass, so the monsters moved here need no other per-object update. Health and death stay in
+ * Monster; a monster that is dying, dead or moved by the server is parked here and left to the
+ * AI pass (collectParked()).
+ *
+ * Slots follow the order of the spawner's list; sync() follows adds and removes, in place when
+ * the list only had monsters appended or taken out.
+ */
+public final class MonsterStore {
+    private static final byte WANDER = 0;
+    private static final byte CHASE = 1;
+    private static final byte PARKED = 2;
+    private static final float VISION_RANGE = 300;
+    private static final int MONSTER_SIZE = 48; // Bounds keep the whole sprite on the map
+
+    // The float arrays and bounds are package-private for the kernels (see Kernel)
+    private Monster[] views = new Monster[64];
+    float[] x = new float[64];
+    float[] y = new float[64];
+    float[] vx = new float[64];
+    float[] vy = new float[64];
+    float[] speed = new float[64];
+    private byte[] state = new byte[64];
+    float[] chase = new float[64];  // 1 for a chaser, else 0; set by step() for the kernel
+    float[] wander = new float[64]; // Distance a wanderer covers this step, else 0
+    float[] headX = new float[64]; // Wander direction, a unit step along one axis
+    float[] headY = new float[64];
+    private int[] moveTimer = new int[64];
+    private int[] moveDuration = new int[64];
+    private int size;
+    private int frames = 1; // Of the last step, for publish()
+
+    float minX;
+    float maxX;
+    float minY;
+    float maxY;
+    private final Random random = new Random();
+
+    private static final Kernel KERNEL = pickKernel();
+
+    public MonsterStore(int mapMinX, int mapMaxX, int mapMinY, int mapMaxY) {
+        setBounds(mapMinX, mapMaxX, mapMinY, mapMaxY);
+    }
+
+    public void setBounds(int mapMinX, int mapMaxX, int mapMinY, int mapMaxY) {
+        minX = mapMinX;
+        maxX = mapMaxX - MONSTER_SIZE;
+        minY = mapMinY;
+        maxY = mapMaxY - MONSTER_SIZE;
+    }
+
+    // === Membership ===
+
+    /**
+     * Make the slots match the list, keeping the state of monsters that were already here
+     */
+    public void sync(List<Monster> monsters) {
+        int count = monsters.size();
+        boolean same = count == size;
+        boolean inPlace = true;
+        for (int i = 0; i < count; i++) {
+            Monster monster = monsters.get(i);
+            same = same && views[i] == monster;
+            inPlace &= !holds(monster) || monster.storeIndex >= i;
+        }
+        if (same) return;
+
+        // Appends and removals only move slots down, so the arrays can be compacted where they are;
+        // anything else reads from a copy
+        MonsterStore from = inPlace ? this : copy();
+        for (int i = 0; i < size; i++) {
+            views[i].store = null;
+        }
+        ensureCapacity(count);
+        for (int i = 0; i < count; i++) {
+            Monster monster = monsters.get(i);
+            if (from.holds(monster)) {
+                moveSlot(from, monster.storeIndex, i);
+            } else {
+                load(monster, i);
+            }
+            monster.store = this;
+            monster.storeIndex = i;
+        }
+        Arrays.fill(views, count, Math.max(count, size), null);
+        size = count;
+    }
+
+    private boolean holds(Monster monster) {
+        int index = monster.storeIndex;
+        return index >= 0 && index < size && views[index] == monster;
+    }
+
+    /**
+     * Let go of every monster; they move themselves again, from the next frame on
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            views[i].store = null;
+            views[i].getAiSlot().restart();
+            views[i] = null;
+        }
+        size = 0;
+    }
+
+    /**
+     * Stop or resume moving a monster; resuming takes its position from the Monster again. A parked
+     * monster goes back to the AI pass, which must not replay the frames this store already ran
+     */
+    void setParked(int index, boolean parked) {
+        if (parked) {
+            if (state[index] != PARKED) views[index].getAiSlot().restart();
+            state[index] = PARKED;
+        } else if (state[index] == PARKED) {
+            x[index] = views[index].worldX;
+            y[index] = views[index].worldY;
+            state[index] = WANDER;
+        }
+    }
+
+    private void load(Monster monster, int i) {
+        views[i] = monster;
+        x[i] = monster.worldX;
+        y[i] = monster.worldY;
+        speed[i] = monster.speed;
+        state[i] = monster.isNetworkControlled() || !monster.isAlive() || monster.isDying() ? PARKED : WANDER;
+        turn(i);
+        moveTimer[i] = 0;
+        moveDuration[i] = random.nextInt(60) + 30;
+    }
+
+    private void moveSlot(MonsterStore from, int src, int dst) {
+        views[dst] = from.views[src];
+        x[dst] = from.x[src];
+        y[dst] = from.y[src];
+        speed[dst] = from.speed[src];
+        state[dst] = from.state[src];
+        headX[dst] = from.headX[src];
+        headY[dst] = from.headY[src];
+        moveTimer[dst] = from.moveTimer[src];
+        moveDuration[dst] = from.moveDuration[src];
+    }
+
+    private MonsterStore copy() {
+        MonsterStore copy = new MonsterStore(0, 0, 0, 0);
+        copy.views = views.clone();
+        copy.x = x.clone();
+        copy.y = y.clone();
+        copy.speed = speed.clone();
+        copy.state = state.clone();
+        copy.headX = headX.clone();
+        copy.headY = headY.clone();
+        copy.moveTimer = moveTimer.clone();
+        copy.moveDuration = moveDuration.clone();
+        copy.size = size;
+        return copy;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= views.length) return;
+        int n = Math.max(capacity, views.length * 2);
+        views = Arrays.copyOf(views, n);
+        x = Arrays.copyOf(x, n);
+        y = Arrays.copyOf(y, n);
+        vx = new float[n];
+        vy = new float[n];
+        chase = new float[n];
+        wander = new float[n];
+        speed = Arrays.copyOf(speed, n);
+        state = Arrays.copyOf(state, n);
+        headX = Arrays.copyOf(headX, n);
+        headY = Arrays.copyOf(headY, n);
+        moveTimer = Arrays.copyOf(moveTimer, n);
+        moveDuration = Arrays.copyOf(moveDuration, n);
+    }
+
+    // === Simulation ===
+
+    /**
+     * Move every monster that is not parked for a number of frames: chase the player within
+     * vision range, wander otherwise, stay on the map
+     */
+    public void step(int playerX, int playerY, int frames) {
+        this.frames = frames;
+        float px = playerX;
+        float py = playerY;
+        int n = size;
+
+        // Who chases and who wanders; wanderers pick a new heading now and then (needs the Random)
+        float vision = VISION_RANGE * VISION_RANGE;
+        for (int i = 0; i < n; i++) {
+            chase[i] = 0;
+            wander[i] = 0;
+            if (state[i] == PARKED) continue;
+            float dx = px - x[i];
+            float dy = py - y[i];
+            if (dx * dx + dy * dy < vision) {
+                state[i] = CHASE;
+                chase[i] = 1;
+            } else {
+                state[i] = WANDER;
+                wander[i] = speed[i] * frames;
+                moveTimer[i] += frames;
+                if (moveTimer[i] >= moveDuration[i]) {
+                    moveTimer[i] = 0;
+                    turn(i);
+                    moveDuration[i] = random.nextInt(60) + 30;
+                }
+            }
+        }
+
+        KERNEL.move(this, n, px, py, frames);
+    }
+
+    /**
+     * Velocities and moves for a step whose chase and wander arrays are set. Chasers head for the
+     * player, stopping there rather than running past; wanderers go along their heading; parked
+     * monsters (both 0) stay put. Then everyone is clamped to the map.
+     */
+    interface Kernel {
+        void move(MonsterStore store, int n, float px, float py, int frames);
+    }
+
+    /**
+     * The kernel as plain counted loops, which the JIT unrolls and may turn into SIMD itself
+     */
+    static final class ScalarKernel implements Kernel {
+        @Override
+        public void move(MonsterStore s, int n, float px, float py, int frames) {
+            move(s, 0, n, px, py, frames);
+        }
+
+        /**
+         * Monsters from..to only (a vector kernel's remainder)
+         */
+        void move(MonsterStore s, int from, int to, float px, float py, int frames) {
+            float[] x = s.x, y = s.y, vx = s.vx, vy = s.vy, speed = s.speed;
+            float[] chase = s.chase, wander = s.wander, headX = s.headX, headY = s.headY;
+            for (int i = from; i < to; i++) {
+                float dx = px - x[i];
+                float dy = py - y[i];
+                float length = (float) Math.sqrt(dx * dx + dy * dy);
+                float step = Math.min(speed[i] * frames, Math.max(speed[i], length));
+                float scale = length > 0 ? step / length * chase[i] : 0;
+                vx[i] = dx * scale + headX[i] * wander[i];
+                vy[i] = dy * scale + headY[i] * wander[i];
+            }
+            float minX = s.minX, maxX = s.maxX, minY = s.minY, maxY = s.maxY;
+            for (int i = from; i < to; i++) {
+                x[i] = Math.max(minX, Math.min(x[i] + vx[i], maxX));
+                y[i] = Math.max(minY, Math.min(y[i] + vy[i], maxY));
+            }
+        }
+    }
+
+    private static Kernel pickKernel() {
+        if (!"scalar".equals(System.getProperty("monsterstore.kernel"))
+                && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                return (Kernel) Class.forName("objects.entities.VectorMonsterKernel").getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // Not built (vector profile off); the plain loops do the same
+            }
+        }
+        return new ScalarKernel();
+    }
+
+    /**
+     * Name of the kernel steps run on: "vector" or "scalar"
+     */
+    public static String getKernel() {
+        return KERNEL instanceof ScalarKernel ? "scalar" : "vector";
+    }
+
+    /**
+     * New random wander heading: down, up, left or right
+     */
+    private void turn(int i) {
+        switch (random.nextInt(4)) {
+            case 0: headX[i] = 0; headY[i] = 1; break;
+            case 1: headX[i] = 0; headY[i] = -1; break;
+            case 2: headX[i] = -1; headY[i] = 0; break;
+            default: headX[i] = 1; headY[i] = 0; break;
+        }
+    }
+
+    /**
+     * Write positions and directions into the Monster objects, for rendering and networking, and
+     * advance their timers by the frames of the last step
+     */
+    public void publish() {
+        for (int i = 0; i < size; i++) {
+            if (state[i] == PARKED) continue;
+            Monster monster = views[i];
+            monster.tick(frames);
+            monster.worldX = (int) x[i];
+            monster.worldY = (int) y[i];
+            if (vx[i] != 0 || vy[i] != 0) {
+                if (Math.abs(vx[i]) > Math.abs(vy[i])) {
+                    monster.direction = vx[i] > 0 ? "RIGHT" : "LEFT";
+                } else {
+                    monster.direction = vy[i] > 0 ? "DOWN" : "UP";
+                }
+            }
+            // A wanderer that hit the edge turns around
+            if (state[i] == WANDER && (x[i] == minX || x[i] == maxX || y[i] == minY || y[i] == maxY)) {
+                turn(i);
+            }
+        }
+    }
+
+    /**
+     * The monsters this store does not move (dying, dead, moved by the server), for the AI pass
+     */
+    public void collectParked(List<Monster> out) {
+        out.clear();
+        for (int i = 0; i < size; i++) {
+            if (state[i] == PARKED) out.add(views[i]);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+}
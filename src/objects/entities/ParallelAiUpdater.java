@@ -0,0 +1,168 @@
+package objects.entities;
+
+import objects.entities.AiScheduler.Agent;
+import objects.entities.AiScheduler.PlayerSnapshot;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ParallelAiUpdater - updates a batch of AI agents on a fork/join pool, one contiguous slice of the
+ * batch per thread, the calling thread taking the first slice.
+ *
+ * Nothing shared is written while the slices run: agents read the player through a snapshot and
+ * only change themselves. What needs shared state (maze enemy path searches go through the maze's
+ * pathfinders) waits: the agent returns false, its slice notes it in its own buffer, and once all
+ * slices are joined those agents are finished on the calling thread in batch order.
+ *
+ * Batches below the threshold, or with no worker threads (one core), are updated in order on the
+ * calling thread; forking costs more than about a hundred cheap updates.
+ */
+public final class ParallelAiUpdater {
+    public static final int DEFAULT_SERIAL_BELOW = 128; // A spawner's budgeted batch (256) is split
+    private static final int MIN_SLICE = 64; // Smaller slices cost more to fork than they save
+
+    private static final ParallelAiUpdater INSTANCE = new ParallelAiUpdater(defaultWorkers(), DEFAULT_SERIAL_BELOW);
+
+    private final ForkJoinPool pool; // null: no workers, always serial
+    private final int serialBelow;
+    private final Slice[] slices;
+
+    // Batch being updated; set before the fork and only read by the slices
+    private Agent[] batch;
+    private int[] frames;
+    private PlayerSnapshot player;
+
+    private int lastSlices;
+
+    /**
+     * @param workers     threads besides the caller; 0 updates everything on the calling thread
+     * @param serialBelow batches smaller than this are not split
+     */
+    public ParallelAiUpdater(int workers, int serialBelow) {
+        this.serialBelow = serialBelow;
+        if (workers > 0) {
+            AtomicInteger count = new AtomicInteger();
+            pool = new ForkJoinPool(workers, p -> {
+                ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+                t.setName("entity-ai-" + count.incrementAndGet());
+                return t;
+            }, null, false);
+        } else {
+            pool = null;
+        }
+        slices = new Slice[workers + 1];
+        for (int i = 0; i < slices.length; i++) {
+            slices[i] = new Slice();
+        }
+    }
+
+    /**
+     * Shared updater: one worker per core but the one the game loop runs on, at most 4
+     */
+    public static ParallelAiUpdater getInstance() {
+        return INSTANCE;
+    }
+
+    private static int defaultWorkers() {
+        return Math.max(0, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+    }
+
+    /**
+     * Update the first count agents of the batch, each for its number of frames
+     */
+    public void update(Agent[] batch, int[] frames, int count, PlayerSnapshot player) {
+        int sliceCount = pool == null || count < serialBelow ? 1 : Math.min(slices.length, count / MIN_SLICE);
+        lastSlices = sliceCount;
+        if (sliceCount <= 1) {
+            updateSerial(batch, frames, 0, count, player);
+            return;
+        }
+
+        this.batch = batch;
+        this.frames = frames;
+        this.player = player;
+        for (int k = 0; k < sliceCount; k++) {
+            slices[k].from = (int) ((long) count * k / sliceCount);
+            slices[k].to = (int) ((long) count * (k + 1) / sliceCount);
+        }
+        for (int k = 1; k < sliceCount; k++) {
+            slices[k].reinitialize();
+            pool.execute(slices[k]);
+        }
+        try {
+            slices[0].updateSlice();
+        } finally {
+            for (int k = 1; k < sliceCount; k++) {
+                slices[k].quietlyJoin();
+            }
+            this.batch = null;
+            this.frames = null;
+            this.player = null;
+        }
+        for (int k = 1; k < sliceCount; k++) {
+            slices[k].join(); // Done already; rethrows what a worker threw
+        }
+
+        // Merge: what the slices left for this thread, in batch order
+        for (int k = 0; k < sliceCount; k++) {
+            Slice slice = slices[k];
+            for (int i = 0; i < slice.deferredCount; i++) {
+                batch[slice.deferred[i]].finishAI(player);
+            }
+        }
+    }
+
+    /**
+     * Update batch[from..to) in order on the calling thread
+     */
+    static void updateSerial(Agent[] batch, int[] frames, int from, int to, PlayerSnapshot player) {
+        for (int i = from; i < to; i++) {
+            if (!batch[i].updateAI(player, frames[i])) {
+                batch[i].finishAI(player);
+            }
+        }
+    }
+
+    /**
+     * Slices the last batch was split into (1 when it was updated serially)
+     */
+    public int getLastSlices() {
+        return lastSlices;
+    }
+
+    /**
+     * Threads that can update one batch, the caller included
+     */
+    public int getThreads() {
+        return slices.length;
+    }
+
+    /**
+     * One contiguous part of the batch, with its own buffer of agents left for the merge
+     */
+    private final class Slice extends RecursiveAction {
+        int from;
+        int to;
+        int[] deferred = new int[16];
+        int deferredCount;
+
+        @Override
+        protected void compute() {
+            updateSlice();
+        }
+
+        void updateSlice() {
+            deferredCount = 0;
+            for (int i = from; i < to; i++) {
+                if (!batch[i].updateAI(player, frames[i])) {
+                    if (deferredCount == deferred.length) deferred = Arrays.copyOf(deferred, deferredCount * 2);
+                    deferred[deferredCount++] = i;
+                }
+            }
+        }
+    }
+}
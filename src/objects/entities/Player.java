@@ -1,5 +1,7 @@
 package objects.entities;
 
+import hud.CachedText;
+import hud.HudStyle;
 import imageRender.ImageHandler;
 import imageRender.ImageLoader;
 import input.KeyHandler;
@@ -30,6 +32,13 @@ public class Player extends Entity {
     private int maxHealth = 100;
     private boolean isAlive = true;
     
+    // Health bar palette and cached "hp / max" label
+    private static final Color HEALTH_BAR_BG = new Color(50, 50, 50);
+    private static final Color HEALTH_HIGH = new Color(50, 200, 50);
+    private static final Color HEALTH_MID = new Color(255, 200, 0);
+    private static final Color HEALTH_LOW = new Color(200, 50, 50);
+    private final CachedText healthText = new CachedText((hp, max) -> hp + " / " + max);
+    
     // Invincibility frames after taking damage
     private int invincibilityFrames = 0;
     private static final int INVINCIBILITY_DURATION = 60; // 1 second at 60fps
@@ -223,12 +232,11 @@ public class Player extends Entity {
                 flagUpdate = true;
                 worldX = futureX; // Temporarily set for collision check
                 
-                gameScene.getCollisionChecker().checkTile(this, () -> {
-                    if (collision || !flagUpdate) {
-                        // Rollback X movement if collision detected
-                        worldX = oldX;
-                    }
-                });
+                gameScene.getCollisionChecker().checkTile(this);
+                if (collision || !flagUpdate) {
+                    // Rollback X movement if collision detected
+                    worldX = oldX;
+                }
                 
                 futureX = worldX; // Update futureX with actual position after collision check
                 worldX = oldX; // Reset for Y check
@@ -240,12 +248,11 @@ public class Player extends Entity {
                 flagUpdate = true;
                 worldY = futureY; // Temporarily set for collision check
                 
-                gameScene.getCollisionChecker().checkTile(this, () -> {
-                    if (collision || !flagUpdate) {
-                        // Rollback Y movement if collision detected
-                        worldY = oldY;
-                    }
-                });
+                gameScene.getCollisionChecker().checkTile(this);
+                if (collision || !flagUpdate) {
+                    // Rollback Y movement if collision detected
+                    worldY = oldY;
+                }
                 
                 futureY = worldY; // Update futureY with actual position after collision check
             }
@@ -417,7 +424,7 @@ public class Player extends Entity {
         int barY = 20;
         
         // Background (dark gray)
-        g2d.setColor(new Color(50, 50, 50));
+        g2d.setColor(HEALTH_BAR_BG);
         g2d.fillRect(barX, barY, barWidth, barHeight);
         
         // Health bar (gradient from green to red based on health)
@@ -427,11 +434,11 @@ public class Player extends Entity {
         // Color based on health percentage
         Color healthColor;
         if (healthPercent > 0.6f) {
-            healthColor = new Color(50, 200, 50); // Green
+            healthColor = HEALTH_HIGH;
         } else if (healthPercent > 0.3f) {
-            healthColor = new Color(255, 200, 0); // Yellow
+            healthColor = HEALTH_MID;
         } else {
-            healthColor = new Color(200, 50, 50); // Red
+            healthColor = HEALTH_LOW;
         }
         
         g2d.setColor(healthColor);
@@ -439,21 +446,21 @@ public class Player extends Entity {
         
         // Border
         g2d.setColor(Color.WHITE);
-        g2d.setStroke(new BasicStroke(2));
+        g2d.setStroke(HudStyle.STROKE_2);
         g2d.drawRect(barX, barY, barWidth, barHeight);
         
         // Health text
-        g2d.setFont(new Font("Arial", Font.BOLD, 14));
+        Font font = HudStyle.arial(Font.BOLD, 14);
+        g2d.setFont(font);
         g2d.setColor(Color.WHITE);
-        String healthText = health + " / " + maxHealth;
-        FontMetrics fm = g2d.getFontMetrics();
-        int textX = barX + (barWidth - fm.stringWidth(healthText)) / 2;
-        int textY = barY + (barHeight + fm.getAscent()) / 2 - 2;
-        g2d.drawString(healthText, textX, textY);
+        String text = healthText.of(health, maxHealth);
+        int textX = barX + (barWidth - healthText.width(g2d, font)) / 2;
+        int textY = barY + (barHeight + healthText.ascent(g2d, font)) / 2 - 2;
+        g2d.drawString(text, textX, textY);
         
         // Heart icon
         g2d.setColor(Color.RED);
-        g2d.setFont(new Font("Arial", Font.BOLD, 18));
+        g2d.setFont(HudStyle.arial(Font.BOLD, 18));
         g2d.drawString("HP", barX + barWidth + 10, barY + 16);
     }
     
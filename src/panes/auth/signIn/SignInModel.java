@@ -1,6 +1,5 @@
 package panes.auth.signIn;
 
-import network.client.Client;
 import network.client.Protocol;
 import panes.auth.AuthMsg;
 import panes.auth.AuthHandler;
@@ -10,7 +9,6 @@ public class SignInModel extends AuthMsg {
     private String username;
     private String password;
     private String email;
-    private Client client;
     private boolean isSignedIn = false;
 
     private Protocol protocol = new Protocol();
@@ -26,7 +24,6 @@ public class SignInModel extends AuthMsg {
     }
 
     private SignInModel() {
-        client = Client.getGameClient();
     }
 
 
@@ -1,6 +1,5 @@
 package panes.auth.signUp;
 
-import network.client.Client;
 import panes.auth.AuthMsg;
 import panes.auth.AuthHandler;
 
@@ -9,10 +8,8 @@ public class SignUpModel extends AuthMsg {
     private String email;
     private String password;
     private String confirmPassword;
-    private Client client;
 
     public SignUpModel() {
-        client = Client.getGameClient();
     }
 
     /**
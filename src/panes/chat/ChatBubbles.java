@@ -0,0 +1,141 @@
+package panes.chat;
+
+import hud.HudStyle;
+import imageRender.AssetManager;
+import imageRender.ImageHandler;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * ChatBubbles - renders chat messages into speech-bubble images.
+ * The bubble templates are decoded once by the AssetManager; each message is composed into
+ * its own image (never into the shared template), and recently used messages are kept in an
+ * LRU cache keyed by text, so "hi" from twenty players is rendered once.
+ *
+ * Images evicted from the LRU are recycled through a small pool per template, but only
+ * once they can no longer be on screen.
+ */
+final class ChatBubbles {
+    private static final int CACHE_SIZE = 64;
+    private static final int POOL_SIZE = 16;
+    // PlayerMP starts its own DISPLAY_MILLIS hide timer after get() returns, and a busy EDT fires it late;
+    // an image younger than this when evicted is left to the GC instead of being reused
+    private static final long RECYCLE_AFTER_MILLIS = DialogText.DISPLAY_MILLIS + 10_000;
+
+    private static final String[] TEMPLATE_PATHS = {"/Chat/1line.png", "/Chat/2line.png", "/Chat/3line.png"};
+    private static final int ONE_LINE = 0;
+    private static final int TWO_LINE = 1;
+
+    private static final Font BOLD_FONT = HudStyle.arial(Font.BOLD, 13);
+    private static final Font PLAIN_FONT = HudStyle.arial(Font.PLAIN, 13);
+    private static final int TEXT_X = 10;
+    private static final int TEXT_Y = 5;
+
+    private static final class Bubble {
+        final BufferedImage image;
+        final int template;
+        long lastUsed;
+
+        Bubble(BufferedImage image, int template) {
+            this.image = image;
+            this.template = template;
+        }
+    }
+
+    private static BufferedImage[] templates;
+    @SuppressWarnings("unchecked")
+    private static final ArrayDeque<BufferedImage>[] pools = new ArrayDeque[TEMPLATE_PATHS.length];
+
+    private static final LinkedHashMap<String, Bubble> cache = new LinkedHashMap<>(CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Bubble> eldest) {
+            if (size() <= CACHE_SIZE) return false;
+            recycle(eldest.getValue());
+            return true;
+        }
+    };
+
+    private ChatBubbles() {
+    }
+
+    /**
+     * Bubble image for a message; callers must not draw on it
+     */
+    static synchronized BufferedImage get(String text) {
+        Bubble bubble = cache.get(text);
+        if (bubble == null) {
+            bubble = compose(text);
+            cache.put(text, bubble);
+        }
+        bubble.lastUsed = System.currentTimeMillis();
+        return bubble.image;
+    }
+
+    private static Bubble compose(String text) {
+        loadTemplates();
+        String[] lines = DialogText.breakIntoLines(text).split("\n");
+
+        // Template and font per line count, as the bubbles have always been laid out
+        int template;
+        Font font;
+        int lineCount;
+        switch (lines.length) {
+            case 1 -> { template = ONE_LINE; font = BOLD_FONT; lineCount = 1; }
+            case 2 -> { template = ONE_LINE; font = BOLD_FONT; lineCount = 2; }
+            case 3 -> { template = TWO_LINE; font = PLAIN_FONT; lineCount = 3; }
+            default -> { template = ONE_LINE; font = PLAIN_FONT; lineCount = 1; }
+        }
+
+        BufferedImage source = templates[template];
+        BufferedImage image = pools[template].poll();
+        if (image == null) {
+            image = ImageHandler.createTranslucentImage(source.getWidth(), source.getHeight());
+        }
+
+        Graphics2D g2d = image.createGraphics();
+        g2d.setComposite(AlphaComposite.Src);
+        g2d.drawImage(source, 0, 0, null);
+        g2d.setComposite(AlphaComposite.SrcOver);
+
+        // Line height of the image's default font, measured before the bubble font is set, as DialogText always did
+        int lineHeight = g2d.getFontMetrics().getHeight();
+        g2d.setFont(font);
+        g2d.setColor(Color.BLACK);
+        for (int i = 0; i < lineCount; i++) {
+            g2d.drawString(lines[i], TEXT_X, lineHeight * (i + 1) + TEXT_Y);
+        }
+        g2d.dispose();
+
+        return new Bubble(image, template);
+    }
+
+    /**
+     * Return an evicted image to its pool unless a player may still be showing it
+     */
+    private static void recycle(Bubble bubble) {
+        if (System.currentTimeMillis() - bubble.lastUsed < RECYCLE_AFTER_MILLIS) return;
+        ArrayDeque<BufferedImage> pool = pools[bubble.template];
+        if (pool.size() < POOL_SIZE) {
+            pool.push(bubble.image);
+        }
+    }
+
+    private static void loadTemplates() {
+        if (templates != null) return;
+
+        BufferedImage[] loaded = new BufferedImage[TEMPLATE_PATHS.length];
+        for (int i = 0; i < TEMPLATE_PATHS.length; i++) {
+            loaded[i] = AssetManager.getInstance().acquireImage("chat", TEMPLATE_PATHS[i]);
+            if (loaded[i] == null) {
+                System.out.println("Error loading chat images");
+                throw new RuntimeException("Resource not found: " + TEMPLATE_PATHS[i]);
+            }
+            pools[i] = new ArrayDeque<>();
+        }
+        templates = loaded;
+    }
+}
@@ -1,31 +1,13 @@
 package panes.chat;
 
-import javax.imageio.ImageIO;
 import javax.swing.*;
-import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.IOException;
 
 public class DialogText {
-    private BufferedImage chatImage;
-    private BufferedImage oneLineImage;
-    private BufferedImage twoLineImage;
-    private BufferedImage threeLineImage;
-
-    public DialogText() {
-        resetImage();
-    }
+    // How long a chat bubble stays above a player
+    public static final int DISPLAY_MILLIS = 2000;
 
-    public void resetImage() {
-        try {
-            oneLineImage = ImageIO.read(getClass().getResourceAsStream("/Chat/1line.png"));
-            twoLineImage = ImageIO.read(getClass().getResourceAsStream("/Chat/2line.png"));
-            threeLineImage = ImageIO.read(getClass().getResourceAsStream("/Chat/3line.png"));
-        } catch (IOException e) {
-            System.out.println("Error loading chat images");
-            throw new RuntimeException(e);
-        }
-    }
+    private BufferedImage chatImage;
 
     public static String breakIntoLines(String text) {
         StringBuilder result = new StringBuilder();
@@ -47,58 +29,11 @@ public class DialogText {
         return result.toString();
     }
 
+    /**
+     * Bubble image for a message, shared with every player who sent the same text
+     */
     public BufferedImage loadImage(String text) {
-        String brokenText = breakIntoLines(text);
-        String[] lines = brokenText.split("\n");
-        System.out.println(lines.length);
-
-        resetImage();
-        Graphics g;
-        int textHeight;
-        switch (lines.length) {
-            case 1:
-                chatImage = oneLineImage;
-                g = chatImage.getGraphics();
-//                g.clearRect(0, 0, chatImage.getWidth(), chatImage.getHeight()); // Clear the old text
-                g.setColor(Color.BLACK);
-                textHeight = g.getFontMetrics().getHeight();
-
-                g.setFont(new Font("Arial", Font.BOLD,13));
-                g.drawString(lines[0], 10, textHeight + 5);
-                break;
-            case 2:
-                chatImage = oneLineImage;
-                g = chatImage.getGraphics();
-//                g.clearRect(0, 0, chatImage.getWidth(), chatImage.getHeight()); // Clear the old text
-                g.setColor(Color.BLACK);
-                textHeight = g.getFontMetrics().getHeight();
-
-                g.setFont(new Font("Arial", Font.BOLD,13));
-                g.drawString(lines[0], 10, textHeight + 5);
-                g.drawString(lines[1], 10, textHeight * 2 + 5);
-                break;
-            case 3:
-                chatImage = twoLineImage;
-                g = chatImage.getGraphics();
-//                g.clearRect(0, 0, chatImage.getWidth(), chatImage.getHeight()); // Clear the old text
-                g.setColor(Color.BLACK);
-                textHeight = g.getFontMetrics().getHeight();
-
-                g.setFont(new Font("Arial", Font.PLAIN,13));
-                g.drawString(lines[0], 10, textHeight +5);
-                g.drawString(lines[1], 10, textHeight * 2 + 5);
-                g.drawString(lines[2], 10, textHeight * 3 + 5);
-                break;
-            default:
-                chatImage = oneLineImage;
-                g = chatImage.getGraphics();
-//                g.clearRect(0, 0, chatImage.getWidth(), chatImage.getHeight()); // Clear the old text
-                g.setColor(Color.BLACK);
-                textHeight = g.getFontMetrics().getHeight();
-
-                g.setFont(new Font("Arial", Font.PLAIN,13));
-                g.drawString(lines[0], 10, textHeight + 5);
-        }
+        chatImage = ChatBubbles.get(text);
         return chatImage;
     }
 
@@ -9,6 +9,7 @@ public class LoadingPane extends JPanel {
     private String fullMessage = "Loading, please wait...";
     private int currentLength = 0;
     private Timer timer;
+    private volatile double progress = -1; // Share of a download done, or -1 for none
 
     public LoadingPane() {
         timer = new Timer(200, new ActionListener() {
@@ -48,6 +49,26 @@ public class LoadingPane extends JPanel {
         int x = (width - fm.stringWidth(fullMessage)) / 2;
         int y = (height - fm.getHeight()) / 2 + fm.getAscent();
         g2d.drawString(currentMessage, x, y);
+
+        // Progress bar under the message while something is being downloaded
+        double done = progress;
+        if (done >= 0) {
+            int barWidth = Math.min(400, width - 40);
+            int barX = (width - barWidth) / 2;
+            int barY = y + 20;
+            g2d.setColor(new Color(255, 255, 255, 80));
+            g2d.fillRect(barX, barY, barWidth, 12);
+            g2d.setColor(Color.WHITE);
+            g2d.fillRect(barX, barY, (int) (barWidth * Math.min(1, done)), 12);
+        }
+    }
+
+    /**
+     * Show a progress bar (0..1), or hide it with -1; safe to call from any thread
+     */
+    public void setProgress(double progress) {
+        this.progress = progress;
+        repaint();
     }
 }
 
@@ -1,9 +1,9 @@
 package panes.shop;
 
+import imageRender.AssetManager;
 import network.client.WebSocketGameClient;
 import network.client.Protocol;
 
-import javax.imageio.ImageIO;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
@@ -390,15 +390,19 @@ public class ShopPane extends JPanel {
         previewLabel.setHorizontalAlignment(SwingConstants.CENTER);
         previewLabel.setVerticalAlignment(SwingConstants.CENTER);
         try {
-            BufferedImage img = ImageIO.read(getClass().getResource("/player/" + skin.skinFolder + "/Character_Stand.png"));
-            if (img != null) {
-                // Get only the first frame from sprite sheet (divide width by 4)
-                int frameWidth = img.getWidth() / 4;
-                int frameHeight = img.getHeight();
-                BufferedImage firstFrame = img.getSubimage(0, 0, frameWidth, frameHeight);
-                Image scaled = firstFrame.getScaledInstance(48, 48, Image.SCALE_SMOOTH);
-                previewLabel.setIcon(new ImageIcon(scaled));
+            String sheetPath = "/player/" + skin.skinFolder + "/Character_Stand.png";
+            BufferedImage img = AssetManager.getInstance().acquireImage("shop", sheetPath);
+            // The preview icon keeps what it needs; the shop does not pin the sheet
+            AssetManager.getInstance().releaseImage(sheetPath);
+            if (img == null) {
+                throw new IllegalStateException("Missing skin sheet: " + sheetPath);
             }
+            // Get only the first frame from sprite sheet (divide width by 4)
+            int frameWidth = img.getWidth() / 4;
+            int frameHeight = img.getHeight();
+            BufferedImage firstFrame = img.getSubimage(0, 0, frameWidth, frameHeight);
+            Image scaled = firstFrame.getScaledInstance(48, 48, Image.SCALE_SMOOTH);
+            previewLabel.setIcon(new ImageIcon(scaled));
         } catch (Exception e) {
             // Create styled placeholder for missing skins
             previewLabel.setText("?");
@@ -519,15 +523,19 @@ public class ShopPane extends JPanel {
         previewLabel.setHorizontalAlignment(SwingConstants.CENTER);
         previewLabel.setVerticalAlignment(SwingConstants.CENTER);
         try {
-            BufferedImage img = ImageIO.read(getClass().getResource("/player/" + skin.skinFolder + "/Character_Stand.png"));
-            if (img != null) {
-                // Get only the first frame from sprite sheet (divide width by 4)
-                int frameWidth = img.getWidth() / 4;
-                int frameHeight = img.getHeight();
-                BufferedImage firstFrame = img.getSubimage(0, 0, frameWidth, frameHeight);
-                Image scaled = firstFrame.getScaledInstance(48, 48, Image.SCALE_SMOOTH);
-                previewLabel.setIcon(new ImageIcon(scaled));
+            String sheetPath = "/player/" + skin.skinFolder + "/Character_Stand.png";
+            BufferedImage img = AssetManager.getInstance().acquireImage("shop", sheetPath);
+            // The preview icon keeps what it needs; the shop does not pin the sheet
+            AssetManager.getInstance().releaseImage(sheetPath);
+            if (img == null) {
+                throw new IllegalStateException("Missing skin sheet: " + sheetPath);
             }
+            // Get only the first frame from sprite sheet (divide width by 4)
+            int frameWidth = img.getWidth() / 4;
+            int frameHeight = img.getHeight();
+            BufferedImage firstFrame = img.getSubimage(0, 0, frameWidth, frameHeight);
+            Image scaled = firstFrame.getScaledInstance(48, 48, Image.SCALE_SMOOTH);
+            previewLabel.setIcon(new ImageIcon(scaled));
         } catch (Exception e) {
             previewLabel.setText("?");
             previewLabel.setForeground(new Color(150, 150, 180));